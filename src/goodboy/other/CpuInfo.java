@@ -1,5 +1,6 @@
 package goodboy.other;
 
+import goodboy.system.Breakpoint;
 import goodboy.system.CPU;
 
 import java.util.ArrayList;
@@ -56,11 +57,15 @@ public class CpuInfo {
         return "IME: " + (this.cpu.getIME() ? "on" : "off");
     }
 
+    public String getSkippedCycles() {
+        return "Idle: " + this.cpu.getSkippedCycles();
+    }
+
     public ArrayList<String> getBreakpoints() {
         ArrayList<String> result = new ArrayList<>();
 
-        for(Integer breakpoint : this.cpu.getBreakpoints()) {
-            result.add(String.format("0x%4s", Integer.toHexString(breakpoint).toUpperCase()).replace(" ", "0"));
+        for(Breakpoint breakpoint : this.cpu.getBreakpoints()) {
+            result.add(String.format("0x%4s", Integer.toHexString(breakpoint.getAddress()).toUpperCase()).replace(" ", "0"));
         }
 
         return result;
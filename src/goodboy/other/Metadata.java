@@ -268,5 +268,7 @@ public class Metadata {
         ramSize.put(0x01, "2k");
         ramSize.put(0x02, "8k");
         ramSize.put(0x03, "32k");
+        ramSize.put(0x04, "128k");
+        ramSize.put(0x05, "64k");
     }
 }
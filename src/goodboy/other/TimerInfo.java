@@ -15,7 +15,7 @@ public class TimerInfo {
     }
 
     public String getTimer() {
-        return "Timer: " + String.format("0x%4s", Integer.toHexString(Timers.systemCounter).toUpperCase()).replace(" ", "0");
+        return "Timer: " + String.format("0x%4s", Integer.toHexString(this.timers.getSystemCounter()).toUpperCase()).replace(" ", "0");
     }
 
     public String getTimerState() {
@@ -55,6 +55,6 @@ public class TimerInfo {
     }
 
     public String getTimaClocks() {
-        return String.format("TIMA Clocks: %d", Timers.timaCounter);
+        return String.format("TIMA Clocks: %d", this.timers.getTimaCounter());
     }
 }
@@ -0,0 +1,116 @@
+package goodboy.system;
+
+/**
+ * Lookup tables for the ALU operations whose result and flags only depend on a single byte, the carry flag and
+ * (for daa) the SUB and HALF flags. They're filled in once when the class is loaded.
+ *
+ * Every entry holds the result in the low byte and the new value of F in the next byte:
+ *   entry = (flags << 8) | result
+ *
+ * The rotate and shift tables are indexed by (carry << 8) | value, where carry is the carry flag (0 or 1) before
+ * the operation. Only rl and rr actually use the carry, the others just repeat themselves in the upper half.
+ *
+ * The daa table is indexed by ((F >> 4) << 8) | A.
+ */
+final class AluTables {
+    static final int[] RLC = new int[0x200];
+    static final int[] RRC = new int[0x200];
+    static final int[] RL = new int[0x200];
+    static final int[] RR = new int[0x200];
+    static final int[] SLA = new int[0x200];
+    static final int[] SRA = new int[0x200];
+    static final int[] SRL = new int[0x200];
+    static final int[] SWAP = new int[0x200];
+    static final int[] DAA = new int[0x1000];
+
+    static {
+        for(int carry = 0; carry <= 1; carry++) {
+            for(int value = 0; value <= 0xFF; value++) {
+                int index = (carry << 8) | value;
+                int bit7 = value >> 7;
+                int bit0 = value & 0x01;
+
+                RLC[index] = entry(((value << 1) | bit7) & 0xFF, bit7);
+                RRC[index] = entry((value >> 1) | (bit0 << 7), bit0);
+                RL[index] = entry(((value << 1) | carry) & 0xFF, bit7);
+                RR[index] = entry((value >> 1) | (carry << 7), bit0);
+                SLA[index] = entry((value << 1) & 0xFF, bit7);
+                SRA[index] = entry((value >> 1) | (value & 0x80), bit0);
+                SRL[index] = entry(value >> 1, bit0);
+                SWAP[index] = entry(((value & 0x0F) << 4) | (value >> 4), 0);
+            }
+        }
+
+        for(int flags = 0; flags <= 0x0F; flags++) {
+            for(int a = 0; a <= 0xFF; a++) {
+                DAA[(flags << 8) | a] = daa(a, flags << 4);
+            }
+        }
+    }
+
+    private AluTables() {
+    }
+
+    /**
+     * Builds an entry for a rotate or shift. The ZERO flag comes from the result, SUB and HALF are always reset.
+     * @param result The 8-bit result.
+     * @param carry The new value of the carry flag (0 or 1).
+     * @return The table entry.
+     */
+    private static int entry(int result, int carry) {
+        int flags = carry << 4;
+
+        if(result == 0) {
+            flags |= CPU.Flags.ZERO;
+        }
+
+        return (flags << 8) | result;
+    }
+
+    /**
+     * When performing addition and subtraction, binary coded decimal (BCD) representation is
+     * used to set the contents of register A to a BCD number.
+     * @param a The value of A.
+     * @param f The value of F.
+     * @return The table entry.
+     */
+    private static int daa(int a, int f) {
+        boolean sub = (f & CPU.Flags.SUB) == CPU.Flags.SUB;
+        boolean half = (f & CPU.Flags.HALF) == CPU.Flags.HALF;
+        boolean carry = (f & CPU.Flags.CARRY) == CPU.Flags.CARRY;
+
+        // after an addition, adjust A if a HALF_CARRY or CARRY occurred or if the result is out of bounds.
+        if(!sub) {
+            if(carry || a > 0x99) {
+                a = (a + 0x60) & 0xFF;
+                carry = true;
+            }
+
+            if(half || (a & 0x0F) > 0x09) {
+                a = (a + 0x06) & 0xFF;
+            }
+        } else {
+            // after a subtraction, only adjust if a HALF_CARRY or CARRY occurred.
+            if(carry) {
+                a = (a - 0x60) & 0xFF;
+            }
+
+            if(half) {
+                a = (a - 0x06) & 0xFF;
+            }
+        }
+
+        // SUB is kept, HALF is always reset.
+        int flags = f & CPU.Flags.SUB;
+
+        if(carry) {
+            flags |= CPU.Flags.CARRY;
+        }
+
+        if(a == 0) {
+            flags |= CPU.Flags.ZERO;
+        }
+
+        return (flags << 8) | a;
+    }
+}
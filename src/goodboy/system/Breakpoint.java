@@ -0,0 +1,71 @@
+package goodboy.system;
+
+/**
+ * Stops the CPU before it executes the instruction at an address.
+ *
+ * A breakpoint can be limited to a single ROM bank, only stop when its condition is true and only stop once it has
+ * been reached a number of times.
+ */
+public class Breakpoint {
+    // Used as the bank to stop at the address no matter which bank is mapped in.
+    public static final int ANY_BANK = -1;
+
+    private final int address;
+    private final int bank;
+    private final Debugger.Condition condition;
+    private final int hitsBeforeBreak;
+    private int hitCount = 0;
+
+    /**
+     * @param address The address to stop at.
+     * @param bank The ROM bank the address has to be in, or {@link #ANY_BANK}. Only used for 0x4000 - 0x7FFF.
+     * @param condition Only stops when this is true. Can be null.
+     * @param hitsBeforeBreak How many times the breakpoint has to be reached (with its condition true) before it
+     *                        stops the CPU. 1 stops it the first time.
+     */
+    public Breakpoint(int address, int bank, Debugger.Condition condition, int hitsBeforeBreak) {
+        this.address = address;
+        this.bank = (address >= 0x4000 && address <= 0x7FFF) ? bank : Breakpoint.ANY_BANK;
+        this.condition = condition;
+        this.hitsBeforeBreak = Math.max(hitsBeforeBreak, 1);
+    }
+
+    public Breakpoint(int address) {
+        this(address, Breakpoint.ANY_BANK, null, 1);
+    }
+
+    public int getAddress() {
+        return this.address;
+    }
+
+    public int getBank() {
+        return this.bank;
+    }
+
+    /**
+     * @return How many times the breakpoint has been reached with its condition true.
+     */
+    public int getHitCount() {
+        return this.hitCount;
+    }
+
+    public void resetHitCount() {
+        this.hitCount = 0;
+    }
+
+    /**
+     * Called when the CPU reaches the breakpoint's address (and bank). It isn't called again when the CPU carries on
+     * from the breakpoint it stopped at.
+     * @param registers The CPU's registers.
+     * @param memory The memory.
+     * @return True if the CPU should stop.
+     */
+    boolean hit(Registers registers, Memory memory) {
+        if(this.condition != null && !this.condition.test(registers, memory)) {
+            return false;
+        }
+
+        this.hitCount++;
+        return this.hitCount >= this.hitsBeforeBreak;
+    }
+}
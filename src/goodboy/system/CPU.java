@@ -2,8 +2,8 @@ package goodboy.system;
 
 import goodboy.other.CpuInfo;
 
-import java.time.Instant;
-import java.util.ArrayList;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
 
 /**
  * <h3>Description</h3>
@@ -86,6 +86,10 @@ public class CPU {
 
     private boolean isRunning = false;
 
+    // The address a breakpoint last stopped the CPU at, or -1. That hit has already been counted, so it isn't checked
+    //   again when running carries on from there.
+    private int stoppedAt = -1;
+
     private boolean ime = false;
     private boolean pendingEnableIME = false;
 
@@ -97,24 +101,51 @@ public class CPU {
     public boolean justHalted = false;
 
     public long cycles = 0;
-    private long cyclesSinceLastSync = 0;
-    private long lastSyncTime = 0;
 
     private final Memory memory;
+    private final InterruptController interrupts;
     private final GPU gpu;
     private final Timers timers;
+    private final Scheduler scheduler;
+    private final Pacer pacer;
+    private final IdleLoopDetector idleLoopDetector;
+    private boolean isIdleLoopSkipping = true;
 
     private final CpuInfo info;
-    private final ArrayList<Integer> breakpoints;
+    private final Debugger debugger;
+
+    // One handler per op code, indexed by the op code itself.
+    private final Operation[] operations = new Operation[0x100];
+    private final Operation[] cbOperations = new Operation[0x100];
+
+    private final InstructionCache instructionCache;
+
+    // The operand of the instruction being executed, when it came from the instruction cache.
+    private int cachedOperand = 0;
+    private boolean isOperandCached = false;
+
+    // Only set while the recompiler is enabled.
+    private Recompiler recompiler;
 
     public CPU(Memory memory, GPU gpu, Timers timers) {
         this.registers = new Registers();
         this.memory = memory;
+        this.interrupts = memory.getInterruptController();
         this.gpu = gpu;
         this.timers = timers;
+        this.scheduler = new Scheduler();
+        this.pacer = new Pacer();
         this.info = new CpuInfo(this);
-        this.breakpoints = new ArrayList<>();
-
+        this.debugger = new Debugger(memory, this.registers);
+
+        this.createOperations();
+        this.createCBOperations();
+        this.instructionCache = new InstructionCache(memory, this.operations, this.cbOperations);
+        this.idleLoopDetector = new IdleLoopDetector(memory, this.registers, this.scheduler);
+        this.memory.setInstructionCacheRef(this.instructionCache);
+        this.gpu.setSchedulerRef(this.scheduler);
+        this.timers.setSchedulerRef(this.scheduler);
+        this.memory.setSchedulerRef(this.scheduler);
         this.reset();
     }
 
@@ -123,6 +154,7 @@ public class CPU {
      */
     public void reset() {
         this.isRunning = false;
+        this.stoppedAt = -1;
 
         this.registers.setAF(0x01B0);
         this.registers.setBC(0x0013);
@@ -131,8 +163,8 @@ public class CPU {
         this.registers.SP = 0xFFFE;
         this.registers.PC = 0x100;
         this.cycles = 0;
-        this.cyclesSinceLastSync = 0;
-        this.lastSyncTime = 0;
+        this.pacer.reset();
+        this.idleLoopDetector.reset();
         this.ime = false;
         this.pendingEnableIME = false;
         this.isHalted = false;
@@ -230,13 +262,12 @@ public class CPU {
 
         }
 
-        // Set cycles to 0 every frame to prevent integer overflow.
+        // Keep pace with real time once per frame. cycles is also set to 0 every frame to prevent integer overflow.
         if(this.cycles >= (CPU.FREQUENCY / LCD.FREQUENCY)) {
+            this.pacer.sync(this.cycles);
             this.cycles = 0;
         }
 
-        this.synchronize();
-
         boolean effectiveIme = this.ime;
 
         // check if the last instruction was ei.
@@ -246,7 +277,14 @@ public class CPU {
         }
 
         // Check if there are any interrupts that need to be serviced.
-        boolean shouldServiceInterrupts = (this.getIF() & this.getIE()) != 0;
+        boolean shouldServiceInterrupts = this.interrupts.hasPending();
+
+        // Only the scheduled events can request an interrupt while halted, so when none is pending skip straight to the
+        //   next event instead of stepping through the halt a few cycles at a time.
+        if(this.isHalted && !shouldServiceInterrupts) {
+            this.incrementCycles(Math.max(this.scheduler.getCyclesUntilNextEvent(), 4));
+            return;
+        }
 
         if(this.isHalted && !this.justHalted) {
             this.incrementCycles(2);
@@ -264,8 +302,21 @@ public class CPU {
             this.isHalted = false;
             this.checkInterrupts();
         } else {
-            this.decode(this.readByte(this.registers.PC++));
-            this.gpu.tick(this.cycles);
+            CompiledBlock block = this.getCompiledBlock();
+            int pc = this.registers.PC;
+
+            if(block != null) {
+                block.execute(this);
+            } else {
+                this.step();
+            }
+
+            // a compiled block only counts if it ran the whole loop, from its start back to it.
+            boolean isBackwardJump = block == null ? this.registers.PC <= pc : this.registers.PC == pc;
+
+            if(this.isIdleLoopSkipping && isBackwardJump && pc - this.registers.PC < IdleLoopDetector.MAX_LOOP_LENGTH) {
+                this.skipIdleLoop(block == null ? pc : -1);
+            }
         }
 
         /*if(this.isHalted && this.ime && shouldServiceInterrupts) {
@@ -285,18 +336,120 @@ public class CPU {
     }
 
     /**
-     * The main loop. This ticks the CPU and runs forever.
+     * Gets the compiled block at PC, if the recompiler is enabled and nothing needs the interpreter.
+     * @return The block to run or null if the next instruction should be decoded.
+     */
+    private CompiledBlock getCompiledBlock() {
+        // The interpreter has to run when there are watchpoints so that it can stop right after the instruction that
+        //   hit one. The recompiler leaves the blocks with breakpoints in them to the interpreter itself.
+        if(this.recompiler == null || this.haltBug || this.debugger.isWatching()) {
+            return null;
+        }
+
+        return this.recompiler.getBlock(this.registers.PC);
+    }
+
+    /**
+     * Called by compiled blocks after every instruction. Checks if the block should hand control back to tick().
+     * @return True if the block has to stop, i.e. an interrupt needs to be serviced or the block's code changed.
+     */
+    private boolean endBlockInstruction() {
+        return this.recompiler.isBlockInvalid() || (this.ime && this.interrupts.hasPending());
+    }
+
+    /**
+     * Enables or disables the recompiler. When it's enabled hot blocks of code are translated into JVM bytecode.
+     * @param isEnabled True to enable the recompiler.
+     */
+    public void setRecompilerEnabled(boolean isEnabled) {
+        if(isEnabled == (this.recompiler != null)) {
+            return;
+        }
+
+        this.recompiler = isEnabled ? new Recompiler(this.memory, this.debugger, MethodHandles.lookup()) : null;
+        this.memory.setRecompilerRef(this.recompiler);
+    }
+
+    /**
+     * Called after a backward jump. If the CPU is stuck in a loop waiting for something to change, skips ahead to
+     * when it can.
+     * @param branch The address of the jump, or -1 if a compiled block jumped.
+     */
+    private void skipIdleLoop(int branch) {
+        // skipping would delay anything that has to happen between instructions.
+        if(this.pendingEnableIME || this.haltBug) {
+            return;
+        }
+
+        // or skip over a breakpoint in the loop.
+        if(this.debugger.isWatching() || this.debugger.hasBreakpointIn(this.registers.PC, this.registers.PC + IdleLoopDetector.MAX_LOOP_LENGTH)) {
+            return;
+        }
+
+        int cycles = this.idleLoopDetector.onBackwardJump(branch, this.registers.PC);
+
+        if(cycles > 0) {
+            this.incrementCycles(cycles);
+        }
+    }
+
+    /**
+     * Enables or disables skipping idle loops. It's on by default.
+     * @param isEnabled True to skip idle loops.
+     */
+    public void setIdleLoopSkipping(boolean isEnabled) {
+        this.isIdleLoopSkipping = isEnabled;
+    }
+
+    /**
+     * @return The number of cycles skipped in idle loops since the ROM was loaded.
+     */
+    public long getSkippedCycles() {
+        return this.idleLoopDetector.getSkippedCycles();
+    }
+
+    public Pacer getPacer() {
+        return this.pacer;
+    }
+
+    /**
+     * The main loop. This ticks the CPU and runs forever, or until a breakpoint or watchpoint is hit.
      */
     void run() {
+        this.run(Long.MAX_VALUE);
+    }
+
+    /**
+     * Ticks the CPU until a breakpoint or watchpoint is hit or {@code timeout} nanoseconds have passed.
+     * @param timeout The longest to run for, in nanoseconds.
+     * @return True if a breakpoint or watchpoint stopped the CPU.
+     */
+    boolean run(long timeout) {
+        long start = System.nanoTime();
+        boolean isResuming = this.registers.PC == this.stoppedAt;
         this.isRunning = true;
+        this.stoppedAt = -1;
 
-        while(this.isRunning) {
-            if(!this.breakpoints.isEmpty() && this.breakpoints.contains(this.registers.PC)) {
-                break;
+        for(int ticks = 1; this.isRunning; ticks++) {
+            if(this.debugger.isArmed() && !isResuming && this.debugger.isBreakpoint(this.registers.PC)) {
+                this.stoppedAt = this.registers.PC;
+                return true;
             }
 
+            isResuming = false;
             this.tick();
+
+            if(this.debugger.isWatching() && this.debugger.takeTriggeredWatchpoint() != null) {
+                return true;
+            }
+
+            // reading the clock isn't free, so it's only checked every so often.
+            if((ticks & 0xFFFF) == 0 && System.nanoTime() - start > timeout) {
+                break;
+            }
         }
+
+        return false;
     }
 
     /**
@@ -305,7 +458,7 @@ public class CPU {
      * @param flags The flags to check.
      */
     public void setFlags(int flags) {
-        this.registers.F = (this.registers.F | flags) & 0xF0;
+        this.registers.setF((this.registers.getF() | flags) & 0xF0);
     }
 
     /**
@@ -314,7 +467,7 @@ public class CPU {
      * @param flags The flags to check.
      */
     public void resetFlags(int flags) {
-        this.registers.F = (this.registers.F & ~flags) & 0xF0;
+        this.registers.setF((this.registers.getF() & ~flags) & 0xF0);
     }
 
     /*
@@ -326,67 +479,46 @@ public class CPU {
     */
 
     private int readByte(int address) {
+        if(this.debugger.isWatching()) {
+            this.debugger.onRead(address);
+        }
+
         return this.memory.getByteAt(address);
     }
 
     private void writeByte(int address, int value) {
+        if(this.debugger.isWatching()) {
+            this.debugger.onWrite(address);
+        }
+
         this.memory.setByteAt(address, value);
     }
 
-    /**
-     * Keeps the CPU from running as fast as it can. This will keep the frame rate at 60 fps.
-     */
-    private void synchronize() {
-        // Our target sleep time is the length in time the previous instruction took.
-        long target = (this.cyclesSinceLastSync * 75000L) / CPU.FREQUENCY;
-
-        // Get the current nanoseconds since 1970.
-        long nanoseconds = Instant.now().getEpochSecond() * 75000L;
-
-        // The sleep duration is the previous instruction time plus how long it's been since we last synced.
-        // We subtract the nanoseconds to see if the CPU is running too fast.
-        // If sleepDuration is positive that means that the CPU is running incredibly fast (for GameBoy standards, anyway),
-        //   and we need to slow it down by sleeping.
-        long sleepDuration = target + this.lastSyncTime - nanoseconds;
-
-        // There's a weird lag during vblank, so we can disable sleep during vblank
-        //   and just process everything as fast as possible to mitigate the lag.
-        // This is probably not the best solution, but it works.
-        if(this.gpu.getMode() == GPU.Mode.VBLANK) {
-            sleepDuration = 0;
+    private int readWord(int address) {
+        if(this.debugger.isWatching()) {
+            this.debugger.onRead(address);
+            this.debugger.onRead((address + 1) & 0xFFFF);
         }
 
-        // Check if sleepDuration is between zero and the time it takes to complete a whole frame.
-        if(sleepDuration > 0 && sleepDuration < ((LCD.LCDC_PERIOD * 75000L) / CPU.FREQUENCY)) {
-            this.sleep(sleepDuration);
+        return this.memory.getWordAt(address);
+    }
 
-            // Need to keep track of how long it's been since we last synced.
-            this.lastSyncTime += target;
-        } else {
-            // we need to know when we last synced.
-            this.lastSyncTime = nanoseconds;
+    private void writeWord(int address, int value) {
+        if(this.debugger.isWatching()) {
+            this.debugger.onWrite(address);
+            this.debugger.onWrite((address + 1) & 0xFFFF);
         }
 
-        // We only care about the previous instruction, so we can set this to zero and it will be updated
-        // after the next instruction is executed.
-        this.cyclesSinceLastSync = 0;
+        this.memory.setWordAt(address, value);
     }
 
-    /**
-     * Sleep for {@code duration} nanoseconds.
-     * @param duration Time in nanoseconds to sleep.
-     */
-    private void sleep(long duration) {
-        try {
-            if(duration > 999999) {
-                Thread.sleep(0, 999999);
-                this.sleep(duration - 999999);
-            } else {
-                Thread.sleep(0, (int)duration);
-            }
-        } catch(InterruptedException e) {
-            // if sleep is interrupted, I don't think it matters.
+    private void pushWord(int address, int value) {
+        if(this.debugger.isWatching()) {
+            this.debugger.onWrite((address + 1) & 0xFFFF);
+            this.debugger.onWrite(address);
         }
+
+        this.memory.pushWordAt(address, value);
     }
 
     /**
@@ -416,13 +548,12 @@ public class CPU {
     }
 
     /**
-     * Keep track of how many cycles have elapsed and also keeps track of how many cycles since the components were last synced.
+     * Keeps track of how many cycles have elapsed and advances the other components by the same amount.
      * @param n The amount of machine cycles to increment by.
      */
     private void incrementCycles(int n) {
         this.cycles += n;
-        this.cyclesSinceLastSync += n;
-        this.timers.tick(n);
+        this.scheduler.advance(n);
     }
 
     /**
@@ -489,42 +620,50 @@ public class CPU {
             this.incrementSP(-1);
             this.writeByte(this.registers.SP, (this.registers.PC >> 8) & 0xFF);
 
-            int enabledInterrupts = this.getIE() & this.getIF();
-            int interrupt = this.getIF();
+            // the push above can write to IE, so the interrupt is picked after it. The lowest bit has the highest priority.
+            int interrupt = this.interrupts.getNextInterrupt();
 
-            if(enabledInterrupts == 0) {
+            if(interrupt == 0) {
                 this.registers.PC = 0x0000;
-            } else if((enabledInterrupts & Interrupts.VBLANK) == Interrupts.VBLANK) {
-                interrupt &= ~Interrupts.VBLANK;
-                this.registers.PC = 0x40;
-            } else if((enabledInterrupts & Interrupts.LCD_STAT) == Interrupts.LCD_STAT) {
-                interrupt &= ~Interrupts.LCD_STAT;
-                this.registers.PC = 0x48;
-            } else if((enabledInterrupts & Interrupts.TIMER) == Interrupts.TIMER) {
-                interrupt &= ~Interrupts.TIMER;
-                this.registers.PC = 0x50;
-            } else if((enabledInterrupts & Interrupts.SERIAL) == Interrupts.SERIAL) {
-                interrupt &= ~Interrupts.SERIAL;
-                this.registers.PC = 0x58;
-            } else if((enabledInterrupts & Interrupts.JOYPAD) == Interrupts.JOYPAD) {
-                interrupt &= ~Interrupts.JOYPAD;
-                this.registers.PC = 0x60;
             } else {
-                this.timers.tick(4);
+                this.registers.PC = InterruptController.getVector(interrupt);
             }
 
             this.incrementSP(-1);
             this.writeByte(this.registers.SP, this.registers.PC & 0xFF);
 
-            this.writeByte(IORegisters.INTERRUPT_FLAGS, interrupt);
+            this.interrupts.clear(interrupt);
         }
 
         this.ime = false;
+        this.idleLoopDetector.interrupt();
 
         // The GameBoy takes 20 clock cycles to dispatch an interrupt
         this.incrementCycles(20);
     }
 
+    /**
+     * Executes the instruction at PC. The instruction comes from the instruction cache when possible so it doesn't
+     * have to be fetched and decoded again.
+     */
+    private void step() {
+        // The halt bug makes the CPU read the byte after halt twice, which doesn't match what's in the cache.
+        DecodedInstruction instruction = this.haltBug ? null : this.instructionCache.get(this.registers.PC);
+
+        if(instruction == null) {
+            this.decode(this.readByte(this.registers.PC++));
+            return;
+        }
+
+        this.registers.PC += instruction.opCodeLength;
+        this.cachedOperand = instruction.operand;
+        this.isOperandCached = true;
+
+        instruction.operation.execute();
+
+        this.isOperandCached = false;
+    }
+
     /**
      * Decode op code to find out which instruction to execute.
      * @param opCode The op code to decode
@@ -537,30 +676,7 @@ public class CPU {
 
 //        System.out.println("executing 0x" + Integer.toHexString(opCode));
 
-        if(opCode != 0xCB) {
-            int x = opCode >> 6;
-            int y = (opCode & 0b00111000) >> 3;
-            int z = opCode & 0b00000111;
-            int p = y >> 1;
-            int q = y % 2;
-
-            switch(x) {
-                case 0b00:
-                    this.doMiscOperation(y, z, q, p);
-                    break;
-                case 0b01:
-                    this.doLoadOperation(y, z);
-                    break;
-                case 0b10:
-                    this.doMathOperation(y, z);
-                    break;
-                case 0b11:
-                    this.doJumpOperation(y, z, q, p);
-                    break;
-            }
-        } else {
-            this.decodeCB(this.readByte(this.registers.PC++));
-        }
+        this.operations[opCode].execute();
     }
 
     /**
@@ -568,785 +684,2162 @@ public class CPU {
      * @param opCode The op code to decode
      */
     private void decodeCB(int opCode) {
-        int x = opCode >> 6;
-        int y = (opCode & 0b00111000) >> 3;
-        int z = opCode & 0b00000111;
-
-        switch(x) {
-            case 0b00:
-                switch(y) {
-                    case 0b000: // rlc
-                        if(z != 0b110) { // rlc [b, c, d, e, h, l,, a]
-                            this.registers.set8BitRegister(z, this.rlc(this.registers.get8BitRegister(z)));
-                        } else { // rlc (hl)
-                            this.writeByte(this.registers.getHL(), this.rlc(this.readByte(this.registers.getHL())));
-                        }
-
-                        break;
-                    case 0b001: // rrc
-                        if(z != 0b110) { // rrc [b, c, d, e, h, l,, a]
-                            this.registers.set8BitRegister(z, this.rrc(this.registers.get8BitRegister(z)));
-                        } else { // rrc (hl)
-                            this.writeByte(this.registers.getHL(), this.rrc(this.readByte(this.registers.getHL())));
-                        }
-
-                        break;
-                    case 0b010: // rl
-                        if(z != 0b110) { // rl [b, c, d, e, h, l,, a]
-                            this.registers.set8BitRegister(z, this.rl(this.registers.get8BitRegister(z)));
-                        } else { // rl (hl)
-                            this.writeByte(this.registers.getHL(), this.rl(this.readByte(this.registers.getHL())));
-                        }
-
-                        break;
-                    case 0b011: // rr
-                        if(z != 0b110) { // rr [b, c, d, e, h, l,, a]
-                            this.registers.set8BitRegister(z, this.rr(this.registers.get8BitRegister(z)));
-                        } else { // rr (hl)
-                            this.writeByte(this.registers.getHL(), this.rr(this.readByte(this.registers.getHL())));
-                        }
-
-                        break;
-                    case 0b100: // sla
-                        if(z != 0b110) { // sla [b, c, d, e, h, l,, a]
-                            this.registers.set8BitRegister(z, this.sla(this.registers.get8BitRegister(z)));
-                        } else { // sla (hl)
-                            this.writeByte(this.registers.getHL(), this.sla(this.readByte(this.registers.getHL())));
-                        }
-
-                        break;
-                    case 0b101: // sra
-                        if(z != 0b110) { // sra [b, c, d, e, h, l,, a]
-                            this.registers.set8BitRegister(z, this.sra(this.registers.get8BitRegister(z)));
-                        } else { // sra (hl)
-                            this.writeByte(this.registers.getHL(), this.sra(this.readByte(this.registers.getHL())));
-                        }
-
-                        break;
-                    case 0b110: // swap
-                        if(z != 0b110) { // swap [b, c, d, e, h, l,, a]
-                            this.registers.set8BitRegister(z, this.swap(this.registers.get8BitRegister(z)));
-                        } else { // swap (hl)
-                            this.writeByte(this.registers.getHL(), this.swap(this.readByte(this.registers.getHL())));
-                        }
-
-                        break;
-                    case 0b111: // srl
-                        if(z != 0b110) { // srl [b, c, d, e, h, l,, a]
-                            this.registers.set8BitRegister(z, this.srl(this.registers.get8BitRegister(z)));
-                        } else { // srl (hl)
-                            this.writeByte(this.registers.getHL(), this.srl(this.readByte(this.registers.getHL())));
-                        }
-
-                        break;
-                }
-
-                break;
-            case 0b01: // bit
-                if(z != 0b110) { // bit  [0, 1, 2, 3, 4, 5, 6, 7] [b, c, d, e, h, l, a]
-                    this.bit(y, this.registers.get8BitRegister(z));
-                } else { // bit  [0, 1, 2, 3, 4, 5, 6, 7] (hl)
-                    this.bit(y, this.readByte(this.registers.getHL()));
-                }
-
-                break;
-            case 0b10: // res
-                if(z != 0b110) { // res  [0, 1, 2, 3, 4, 5, 6, 7] [b, c, d, e, h, l, a]
-                    this.registers.set8BitRegister(z, this.res(y, this.registers.get8BitRegister(z)));
-                } else { // res  [0, 1, 2, 3, 4, 5, 6, 7] (hl)
-                    this.writeByte(this.registers.getHL(), this.res(y, this.readByte(this.registers.getHL())));
-                }
-
-                break;
-            case 0b11: // set
-                if(z != 0b110) { // set  [0, 1, 2, 3, 4, 5, 6, 7] [b, c, d, e, h, l, a]
-                    this.registers.set8BitRegister(z, this.set(y, this.registers.get8BitRegister(z)));
-                } else { // set  [0, 1, 2, 3, 4, 5, 6, 7] (hl)
-                    this.writeByte(this.registers.getHL(), this.set(y, this.readByte(this.registers.getHL())));
-                }
-
-                break;
-        }
-
-        // all CB-prefixed op codes have the same size and cycle duration.
-        if(z != 0b110) {
-            this.incrementCycles(8);
-        } else {
-            this.incrementCycles(16);
-        }
-    }
-
-    /**
-     * Perform various operations.
-     * @param y Bits 5-3 of the op code
-     * @param z Bits 7-6 of the op code
-     * @param q Bit 3 of the op code
-     * @param p Bits 5-4 of the op code
-     */
-    private void doMiscOperation(int y, int z, int q, int p) {
-        switch(z) {
-            case 0b000: // relative jumps and assorted ops
-                switch(y) {
-                    case 0b000: // nop
-                        this.incrementCycles(4);
-                        break;
-                    case 0b001: // ld (xx), sp
-                        this.writeByte(this.getWord(), this.registers.SP);
-                        this.incrementCycles(20);
-                        this.incrementPC(2);
-                        break;
-                    case 0b010: // stop
-                        this.stop();
-                        this.incrementCycles(4);
-                        this.incrementPC(1);
-                        break;
-                    case 0b011: // jr x
-                        this.jumpRelative(this.getByte());
-                        this.incrementCycles(12);
-                        break;
-                    case 0b100: // jr nz x
-                        if((this.registers.F & Flags.ZERO) != Flags.ZERO) {
-                            this.jumpRelative(this.getByte());
-                            this.incrementCycles(12);
-                        } else {
-                            this.incrementCycles(8);
-                            this.incrementPC(1);
-                        }
-
-                        break;
-                    case 0b101: // jr z x
-                        if((this.registers.F & Flags.ZERO) == Flags.ZERO) {
-                            this.jumpRelative(this.getByte());
-                            this.incrementCycles(12);
-                        } else {
-                            this.incrementCycles(8);
-                            this.incrementPC(1);
-                        }
-
-                        break;
-                    case 0b110: // jr nc x
-                        if((this.registers.F & Flags.CARRY) != Flags.CARRY) {
-                            this.jumpRelative(this.getByte());
-                            this.incrementCycles(12);
-                        } else {
-                            this.incrementCycles(8);
-                            this.incrementPC(1);
-                        }
-
-                        break;
-                    case 0b111: // jr c x
-                        if((this.registers.F & Flags.CARRY) == Flags.CARRY) {
-                            this.jumpRelative(this.getByte());
-                            this.incrementCycles(12);
-                        } else {
-                            this.incrementCycles(8);
-                            this.incrementPC(1);
-                        }
-
-                        break;
-                }
-
-                break;
-            case 0b001: // 16-bit immediate/add
-                if(q == 0) {
-                    // ld [bc, de, hl, sp], xx
-                    this.registers.set16BitRegister(p, this.getWord(), false);
-                    this.incrementCycles(12);
-                    this.incrementPC(2);
-                } else if(q == 1) {
-                    this.registers.setHL(this.add16Bit(this.registers.getHL(), this.registers.get16BitRegister(p, false)));
-                    this.incrementCycles(8);
-                }
-
-                break;
-            case 0b010: // indirect loading
-                if(q == 0) {
-                    switch(p) {
-                        case 0b00: // ld (bc), a
-                            this.writeByte(this.registers.getBC(), this.registers.A);
-                            break;
-                        case 0b01: // ld (de), a
-                            this.writeByte(this.registers.getDE(), this.registers.A);
-                            break;
-                        case 0b10: // ld (hl+), a
-                            this.writeByte(this.registers.getHL(), this.registers.A);
-                            this.registers.setHL(this.registers.getHL() + 1);
-                            break;
-                        case 0b11: // ld (hl-), a
-                            this.writeByte(this.registers.getHL(), this.registers.A);
-                            this.registers.setHL(this.registers.getHL() - 1);
-                            break;
-                    }
-                } else if(q == 1) {
-                    switch(p) {
-                        case 0b00: // ld a, (bc)
-                            this.registers.A = this.readByte(this.registers.getBC());
-                            break;
-                        case 0b01: // ld a, (de)
-                            this.registers.A = this.readByte(this.registers.getDE());
-                            break;
-                        case 0b10: // ld a, (hl+)
-                            this.registers.A = this.readByte(this.registers.getHL());
-                            this.registers.setHL(this.registers.getHL() + 1);
-                            break;
-                        case 0b11: // ld a, (hl-)
-                            this.registers.A = this.readByte(this.registers.getHL());
-                            this.registers.setHL(this.registers.getHL() - 1);
-                            break;
-                    }
-                }
-
-                this.incrementCycles(8);
-                break;
-            case 0b011: // 16-bit inc/dec
-                if(q == 0) { // inc [bc, de, hl. sp]
-                    this.registers.set16BitRegister(p, this.registers.get16BitRegister(p, false) + 1, false);
-                } else if(q == 1) { // dec [bc, de, hl. sp]
-                    this.registers.set16BitRegister(p, this.registers.get16BitRegister(p, false) - 1, false);
-                }
-
-                this.incrementCycles(8);
-                break;
-            case 0b100: // 8-bit inc/dec
-                if(y == 0b110) { // inc (hl)
-                    int value = this.increment(this.readByte(this.registers.getHL()));
-                    this.writeByte(this.registers.getHL(), value);
-                    this.incrementCycles(8);
-                } else { // inc [b, c, d, e, h, l, a]
-                    this.registers.set8BitRegister(y, this.increment(this.registers.get8BitRegister(y)));
-                    this.incrementCycles(4);
-                }
-
-                break;
-            case 0b101: // 8-bit dec
-                if(y == 0b110) { // dec (hl)
-                    int value = this.decrement(this.readByte(this.registers.getHL()));
-                    this.writeByte(this.registers.getHL(), value);
-                    this.incrementCycles(8);
-                } else { // dec [b, c, d, e, h, l, a]
-                    this.registers.set8BitRegister(y, this.decrement(this.registers.get8BitRegister(y)));
-                    this.incrementCycles(4);
-                }
-                break;
-            case 0b110: // ld [b, c, d, e, h, l, (hl), a], x
-                if(y == 0b110) { // ld (hl), x
-                    this.writeByte(this.registers.getHL(), this.getByte());
-                } else {
-                    this.registers.set8BitRegister(y, this.getByte());
-                }
-
-                this.incrementCycles(8);
-                this.incrementPC(1);
-                break;
-            case 0b111: // assorted operations on accumulator/flags
-                this.doLogicOperation(y);
-                this.incrementCycles(4);
-                break;
-        }
+        this.cbOperations[opCode].execute();
     }
 
     /**
-     * Perform various load operations.
-     * @param y Bits 5-3 of the op code
-     * @param z Bits 7-6 of the op code
+     * Fills the op code table. Each entry handles exactly one op code, so executing an instruction is a single
+     * array lookup instead of splitting the op code into x/y/z/p/q and switching on each part.
      */
-    private void doLoadOperation(int y, int z) {
-        if(y == 0b110 && z == 0b110) { // halt
-            this.halt();
+    private void createOperations() {
+        this.operations[0x00] = () -> { // nop
+            this.incrementCycles(4);
+        };
+        this.operations[0x01] = () -> { // ld bc, xx
+            this.registers.setBC(this.getWord());
+            this.incrementCycles(12);
+            this.incrementPC(2);
+        };
+        this.operations[0x02] = () -> { // ld (bc), a
+            this.writeByte(this.registers.getBC(), this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.operations[0x03] = () -> { // inc bc
+            this.registers.setBC(this.registers.getBC() + 1);
+            this.incrementCycles(8);
+        };
+        this.operations[0x04] = () -> { // inc b
+            this.registers.B = this.increment(this.registers.B);
             this.incrementCycles(4);
-        } else if(y == z) { // nop
+        };
+        this.operations[0x05] = () -> { // dec b
+            this.registers.B = this.decrement(this.registers.B);
             this.incrementCycles(4);
-        } else {
-            if(z == 0b110) { // ld [b, c, d, e, h, l, a], (hl)
-                this.registers.set8BitRegister(y, this.readByte(this.registers.getHL()));
+        };
+        this.operations[0x06] = () -> { // ld b, x
+            this.registers.B = this.getByte();
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0x07] = () -> { // rlca
+            this.rlca();
+            this.incrementCycles(4);
+        };
+        this.operations[0x08] = () -> { // ld (xx), sp
+            this.writeWord(this.getWord(), this.registers.SP);
+            this.incrementCycles(20);
+            this.incrementPC(2);
+        };
+        this.operations[0x09] = () -> { // add hl, bc
+            this.registers.setHL(this.add16Bit(this.registers.getHL(), this.registers.getBC()));
+            this.incrementCycles(8);
+        };
+        this.operations[0x0A] = () -> { // ld a, (bc)
+            this.registers.A = this.readByte(this.registers.getBC());
+            this.incrementCycles(8);
+        };
+        this.operations[0x0B] = () -> { // dec bc
+            this.registers.setBC(this.registers.getBC() - 1);
+            this.incrementCycles(8);
+        };
+        this.operations[0x0C] = () -> { // inc c
+            this.registers.C = this.increment(this.registers.C);
+            this.incrementCycles(4);
+        };
+        this.operations[0x0D] = () -> { // dec c
+            this.registers.C = this.decrement(this.registers.C);
+            this.incrementCycles(4);
+        };
+        this.operations[0x0E] = () -> { // ld c, x
+            this.registers.C = this.getByte();
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0x0F] = () -> { // rrca
+            this.rrca();
+            this.incrementCycles(4);
+        };
+        this.operations[0x10] = () -> { // stop
+            this.stop();
+            this.incrementCycles(4);
+            this.incrementPC(1);
+        };
+        this.operations[0x11] = () -> { // ld de, xx
+            this.registers.setDE(this.getWord());
+            this.incrementCycles(12);
+            this.incrementPC(2);
+        };
+        this.operations[0x12] = () -> { // ld (de), a
+            this.writeByte(this.registers.getDE(), this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.operations[0x13] = () -> { // inc de
+            this.registers.setDE(this.registers.getDE() + 1);
+            this.incrementCycles(8);
+        };
+        this.operations[0x14] = () -> { // inc d
+            this.registers.D = this.increment(this.registers.D);
+            this.incrementCycles(4);
+        };
+        this.operations[0x15] = () -> { // dec d
+            this.registers.D = this.decrement(this.registers.D);
+            this.incrementCycles(4);
+        };
+        this.operations[0x16] = () -> { // ld d, x
+            this.registers.D = this.getByte();
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0x17] = () -> { // rla
+            this.rla();
+            this.incrementCycles(4);
+        };
+        this.operations[0x18] = () -> { // jr x
+            this.jumpRelative(this.getByte());
+            this.incrementCycles(12);
+        };
+        this.operations[0x19] = () -> { // add hl, de
+            this.registers.setHL(this.add16Bit(this.registers.getHL(), this.registers.getDE()));
+            this.incrementCycles(8);
+        };
+        this.operations[0x1A] = () -> { // ld a, (de)
+            this.registers.A = this.readByte(this.registers.getDE());
+            this.incrementCycles(8);
+        };
+        this.operations[0x1B] = () -> { // dec de
+            this.registers.setDE(this.registers.getDE() - 1);
+            this.incrementCycles(8);
+        };
+        this.operations[0x1C] = () -> { // inc e
+            this.registers.E = this.increment(this.registers.E);
+            this.incrementCycles(4);
+        };
+        this.operations[0x1D] = () -> { // dec e
+            this.registers.E = this.decrement(this.registers.E);
+            this.incrementCycles(4);
+        };
+        this.operations[0x1E] = () -> { // ld e, x
+            this.registers.E = this.getByte();
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0x1F] = () -> { // rra
+            this.rra();
+            this.incrementCycles(4);
+        };
+        this.operations[0x20] = () -> { // jr nz x
+            if((this.registers.getF() & Flags.ZERO) != Flags.ZERO) {
+                this.jumpRelative(this.getByte());
+                this.incrementCycles(12);
+            } else {
                 this.incrementCycles(8);
-            } else if(y == 0b110) { // ld (hl), [b, c, d, e, h, l, a]
-                this.writeByte(this.registers.getHL(), this.registers.get8BitRegister(z));
+                this.incrementPC(1);
+            }
+        };
+        this.operations[0x21] = () -> { // ld hl, xx
+            this.registers.setHL(this.getWord());
+            this.incrementCycles(12);
+            this.incrementPC(2);
+        };
+        this.operations[0x22] = () -> { // ld (hl+), a
+            this.writeByte(this.registers.getHL(), this.registers.A);
+            this.registers.setHL(this.registers.getHL() + 1);
+            this.incrementCycles(8);
+        };
+        this.operations[0x23] = () -> { // inc hl
+            this.registers.setHL(this.registers.getHL() + 1);
+            this.incrementCycles(8);
+        };
+        this.operations[0x24] = () -> { // inc h
+            this.registers.H = this.increment(this.registers.H);
+            this.incrementCycles(4);
+        };
+        this.operations[0x25] = () -> { // dec h
+            this.registers.H = this.decrement(this.registers.H);
+            this.incrementCycles(4);
+        };
+        this.operations[0x26] = () -> { // ld h, x
+            this.registers.H = this.getByte();
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0x27] = () -> { // daa
+            this.daa();
+            this.incrementCycles(4);
+        };
+        this.operations[0x28] = () -> { // jr z x
+            if((this.registers.getF() & Flags.ZERO) == Flags.ZERO) {
+                this.jumpRelative(this.getByte());
+                this.incrementCycles(12);
+            } else {
                 this.incrementCycles(8);
-            } else { // ld [b, c, d, e, h, l, a], [b, c, d, e, h, l, a]
-                this.registers.set8BitRegister(y, this.registers.get8BitRegister(z));
-                this.incrementCycles(4);
+                this.incrementPC(1);
             }
-        }
-    }
-
-    /**
-     * Perform math operations: add, adc, sub, sbc, and, xor, or, cp
-     * @param y Bits 5-3 of the op code
-     * @param z Bits 7-6 of the op code
-     */
-    private void doMathOperation(int y, int z) {
-        switch(y) {
-            case 0b000: // add
-                if(z != 0b110) { // add a, [b, c, d, e, h, l, a]
-                    this.registers.A = this.add8Bit(this.registers.A, this.registers.get8BitRegister(z));
-                    this.incrementCycles(4);
-                } else { // add a, (hl)
-                    this.registers.A = this.add8Bit(this.registers.A, this.readByte(this.registers.getHL()));
-                    this.incrementCycles(8);
-                }
-
-                break;
-            case 0b001: // adc
-                if(z != 0b110) { // adc a, [b, c, d, e, h, l, a]
-                    this.registers.A = this.adc(this.registers.A, this.registers.get8BitRegister(z));
-                    this.incrementCycles(4);
-                } else { // adc a, (hl)
-                    this.registers.A = this.adc(this.registers.A, this.readByte(this.registers.getHL()));
-                    this.incrementCycles(8);
-                }
-
-                break;
-            case 0b010: // sub
-                if(z != 0b110) { // sub a, [b, c, d, e, h, l, a]
-                    this.registers.A = this.sub(this.registers.A, this.registers.get8BitRegister(z));
-                    this.incrementCycles(4);
-                } else { // sub a, (hl)
-                    this.registers.A = this.sub(this.registers.A, this.readByte(this.registers.getHL()));
-                    this.incrementCycles(8);
-                }
-
-                break;
-            case 0b011: // sbc
-                if(z != 0b110) { // sbc a, [b, c, d, e, h, l, a]
-                    this.registers.A = this.sbc(this.registers.A, this.registers.get8BitRegister(z));
-                    this.incrementCycles(4);
-                } else { // sbc a, (hl)
-                    this.registers.A = this.sbc(this.registers.A, this.readByte(this.registers.getHL()));
-                    this.incrementCycles(8);
-                }
-
-                break;
-            case 0b100: // and
-                if(z != 0b110) { // and a, [b, c, d, e, h, l, a]
-                    this.registers.A = this.and(this.registers.A, this.registers.get8BitRegister(z));
-                    this.incrementCycles(4);
-                } else { // and a, (hl)
-                    this.registers.A = this.and(this.registers.A, this.readByte(this.registers.getHL()));
-                    this.incrementCycles(8);
-                }
-
-                break;
-            case 0b101: // xor
-                if(z != 0b110) { // xor a, [b, c, d, e, h, l, a]
-                    this.registers.A = this.xor(this.registers.A, this.registers.get8BitRegister(z));
-                    this.incrementCycles(4);
-                } else { // xor a, (hl)
-                    this.registers.A = this.xor(this.registers.A, this.readByte(this.registers.getHL()));
-                    this.incrementCycles(8);
-                }
-
-                break;
-            case 0b110: // or
-                if(z != 0b110) { // or a, [b, c, d, e, h, l, a]
-                    this.registers.A = this.or(this.registers.A, this.registers.get8BitRegister(z));
-                    this.incrementCycles(4);
-                } else { // or a, (hl)
-                    this.registers.A = this.or(this.registers.A, this.readByte(this.registers.getHL()));
-                    this.incrementCycles(8);
-                }
-
-                break;
-            case 0b111: // cp
-                if(z != 0b110) { // cp a, [b, c, d, e, h, l, a]
-                    this.cp(this.registers.A, this.registers.get8BitRegister(z));
-                    this.incrementCycles(4);
-                } else { // cp a, (hl)
-                    this.cp(this.registers.A, this.readByte(this.registers.getHL()));
-                    this.incrementCycles(8);
-                }
-
-                break;
-        }
-    }
-
-    /**
-     * Perform jump, call and ret operations.
-     * @param y Bits 5-3 of the op code
-     * @param z Bits 7-6 of the op code
-     * @param q Bit 3 of the op code
-     * @param p Bits 5-4 of the op code
-     */
-    private void doJumpOperation(int y, int z, int q, int p) {
-        // check for overflow on SP + 1
-        int high = this.readByte((this.registers.SP + 1) > 0xFFFF ? 0 : (this.registers.SP + 1));
-        int low = this.readByte(this.registers.SP);
-
-        switch(z) {
-            case 0b000: // conditional return
-                switch(y) {
-                    case 0b000: // ret nz
-                        if((this.registers.F & Flags.ZERO) != Flags.ZERO) {
-                            this.registers.PC = this.combineBytes(high, low);
-                            this.incrementSP(2);
-                            this.incrementCycles(20);
-                        } else {
-                            this.incrementCycles(8);
-                        }
-
-                        break;
-                    case 0b001: // ret z
-                        if((this.registers.F & Flags.ZERO) == Flags.ZERO) {
-                            this.registers.PC = this.combineBytes(high, low);
-                            this.incrementSP(2);
-                            this.incrementCycles(20);
-                        } else {
-                            this.incrementCycles(8);
-                        }
-
-                        break;
-                    case 0b010: // ret nc
-                        if((this.registers.F & Flags.CARRY) != Flags.CARRY) {
-                            this.registers.PC = this.combineBytes(high, low);
-                            this.incrementSP(2);
-                            this.incrementCycles(20);
-                        } else {
-                            this.incrementCycles(8);
-                        }
-
-                        break;
-                    case 0b011: // ret c
-                        if((this.registers.F & Flags.CARRY) == Flags.CARRY) {
-                            this.registers.PC = this.combineBytes(high, low);
-                            this.incrementSP(2);
-                            this.incrementCycles(20);
-                        } else {
-                            this.incrementCycles(8);
-                        }
-
-                        break;
-                    case 0b100: // ld (x), a
-                        this.writeByte(0xFF00 + this.getByte(), this.registers.A);
-                        this.incrementCycles(12);
-                        this.incrementPC(1);
-
-                        break;
-                    case 0b101: // add sp, x
-                        this.registers.SP = this.add16Bit(this.registers.SP, this.getByte());
-                        this.setFlags(Flags.ZERO);
-                        this.incrementCycles(16);
-                        this.incrementPC(1);
-
-                        break;
-                    case 0b110: // ld a, (x)
-                        this.registers.A = this.readByte(0xFF00 + this.getByte());
-                        this.incrementCycles(12);
-                        this.incrementPC(1);
-
-                        break;
-                    case 0b111: // ld hl sp+x
-                        int op = this.getByte();
-                        int result = this.registers.SP + op;
-
-                        if((result & 0xFFFF0000) != 0) {
-                            this.setFlags(Flags.CARRY);
-                        } else {
-                            this.resetFlags(Flags.CARRY);
-                        }
-
-                        if(((this.registers.SP & 0x0F) + (op & 0x0F)) > 0x0F) {
-                            this.setFlags(Flags.HALF);
-                        } else {
-                            this.resetFlags(Flags.HALF);
-                        }
-
-                        this.resetFlags(Flags.ZERO | Flags.SUB);
-
-                        // check for overflow
-                        if(result > 0xFFFF) {
-                            result -= 0xFFFF;
-                        }
-
-                        this.registers.setHL(result);
-                        this.incrementCycles(12);
-                        this.incrementPC(1);
-
-                        break;
-                }
-
-                break;
-            case 0b001: // pop & various ops
-                if(q == 0) { // pop [bc, de, hl, af]
-                    this.registers.set16BitRegister(p, this.combineBytes(high, low), true);
-                    this.incrementSP(2);
-                    this.incrementCycles(12);
-                } else if(q == 1) {
-                    switch(p) {
-                        case 0b00: // ret
-                            this.registers.PC = this.combineBytes(high, low);
-                            this.incrementSP(2);
-                            this.incrementCycles(16);
-
-                            break;
-                        case 0b01: // reti
-                            this.registers.PC = this.combineBytes(high, low);
-                            this.incrementSP(2);
-                            this.ime = true;
-                            this.incrementCycles(16);
-
-                            break;
-                        case 0b10: // jp hl
-                            this.registers.PC = this.registers.getHL();
-                            this.incrementCycles(4);
-
-                            break;
-                        case 0b11: // ld sp, hl
-                            this.registers.SP = this.registers.getHL();
-                            this.incrementCycles(8);
-
-                            break;
-                    }
-                }
-
-                break;
-            case 0b010: // conditional jump
-                if((p >> 1) == 0) {
-                    switch(y) {
-                        case 0b000: // jp nz xx
-                            if((this.registers.F & Flags.ZERO) != Flags.ZERO) {
-                                this.registers.PC = this.getWord() - 2;
-                                this.incrementCycles(16);
-                            } else {
-                                this.incrementCycles(12);
-                            }
-
-                            break;
-                        case 0b001: // jp z xx
-                            if((this.registers.F & Flags.ZERO) == Flags.ZERO) {
-                                this.registers.PC = this.getWord() - 2;
-                                this.incrementCycles(16);
-                            } else {
-                                this.incrementCycles(12);
-                            }
-
-                            break;
-                        case 0b010: // jp nc xx
-                            if((this.registers.F & Flags.CARRY) != Flags.CARRY) {
-                                this.registers.PC = this.getWord() - 2;
-                                this.incrementCycles(16);
-                            } else {
-                                this.incrementCycles(12);
-                            }
-
-                            break;
-                        case 0b011: // jp c xx
-                            if((this.registers.F & Flags.CARRY) == Flags.CARRY) {
-                                this.registers.PC = this.getWord() - 2;
-                                this.incrementCycles(16);
-                            } else {
-                                this.incrementCycles(12);
-                            }
-
-                            break;
-                    }
-
-                    this.incrementPC(2);
-                } else {
-                    switch(y) {
-                        case 0b100: // ld (c), a
-                            this.writeByte(0xFF00 + (this.registers.C & 0xFF), this.registers.A);
-                            this.incrementCycles(8);
-
-                            break;
-                        case 0b101: // ld (xx), a
-                            this.writeByte(this.getWord(), this.registers.A);
-                            this.incrementCycles(16);
-                            this.incrementPC(2);
-
-                            break;
-                        case 0b110: // ld a, (c)
-                            this.registers.A = this.readByte(0xFF00 + (this.registers.C & 0xFF));
-                            this.incrementCycles(8);
-
-                            break;
-                        case 0b111: // ld a, (xx)
-                            this.registers.A = this.readByte(this.getWord());
-                            this.incrementCycles(16);
-                            this.incrementPC(2);
-
-                            break;
-                    }
-                }
-
-                break;
-            case 0b011: // assorted operations
-                switch(y) {
-                    case 0b000: // jp xx
-                        this.registers.PC = this.getWord() - 2;
-                        this.incrementCycles(16);
-                        this.incrementPC(2);
-
-                        break;
-                    case 0b001: // cb-prefixed operations. do nothing
-                        break;
-                    case 0b010: // nop
-                    case 0b011: // nop
-                    case 0b100: // nop
-                    case 0b101: // nop
-                        this.incrementCycles(4);
-
-                        break;
-                    case 0b110: // di
-                        // DI immediately disables the IME and cancels any pending enabled caused by EI
-                        this.ime = false;
-                        this.pendingEnableIME = false;
-                        this.incrementCycles(4);
-
-                        break;
-                    case 0b111: // ei
-                        // EI takes an extra cycle for the IME to be enabled
-                        this.pendingEnableIME = true;
-                        this.incrementCycles(4);
-
-                        break;
-                }
-
-                break;
-            case 0b100: // conditional calls
-                switch(y) {
-                    case 0b000: // call nz xx
-                        if((this.registers.F & Flags.ZERO) != Flags.ZERO) {
-                            this.call();
-                        } else {
-                            this.incrementCycles(12);
-                            this.incrementPC(2);
-                        }
-
-                        break;
-                    case 0b001: // call z xx
-                        if((this.registers.F & Flags.ZERO) == Flags.ZERO) {
-                            this.call();
-                        } else {
-                            this.incrementCycles(12);
-                            this.incrementPC(2);
-                        }
-
-                        break;
-                    case 0b010: // call nc xx
-                        if((this.registers.F & Flags.CARRY) != Flags.CARRY) {
-                            this.call();
-                        } else {
-                            this.incrementCycles(12);
-                            this.incrementPC(2);
-                        }
-
-                        break;
-                    case 0b011: // call c xx
-                        if((this.registers.F & Flags.CARRY) == Flags.CARRY) {
-                            this.call();
-                        } else {
-                            this.incrementCycles(12);
-                            this.incrementPC(2);
-                        }
-
-                        break;
-                    case 0b100: // nop
-                    case 0b101: // nop
-                    case 0b110: // nop
-                    case 0b111: // nop
-                        this.incrementCycles(4);
-
-                        break;
-                }
-
-                break;
-            case 0b101: // push & various ops
-                if(q == 0) { // push [bc, de, hl, af]
-                    this.incrementSP(-1);
-                    this.writeByte(this.registers.SP, (this.registers.get16BitRegister(p, true) >> 8) & 0xFF);
-
-                    this.incrementSP(-1);
-                    this.writeByte(this.registers.SP, (this.registers.get16BitRegister(p, true)) & 0xFF);
-
-                    this.incrementCycles(16);
-                } else if(q == 1) {
-                    if(p == 0) { // call xx
-                        this.call();
-                    } else { // nop
-                        this.incrementCycles(4);
-                    }
-                }
-
-                break;
-            case 0b110: // operate on accumulator and immediate operand
-                switch(y) {
-                    case 0b000: // add a, x
-                        this.registers.A = this.add8Bit(this.registers.A, this.getByte());
-
-                        break;
-                    case 0b001: // adc a, x
-                        this.registers.A = this.adc(this.registers.A, this.getByte());
-
-                        break;
-                    case 0b010: // sub a, x
-                        this.registers.A = this.sub(this.registers.A, this.getByte());
-
-                        break;
-                    case 0b011: // sbc a, x
-                        this.registers.A = this.sbc(this.registers.A, this.getByte());
-
-                        break;
-                    case 0b100: // and a, x
-                        this.registers.A = this.and(this.registers.A, this.getByte());
-
-                        break;
-                    case 0b101: // xor a, x
-                        this.registers.A = this.xor(this.registers.A, this.getByte());
-
-                        break;
-                    case 0b110: // or a, x
-                        this.registers.A = this.or(this.registers.A, this.getByte());
-
-                        break;
-                    case 0b111: // adc a, x
-                        this.cp(this.registers.A, this.getByte());
-
-                        break;
-                }
-
+        };
+        this.operations[0x29] = () -> { // add hl, hl
+            this.registers.setHL(this.add16Bit(this.registers.getHL(), this.registers.getHL()));
+            this.incrementCycles(8);
+        };
+        this.operations[0x2A] = () -> { // ld a, (hl+)
+            this.registers.A = this.readByte(this.registers.getHL());
+            this.registers.setHL(this.registers.getHL() + 1);
+            this.incrementCycles(8);
+        };
+        this.operations[0x2B] = () -> { // dec hl
+            this.registers.setHL(this.registers.getHL() - 1);
+            this.incrementCycles(8);
+        };
+        this.operations[0x2C] = () -> { // inc l
+            this.registers.L = this.increment(this.registers.L);
+            this.incrementCycles(4);
+        };
+        this.operations[0x2D] = () -> { // dec l
+            this.registers.L = this.decrement(this.registers.L);
+            this.incrementCycles(4);
+        };
+        this.operations[0x2E] = () -> { // ld l, x
+            this.registers.L = this.getByte();
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0x2F] = () -> { // cpl
+            this.cpl();
+            this.incrementCycles(4);
+        };
+        this.operations[0x30] = () -> { // jr nc x
+            if((this.registers.getF() & Flags.CARRY) != Flags.CARRY) {
+                this.jumpRelative(this.getByte());
+                this.incrementCycles(12);
+            } else {
                 this.incrementCycles(8);
                 this.incrementPC(1);
+            }
+        };
+        this.operations[0x31] = () -> { // ld sp, xx
+            this.registers.SP = this.getWord();
+            this.incrementCycles(12);
+            this.incrementPC(2);
+        };
+        this.operations[0x32] = () -> { // ld (hl-), a
+            this.writeByte(this.registers.getHL(), this.registers.A);
+            this.registers.setHL(this.registers.getHL() - 1);
+            this.incrementCycles(8);
+        };
+        this.operations[0x33] = () -> { // inc sp
+            this.registers.SP = (this.registers.SP + 1) & 0xFFFF;
+            this.incrementCycles(8);
+        };
+        this.operations[0x34] = () -> { // inc (hl)
+            this.writeByte(this.registers.getHL(), this.increment(this.readByte(this.registers.getHL())));
+            this.incrementCycles(8);
+        };
+        this.operations[0x35] = () -> { // dec (hl)
+            this.writeByte(this.registers.getHL(), this.decrement(this.readByte(this.registers.getHL())));
+            this.incrementCycles(8);
+        };
+        this.operations[0x36] = () -> { // ld (hl), x
+            this.writeByte(this.registers.getHL(), this.getByte());
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0x37] = () -> { // scf
+            this.scf();
+            this.incrementCycles(4);
+        };
+        this.operations[0x38] = () -> { // jr c x
+            if((this.registers.getF() & Flags.CARRY) == Flags.CARRY) {
+                this.jumpRelative(this.getByte());
+                this.incrementCycles(12);
+            } else {
+                this.incrementCycles(8);
+                this.incrementPC(1);
+            }
+        };
+        this.operations[0x39] = () -> { // add hl, sp
+            this.registers.setHL(this.add16Bit(this.registers.getHL(), this.registers.SP));
+            this.incrementCycles(8);
+        };
+        this.operations[0x3A] = () -> { // ld a, (hl-)
+            this.registers.A = this.readByte(this.registers.getHL());
+            this.registers.setHL(this.registers.getHL() - 1);
+            this.incrementCycles(8);
+        };
+        this.operations[0x3B] = () -> { // dec sp
+            this.registers.SP = (this.registers.SP - 1) & 0xFFFF;
+            this.incrementCycles(8);
+        };
+        this.operations[0x3C] = () -> { // inc a
+            this.registers.A = this.increment(this.registers.A);
+            this.incrementCycles(4);
+        };
+        this.operations[0x3D] = () -> { // dec a
+            this.registers.A = this.decrement(this.registers.A);
+            this.incrementCycles(4);
+        };
+        this.operations[0x3E] = () -> { // ld a, x
+            this.registers.A = this.getByte();
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0x3F] = () -> { // ccf
+            this.ccf();
+            this.incrementCycles(4);
+        };
+        this.operations[0x40] = () -> { // ld b, b
+            this.incrementCycles(4);
+        };
+        this.operations[0x41] = () -> { // ld b, c
+            this.registers.B = this.registers.C;
+            this.incrementCycles(4);
+        };
+        this.operations[0x42] = () -> { // ld b, d
+            this.registers.B = this.registers.D;
+            this.incrementCycles(4);
+        };
+        this.operations[0x43] = () -> { // ld b, e
+            this.registers.B = this.registers.E;
+            this.incrementCycles(4);
+        };
+        this.operations[0x44] = () -> { // ld b, h
+            this.registers.B = this.registers.H;
+            this.incrementCycles(4);
+        };
+        this.operations[0x45] = () -> { // ld b, l
+            this.registers.B = this.registers.L;
+            this.incrementCycles(4);
+        };
+        this.operations[0x46] = () -> { // ld b, (hl)
+            this.registers.B = this.readByte(this.registers.getHL());
+            this.incrementCycles(8);
+        };
+        this.operations[0x47] = () -> { // ld b, a
+            this.registers.B = this.registers.A;
+            this.incrementCycles(4);
+        };
+        this.operations[0x48] = () -> { // ld c, b
+            this.registers.C = this.registers.B;
+            this.incrementCycles(4);
+        };
+        this.operations[0x49] = () -> { // ld c, c
+            this.incrementCycles(4);
+        };
+        this.operations[0x4A] = () -> { // ld c, d
+            this.registers.C = this.registers.D;
+            this.incrementCycles(4);
+        };
+        this.operations[0x4B] = () -> { // ld c, e
+            this.registers.C = this.registers.E;
+            this.incrementCycles(4);
+        };
+        this.operations[0x4C] = () -> { // ld c, h
+            this.registers.C = this.registers.H;
+            this.incrementCycles(4);
+        };
+        this.operations[0x4D] = () -> { // ld c, l
+            this.registers.C = this.registers.L;
+            this.incrementCycles(4);
+        };
+        this.operations[0x4E] = () -> { // ld c, (hl)
+            this.registers.C = this.readByte(this.registers.getHL());
+            this.incrementCycles(8);
+        };
+        this.operations[0x4F] = () -> { // ld c, a
+            this.registers.C = this.registers.A;
+            this.incrementCycles(4);
+        };
+        this.operations[0x50] = () -> { // ld d, b
+            this.registers.D = this.registers.B;
+            this.incrementCycles(4);
+        };
+        this.operations[0x51] = () -> { // ld d, c
+            this.registers.D = this.registers.C;
+            this.incrementCycles(4);
+        };
+        this.operations[0x52] = () -> { // ld d, d
+            this.incrementCycles(4);
+        };
+        this.operations[0x53] = () -> { // ld d, e
+            this.registers.D = this.registers.E;
+            this.incrementCycles(4);
+        };
+        this.operations[0x54] = () -> { // ld d, h
+            this.registers.D = this.registers.H;
+            this.incrementCycles(4);
+        };
+        this.operations[0x55] = () -> { // ld d, l
+            this.registers.D = this.registers.L;
+            this.incrementCycles(4);
+        };
+        this.operations[0x56] = () -> { // ld d, (hl)
+            this.registers.D = this.readByte(this.registers.getHL());
+            this.incrementCycles(8);
+        };
+        this.operations[0x57] = () -> { // ld d, a
+            this.registers.D = this.registers.A;
+            this.incrementCycles(4);
+        };
+        this.operations[0x58] = () -> { // ld e, b
+            this.registers.E = this.registers.B;
+            this.incrementCycles(4);
+        };
+        this.operations[0x59] = () -> { // ld e, c
+            this.registers.E = this.registers.C;
+            this.incrementCycles(4);
+        };
+        this.operations[0x5A] = () -> { // ld e, d
+            this.registers.E = this.registers.D;
+            this.incrementCycles(4);
+        };
+        this.operations[0x5B] = () -> { // ld e, e
+            this.incrementCycles(4);
+        };
+        this.operations[0x5C] = () -> { // ld e, h
+            this.registers.E = this.registers.H;
+            this.incrementCycles(4);
+        };
+        this.operations[0x5D] = () -> { // ld e, l
+            this.registers.E = this.registers.L;
+            this.incrementCycles(4);
+        };
+        this.operations[0x5E] = () -> { // ld e, (hl)
+            this.registers.E = this.readByte(this.registers.getHL());
+            this.incrementCycles(8);
+        };
+        this.operations[0x5F] = () -> { // ld e, a
+            this.registers.E = this.registers.A;
+            this.incrementCycles(4);
+        };
+        this.operations[0x60] = () -> { // ld h, b
+            this.registers.H = this.registers.B;
+            this.incrementCycles(4);
+        };
+        this.operations[0x61] = () -> { // ld h, c
+            this.registers.H = this.registers.C;
+            this.incrementCycles(4);
+        };
+        this.operations[0x62] = () -> { // ld h, d
+            this.registers.H = this.registers.D;
+            this.incrementCycles(4);
+        };
+        this.operations[0x63] = () -> { // ld h, e
+            this.registers.H = this.registers.E;
+            this.incrementCycles(4);
+        };
+        this.operations[0x64] = () -> { // ld h, h
+            this.incrementCycles(4);
+        };
+        this.operations[0x65] = () -> { // ld h, l
+            this.registers.H = this.registers.L;
+            this.incrementCycles(4);
+        };
+        this.operations[0x66] = () -> { // ld h, (hl)
+            this.registers.H = this.readByte(this.registers.getHL());
+            this.incrementCycles(8);
+        };
+        this.operations[0x67] = () -> { // ld h, a
+            this.registers.H = this.registers.A;
+            this.incrementCycles(4);
+        };
+        this.operations[0x68] = () -> { // ld l, b
+            this.registers.L = this.registers.B;
+            this.incrementCycles(4);
+        };
+        this.operations[0x69] = () -> { // ld l, c
+            this.registers.L = this.registers.C;
+            this.incrementCycles(4);
+        };
+        this.operations[0x6A] = () -> { // ld l, d
+            this.registers.L = this.registers.D;
+            this.incrementCycles(4);
+        };
+        this.operations[0x6B] = () -> { // ld l, e
+            this.registers.L = this.registers.E;
+            this.incrementCycles(4);
+        };
+        this.operations[0x6C] = () -> { // ld l, h
+            this.registers.L = this.registers.H;
+            this.incrementCycles(4);
+        };
+        this.operations[0x6D] = () -> { // ld l, l
+            this.incrementCycles(4);
+        };
+        this.operations[0x6E] = () -> { // ld l, (hl)
+            this.registers.L = this.readByte(this.registers.getHL());
+            this.incrementCycles(8);
+        };
+        this.operations[0x6F] = () -> { // ld l, a
+            this.registers.L = this.registers.A;
+            this.incrementCycles(4);
+        };
+        this.operations[0x70] = () -> { // ld (hl), b
+            this.writeByte(this.registers.getHL(), this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.operations[0x71] = () -> { // ld (hl), c
+            this.writeByte(this.registers.getHL(), this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.operations[0x72] = () -> { // ld (hl), d
+            this.writeByte(this.registers.getHL(), this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.operations[0x73] = () -> { // ld (hl), e
+            this.writeByte(this.registers.getHL(), this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.operations[0x74] = () -> { // ld (hl), h
+            this.writeByte(this.registers.getHL(), this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.operations[0x75] = () -> { // ld (hl), l
+            this.writeByte(this.registers.getHL(), this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.operations[0x76] = () -> { // halt
+            this.halt();
+            this.incrementCycles(4);
+        };
+        this.operations[0x77] = () -> { // ld (hl), a
+            this.writeByte(this.registers.getHL(), this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.operations[0x78] = () -> { // ld a, b
+            this.registers.A = this.registers.B;
+            this.incrementCycles(4);
+        };
+        this.operations[0x79] = () -> { // ld a, c
+            this.registers.A = this.registers.C;
+            this.incrementCycles(4);
+        };
+        this.operations[0x7A] = () -> { // ld a, d
+            this.registers.A = this.registers.D;
+            this.incrementCycles(4);
+        };
+        this.operations[0x7B] = () -> { // ld a, e
+            this.registers.A = this.registers.E;
+            this.incrementCycles(4);
+        };
+        this.operations[0x7C] = () -> { // ld a, h
+            this.registers.A = this.registers.H;
+            this.incrementCycles(4);
+        };
+        this.operations[0x7D] = () -> { // ld a, l
+            this.registers.A = this.registers.L;
+            this.incrementCycles(4);
+        };
+        this.operations[0x7E] = () -> { // ld a, (hl)
+            this.registers.A = this.readByte(this.registers.getHL());
+            this.incrementCycles(8);
+        };
+        this.operations[0x7F] = () -> { // ld a, a
+            this.incrementCycles(4);
+        };
+        this.operations[0x80] = () -> { // add a, b
+            this.registers.A = this.add8Bit(this.registers.A, this.registers.B);
+            this.incrementCycles(4);
+        };
+        this.operations[0x81] = () -> { // add a, c
+            this.registers.A = this.add8Bit(this.registers.A, this.registers.C);
+            this.incrementCycles(4);
+        };
+        this.operations[0x82] = () -> { // add a, d
+            this.registers.A = this.add8Bit(this.registers.A, this.registers.D);
+            this.incrementCycles(4);
+        };
+        this.operations[0x83] = () -> { // add a, e
+            this.registers.A = this.add8Bit(this.registers.A, this.registers.E);
+            this.incrementCycles(4);
+        };
+        this.operations[0x84] = () -> { // add a, h
+            this.registers.A = this.add8Bit(this.registers.A, this.registers.H);
+            this.incrementCycles(4);
+        };
+        this.operations[0x85] = () -> { // add a, l
+            this.registers.A = this.add8Bit(this.registers.A, this.registers.L);
+            this.incrementCycles(4);
+        };
+        this.operations[0x86] = () -> { // add a, (hl)
+            this.registers.A = this.add8Bit(this.registers.A, this.readByte(this.registers.getHL()));
+            this.incrementCycles(8);
+        };
+        this.operations[0x87] = () -> { // add a, a
+            this.registers.A = this.add8Bit(this.registers.A, this.registers.A);
+            this.incrementCycles(4);
+        };
+        this.operations[0x88] = () -> { // adc a, b
+            this.registers.A = this.adc(this.registers.A, this.registers.B);
+            this.incrementCycles(4);
+        };
+        this.operations[0x89] = () -> { // adc a, c
+            this.registers.A = this.adc(this.registers.A, this.registers.C);
+            this.incrementCycles(4);
+        };
+        this.operations[0x8A] = () -> { // adc a, d
+            this.registers.A = this.adc(this.registers.A, this.registers.D);
+            this.incrementCycles(4);
+        };
+        this.operations[0x8B] = () -> { // adc a, e
+            this.registers.A = this.adc(this.registers.A, this.registers.E);
+            this.incrementCycles(4);
+        };
+        this.operations[0x8C] = () -> { // adc a, h
+            this.registers.A = this.adc(this.registers.A, this.registers.H);
+            this.incrementCycles(4);
+        };
+        this.operations[0x8D] = () -> { // adc a, l
+            this.registers.A = this.adc(this.registers.A, this.registers.L);
+            this.incrementCycles(4);
+        };
+        this.operations[0x8E] = () -> { // adc a, (hl)
+            this.registers.A = this.adc(this.registers.A, this.readByte(this.registers.getHL()));
+            this.incrementCycles(8);
+        };
+        this.operations[0x8F] = () -> { // adc a, a
+            this.registers.A = this.adc(this.registers.A, this.registers.A);
+            this.incrementCycles(4);
+        };
+        this.operations[0x90] = () -> { // sub a, b
+            this.registers.A = this.sub(this.registers.A, this.registers.B);
+            this.incrementCycles(4);
+        };
+        this.operations[0x91] = () -> { // sub a, c
+            this.registers.A = this.sub(this.registers.A, this.registers.C);
+            this.incrementCycles(4);
+        };
+        this.operations[0x92] = () -> { // sub a, d
+            this.registers.A = this.sub(this.registers.A, this.registers.D);
+            this.incrementCycles(4);
+        };
+        this.operations[0x93] = () -> { // sub a, e
+            this.registers.A = this.sub(this.registers.A, this.registers.E);
+            this.incrementCycles(4);
+        };
+        this.operations[0x94] = () -> { // sub a, h
+            this.registers.A = this.sub(this.registers.A, this.registers.H);
+            this.incrementCycles(4);
+        };
+        this.operations[0x95] = () -> { // sub a, l
+            this.registers.A = this.sub(this.registers.A, this.registers.L);
+            this.incrementCycles(4);
+        };
+        this.operations[0x96] = () -> { // sub a, (hl)
+            this.registers.A = this.sub(this.registers.A, this.readByte(this.registers.getHL()));
+            this.incrementCycles(8);
+        };
+        this.operations[0x97] = () -> { // sub a, a
+            this.registers.A = this.sub(this.registers.A, this.registers.A);
+            this.incrementCycles(4);
+        };
+        this.operations[0x98] = () -> { // sbc a, b
+            this.registers.A = this.sbc(this.registers.A, this.registers.B);
+            this.incrementCycles(4);
+        };
+        this.operations[0x99] = () -> { // sbc a, c
+            this.registers.A = this.sbc(this.registers.A, this.registers.C);
+            this.incrementCycles(4);
+        };
+        this.operations[0x9A] = () -> { // sbc a, d
+            this.registers.A = this.sbc(this.registers.A, this.registers.D);
+            this.incrementCycles(4);
+        };
+        this.operations[0x9B] = () -> { // sbc a, e
+            this.registers.A = this.sbc(this.registers.A, this.registers.E);
+            this.incrementCycles(4);
+        };
+        this.operations[0x9C] = () -> { // sbc a, h
+            this.registers.A = this.sbc(this.registers.A, this.registers.H);
+            this.incrementCycles(4);
+        };
+        this.operations[0x9D] = () -> { // sbc a, l
+            this.registers.A = this.sbc(this.registers.A, this.registers.L);
+            this.incrementCycles(4);
+        };
+        this.operations[0x9E] = () -> { // sbc a, (hl)
+            this.registers.A = this.sbc(this.registers.A, this.readByte(this.registers.getHL()));
+            this.incrementCycles(8);
+        };
+        this.operations[0x9F] = () -> { // sbc a, a
+            this.registers.A = this.sbc(this.registers.A, this.registers.A);
+            this.incrementCycles(4);
+        };
+        this.operations[0xA0] = () -> { // and a, b
+            this.registers.A = this.and(this.registers.A, this.registers.B);
+            this.incrementCycles(4);
+        };
+        this.operations[0xA1] = () -> { // and a, c
+            this.registers.A = this.and(this.registers.A, this.registers.C);
+            this.incrementCycles(4);
+        };
+        this.operations[0xA2] = () -> { // and a, d
+            this.registers.A = this.and(this.registers.A, this.registers.D);
+            this.incrementCycles(4);
+        };
+        this.operations[0xA3] = () -> { // and a, e
+            this.registers.A = this.and(this.registers.A, this.registers.E);
+            this.incrementCycles(4);
+        };
+        this.operations[0xA4] = () -> { // and a, h
+            this.registers.A = this.and(this.registers.A, this.registers.H);
+            this.incrementCycles(4);
+        };
+        this.operations[0xA5] = () -> { // and a, l
+            this.registers.A = this.and(this.registers.A, this.registers.L);
+            this.incrementCycles(4);
+        };
+        this.operations[0xA6] = () -> { // and a, (hl)
+            this.registers.A = this.and(this.registers.A, this.readByte(this.registers.getHL()));
+            this.incrementCycles(8);
+        };
+        this.operations[0xA7] = () -> { // and a, a
+            this.registers.A = this.and(this.registers.A, this.registers.A);
+            this.incrementCycles(4);
+        };
+        this.operations[0xA8] = () -> { // xor a, b
+            this.registers.A = this.xor(this.registers.A, this.registers.B);
+            this.incrementCycles(4);
+        };
+        this.operations[0xA9] = () -> { // xor a, c
+            this.registers.A = this.xor(this.registers.A, this.registers.C);
+            this.incrementCycles(4);
+        };
+        this.operations[0xAA] = () -> { // xor a, d
+            this.registers.A = this.xor(this.registers.A, this.registers.D);
+            this.incrementCycles(4);
+        };
+        this.operations[0xAB] = () -> { // xor a, e
+            this.registers.A = this.xor(this.registers.A, this.registers.E);
+            this.incrementCycles(4);
+        };
+        this.operations[0xAC] = () -> { // xor a, h
+            this.registers.A = this.xor(this.registers.A, this.registers.H);
+            this.incrementCycles(4);
+        };
+        this.operations[0xAD] = () -> { // xor a, l
+            this.registers.A = this.xor(this.registers.A, this.registers.L);
+            this.incrementCycles(4);
+        };
+        this.operations[0xAE] = () -> { // xor a, (hl)
+            this.registers.A = this.xor(this.registers.A, this.readByte(this.registers.getHL()));
+            this.incrementCycles(8);
+        };
+        this.operations[0xAF] = () -> { // xor a, a
+            this.registers.A = this.xor(this.registers.A, this.registers.A);
+            this.incrementCycles(4);
+        };
+        this.operations[0xB0] = () -> { // or a, b
+            this.registers.A = this.or(this.registers.A, this.registers.B);
+            this.incrementCycles(4);
+        };
+        this.operations[0xB1] = () -> { // or a, c
+            this.registers.A = this.or(this.registers.A, this.registers.C);
+            this.incrementCycles(4);
+        };
+        this.operations[0xB2] = () -> { // or a, d
+            this.registers.A = this.or(this.registers.A, this.registers.D);
+            this.incrementCycles(4);
+        };
+        this.operations[0xB3] = () -> { // or a, e
+            this.registers.A = this.or(this.registers.A, this.registers.E);
+            this.incrementCycles(4);
+        };
+        this.operations[0xB4] = () -> { // or a, h
+            this.registers.A = this.or(this.registers.A, this.registers.H);
+            this.incrementCycles(4);
+        };
+        this.operations[0xB5] = () -> { // or a, l
+            this.registers.A = this.or(this.registers.A, this.registers.L);
+            this.incrementCycles(4);
+        };
+        this.operations[0xB6] = () -> { // or a, (hl)
+            this.registers.A = this.or(this.registers.A, this.readByte(this.registers.getHL()));
+            this.incrementCycles(8);
+        };
+        this.operations[0xB7] = () -> { // or a, a
+            this.registers.A = this.or(this.registers.A, this.registers.A);
+            this.incrementCycles(4);
+        };
+        this.operations[0xB8] = () -> { // cp a, b
+            this.cp(this.registers.A, this.registers.B);
+            this.incrementCycles(4);
+        };
+        this.operations[0xB9] = () -> { // cp a, c
+            this.cp(this.registers.A, this.registers.C);
+            this.incrementCycles(4);
+        };
+        this.operations[0xBA] = () -> { // cp a, d
+            this.cp(this.registers.A, this.registers.D);
+            this.incrementCycles(4);
+        };
+        this.operations[0xBB] = () -> { // cp a, e
+            this.cp(this.registers.A, this.registers.E);
+            this.incrementCycles(4);
+        };
+        this.operations[0xBC] = () -> { // cp a, h
+            this.cp(this.registers.A, this.registers.H);
+            this.incrementCycles(4);
+        };
+        this.operations[0xBD] = () -> { // cp a, l
+            this.cp(this.registers.A, this.registers.L);
+            this.incrementCycles(4);
+        };
+        this.operations[0xBE] = () -> { // cp a, (hl)
+            this.cp(this.registers.A, this.readByte(this.registers.getHL()));
+            this.incrementCycles(8);
+        };
+        this.operations[0xBF] = () -> { // cp a, a
+            this.cp(this.registers.A, this.registers.A);
+            this.incrementCycles(4);
+        };
+        this.operations[0xC0] = () -> { // ret nz
+            if((this.registers.getF() & Flags.ZERO) != Flags.ZERO) {
+                this.registers.PC = this.pop();
+                this.incrementCycles(20);
+            } else {
+                this.incrementCycles(8);
+            }
+        };
+        this.operations[0xC1] = () -> { // pop bc
+            this.registers.setBC(this.pop());
+            this.incrementCycles(12);
+        };
+        this.operations[0xC2] = () -> { // jp nz xx
+            if((this.registers.getF() & Flags.ZERO) != Flags.ZERO) {
+                this.registers.PC = this.getWord() - 2;
+                this.incrementCycles(16);
+            } else {
+                this.incrementCycles(12);
+            }
+
+            this.incrementPC(2);
+        };
+        this.operations[0xC3] = () -> { // jp xx
+            this.registers.PC = this.getWord() - 2;
+            this.incrementCycles(16);
+            this.incrementPC(2);
+        };
+        this.operations[0xC4] = () -> { // call nz xx
+            if((this.registers.getF() & Flags.ZERO) != Flags.ZERO) {
+                this.call();
+            } else {
+                this.incrementCycles(12);
+                this.incrementPC(2);
+            }
+        };
+        this.operations[0xC5] = () -> { // push bc
+            this.push(this.registers.getBC());
+            this.incrementCycles(16);
+        };
+        this.operations[0xC6] = () -> { // add a, x
+            this.registers.A = this.add8Bit(this.registers.A, this.getByte());
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0xC7] = () -> { // rst 0x00
+            this.rst(0x00);
+            this.incrementCycles(16);
+        };
+        this.operations[0xC8] = () -> { // ret z
+            if((this.registers.getF() & Flags.ZERO) == Flags.ZERO) {
+                this.registers.PC = this.pop();
+                this.incrementCycles(20);
+            } else {
+                this.incrementCycles(8);
+            }
+        };
+        this.operations[0xC9] = () -> { // ret
+            this.registers.PC = this.pop();
+            this.incrementCycles(16);
+        };
+        this.operations[0xCA] = () -> { // jp z xx
+            if((this.registers.getF() & Flags.ZERO) == Flags.ZERO) {
+                this.registers.PC = this.getWord() - 2;
+                this.incrementCycles(16);
+            } else {
+                this.incrementCycles(12);
+            }
+
+            this.incrementPC(2);
+        };
+        this.operations[0xCB] = () -> { // cb-prefixed operations
+            this.decodeCB(this.readByte(this.registers.PC++));
+        };
+        this.operations[0xCC] = () -> { // call z xx
+            if((this.registers.getF() & Flags.ZERO) == Flags.ZERO) {
+                this.call();
+            } else {
+                this.incrementCycles(12);
+                this.incrementPC(2);
+            }
+        };
+        this.operations[0xCD] = () -> { // call xx
+            this.call();
+        };
+        this.operations[0xCE] = () -> { // adc a, x
+            this.registers.A = this.adc(this.registers.A, this.getByte());
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0xCF] = () -> { // rst 0x08
+            this.rst(0x08);
+            this.incrementCycles(16);
+        };
+        this.operations[0xD0] = () -> { // ret nc
+            if((this.registers.getF() & Flags.CARRY) != Flags.CARRY) {
+                this.registers.PC = this.pop();
+                this.incrementCycles(20);
+            } else {
+                this.incrementCycles(8);
+            }
+        };
+        this.operations[0xD1] = () -> { // pop de
+            this.registers.setDE(this.pop());
+            this.incrementCycles(12);
+        };
+        this.operations[0xD2] = () -> { // jp nc xx
+            if((this.registers.getF() & Flags.CARRY) != Flags.CARRY) {
+                this.registers.PC = this.getWord() - 2;
+                this.incrementCycles(16);
+            } else {
+                this.incrementCycles(12);
+            }
+
+            this.incrementPC(2);
+        };
+        this.operations[0xD3] = () -> { // nop
+            this.incrementCycles(4);
+        };
+        this.operations[0xD4] = () -> { // call nc xx
+            if((this.registers.getF() & Flags.CARRY) != Flags.CARRY) {
+                this.call();
+            } else {
+                this.incrementCycles(12);
+                this.incrementPC(2);
+            }
+        };
+        this.operations[0xD5] = () -> { // push de
+            this.push(this.registers.getDE());
+            this.incrementCycles(16);
+        };
+        this.operations[0xD6] = () -> { // sub a, x
+            this.registers.A = this.sub(this.registers.A, this.getByte());
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0xD7] = () -> { // rst 0x10
+            this.rst(0x10);
+            this.incrementCycles(16);
+        };
+        this.operations[0xD8] = () -> { // ret c
+            if((this.registers.getF() & Flags.CARRY) == Flags.CARRY) {
+                this.registers.PC = this.pop();
+                this.incrementCycles(20);
+            } else {
+                this.incrementCycles(8);
+            }
+        };
+        this.operations[0xD9] = () -> { // reti
+            this.registers.PC = this.pop();
+            this.ime = true;
+            this.incrementCycles(16);
+        };
+        this.operations[0xDA] = () -> { // jp c xx
+            if((this.registers.getF() & Flags.CARRY) == Flags.CARRY) {
+                this.registers.PC = this.getWord() - 2;
+                this.incrementCycles(16);
+            } else {
+                this.incrementCycles(12);
+            }
+
+            this.incrementPC(2);
+        };
+        this.operations[0xDB] = () -> { // nop
+            this.incrementCycles(4);
+        };
+        this.operations[0xDC] = () -> { // call c xx
+            if((this.registers.getF() & Flags.CARRY) == Flags.CARRY) {
+                this.call();
+            } else {
+                this.incrementCycles(12);
+                this.incrementPC(2);
+            }
+        };
+        this.operations[0xDD] = () -> { // nop
+            this.incrementCycles(4);
+        };
+        this.operations[0xDE] = () -> { // sbc a, x
+            this.registers.A = this.sbc(this.registers.A, this.getByte());
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0xDF] = () -> { // rst 0x18
+            this.rst(0x18);
+            this.incrementCycles(16);
+        };
+        this.operations[0xE0] = () -> { // ld (x), a
+            this.writeByte(0xFF00 + this.getByte(), this.registers.A);
+            this.incrementCycles(12);
+            this.incrementPC(1);
+        };
+        this.operations[0xE1] = () -> { // pop hl
+            this.registers.setHL(this.pop());
+            this.incrementCycles(12);
+        };
+        this.operations[0xE2] = () -> { // ld (c), a
+            this.writeByte(0xFF00 + (this.registers.C & 0xFF), this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.operations[0xE3] = () -> { // nop
+            this.incrementCycles(4);
+        };
+        this.operations[0xE4] = () -> { // nop
+            this.incrementCycles(4);
+        };
+        this.operations[0xE5] = () -> { // push hl
+            this.push(this.registers.getHL());
+            this.incrementCycles(16);
+        };
+        this.operations[0xE6] = () -> { // and a, x
+            this.registers.A = this.and(this.registers.A, this.getByte());
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0xE7] = () -> { // rst 0x20
+            this.rst(0x20);
+            this.incrementCycles(16);
+        };
+        this.operations[0xE8] = () -> { // add sp, x
+            this.registers.SP = this.add16Bit(this.registers.SP, this.getByte());
+            this.setFlags(Flags.ZERO);
+            this.incrementCycles(16);
+            this.incrementPC(1);
+        };
+        this.operations[0xE9] = () -> { // jp hl
+            this.registers.PC = this.registers.getHL();
+            this.incrementCycles(4);
+        };
+        this.operations[0xEA] = () -> { // ld (xx), a
+            this.writeByte(this.getWord(), this.registers.A);
+            this.incrementCycles(16);
+            this.incrementPC(2);
+        };
+        this.operations[0xEB] = () -> { // nop
+            this.incrementCycles(4);
+        };
+        this.operations[0xEC] = () -> { // nop
+            this.incrementCycles(4);
+        };
+        this.operations[0xED] = () -> { // nop
+            this.incrementCycles(4);
+        };
+        this.operations[0xEE] = () -> { // xor a, x
+            this.registers.A = this.xor(this.registers.A, this.getByte());
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0xEF] = () -> { // rst 0x28
+            this.rst(0x28);
+            this.incrementCycles(16);
+        };
+        this.operations[0xF0] = () -> { // ld a, (x)
+            this.registers.A = this.readByte(0xFF00 + this.getByte());
+            this.incrementCycles(12);
+            this.incrementPC(1);
+        };
+        this.operations[0xF1] = () -> { // pop af
+            this.registers.setAF(this.pop());
+            this.incrementCycles(12);
+        };
+        this.operations[0xF2] = () -> { // ld a, (c)
+            this.registers.A = this.readByte(0xFF00 + (this.registers.C & 0xFF));
+            this.incrementCycles(8);
+        };
+        this.operations[0xF3] = () -> { // di
+            // DI immediately disables the IME and cancels any pending enabled caused by EI
+            this.ime = false;
+            this.pendingEnableIME = false;
+            this.incrementCycles(4);
+        };
+        this.operations[0xF4] = () -> { // nop
+            this.incrementCycles(4);
+        };
+        this.operations[0xF5] = () -> { // push af
+            this.push(this.registers.getAF());
+            this.incrementCycles(16);
+        };
+        this.operations[0xF6] = () -> { // or a, x
+            this.registers.A = this.or(this.registers.A, this.getByte());
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0xF7] = () -> { // rst 0x30
+            this.rst(0x30);
+            this.incrementCycles(16);
+        };
+        this.operations[0xF8] = () -> { // ld hl, sp+x
+            this.loadHLFromSP(this.getByte());
+            this.incrementCycles(12);
+            this.incrementPC(1);
+        };
+        this.operations[0xF9] = () -> { // ld sp, hl
+            this.registers.SP = this.registers.getHL();
+            this.incrementCycles(8);
+        };
+        this.operations[0xFA] = () -> { // ld a, (xx)
+            this.registers.A = this.readByte(this.getWord());
+            this.incrementCycles(16);
+            this.incrementPC(2);
+        };
+        this.operations[0xFB] = () -> { // ei
+            // EI takes an extra cycle for the IME to be enabled
+            this.pendingEnableIME = true;
+            this.incrementCycles(4);
+        };
+        this.operations[0xFC] = () -> { // nop
+            this.incrementCycles(4);
+        };
+        this.operations[0xFD] = () -> { // nop
+            this.incrementCycles(4);
+        };
+        this.operations[0xFE] = () -> { // cp a, x
+            this.cp(this.registers.A, this.getByte());
+            this.incrementCycles(8);
+            this.incrementPC(1);
+        };
+        this.operations[0xFF] = () -> { // rst 0x38
+            this.rst(0x38);
+            this.incrementCycles(16);
+        };
+    }
 
-                break;
-            case 0b111: // reset
-                this.rst(y * 8);
-                this.incrementCycles(16);
-
-                break;
-        }
-    }
-
     /**
-     * Perform logic operations: rlca, rrca, rla, rra, daa, cpl, scf, ccf
-     * @param y Bits 5-3 of the op code
+     * Fills the CB-prefixed op code table. All CB-prefixed op codes take 8 cycles, or 16 cycles when they
+     * operate on (hl).
      */
-    private void doLogicOperation(int y) {
-        switch(y) {
-            case 0b000: // rlca
-                this.rlca();
-                break;
-            case 0b001: // rrca
-                this.rrca();
-                break;
-            case 0b010: // rla
-                this.rla();
-                break;
-            case 0b011: // rra
-                this.rra();
-                break;
-            case 0b100: // daa
-                this.daa();
-                break;
-            case 0b101: // cpl
-                this.cpl();
-                break;
-            case 0b110: // scf
-                this.scf();
-                break;
-            case 0b111: // ccf
-                this.ccf();
-                break;
-        }
+    private void createCBOperations() {
+        this.cbOperations[0x00] = () -> { // rlc b
+            this.registers.B = this.rlc(this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x01] = () -> { // rlc c
+            this.registers.C = this.rlc(this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x02] = () -> { // rlc d
+            this.registers.D = this.rlc(this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x03] = () -> { // rlc e
+            this.registers.E = this.rlc(this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x04] = () -> { // rlc h
+            this.registers.H = this.rlc(this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x05] = () -> { // rlc l
+            this.registers.L = this.rlc(this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x06] = () -> { // rlc (hl)
+            this.writeByte(this.registers.getHL(), this.rlc(this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x07] = () -> { // rlc a
+            this.registers.A = this.rlc(this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x08] = () -> { // rrc b
+            this.registers.B = this.rrc(this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x09] = () -> { // rrc c
+            this.registers.C = this.rrc(this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x0A] = () -> { // rrc d
+            this.registers.D = this.rrc(this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x0B] = () -> { // rrc e
+            this.registers.E = this.rrc(this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x0C] = () -> { // rrc h
+            this.registers.H = this.rrc(this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x0D] = () -> { // rrc l
+            this.registers.L = this.rrc(this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x0E] = () -> { // rrc (hl)
+            this.writeByte(this.registers.getHL(), this.rrc(this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x0F] = () -> { // rrc a
+            this.registers.A = this.rrc(this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x10] = () -> { // rl b
+            this.registers.B = this.rl(this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x11] = () -> { // rl c
+            this.registers.C = this.rl(this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x12] = () -> { // rl d
+            this.registers.D = this.rl(this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x13] = () -> { // rl e
+            this.registers.E = this.rl(this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x14] = () -> { // rl h
+            this.registers.H = this.rl(this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x15] = () -> { // rl l
+            this.registers.L = this.rl(this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x16] = () -> { // rl (hl)
+            this.writeByte(this.registers.getHL(), this.rl(this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x17] = () -> { // rl a
+            this.registers.A = this.rl(this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x18] = () -> { // rr b
+            this.registers.B = this.rr(this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x19] = () -> { // rr c
+            this.registers.C = this.rr(this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x1A] = () -> { // rr d
+            this.registers.D = this.rr(this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x1B] = () -> { // rr e
+            this.registers.E = this.rr(this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x1C] = () -> { // rr h
+            this.registers.H = this.rr(this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x1D] = () -> { // rr l
+            this.registers.L = this.rr(this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x1E] = () -> { // rr (hl)
+            this.writeByte(this.registers.getHL(), this.rr(this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x1F] = () -> { // rr a
+            this.registers.A = this.rr(this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x20] = () -> { // sla b
+            this.registers.B = this.sla(this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x21] = () -> { // sla c
+            this.registers.C = this.sla(this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x22] = () -> { // sla d
+            this.registers.D = this.sla(this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x23] = () -> { // sla e
+            this.registers.E = this.sla(this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x24] = () -> { // sla h
+            this.registers.H = this.sla(this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x25] = () -> { // sla l
+            this.registers.L = this.sla(this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x26] = () -> { // sla (hl)
+            this.writeByte(this.registers.getHL(), this.sla(this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x27] = () -> { // sla a
+            this.registers.A = this.sla(this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x28] = () -> { // sra b
+            this.registers.B = this.sra(this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x29] = () -> { // sra c
+            this.registers.C = this.sra(this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x2A] = () -> { // sra d
+            this.registers.D = this.sra(this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x2B] = () -> { // sra e
+            this.registers.E = this.sra(this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x2C] = () -> { // sra h
+            this.registers.H = this.sra(this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x2D] = () -> { // sra l
+            this.registers.L = this.sra(this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x2E] = () -> { // sra (hl)
+            this.writeByte(this.registers.getHL(), this.sra(this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x2F] = () -> { // sra a
+            this.registers.A = this.sra(this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x30] = () -> { // swap b
+            this.registers.B = this.swap(this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x31] = () -> { // swap c
+            this.registers.C = this.swap(this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x32] = () -> { // swap d
+            this.registers.D = this.swap(this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x33] = () -> { // swap e
+            this.registers.E = this.swap(this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x34] = () -> { // swap h
+            this.registers.H = this.swap(this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x35] = () -> { // swap l
+            this.registers.L = this.swap(this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x36] = () -> { // swap (hl)
+            this.writeByte(this.registers.getHL(), this.swap(this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x37] = () -> { // swap a
+            this.registers.A = this.swap(this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x38] = () -> { // srl b
+            this.registers.B = this.srl(this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x39] = () -> { // srl c
+            this.registers.C = this.srl(this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x3A] = () -> { // srl d
+            this.registers.D = this.srl(this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x3B] = () -> { // srl e
+            this.registers.E = this.srl(this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x3C] = () -> { // srl h
+            this.registers.H = this.srl(this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x3D] = () -> { // srl l
+            this.registers.L = this.srl(this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x3E] = () -> { // srl (hl)
+            this.writeByte(this.registers.getHL(), this.srl(this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x3F] = () -> { // srl a
+            this.registers.A = this.srl(this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x40] = () -> { // bit 0, b
+            this.bit(0, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x41] = () -> { // bit 0, c
+            this.bit(0, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x42] = () -> { // bit 0, d
+            this.bit(0, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x43] = () -> { // bit 0, e
+            this.bit(0, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x44] = () -> { // bit 0, h
+            this.bit(0, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x45] = () -> { // bit 0, l
+            this.bit(0, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x46] = () -> { // bit 0, (hl)
+            this.bit(0, this.readByte(this.registers.getHL()));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x47] = () -> { // bit 0, a
+            this.bit(0, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x48] = () -> { // bit 1, b
+            this.bit(1, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x49] = () -> { // bit 1, c
+            this.bit(1, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x4A] = () -> { // bit 1, d
+            this.bit(1, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x4B] = () -> { // bit 1, e
+            this.bit(1, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x4C] = () -> { // bit 1, h
+            this.bit(1, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x4D] = () -> { // bit 1, l
+            this.bit(1, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x4E] = () -> { // bit 1, (hl)
+            this.bit(1, this.readByte(this.registers.getHL()));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x4F] = () -> { // bit 1, a
+            this.bit(1, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x50] = () -> { // bit 2, b
+            this.bit(2, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x51] = () -> { // bit 2, c
+            this.bit(2, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x52] = () -> { // bit 2, d
+            this.bit(2, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x53] = () -> { // bit 2, e
+            this.bit(2, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x54] = () -> { // bit 2, h
+            this.bit(2, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x55] = () -> { // bit 2, l
+            this.bit(2, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x56] = () -> { // bit 2, (hl)
+            this.bit(2, this.readByte(this.registers.getHL()));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x57] = () -> { // bit 2, a
+            this.bit(2, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x58] = () -> { // bit 3, b
+            this.bit(3, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x59] = () -> { // bit 3, c
+            this.bit(3, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x5A] = () -> { // bit 3, d
+            this.bit(3, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x5B] = () -> { // bit 3, e
+            this.bit(3, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x5C] = () -> { // bit 3, h
+            this.bit(3, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x5D] = () -> { // bit 3, l
+            this.bit(3, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x5E] = () -> { // bit 3, (hl)
+            this.bit(3, this.readByte(this.registers.getHL()));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x5F] = () -> { // bit 3, a
+            this.bit(3, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x60] = () -> { // bit 4, b
+            this.bit(4, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x61] = () -> { // bit 4, c
+            this.bit(4, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x62] = () -> { // bit 4, d
+            this.bit(4, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x63] = () -> { // bit 4, e
+            this.bit(4, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x64] = () -> { // bit 4, h
+            this.bit(4, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x65] = () -> { // bit 4, l
+            this.bit(4, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x66] = () -> { // bit 4, (hl)
+            this.bit(4, this.readByte(this.registers.getHL()));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x67] = () -> { // bit 4, a
+            this.bit(4, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x68] = () -> { // bit 5, b
+            this.bit(5, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x69] = () -> { // bit 5, c
+            this.bit(5, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x6A] = () -> { // bit 5, d
+            this.bit(5, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x6B] = () -> { // bit 5, e
+            this.bit(5, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x6C] = () -> { // bit 5, h
+            this.bit(5, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x6D] = () -> { // bit 5, l
+            this.bit(5, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x6E] = () -> { // bit 5, (hl)
+            this.bit(5, this.readByte(this.registers.getHL()));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x6F] = () -> { // bit 5, a
+            this.bit(5, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x70] = () -> { // bit 6, b
+            this.bit(6, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x71] = () -> { // bit 6, c
+            this.bit(6, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x72] = () -> { // bit 6, d
+            this.bit(6, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x73] = () -> { // bit 6, e
+            this.bit(6, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x74] = () -> { // bit 6, h
+            this.bit(6, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x75] = () -> { // bit 6, l
+            this.bit(6, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x76] = () -> { // bit 6, (hl)
+            this.bit(6, this.readByte(this.registers.getHL()));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x77] = () -> { // bit 6, a
+            this.bit(6, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x78] = () -> { // bit 7, b
+            this.bit(7, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x79] = () -> { // bit 7, c
+            this.bit(7, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x7A] = () -> { // bit 7, d
+            this.bit(7, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x7B] = () -> { // bit 7, e
+            this.bit(7, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x7C] = () -> { // bit 7, h
+            this.bit(7, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x7D] = () -> { // bit 7, l
+            this.bit(7, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x7E] = () -> { // bit 7, (hl)
+            this.bit(7, this.readByte(this.registers.getHL()));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x7F] = () -> { // bit 7, a
+            this.bit(7, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x80] = () -> { // res 0, b
+            this.registers.B = this.res(0, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x81] = () -> { // res 0, c
+            this.registers.C = this.res(0, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x82] = () -> { // res 0, d
+            this.registers.D = this.res(0, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x83] = () -> { // res 0, e
+            this.registers.E = this.res(0, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x84] = () -> { // res 0, h
+            this.registers.H = this.res(0, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x85] = () -> { // res 0, l
+            this.registers.L = this.res(0, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x86] = () -> { // res 0, (hl)
+            this.writeByte(this.registers.getHL(), this.res(0, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x87] = () -> { // res 0, a
+            this.registers.A = this.res(0, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x88] = () -> { // res 1, b
+            this.registers.B = this.res(1, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x89] = () -> { // res 1, c
+            this.registers.C = this.res(1, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x8A] = () -> { // res 1, d
+            this.registers.D = this.res(1, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x8B] = () -> { // res 1, e
+            this.registers.E = this.res(1, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x8C] = () -> { // res 1, h
+            this.registers.H = this.res(1, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x8D] = () -> { // res 1, l
+            this.registers.L = this.res(1, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x8E] = () -> { // res 1, (hl)
+            this.writeByte(this.registers.getHL(), this.res(1, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x8F] = () -> { // res 1, a
+            this.registers.A = this.res(1, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x90] = () -> { // res 2, b
+            this.registers.B = this.res(2, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x91] = () -> { // res 2, c
+            this.registers.C = this.res(2, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x92] = () -> { // res 2, d
+            this.registers.D = this.res(2, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x93] = () -> { // res 2, e
+            this.registers.E = this.res(2, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x94] = () -> { // res 2, h
+            this.registers.H = this.res(2, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x95] = () -> { // res 2, l
+            this.registers.L = this.res(2, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x96] = () -> { // res 2, (hl)
+            this.writeByte(this.registers.getHL(), this.res(2, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x97] = () -> { // res 2, a
+            this.registers.A = this.res(2, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x98] = () -> { // res 3, b
+            this.registers.B = this.res(3, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x99] = () -> { // res 3, c
+            this.registers.C = this.res(3, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x9A] = () -> { // res 3, d
+            this.registers.D = this.res(3, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x9B] = () -> { // res 3, e
+            this.registers.E = this.res(3, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x9C] = () -> { // res 3, h
+            this.registers.H = this.res(3, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x9D] = () -> { // res 3, l
+            this.registers.L = this.res(3, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0x9E] = () -> { // res 3, (hl)
+            this.writeByte(this.registers.getHL(), this.res(3, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0x9F] = () -> { // res 3, a
+            this.registers.A = this.res(3, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xA0] = () -> { // res 4, b
+            this.registers.B = this.res(4, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xA1] = () -> { // res 4, c
+            this.registers.C = this.res(4, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xA2] = () -> { // res 4, d
+            this.registers.D = this.res(4, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xA3] = () -> { // res 4, e
+            this.registers.E = this.res(4, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xA4] = () -> { // res 4, h
+            this.registers.H = this.res(4, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xA5] = () -> { // res 4, l
+            this.registers.L = this.res(4, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xA6] = () -> { // res 4, (hl)
+            this.writeByte(this.registers.getHL(), this.res(4, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0xA7] = () -> { // res 4, a
+            this.registers.A = this.res(4, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xA8] = () -> { // res 5, b
+            this.registers.B = this.res(5, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xA9] = () -> { // res 5, c
+            this.registers.C = this.res(5, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xAA] = () -> { // res 5, d
+            this.registers.D = this.res(5, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xAB] = () -> { // res 5, e
+            this.registers.E = this.res(5, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xAC] = () -> { // res 5, h
+            this.registers.H = this.res(5, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xAD] = () -> { // res 5, l
+            this.registers.L = this.res(5, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xAE] = () -> { // res 5, (hl)
+            this.writeByte(this.registers.getHL(), this.res(5, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0xAF] = () -> { // res 5, a
+            this.registers.A = this.res(5, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xB0] = () -> { // res 6, b
+            this.registers.B = this.res(6, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xB1] = () -> { // res 6, c
+            this.registers.C = this.res(6, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xB2] = () -> { // res 6, d
+            this.registers.D = this.res(6, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xB3] = () -> { // res 6, e
+            this.registers.E = this.res(6, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xB4] = () -> { // res 6, h
+            this.registers.H = this.res(6, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xB5] = () -> { // res 6, l
+            this.registers.L = this.res(6, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xB6] = () -> { // res 6, (hl)
+            this.writeByte(this.registers.getHL(), this.res(6, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0xB7] = () -> { // res 6, a
+            this.registers.A = this.res(6, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xB8] = () -> { // res 7, b
+            this.registers.B = this.res(7, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xB9] = () -> { // res 7, c
+            this.registers.C = this.res(7, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xBA] = () -> { // res 7, d
+            this.registers.D = this.res(7, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xBB] = () -> { // res 7, e
+            this.registers.E = this.res(7, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xBC] = () -> { // res 7, h
+            this.registers.H = this.res(7, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xBD] = () -> { // res 7, l
+            this.registers.L = this.res(7, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xBE] = () -> { // res 7, (hl)
+            this.writeByte(this.registers.getHL(), this.res(7, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0xBF] = () -> { // res 7, a
+            this.registers.A = this.res(7, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xC0] = () -> { // set 0, b
+            this.registers.B = this.set(0, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xC1] = () -> { // set 0, c
+            this.registers.C = this.set(0, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xC2] = () -> { // set 0, d
+            this.registers.D = this.set(0, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xC3] = () -> { // set 0, e
+            this.registers.E = this.set(0, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xC4] = () -> { // set 0, h
+            this.registers.H = this.set(0, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xC5] = () -> { // set 0, l
+            this.registers.L = this.set(0, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xC6] = () -> { // set 0, (hl)
+            this.writeByte(this.registers.getHL(), this.set(0, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0xC7] = () -> { // set 0, a
+            this.registers.A = this.set(0, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xC8] = () -> { // set 1, b
+            this.registers.B = this.set(1, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xC9] = () -> { // set 1, c
+            this.registers.C = this.set(1, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xCA] = () -> { // set 1, d
+            this.registers.D = this.set(1, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xCB] = () -> { // set 1, e
+            this.registers.E = this.set(1, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xCC] = () -> { // set 1, h
+            this.registers.H = this.set(1, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xCD] = () -> { // set 1, l
+            this.registers.L = this.set(1, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xCE] = () -> { // set 1, (hl)
+            this.writeByte(this.registers.getHL(), this.set(1, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0xCF] = () -> { // set 1, a
+            this.registers.A = this.set(1, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xD0] = () -> { // set 2, b
+            this.registers.B = this.set(2, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xD1] = () -> { // set 2, c
+            this.registers.C = this.set(2, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xD2] = () -> { // set 2, d
+            this.registers.D = this.set(2, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xD3] = () -> { // set 2, e
+            this.registers.E = this.set(2, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xD4] = () -> { // set 2, h
+            this.registers.H = this.set(2, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xD5] = () -> { // set 2, l
+            this.registers.L = this.set(2, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xD6] = () -> { // set 2, (hl)
+            this.writeByte(this.registers.getHL(), this.set(2, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0xD7] = () -> { // set 2, a
+            this.registers.A = this.set(2, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xD8] = () -> { // set 3, b
+            this.registers.B = this.set(3, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xD9] = () -> { // set 3, c
+            this.registers.C = this.set(3, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xDA] = () -> { // set 3, d
+            this.registers.D = this.set(3, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xDB] = () -> { // set 3, e
+            this.registers.E = this.set(3, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xDC] = () -> { // set 3, h
+            this.registers.H = this.set(3, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xDD] = () -> { // set 3, l
+            this.registers.L = this.set(3, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xDE] = () -> { // set 3, (hl)
+            this.writeByte(this.registers.getHL(), this.set(3, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0xDF] = () -> { // set 3, a
+            this.registers.A = this.set(3, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xE0] = () -> { // set 4, b
+            this.registers.B = this.set(4, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xE1] = () -> { // set 4, c
+            this.registers.C = this.set(4, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xE2] = () -> { // set 4, d
+            this.registers.D = this.set(4, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xE3] = () -> { // set 4, e
+            this.registers.E = this.set(4, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xE4] = () -> { // set 4, h
+            this.registers.H = this.set(4, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xE5] = () -> { // set 4, l
+            this.registers.L = this.set(4, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xE6] = () -> { // set 4, (hl)
+            this.writeByte(this.registers.getHL(), this.set(4, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0xE7] = () -> { // set 4, a
+            this.registers.A = this.set(4, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xE8] = () -> { // set 5, b
+            this.registers.B = this.set(5, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xE9] = () -> { // set 5, c
+            this.registers.C = this.set(5, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xEA] = () -> { // set 5, d
+            this.registers.D = this.set(5, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xEB] = () -> { // set 5, e
+            this.registers.E = this.set(5, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xEC] = () -> { // set 5, h
+            this.registers.H = this.set(5, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xED] = () -> { // set 5, l
+            this.registers.L = this.set(5, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xEE] = () -> { // set 5, (hl)
+            this.writeByte(this.registers.getHL(), this.set(5, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0xEF] = () -> { // set 5, a
+            this.registers.A = this.set(5, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xF0] = () -> { // set 6, b
+            this.registers.B = this.set(6, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xF1] = () -> { // set 6, c
+            this.registers.C = this.set(6, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xF2] = () -> { // set 6, d
+            this.registers.D = this.set(6, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xF3] = () -> { // set 6, e
+            this.registers.E = this.set(6, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xF4] = () -> { // set 6, h
+            this.registers.H = this.set(6, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xF5] = () -> { // set 6, l
+            this.registers.L = this.set(6, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xF6] = () -> { // set 6, (hl)
+            this.writeByte(this.registers.getHL(), this.set(6, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0xF7] = () -> { // set 6, a
+            this.registers.A = this.set(6, this.registers.A);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xF8] = () -> { // set 7, b
+            this.registers.B = this.set(7, this.registers.B);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xF9] = () -> { // set 7, c
+            this.registers.C = this.set(7, this.registers.C);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xFA] = () -> { // set 7, d
+            this.registers.D = this.set(7, this.registers.D);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xFB] = () -> { // set 7, e
+            this.registers.E = this.set(7, this.registers.E);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xFC] = () -> { // set 7, h
+            this.registers.H = this.set(7, this.registers.H);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xFD] = () -> { // set 7, l
+            this.registers.L = this.set(7, this.registers.L);
+            this.incrementCycles(8);
+        };
+        this.cbOperations[0xFE] = () -> { // set 7, (hl)
+            this.writeByte(this.registers.getHL(), this.set(7, this.readByte(this.registers.getHL())));
+            this.incrementCycles(16);
+        };
+        this.cbOperations[0xFF] = () -> { // set 7, a
+            this.registers.A = this.set(7, this.registers.A);
+            this.incrementCycles(8);
+        };
     }
 
     /**
@@ -1366,21 +2859,71 @@ public class CPU {
      * Store current PC on the stack and redirect PC to the called address.
      */
     private void call() {
-        this.incrementSP(-1);
-        this.writeByte(this.registers.SP, ((this.registers.PC + 2) >> 8) & 0xFF);
-
-        this.incrementSP(-1);
-        this.writeByte(this.registers.SP, ((this.registers.PC + 2)) & 0xFF);
+        int address = this.getWord();
 
-        this.registers.PC = this.getWord();
+        this.push(this.registers.PC + 2);
+        this.registers.PC = address;
         this.incrementCycles(24);
     }
 
+    /**
+     * Push a 16-bit value onto the stack. The high byte is pushed first.
+     * @param value The value to push.
+     */
+    private void push(int value) {
+        this.incrementSP(-2);
+        this.pushWord(this.registers.SP, value & 0xFFFF);
+    }
+
+    /**
+     * Pop a 16-bit value off of the stack.
+     * @return The value on top of the stack.
+     */
+    private int pop() {
+        int value = this.readWord(this.registers.SP);
+
+        this.incrementSP(2);
+        return value;
+    }
+
+    /**
+     * Loads SP plus a signed offset into HL and sets the necessary flags.
+     * @param op The offset to add to SP.
+     */
+    private void loadHLFromSP(int op) {
+        int result = this.registers.SP + op;
+
+        if((result & 0xFFFF0000) != 0) {
+            this.setFlags(Flags.CARRY);
+        } else {
+            this.resetFlags(Flags.CARRY);
+        }
+
+        if(((this.registers.SP & 0x0F) + (op & 0x0F)) > 0x0F) {
+            this.setFlags(Flags.HALF);
+        } else {
+            this.resetFlags(Flags.HALF);
+        }
+
+        this.resetFlags(Flags.ZERO | Flags.SUB);
+
+        // check for overflow
+        if(result > 0xFFFF) {
+            result -= 0xFFFF;
+        }
+
+        this.registers.setHL(result);
+    }
+
     /**
      * Get the next byte from memory.
      * @return The next byte in memory.
      */
     private int getByte() {
+        if(this.isOperandCached) {
+            return this.cachedOperand;
+        }
+
         return this.readByte(this.registers.PC);
     }
 
@@ -1390,20 +2933,11 @@ public class CPU {
      * @return The next 2 bytes in memory.
      */
     private int getWord() {
-        return this.combineBytes(
-                this.readByte(this.registers.PC + 1),
-                this.readByte(this.registers.PC)
-        );
-    }
+        if(this.isOperandCached) {
+            return this.cachedOperand;
+        }
 
-    /**
-     * Combines two bytes. Example, 0xC0 + 0xDE = 0xC0DE
-     * @param highByte The value that the upper byte should equal.
-     * @param lowByte The value that the lower byte should equal.
-     * @return The sum of the bytes.
-     */
-    private int combineBytes(int highByte, int lowByte) {
-        return (highByte << 8) + lowByte;
+        return this.readWord(this.registers.PC);
     }
 
     /**
@@ -1411,7 +2945,7 @@ public class CPU {
      * @return The value at memory address 0xFF0F
      */
     public int getIF() {
-        return this.readByte(IORegisters.INTERRUPT_FLAGS);
+        return this.interrupts.getFlags();
     }
 
     /**
@@ -1419,7 +2953,7 @@ public class CPU {
      * @return The value at memory address 0xFFFF
      */
     public int getIE() {
-        return this.readByte(IORegisters.INTERRUPT_ENABLE);
+        return this.interrupts.getEnable();
     }
 
     /**
@@ -1431,15 +2965,22 @@ public class CPU {
     }
 
     public void addBreakpoint(int breakpoint) {
-        this.breakpoints.add(breakpoint);
+        this.debugger.addBreakpoint(new Breakpoint(breakpoint));
     }
 
-    public void removeBreakpoint(int breakpoint) {
-        this.breakpoints.remove(breakpoint);
+    /**
+     * @param index The index of the breakpoint in {@link #getBreakpoints()}.
+     */
+    public void removeBreakpoint(int index) {
+        this.debugger.removeBreakpoint(this.debugger.getBreakpoints().get(index));
+    }
+
+    public List<Breakpoint> getBreakpoints() {
+        return this.debugger.getBreakpoints();
     }
 
-    public ArrayList<Integer> getBreakpoints() {
-        return this.breakpoints;
+    public Debugger getDebugger() {
+        return this.debugger;
     }
 
     /**
@@ -1448,60 +2989,22 @@ public class CPU {
      * @return The incremented value.
      */
     private int increment(int value) {
-        // Flags.HALF - set if there was a carry from the 3rd bit to the 4th bit, otherwise reset.
-        if((value & 0x0F) == 0x0F) {
-            this.setFlags(Flags.HALF);
-        } else {
-            this.resetFlags(Flags.HALF);
-        }
+        this.registers.setLazyFlags(Registers.FlagOperation.INC, value, 0, this.registers.getCarry());
 
         // increment value by 1 and get the first 8 bits
-        value = (value + 1) & 0xFF;
-
-        // Flags.SUB - reset
-        this.resetFlags(Flags.SUB);
-
-        // Flags.ZERO - set if result is 0, otherwise reset
-        if(value == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        return value;
+        return (value + 1) & 0xFF;
     }
 
-    /**
-     * Decrements a {@code value} by 1 and sets the necessary flags.
-     * @param value The value to decrement.
-     * @return The decremented value.
-     */
-    private int decrement(int value) {
-        // decrement value by 1 and get the first 8 bits
-        int result = (value - 1) & 0xFF;
-
-        // Flags.HALF - set if there was a carry (borrow) from the 4th bit to the 3rd bit, otherwise reset.
-        // invert value's bits, xor with (value - 1) then find out what the 4th bit is with (& 0x10).
-        // If it equals zero, then there was a carry.
-        if((((~value) ^ (result)) & 0x10) == 0) {
-            this.setFlags(Flags.HALF);
-        } else {
-            this.resetFlags(Flags.HALF);
-        }
-
-        value = result;
-
-        // Flags.SUB - set
-        this.setFlags(Flags.SUB);
-
-        // Flags.ZERO - set if result is 0, otherwise reset
-        if(value == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
+    /**
+     * Decrements a {@code value} by 1 and sets the necessary flags.
+     * @param value The value to decrement.
+     * @return The decremented value.
+     */
+    private int decrement(int value) {
+        this.registers.setLazyFlags(Registers.FlagOperation.DEC, value, 0, this.registers.getCarry());
 
-        return value;
+        // decrement value by 1 and get the first 8 bits
+        return (value - 1) & 0xFF;
     }
 
     /**
@@ -1536,28 +3039,8 @@ public class CPU {
      * @return The 8-bit result of the addition.
      */
     private int add8Bit(int num1, int num2) {
-        int result = num1 + num2;
-
-        if((result & 0xFF00) != 0) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        if((result & 0xFF) != 0) {
-            this.resetFlags(Flags.ZERO);
-        } else {
-            this.setFlags(Flags.ZERO);
-        }
-
-        if(((num1 & 0x0F) + (num2 & 0x0F)) > 0x0F) {
-            this.setFlags(Flags.HALF);
-        } else {
-            this.resetFlags(Flags.HALF);
-        }
-
-        this.resetFlags(Flags.SUB);
-        return result & 0xFF;
+        this.registers.setLazyFlags(Registers.FlagOperation.ADD, num1, num2, 0);
+        return (num1 + num2) & 0xFF;
     }
 
     /**
@@ -1567,29 +3050,10 @@ public class CPU {
      * @return The 8-bit result of the addition.
      */
     private int adc(int num1, int num2) {
-        int carry = (this.registers.F & Flags.CARRY) >> 4;
-        int result = num1 + num2 + carry;
-
-        if((result & 0xFF00) != 0) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        if((result & 0xFF) != 0) {
-            this.resetFlags(Flags.ZERO);
-        } else {
-            this.setFlags(Flags.ZERO);
-        }
+        int carry = this.registers.getCarry();
 
-        if(((num1 & 0x0F) + (num2 & 0x0F) + carry) > 0x0F) {
-            this.setFlags(Flags.HALF);
-        } else {
-            this.resetFlags(Flags.HALF);
-        }
-
-        this.resetFlags(Flags.SUB);
-        return result & 0xFF;
+        this.registers.setLazyFlags(Registers.FlagOperation.ADC, num1, num2, carry);
+        return (num1 + num2 + carry) & 0xFF;
     }
 
     /**
@@ -1599,29 +3063,8 @@ public class CPU {
      * @return The 8-bit result of the subtraction.
      */
     private int sub(int num1, int num2) {
-        if(num2 > num1) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        if((num2 & 0x0F) > (num1 & 0x0F)) {
-            this.setFlags(Flags.HALF);
-        } else {
-            this.resetFlags(Flags.HALF);
-        }
-
-        int result = (num1 - num2) & 0xFF;
-
-        if(result == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        this.setFlags(Flags.SUB);
-
-        return result;
+        this.registers.setLazyFlags(Registers.FlagOperation.SUB, num1, num2, 0);
+        return (num1 - num2) & 0xFF;
     }
 
     /**
@@ -1631,32 +3074,10 @@ public class CPU {
      * @return The 8-bit result of the subtraction.
      */
     private int sbc(int num1, int num2) {
-        int result = num1 - num2;
-        result = result - ((this.registers.F & Flags.CARRY) >> 4);
-
-        if(result < 0) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        result &= 0xFF;
-
-        if(result == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        if(((result ^ num2 ^ num1) & 0x10) == 0x10) {
-            this.setFlags(Flags.HALF);
-        } else {
-            this.resetFlags(Flags.HALF);
-        }
-
-        this.setFlags(Flags.SUB);
+        int carry = this.registers.getCarry();
 
-        return result;
+        this.registers.setLazyFlags(Registers.FlagOperation.SBC, num1, num2, carry);
+        return (num1 - num2 - carry) & 0xFF;
     }
 
     /**
@@ -1665,45 +3086,14 @@ public class CPU {
      * @return The shifted value.
      */
     private int rlc(int value) {
-        // check the 7th bit of the value.
-        if((value & 0x80) == 0x80) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        // subtraction and half carry flags are reset.
-        this.resetFlags(Flags.SUB | Flags.HALF);
-
-        // shift A left by 1 bit, change the 0th bit to whatever the carry flag was.
-        int result = (((value << 1) & (~0x01)) | ((value & 0x80) >> 7)) & 0xFF;
-
-        if(result == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        return result;
+        return this.lookup(AluTables.RLC, value);
     }
 
     /**
      * Shift A left by 1 bit. Carry flag is set to the 7th bit of A.
      */
     private void rlca() {
-        int carry = (this.registers.A & 0x80) >> 7;
-
-        if(carry == 1) {
-            this.setFlags(Flags.CARRY);
-        }
-
-        // shift bit left by 1 and get the first 8 bits
-        this.registers.A = (this.registers.A << 1) & 0xFF;
-
-        // set the 0th bit to whatever was at the 7th bit.
-        this.registers.A = this.registers.A | carry;
-
-        this.resetFlags(Flags.ZERO | Flags.SUB | Flags.HALF);
+        this.registers.A = this.lookupA(AluTables.RLC, this.registers.A);
     }
 
     /**
@@ -1712,45 +3102,14 @@ public class CPU {
      * @return The shifted value.
      */
     private int rrc(int value) {
-        // check the 0th bit of the value.
-        if((value & 0x01) == 0x01) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        // subtraction and half carry flags are reset.
-        this.resetFlags(Flags.SUB | Flags.HALF);
-
-        // shift A left by 1 bit, change the 0th bit to whatever the carry flag was.
-        // (((0x01 >> 1) & (~0x01)) | ((0x01 & 0x01) << 7)) & 0xFF
-        int result = (((value >> 1) & (~0x01)) | ((value & 0x01) << 7)) & 0xFF;
-
-        if(result == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        return result;
+        return this.lookup(AluTables.RRC, value);
     }
 
     /**
      * Shift A right by 1 bit. Carry flag is set to the 0th bit of A.
      */
     private void rrca() {
-        int carry = this.registers.A & 0x01;
-
-        if(carry == 0x01) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        // set the 7th bit to whatever was at the 0th bit.
-        this.registers.A = (((this.registers.A >> 1) & (~0x80)) | (carry << 7)) & 0xFF;
-
-        this.resetFlags(Flags.ZERO | Flags.SUB | Flags.HALF);
+        this.registers.A = this.lookupA(AluTables.RRC, this.registers.A);
     }
 
     /**
@@ -1759,44 +3118,14 @@ public class CPU {
      * @return The shifted value.
      */
     private int rl(int value) {
-        int carry = this.registers.F & Flags.CARRY;
-
-        if((value & 0x80) == 0x80) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        int result = ((value << 1) | carry) & 0xFF;
-
-        if(result == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        return result;
+        return this.lookup(AluTables.RL, (this.registers.getCarry() << 8) | value);
     }
 
     /**
      * Shift A left by 1. The 0th bit of A is set to the value of the CARRY flag. CARRY flag is set to the 7th bit of A.
      */
     private void rla() {
-        // get current state of carry flag.
-        int carry = (this.registers.F & Flags.CARRY) >> 4;
-
-        // check the 7th bit of A.
-        if((this.registers.A & 0x80) == 0x80) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        // shift A left by 1 bit, change the 0th bit to whatever the carry flag was.
-        this.registers.A = (((this.registers.A << 1) & (~0x01)) | carry) & 0xFF;
-
-        // all other flags are reset.
-        this.resetFlags(Flags.ZERO | Flags.SUB | Flags.HALF);
+        this.registers.A = this.lookupA(AluTables.RL, (this.registers.getCarry() << 8) | this.registers.A);
     }
 
     /**
@@ -1805,44 +3134,14 @@ public class CPU {
      * @return The shifted value.
      */
     private int rr(int value) {
-        int carry = this.registers.F & Flags.CARRY;
-
-        if((value & 0x01) == 0x01) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        int result = ((value >> 1) | (carry << 7)) & 0xFF;
-
-        if(result == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        return result;
+        return this.lookup(AluTables.RR, (this.registers.getCarry() << 8) | value);
     }
 
     /**
      * Shift A right by 1. The 7th bit of A is set to the value of the CARRY flag. CARRY flag is set the 0th bit of A.
      */
     private void rra() {
-        // get current state of carry flag.
-        int carry = (this.registers.F & Flags.CARRY) >> 4;
-
-        // check the 0th bit of A.
-        if((this.registers.A & 0x01) == 0x01) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        // shift A right by 1 bit, change the 7th bit to whatever the carry flag was.
-        this.registers.A = (((this.registers.A >> 1) & (~0x80)) | (carry << 7)) & 0xFF;
-
-        // all other flags are reset.
-        this.resetFlags(Flags.ZERO | Flags.SUB | Flags.HALF);
+        this.registers.A = this.lookupA(AluTables.RR, (this.registers.getCarry() << 8) | this.registers.A);
     }
 
     /**
@@ -1851,23 +3150,7 @@ public class CPU {
      * @return The shifted value.
      */
     private int sla(int value) {
-        if((value & 0x80) == 0x80) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        int result = (value << 1) & 0xFF;
-
-        if(result == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        this.resetFlags(Flags.SUB | Flags.HALF);
-
-        return result;
+        return this.lookup(AluTables.SLA, value);
     }
 
     /**
@@ -1876,23 +3159,7 @@ public class CPU {
      * @return The shifted value.
      */
     private int sra(int value) {
-        if((value & 0x01) == 0x01) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        int result = ((value >> 1) | (value & 0x80)) & 0xFF;
-
-        if(result == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        this.resetFlags(Flags.SUB | Flags.HALF);
-
-        return result;
+        return this.lookup(AluTables.SRA, value);
     }
 
     /**
@@ -1901,16 +3168,7 @@ public class CPU {
      * @return The swapped value.
      */
     private int swap(int value) {
-        int result = ((value & 0x0F) << 4) + (value >> 4);
-
-        if(result == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        this.resetFlags(Flags.SUB | Flags.HALF | Flags.CARRY);
-        return result;
+        return this.lookup(AluTables.SWAP, value);
     }
 
     /**
@@ -1919,23 +3177,33 @@ public class CPU {
      * @return The shifted value.
      */
     private int srl(int value) {
-        if((value & 0x01) == 0x01) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
+        return this.lookup(AluTables.SRL, value);
+    }
 
-        int result = (value >> 1) & 0xFF;
+    /**
+     * Looks up the result of an operation in one of the {@link AluTables} and sets F to the flags stored with it.
+     * @param table The table to look in.
+     * @param index The index of the entry.
+     * @return The 8-bit result.
+     */
+    private int lookup(int[] table, int index) {
+        int entry = table[index];
 
-        if(result == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
+        this.registers.setF(entry >> 8);
+        return entry & 0xFF;
+    }
 
-        this.resetFlags(Flags.SUB | Flags.HALF);
+    /**
+     * Same as {@link #lookup(int[], int)} but for the rotates that only work on A, which always reset the ZERO flag.
+     * @param table The table to look in.
+     * @param index The index of the entry.
+     * @return The 8-bit result.
+     */
+    private int lookupA(int[] table, int index) {
+        int entry = table[index];
 
-        return result;
+        this.registers.setF((entry >> 8) & ~Flags.ZERO);
+        return entry & 0xFF;
     }
 
     /**
@@ -1943,40 +3211,7 @@ public class CPU {
      * used to set the contents of register A to a BCD number.
      */
     private void daa() {
-        boolean sub = (this.registers.F & Flags.SUB) == Flags.SUB;
-        boolean half = (this.registers.F & Flags.HALF) == Flags.HALF;
-        boolean carry = (this.registers.F & Flags.CARRY) == Flags.CARRY;
-
-        // after an addition, adjust A if a HALF_CARRY or CARRY occurred or if the result is out of bounds.
-        if(!sub) {
-            if(carry || this.registers.A > 0x99) {
-                this.registers.A = (this.registers.A + 0x60) & 0xFF;
-                this.setFlags(Flags.CARRY);
-            }
-
-            if(half || (this.registers.A & 0x0F) > 0x09) {
-                this.registers.A = (this.registers.A + 0x06) & 0xFF;
-            }
-        } else {
-            // after a subtraction, only adjust if a HALF_CARRY or CARRY occurred.
-            if(carry) {
-                this.registers.A = (this.registers.A - 0x60) & 0xFF;
-            }
-
-            if(half) {
-                this.registers.A = (this.registers.A - 0x06) & 0xFF;
-            }
-        }
-
-        // set zero flag if A register is zero.
-        if(this.registers.A == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        // half carry always reset.
-        this.resetFlags(Flags.HALF);
+        this.registers.A = this.lookup(AluTables.DAA, ((this.registers.getF() >> 4) << 8) | this.registers.A);
     }
 
     /**
@@ -1999,7 +3234,7 @@ public class CPU {
      * Toggle the carry flag.
      */
     private void ccf() {
-        int carry = ((~this.registers.F & 0xFF) & Flags.CARRY) >> 4;
+        int carry = ((~this.registers.getF() & 0xFF) & Flags.CARRY) >> 4;
 
         if(carry == 1) {
             this.setFlags(Flags.CARRY);
@@ -2059,15 +3294,7 @@ public class CPU {
     private int and(int num1, int num2) {
         num1 &= num2;
 
-        if(num1 == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        this.resetFlags(Flags.SUB | Flags.CARRY);
-        this.setFlags(Flags.HALF);
-
+        this.registers.setLazyFlags(Registers.FlagOperation.AND, num1, 0, 0);
         return num1;
     }
 
@@ -2080,14 +3307,7 @@ public class CPU {
     private int xor(int num1, int num2) {
         num1 ^= num2;
 
-        if(num1 == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        this.resetFlags(Flags.SUB | Flags.HALF | Flags.CARRY);
-
+        this.registers.setLazyFlags(Registers.FlagOperation.OR, num1, 0, 0);
         return num1;
     }
 
@@ -2100,14 +3320,7 @@ public class CPU {
     private int or(int num1, int num2) {
         num1 |= num2;
 
-        if(num1 == 0) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        this.resetFlags(Flags.SUB | Flags.HALF | Flags.CARRY);
-
+        this.registers.setLazyFlags(Registers.FlagOperation.OR, num1, 0, 0);
         return num1;
     }
 
@@ -2117,25 +3330,8 @@ public class CPU {
      * @param num2 The second value to compare
      */
     private void cp(int num1, int num2) {
-        if(num1 == num2) {
-            this.setFlags(Flags.ZERO);
-        } else {
-            this.resetFlags(Flags.ZERO);
-        }
-
-        if((num1 & 0x0F) < (num2 & 0x0F)) {
-            this.setFlags(Flags.HALF);
-        } else {
-            this.resetFlags(Flags.HALF);
-        }
-
-        if(num1 < num2) {
-            this.setFlags(Flags.CARRY);
-        } else {
-            this.resetFlags(Flags.CARRY);
-        }
-
-        this.setFlags(Flags.SUB);
+        // the flags are the same as subtracting num2 from num1.
+        this.registers.setLazyFlags(Registers.FlagOperation.SUB, num1, num2, 0);
     }
 
     /**
@@ -2143,12 +3339,7 @@ public class CPU {
      * @param address The address to jump to.
      */
     private void rst(int address) {
-        this.incrementSP(-1);
-        this.writeByte(this.registers.SP, (this.registers.PC >> 8) & 0xFF);
-
-        this.incrementSP(-1);
-        this.writeByte(this.registers.SP, this.registers.PC & 0xFF);
-
+        this.push(this.registers.PC);
         this.registers.PC = address;
     }
 
@@ -2163,9 +3354,6 @@ public class CPU {
      * Halts the CPU.
      */
     private void halt() {
-        int flags = this.getIF();
-        int ie = this.getIE();
-
         if(this.ime) {
             /*
                 HALT executed normally. CPU stops executing instructions until (IE & IF & 1F) != 0. When
@@ -2175,7 +3363,7 @@ public class CPU {
             */
             this.isHalted = true;
         } else {
-            if((ie & flags & 0x1F) == 0) {
+            if(!this.interrupts.hasPending()) {
                 /*
                     HALT mode is entered. It works like the IME = 1 case, but when an IF flag is set and
                     the corresponding IE flag is also set, the CPU doesn't jump to the interrupt vector, it
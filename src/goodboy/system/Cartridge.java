@@ -2,8 +2,10 @@ package goodboy.system;
 
 import goodboy.other.Metadata;
 
+import java.nio.ByteBuffer;
+
 public class Cartridge {
-    private int[] rom;
+    private ByteBuffer rom;
     private String title;
     private boolean isColor;
     private String license;
@@ -15,25 +17,101 @@ public class Cartridge {
     private int romVersionNumber;
     private int headerChecksum;
 
-    Cartridge(int[] rom) {
+    Cartridge(ByteBuffer rom) {
         this.rom = rom;
         this.getTitle();
-        this.isColor = this.rom[0x143] == 0x80;
+        this.isColor = this.getByte(0x143) == 0x80;
         this.getLicense();
-        this.isSuper = this.rom[0x146] == 0x03;
+        this.isSuper = this.getByte(0x146) == 0x03;
         this.getType();
         this.getROMSize();
         this.getRAMSize();
         this.getDestinationCode();
-        this.romVersionNumber = this.rom[0x014C];
+        this.romVersionNumber = this.getByte(0x014C);
+    }
+
+    /**
+     * @return The cartridge type at 0x147, which says which MBC the cartridge uses.
+     */
+    int getCartridgeType() {
+        return this.getByte(0x0147);
+    }
+
+    /**
+     * Creates the MBC for the cartridge type at 0x147. Unknown types are treated as having no MBC.
+     * @return The mapper.
+     */
+    Mapper createMapper() {
+        switch(this.getCartridgeType()) {
+            case 0x01:
+            case 0x02:
+            case 0x03:
+                return new MBC1();
+            case 0x05:
+            case 0x06:
+                return new MBC2();
+            case 0x0F:
+            case 0x10:
+                return new MBC3(true);
+            case 0x11:
+            case 0x12:
+            case 0x13:
+                return new MBC3(false);
+            case 0x19:
+            case 0x1A:
+            case 0x1B:
+            case 0x1C:
+            case 0x1D:
+            case 0x1E:
+                return new MBC5();
+            default:
+                return new RomOnly();
+        }
+    }
+
+    /**
+     * @return True if the cartridge has a battery to keep its RAM (and clock) when it's turned off.
+     */
+    boolean hasBattery() {
+        return this.type != null && this.type.contains("BATTERY");
+    }
+
+    /**
+     * @return The size of the external RAM at 0x149 in bytes, or the size of the RAM built into the MBC2.
+     */
+    int getRamSizeInBytes() {
+        int type = this.getCartridgeType();
+
+        if(type == 0x05 || type == 0x06) {
+            return MBC2.RAM_SIZE;
+        }
+
+        switch(this.getByte(0x0149)) {
+            case 0x01:
+                return 0x800;
+            case 0x02:
+                return 0x2000;
+            case 0x03:
+                return 0x8000;
+            case 0x04:
+                return 0x20000;
+            case 0x05:
+                return 0x10000;
+            default:
+                return 0;
+        }
+    }
+
+    private int getByte(int address) {
+        return this.rom.get(address) & 0xFF;
     }
 
     private void getTitle() {
         StringBuilder title = new StringBuilder();
 
         for(int i = 0x0134; i <= 0x0142; i++) {
-            if(this.rom[i] >= 65 && this.rom[i] <= 90) {
-                title.append((char)this.rom[i]);
+            if(this.getByte(i) >= 65 && this.getByte(i) <= 90) {
+                title.append((char)this.getByte(i));
             }
         }
 
@@ -41,27 +119,27 @@ public class Cartridge {
     }
 
     private void getLicense() {
-        if(rom[0x014B] == 0x33) {
-            this.license = Metadata.licensee.get(0x33 + rom[0x014B]);
+        if(this.getByte(0x014B) == 0x33) {
+            this.license = Metadata.licensee.get(0x33 + this.getByte(0x014B));
         } else {
-            this.license = Metadata.licensee.get(rom[0x014B]);
+            this.license = Metadata.licensee.get(this.getByte(0x014B));
         }
     }
 
     private void getType() {
-        this.type = Metadata.cartridgeType.get(rom[0x0147]);
+        this.type = Metadata.cartridgeType.get(this.getByte(0x0147));
     }
 
     private void getROMSize() {
-        this.romSize = Metadata.romSize.get(rom[0x0148]);
+        this.romSize = Metadata.romSize.get(this.getByte(0x0148));
     }
 
     private void getRAMSize() {
-        this.ramSize = Metadata.ramSize.get(rom[0x0149]);
+        this.ramSize = Metadata.ramSize.get(this.getByte(0x0149));
     }
 
     private void getDestinationCode() {
-        if(this.rom[0x014A] == 0x00) {
+        if(this.getByte(0x014A) == 0x00) {
             this.destinationCode = "Japanese";
         } else {
             this.destinationCode = "Non-Japanese";
@@ -73,7 +151,7 @@ public class Cartridge {
         this.headerChecksum = 0;
 
         for(int i = 0x0134; i <= 0x014C; i++) {
-            this.headerChecksum = this.headerChecksum - this.rom[i] - 1;
+            this.headerChecksum = this.headerChecksum - this.getByte(i) - 1;
         }
     }
 
@@ -0,0 +1,304 @@
+package goodboy.system;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * A very small class file emitter. It only knows enough of the class file format to build the classes that the
+ * {@link Recompiler} needs: a final class implementing a single interface, with a public no-arg constructor and a
+ * single public method made of straight-line code with early returns.
+ *
+ * Every branch target has the same frame as the start of the method (nothing on the operand stack and no new
+ * locals), so the StackMapTable only ever needs same_frame entries.
+ */
+class ClassFileWriter {
+    // The class file version for Java 11, which is the first version that allows invokevirtual on private nestmate
+    // methods.
+    private static final int VERSION = 55;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    // The operand stack never holds more than a reference and a value or two.
+    private static final int MAX_STACK = 4;
+
+    private interface Tag {
+        int UTF8 = 1;
+        int INTEGER = 3;
+        int CLASS = 7;
+        int FIELD = 9;
+        int METHOD = 10;
+        int INTERFACE_METHOD = 11;
+        int NAME_AND_TYPE = 12;
+    }
+
+    interface OpCode {
+        int ICONST_0 = 0x03;
+        int BIPUSH = 0x10;
+        int SIPUSH = 0x11;
+        int LDC_W = 0x13;
+        int ALOAD_0 = 0x2A;
+        int AALOAD = 0x32;
+        int POP = 0x57;
+        int IFEQ = 0x99;
+        int RETURN = 0xB1;
+        int GETFIELD = 0xB4;
+        int PUTFIELD = 0xB5;
+        int INVOKEVIRTUAL = 0xB6;
+        int INVOKESPECIAL = 0xB7;
+        int INVOKEINTERFACE = 0xB9;
+    }
+
+    private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+    private final HashMap<String, Integer> poolEntries = new HashMap<>();
+    private int poolCount = 1;
+
+    private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+    private final ArrayList<Integer> frames = new ArrayList<>();
+
+    /**
+     * Loads the local variable at {@code index} onto the operand stack.
+     * @param index The index of the local variable. 0 is {@code this}.
+     */
+    void aload(int index) {
+        this.code.write(OpCode.ALOAD_0 + index);
+    }
+
+    /**
+     * Pushes an int constant onto the operand stack using the smallest instruction that can hold it.
+     * @param value The value to push.
+     */
+    void pushInt(int value) {
+        if(value >= 0 && value <= 5) {
+            this.code.write(OpCode.ICONST_0 + value);
+        } else if(value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            this.code.write(OpCode.BIPUSH);
+            this.code.write(value);
+        } else if(value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            this.code.write(OpCode.SIPUSH);
+            write16(this.code, value);
+        } else {
+            this.code.write(OpCode.LDC_W);
+            write16(this.code, this.integer(value));
+        }
+    }
+
+    void op(int opCode) {
+        this.code.write(opCode);
+    }
+
+    void getField(String owner, String name, String descriptor) {
+        this.code.write(OpCode.GETFIELD);
+        write16(this.code, this.member(Tag.FIELD, owner, name, descriptor));
+    }
+
+    void putField(String owner, String name, String descriptor) {
+        this.code.write(OpCode.PUTFIELD);
+        write16(this.code, this.member(Tag.FIELD, owner, name, descriptor));
+    }
+
+    void invokeVirtual(String owner, String name, String descriptor) {
+        this.code.write(OpCode.INVOKEVIRTUAL);
+        write16(this.code, this.member(Tag.METHOD, owner, name, descriptor));
+    }
+
+    /**
+     * Invokes an interface method that takes no arguments.
+     */
+    void invokeInterface(String owner, String name, String descriptor) {
+        this.code.write(OpCode.INVOKEINTERFACE);
+        write16(this.code, this.member(Tag.INTERFACE_METHOD, owner, name, descriptor));
+        this.code.write(1);
+        this.code.write(0);
+    }
+
+    /**
+     * Pops an int off of the operand stack and returns from the method if it's not zero.
+     */
+    void returnIfNotZero() {
+        // ifeq jumps over the return. The offset is relative to the ifeq itself.
+        this.code.write(OpCode.IFEQ);
+        write16(this.code, 4);
+        this.code.write(OpCode.RETURN);
+
+        this.frames.add(this.code.size());
+    }
+
+    /**
+     * Builds the class file.
+     * @param name The internal name of the class, e.g. goodboy/system/Block.
+     * @param interfaceName The internal name of the interface the class implements.
+     * @param methodName The name of the method whose code has been written to this writer.
+     * @param methodDescriptor The descriptor of that method.
+     * @return The bytes of the class file.
+     */
+    byte[] toByteArray(String name, String interfaceName, String methodName, String methodDescriptor) {
+        // everything has to be in the constant pool before the pool is written out.
+        int thisClass = this.classRef(name);
+        int superClass = this.classRef("java/lang/Object");
+        int interfaceClass = this.classRef(interfaceName);
+        int objectInit = this.member(Tag.METHOD, "java/lang/Object", "<init>", "()V");
+        int initName = this.utf8("<init>");
+        int initDescriptor = this.utf8("()V");
+        int methodNameIndex = this.utf8(methodName);
+        int methodDescriptorIndex = this.utf8(methodDescriptor);
+        int codeName = this.utf8("Code");
+        int stackMapName = this.frames.isEmpty() ? 0 : this.utf8("StackMapTable");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        write32(out, 0xCAFEBABE);
+        write16(out, 0);
+        write16(out, VERSION);
+        write16(out, this.poolCount);
+        out.writeBytes(this.pool.toByteArray());
+
+        write16(out, ACC_FINAL | ACC_SUPER);
+        write16(out, thisClass);
+        write16(out, superClass);
+        write16(out, 1);
+        write16(out, interfaceClass);
+
+        // no fields
+        write16(out, 0);
+
+        write16(out, 2);
+
+        // public <init>() { super(); }
+        ByteArrayOutputStream init = new ByteArrayOutputStream();
+        init.write(OpCode.ALOAD_0);
+        init.write(OpCode.INVOKESPECIAL);
+        write16(init, objectInit);
+        init.write(OpCode.RETURN);
+
+        write16(out, ACC_PUBLIC);
+        write16(out, initName);
+        write16(out, initDescriptor);
+        write16(out, 1);
+        this.writeCode(out, codeName, 1, 1, init.toByteArray(), 0, null);
+
+        write16(out, ACC_PUBLIC);
+        write16(out, methodNameIndex);
+        write16(out, methodDescriptorIndex);
+        write16(out, 1);
+        this.writeCode(out, codeName, MAX_STACK, 2, this.code.toByteArray(), stackMapName, this.frames);
+
+        // no class attributes
+        write16(out, 0);
+
+        return out.toByteArray();
+    }
+
+    private void writeCode(ByteArrayOutputStream out, int codeName, int maxStack, int maxLocals, byte[] code, int stackMapName, ArrayList<Integer> frames) {
+        ByteArrayOutputStream stackMap = new ByteArrayOutputStream();
+
+        if(frames != null && !frames.isEmpty()) {
+            ByteArrayOutputStream entries = new ByteArrayOutputStream();
+            int previous = -1;
+
+            for(int offset : frames) {
+                int delta = offset - previous - 1;
+
+                if(delta <= 63) {
+                    // same_frame
+                    entries.write(delta);
+                } else {
+                    // same_frame_extended
+                    entries.write(251);
+                    write16(entries, delta);
+                }
+
+                previous = offset;
+            }
+
+            write16(stackMap, stackMapName);
+            write32(stackMap, entries.size() + 2);
+            write16(stackMap, frames.size());
+            stackMap.writeBytes(entries.toByteArray());
+        }
+
+        write16(out, codeName);
+        write32(out, 12 + code.length + stackMap.size());
+        write16(out, maxStack);
+        write16(out, maxLocals);
+        write32(out, code.length);
+        out.writeBytes(code);
+
+        // no exception table
+        write16(out, 0);
+
+        write16(out, stackMap.size() == 0 ? 0 : 1);
+        out.writeBytes(stackMap.toByteArray());
+    }
+
+    private int utf8(String value) {
+        return this.entry("U" + value, () -> {
+            this.pool.write(Tag.UTF8);
+            write16(this.pool, value.length());
+            this.pool.writeBytes(value.getBytes());
+        });
+    }
+
+    private int integer(int value) {
+        return this.entry("I" + value, () -> {
+            this.pool.write(Tag.INTEGER);
+            write32(this.pool, value);
+        });
+    }
+
+    private int classRef(String name) {
+        int nameIndex = this.utf8(name);
+
+        return this.entry("C" + name, () -> {
+            this.pool.write(Tag.CLASS);
+            write16(this.pool, nameIndex);
+        });
+    }
+
+    private int member(int tag, String owner, String name, String descriptor) {
+        int ownerIndex = this.classRef(owner);
+        int nameIndex = this.utf8(name);
+        int descriptorIndex = this.utf8(descriptor);
+        int nameAndType = this.entry("N" + name + ":" + descriptor, () -> {
+            this.pool.write(Tag.NAME_AND_TYPE);
+            write16(this.pool, nameIndex);
+            write16(this.pool, descriptorIndex);
+        });
+
+        return this.entry(tag + owner + "." + name + ":" + descriptor, () -> {
+            this.pool.write(tag);
+            write16(this.pool, ownerIndex);
+            write16(this.pool, nameAndType);
+        });
+    }
+
+    /**
+     * Gets the index of a constant pool entry, writing the entry if it doesn't exist yet.
+     * @param key A key that uniquely identifies the entry.
+     * @param writer Writes the entry to the pool.
+     * @return The index of the entry.
+     */
+    private int entry(String key, Runnable writer) {
+        Integer index = this.poolEntries.get(key);
+
+        if(index == null) {
+            writer.run();
+            index = this.poolCount++;
+            this.poolEntries.put(key, index);
+        }
+
+        return index;
+    }
+
+    private static void write16(ByteArrayOutputStream out, int value) {
+        out.write((value >> 8) & 0xFF);
+        out.write(value & 0xFF);
+    }
+
+    private static void write32(ByteArrayOutputStream out, int value) {
+        write16(out, value >>> 16);
+        write16(out, value & 0xFFFF);
+    }
+}
@@ -0,0 +1,8 @@
+package goodboy.system;
+
+/**
+ * A basic block of LR35902 code that has been translated into JVM bytecode by the {@link Recompiler}.
+ */
+interface CompiledBlock {
+    void execute(CPU cpu);
+}
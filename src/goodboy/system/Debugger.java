@@ -0,0 +1,231 @@
+package goodboy.system;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps track of the breakpoints and watchpoints and decides when the CPU should stop.
+ *
+ * Notes:
+ *   - Every address with a breakpoint has its bit set, so the CPU only has to look through the breakpoints
+ *     themselves when it reaches one of those addresses. Breakpoints in a single ROM bank get a bitset per bank.
+ *
+ *   - Watchpoints work the same way, with one bitset for reads and one for writes. Only the CPU's own accesses are
+ *     watched, the GPU reading VRAM doesn't count.
+ *
+ *   - When nothing is set the CPU only checks isArmed() (and isWatching() on every memory access).
+ */
+public class Debugger {
+    /**
+     * A condition a breakpoint or watchpoint has to meet before it stops the CPU.
+     */
+    public interface Condition {
+        boolean test(Registers registers, Memory memory);
+    }
+
+    private final Memory memory;
+    private final Registers registers;
+
+    private final ArrayList<Breakpoint> breakpoints = new ArrayList<>();
+    private final ArrayList<Watchpoint> watchpoints = new ArrayList<>();
+
+    // One bit per address.
+    private final BitSet anyBankBreakpoints = new BitSet(0x10000);
+    private BitSet[] bankBreakpoints = new BitSet[0];
+    private final BitSet readWatches = new BitSet(0x10000);
+    private final BitSet writeWatches = new BitSet(0x10000);
+
+    private boolean isArmed = false;
+    private boolean isWatching = false;
+
+    // The watchpoint that stopped the CPU, until the CPU has stopped.
+    private Watchpoint triggeredWatchpoint = null;
+
+    Debugger(Memory memory, Registers registers) {
+        this.memory = memory;
+        this.registers = registers;
+    }
+
+    public void addBreakpoint(Breakpoint breakpoint) {
+        this.breakpoints.add(breakpoint);
+        this.update();
+    }
+
+    public void removeBreakpoint(Breakpoint breakpoint) {
+        this.breakpoints.remove(breakpoint);
+        this.update();
+    }
+
+    public void addWatchpoint(Watchpoint watchpoint) {
+        this.watchpoints.add(watchpoint);
+        this.update();
+    }
+
+    public void removeWatchpoint(Watchpoint watchpoint) {
+        this.watchpoints.remove(watchpoint);
+        this.update();
+    }
+
+    /**
+     * Removes every breakpoint and watchpoint.
+     */
+    public void clear() {
+        this.breakpoints.clear();
+        this.watchpoints.clear();
+        this.update();
+    }
+
+    public List<Breakpoint> getBreakpoints() {
+        return Collections.unmodifiableList(this.breakpoints);
+    }
+
+    public List<Watchpoint> getWatchpoints() {
+        return Collections.unmodifiableList(this.watchpoints);
+    }
+
+    /**
+     * @return True if there are any breakpoints or watchpoints.
+     */
+    boolean isArmed() {
+        return this.isArmed;
+    }
+
+    /**
+     * @return True if there are any watchpoints.
+     */
+    boolean isWatching() {
+        return this.isWatching;
+    }
+
+    /**
+     * Checks if the CPU should stop before executing the instruction at {@code address}.
+     * @param address The value of PC.
+     * @return True if a breakpoint was hit.
+     */
+    boolean isBreakpoint(int address) {
+        int bank = this.memory.getCurrentRomBank();
+        boolean isSet = this.anyBankBreakpoints.get(address);
+
+        if(!isSet && address >= 0x4000 && address <= 0x7FFF && bank < this.bankBreakpoints.length
+                && this.bankBreakpoints[bank] != null) {
+            isSet = this.bankBreakpoints[bank].get(address - 0x4000);
+        }
+
+        if(!isSet) {
+            return false;
+        }
+
+        boolean isHit = false;
+
+        for(Breakpoint breakpoint : this.breakpoints) {
+            boolean isBank = breakpoint.getBank() == Breakpoint.ANY_BANK || breakpoint.getBank() == bank;
+
+            if(breakpoint.getAddress() == address && isBank && breakpoint.hit(this.registers, this.memory)) {
+                isHit = true;
+            }
+        }
+
+        return isHit;
+    }
+
+    /**
+     * @param start The first address.
+     * @param end The last address.
+     * @return True if there may be a breakpoint between {@code start} and {@code end}.
+     */
+    boolean hasBreakpointIn(int start, int end) {
+        int next = this.anyBankBreakpoints.nextSetBit(start);
+
+        if(next != -1 && next <= end) {
+            return true;
+        }
+
+        int bank = this.memory.getCurrentRomBank();
+
+        if(start > 0x7FFF || end < 0x4000 || bank >= this.bankBreakpoints.length || this.bankBreakpoints[bank] == null) {
+            return false;
+        }
+
+        // only the bank that's mapped in can be run.
+        next = this.bankBreakpoints[bank].nextSetBit(Math.max(start, 0x4000) - 0x4000);
+
+        return next != -1 && next <= Math.min(end, 0x7FFF) - 0x4000;
+    }
+
+    void onRead(int address) {
+        if(this.readWatches.get(address)) {
+            this.checkWatchpoints(address, Watchpoint.Access.READ);
+        }
+    }
+
+    void onWrite(int address) {
+        if(this.writeWatches.get(address)) {
+            this.checkWatchpoints(address, Watchpoint.Access.WRITE);
+        }
+    }
+
+    /**
+     * Gets the watchpoint that was hit during the last instruction and forgets about it.
+     * @return The watchpoint or null if none was hit.
+     */
+    Watchpoint takeTriggeredWatchpoint() {
+        Watchpoint watchpoint = this.triggeredWatchpoint;
+        this.triggeredWatchpoint = null;
+
+        return watchpoint;
+    }
+
+    private void checkWatchpoints(int address, int access) {
+        for(Watchpoint watchpoint : this.watchpoints) {
+            if(watchpoint.contains(address) && watchpoint.hit(access, this.registers, this.memory)) {
+                this.triggeredWatchpoint = watchpoint;
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the bitsets after a breakpoint or watchpoint was added or removed.
+     */
+    private void update() {
+        this.anyBankBreakpoints.clear();
+        this.bankBreakpoints = new BitSet[0];
+        this.readWatches.clear();
+        this.writeWatches.clear();
+
+        for(Breakpoint breakpoint : this.breakpoints) {
+            int bank = breakpoint.getBank();
+
+            if(bank == Breakpoint.ANY_BANK) {
+                this.anyBankBreakpoints.set(breakpoint.getAddress());
+                continue;
+            }
+
+            if(bank >= this.bankBreakpoints.length) {
+                this.bankBreakpoints = Arrays.copyOf(this.bankBreakpoints, bank + 1);
+            }
+
+            if(this.bankBreakpoints[bank] == null) {
+                this.bankBreakpoints[bank] = new BitSet(0x4000);
+            }
+
+            this.bankBreakpoints[bank].set(breakpoint.getAddress() - 0x4000);
+        }
+
+        for(Watchpoint watchpoint : this.watchpoints) {
+            if((watchpoint.getAccess() & Watchpoint.Access.READ) != 0) {
+                this.readWatches.set(watchpoint.getStart(), watchpoint.getEnd() + 1);
+            }
+
+            if((watchpoint.getAccess() & Watchpoint.Access.WRITE) != 0) {
+                this.writeWatches.set(watchpoint.getStart(), watchpoint.getEnd() + 1);
+            }
+        }
+
+        this.isWatching = !this.watchpoints.isEmpty();
+        this.isArmed = this.isWatching || !this.breakpoints.isEmpty();
+        this.triggeredWatchpoint = null;
+    }
+}
@@ -0,0 +1,21 @@
+package goodboy.system;
+
+/**
+ * An instruction that has already been fetched and decoded by the {@link InstructionCache}.
+ */
+final class DecodedInstruction {
+    // The handler that executes the instruction.
+    final Operation operation;
+
+    // The byte or little endian word that follows the op code. 0 if the instruction has no operand.
+    final int operand;
+
+    // The number of bytes taken by the op code. 2 for CB-prefixed instructions, otherwise 1.
+    final int opCodeLength;
+
+    DecodedInstruction(Operation operation, int operand, int opCodeLength) {
+        this.operation = operation;
+        this.operand = operand;
+        this.opCodeLength = opCodeLength;
+    }
+}
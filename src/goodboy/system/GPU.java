@@ -1,21 +1,46 @@
 package goodboy.system;
 
 import java.time.Instant;
+import java.util.Arrays;
 
 public class GPU  {
     public static final int BG_HEIGHT = 256;
     public static final int BG_WIDTH = 256;
 
     private final Memory memory;
+    private final InterruptController interrupts;
     private final LCD lcd;
     private int mode;
     private int scanline = 0;
-    private int ticks = 0;
-    private long previousCycles = 0;
-    private byte[][][] tiles = new byte[384][8][8];
+    private Scheduler scheduler;
+
+    // The 384 tiles in VRAM, decoded into one char per row with 2 bits per pixel. The leftmost pixel is in the top
+    //   2 bits, so a pixel's color is (row >> (14 - 2 * x)) & 0x03.
+    private final char[] tileRows = new char[384 * 8];
+
+    // 1 bit per tile that's been written to since it was decoded, and per entry of the background map at 0x9800
+    //   that hasn't been drawn into backgroundMap since it or its tile changed. Nothing is decoded or drawn until the
+    //   background is needed, so a game can write as much VRAM as it wants in between.
+    private final long[] dirtyTiles = new long[384 / 64];
+    private final long[] dirtyMapEntries = new long[1024 / 64];
+    private boolean hasDirtyTiles = false;
+    private boolean hasDirtyMapEntries = false;
+
+    // The map entries drawn with each tile, as a doubly linked list per tile, so the entries that use a changed tile
+    //   are found without going through the whole map. An entry moves to its tile's list when it's drawn, an entry
+    //   that's been written to since then is dirty anyway.
+    private final int[] tileEntries = new int[384];
+    private final int[] nextEntry = new int[1024];
+    private final int[] previousEntry = new int[1024];
+    private final int[] entryTiles = new int[1024];
+
+    // The tile set the background map was drawn with, from bit 4 of LCDC.
+    private int tileSet = -1;
     private double lastFrame = Instant.now().getEpochSecond();
 
-    private byte[][][] backgroundMap = new byte[BG_HEIGHT][BG_WIDTH][8];
+    // The 256x256 background, packed the same way as tileRows. Each line is 32 chars, one per tile, so pixel (x, y) is
+    //   in backgroundMap[y * 32 + x / 8].
+    private final char[] backgroundMap = new char[BG_HEIGHT * (BG_WIDTH / 8)];
 
     public interface Mode {
         int HBLANK = 0;
@@ -24,6 +49,17 @@ public class GPU  {
         int VRAM = 3;
     }
 
+    // Spreads the 8 bits of a byte out to every other bit, to interleave the 2 bytes of a tile row.
+    private static final char[] SPREAD_BITS = new char[0x100];
+
+    static {
+        for(int value = 0; value < 0x100; value++) {
+            for(int bit = 0; bit < 8; bit++) {
+                SPREAD_BITS[value] |= ((value >> bit) & 0x01) << (bit * 2);
+            }
+        }
+    }
+
     private interface Timings {
         int HBLANK = 204;
         int VBLANK = 456;
@@ -33,75 +69,105 @@ public class GPU  {
 
     public GPU(Memory memory, LCD LCD) {
         this.memory = memory;
+        this.interrupts = memory.getInterruptController();
         this.lcd = LCD;
         this.mode = Mode.HBLANK;
-    }
-
-    public void tick(long cycles) {
-        this.ticks += cycles - this.previousCycles;
 
-        // When cycles is set to 0 in the cpu, ticks becomes negative. This corrects that and sets ticks to the
-        // proper value.
-        if(this.ticks < 0) {
-            this.ticks += this.previousCycles;
-        }
+        Arrays.fill(this.tileEntries, -1);
+        Arrays.fill(this.entryTiles, -1);
+    }
 
-        this.previousCycles = cycles;
+    void setSchedulerRef(Scheduler scheduler) {
+        this.scheduler = scheduler;
+        this.scheduler.setHandler(Scheduler.Event.PPU, this::endMode);
+    }
 
+    /**
+     * Called by the scheduler when the current mode has run for as long as it lasts. Moves on to the next mode
+     * (or the next line of VBLANK) and schedules the end of that one.
+     * @param deadline The cycle the current mode ended on.
+     */
+    private void endMode(long deadline) {
         switch(this.mode) {
             case Mode.HBLANK:
-                if(this.ticks >= Timings.HBLANK) {
-                    this.lcd.render(this.backgroundMap);
-                    this.scanline++;
-
-                    if(this.scanline == LCD.VBlankArea.START) {
-                        this.changeMode(Mode.VBLANK);
-                    } else {
-                        this.changeMode(Mode.OAM);
-                    }
+                this.scanline++;
 
-                    this.ticks -= Timings.HBLANK;
-                    this.setLY(this.scanline);
+                if(this.scanline == LCD.VBlankArea.START) {
+                    this.changeMode(Mode.VBLANK);
+                } else {
+                    this.changeMode(Mode.OAM);
+                }
+
+                this.setLY(this.scanline);
+
+                // every line of the frame has been rendered by now.
+                if(this.scanline == LCD.VBlankArea.START) {
+                    this.lcd.present();
                 }
                 break;
             case Mode.VBLANK:
-                if(this.ticks >= Timings.VBLANK) {
-                    this.scanline++;
+                this.scanline++;
 
-                    if(this.scanline > LCD.VBlankArea.END) {
-                        this.scanline = 0;
-                        this.changeMode(Mode.OAM);
-                    }
-
-                    this.ticks -= Timings.VBLANK;
-                    this.setLY(this.scanline);
+                if(this.scanline > LCD.VBlankArea.END) {
+                    this.scanline = 0;
+                    this.changeMode(Mode.OAM);
                 }
+
+                this.setLY(this.scanline);
                 break;
             case Mode.OAM:
-                if(this.ticks >= Timings.OAM) {
-                    this.changeMode(Mode.VRAM);
-                    this.ticks -= Timings.OAM;
-                }
+                // the real GPU searches OAM during mode 2, and the game can't write to it again until the line is done.
+                this.lcd.searchSprites(this.scanline);
+                this.changeMode(Mode.VRAM);
                 break;
             case Mode.VRAM:
-                if(this.ticks >= Timings.VRAM) {
-                    this.changeMode(Mode.HBLANK);
-                    this.ticks -= Timings.VRAM;
-                }
+                // the line is sent to the LCD by the end of mode 3.
+                this.updateBackgroundMap();
+                this.lcd.renderLine(this.scanline, this.backgroundMap);
+                this.changeMode(Mode.HBLANK);
                 break;
         }
+
+        this.scheduler.schedule(Scheduler.Event.PPU, deadline + this.getModeLength(this.mode));
+    }
+
+    /**
+     * Gets how many cycles a mode lasts. For VBLANK this is the length of a single line.
+     * @param mode The mode.
+     * @return The length of the mode in cycles.
+     */
+    private int getModeLength(int mode) {
+        switch(mode) {
+            case Mode.HBLANK:
+                return Timings.HBLANK;
+            case Mode.VBLANK:
+                return Timings.VBLANK;
+            case Mode.OAM:
+                return Timings.OAM;
+            default:
+                return Timings.VRAM;
+        }
     }
 
     void reset() {
         this.mode = Mode.HBLANK;
         this.scanline = 0;
-        this.ticks = 0;
-        this.previousCycles = 0;
-        this.tiles = new byte[384][8][8];
-        this.backgroundMap = new byte[BG_HEIGHT][BG_WIDTH][8];
+        // decode whatever is in VRAM again, over the top of what was there before the reset.
+        Arrays.fill(this.dirtyTiles, -1L);
+        Arrays.fill(this.dirtyMapEntries, -1L);
+        this.hasDirtyTiles = true;
+        this.hasDirtyMapEntries = true;
+        this.tileSet = -1;
+
+        // the registers are set up before the GPU is connected to memory.
+        this.lcd.loadPalettes();
 
         this.setLY(this.scanline);
 //        this.display.render(this.backgroundMap);
+
+        if(this.scheduler != null) {
+            this.scheduler.schedule(Scheduler.Event.PPU, this.scheduler.getCycles() + Timings.HBLANK);
+        }
     }
 
     /**
@@ -118,9 +184,7 @@ public class GPU  {
      * @param interrupt The interrupt to request.
      */
     private void requestInterrupt(int interrupt) {
-        int interruptFlag = this.memory.getByteAt(IORegisters.INTERRUPT_FLAGS);
-        interruptFlag |= interrupt;
-        this.memory.setByteAt(IORegisters.INTERRUPT_FLAGS, interruptFlag);
+        this.interrupts.request(interrupt);
     }
 
     private void changeMode(int mode) {
@@ -188,98 +252,188 @@ public class GPU  {
         return this.mode;
     }
 
+    /**
+     * Called after a write to BGP, OBP0 or OBP1.
+     * @param register The palette register's address.
+     * @param value The value written to it.
+     */
+    void updatePalette(int register, int value) {
+        this.lcd.setPalette(register, value);
+    }
+
+    /**
+     * Called after a write to VRAM. Only marks what changed, it's decoded when the background is next needed.
+     * @param address The address that was written to.
+     */
     public void updateTiles(int address) {
         int vramAddress = (0x1FFF - (0x9FFF - address)) & 0xFFFF;
 
-        if(vramAddress >= 0x1800) {
-            this.updateBackgroundMap();
-            return;
-        }
+        if(vramAddress < 0x1800) {
+            int tile = vramAddress >> 4;
 
-        int index = address & 0xFFFE;
-        int byte1 = this.memory.getByteAt(index);
-        int byte2 = this.memory.getByteAt(index + 1);
-        int tileIndex = vramAddress / 16;
-        int rowIndex = (vramAddress % 16) / 2;
-        int pixelIndex;
-        byte pixelValue;
-
-        for(pixelIndex = 0; pixelIndex < 8; pixelIndex++) {
-            int mask = 1 << (7 - pixelIndex);
-            int msb = (byte1 & mask) >> (7 - pixelIndex);
-            int lsb = (byte2 & mask) >> (7 - pixelIndex);
-
-            if(lsb == 1 && msb == 1) {
-                pixelValue = LCD.PixelColor.BLACK;
-            } else if(lsb == 1 && msb == 0) {
-                pixelValue = LCD.PixelColor.DARK_GRAY;
-            } else if(lsb == 0 && msb == 1) {
-                pixelValue = LCD.PixelColor.LIGHT_GRAY;
-            } else {
-                pixelValue = LCD.PixelColor.WHITE;
-            }
+            this.dirtyTiles[tile >> 6] |= 1L << tile;
+            this.hasDirtyTiles = true;
+        } else if(vramAddress < 0x1C00) {
+            int entry = vramAddress - 0x1800;
 
-            this.tiles[tileIndex][rowIndex][pixelIndex] = pixelValue;
+            this.dirtyMapEntries[entry >> 6] |= 1L << entry;
+            this.hasDirtyMapEntries = true;
         }
     }
 
+    /**
+     * Brings backgroundMap up to date. Dirty tiles are decoded again and every map entry that uses one of them, or
+     * that was written to itself, has its 8x8 area drawn again.
+     */
     private void updateBackgroundMap() {
-        boolean isWindowEnabled = false;
-        int scanlineY = this.memory.getByteAt(IORegisters.LY_COORDINATE);
         int lcdc = this.memory.getByteAt(IORegisters.LCDC);
-        int windowOffset = (lcdc >> 6) & 0x01;
         int tileSet = (lcdc >> 4) & 0x01;
-        int bgOffset = (lcdc >> 3) & 0x01;
-        int windowY = this.memory.getByteAt(IORegisters.WINDOW_Y);
-        int index;
-        int bgAddress = 0x9800;
-        int tileOffset;
-        boolean isUnsigned;
-
-        // Is the window enabled?
-        /*if(((lcdc >> 5) & 0x01) == 0x01) {
-            // Is the current scanline within the bounds of the window y coordinate?
-            if(windowY <= scanlineY) {
-                isWindowEnabled = true;
-            }
+
+        // every entry points at a different tile in the other tile set.
+        if(tileSet != this.tileSet) {
+            this.tileSet = tileSet;
+            Arrays.fill(this.dirtyMapEntries, -1L);
+            this.hasDirtyMapEntries = true;
         }
 
-        if(!isWindowEnabled) {
-            // Check which tile set to use.
-            if(bgOffset == 1) {
-                bgAddress = 0x9C00;
-            } else {
-                bgAddress = 0x9800;
-            }
-        } else {
-            if(windowOffset == 1) {
-                bgAddress = 0x9C00;
-            } else {
-                bgAddress = 0x9800;
+        if(this.hasDirtyTiles) {
+            this.decodeDirtyTiles();
+        }
+
+        if(!this.hasDirtyMapEntries) {
+            return;
+        }
+
+        for(int word = 0; word < this.dirtyMapEntries.length; word++) {
+            long bits = this.dirtyMapEntries[word];
+
+            while(bits != 0) {
+                int entry = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                this.drawMapEntry(entry);
             }
-        }*/
 
-        for(int row = 0; row < BG_HEIGHT; row++) {
-            int tileRow = (row / 8) * 32;
+            this.dirtyMapEntries[word] = 0;
+        }
 
-            for(int col = 0; col < BG_WIDTH; col++) {
-                int tileCol = col / 8;
-                int tileNum;
+        this.hasDirtyMapEntries = false;
+    }
 
-                int tileAddress = bgAddress + tileRow + tileCol;
-                tileNum = this.memory.getByteAt(tileAddress);
+    private void decodeDirtyTiles() {
+        for(int word = 0; word < this.dirtyTiles.length; word++) {
+            long bits = this.dirtyTiles[word];
 
-                if(tileSet == 0 && tileNum < 0x80) {
-                    tileNum += 0x100;
+            while(bits != 0) {
+                int tile = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                for(int row = 0; row < 8; row++) {
+                    int address = 0x8000 + (tile << 4) + (row << 1);
+                    int low = this.memory.getByteAt(address);
+                    int high = this.memory.getByteAt(address + 1);
+
+                    this.tileRows[(tile << 3) + row] = (char) (SPREAD_BITS[low] | (SPREAD_BITS[high] << 1));
                 }
 
-                byte color = this.tiles[tileNum][row % 8][col % 8];
-                this.backgroundMap[row][col][col % 8] = color;
+                // the map entries that use the tile have to be drawn again.
+                for(int entry = this.tileEntries[tile]; entry != -1; entry = this.nextEntry[entry]) {
+                    this.dirtyMapEntries[entry >> 6] |= 1L << entry;
+                    this.hasDirtyMapEntries = true;
+                }
             }
+
+            this.dirtyTiles[word] = 0;
+        }
+
+        this.hasDirtyTiles = false;
+    }
+
+    /**
+     * @param entry The index of the entry in the background map at 0x9800.
+     * @return The tile the entry points to, from the tile set selected by LCDC.
+     */
+    private int getMapTile(int entry) {
+        int tileNum = this.memory.getByteAt(0x9800 + entry);
+
+        if(this.tileSet == 0 && tileNum < 0x80) {
+            tileNum += 0x100;
+        }
+
+        return tileNum;
+    }
+
+    /**
+     * Draws one entry of the background map into its 8x8 area of backgroundMap.
+     * @param entry The index of the entry in the background map at 0x9800.
+     */
+    private void drawMapEntry(int entry) {
+        int tile = this.getMapTile(entry);
+        // the first line of the entry's area, 8 lines of 32 entries per row of the map.
+        int index = ((entry & ~0x1F) << 3) + (entry & 0x1F);
+
+        this.linkMapEntry(entry, tile);
+
+        for(int row = 0; row < 8; row++) {
+            this.backgroundMap[index + (row << 5)] = this.tileRows[(tile << 3) + row];
         }
     }
 
-    public byte[][][] getBackgroundMap() {
+    /**
+     * Moves a map entry to the list of entries that use a tile.
+     * @param entry The index of the entry in the background map at 0x9800.
+     * @param tile The tile it was drawn with.
+     */
+    private void linkMapEntry(int entry, int tile) {
+        int oldTile = this.entryTiles[entry];
+
+        if(oldTile == tile) {
+            return;
+        }
+
+        if(oldTile != -1) {
+            int previous = this.previousEntry[entry];
+            int next = this.nextEntry[entry];
+
+            if(previous == -1) {
+                this.tileEntries[oldTile] = next;
+            } else {
+                this.nextEntry[previous] = next;
+            }
+
+            if(next != -1) {
+                this.previousEntry[next] = previous;
+            }
+        }
+
+        int first = this.tileEntries[tile];
+
+        this.entryTiles[entry] = tile;
+        this.previousEntry[entry] = -1;
+        this.nextEntry[entry] = first;
+
+        if(first != -1) {
+            this.previousEntry[first] = entry;
+        }
+
+        this.tileEntries[tile] = entry;
+    }
+
+    /**
+     * @return The background map, brought up to date with VRAM first.
+     */
+    public char[] getBackgroundMap() {
+        this.updateBackgroundMap();
         return this.backgroundMap;
     }
+
+    /**
+     * @param x The x coordinate in the background, 0 - 255.
+     * @param y The y coordinate in the background, 0 - 255.
+     * @return The color of the background pixel, one of {@link LCD.PixelColor}.
+     */
+    public int getBackgroundColor(int x, int y) {
+        char pixels = this.getBackgroundMap()[(y << 5) + (x >> 3)];
+        return (pixels >> (14 - ((x & 0x07) << 1))) & 0x03;
+    }
 }
@@ -3,6 +3,9 @@ package goodboy.system;
 import goodboy.disassembler.Disassembler;
 import goodboy.other.GameBoyInfo;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.HashMap;
 
 public class GameBoy implements Runnable {
@@ -12,10 +15,11 @@ public class GameBoy implements Runnable {
     private final LCD lcd;
     private final Memory memory;
     private final GameBoyInfo info;
-    private int[] rom;
+    private RomImage romImage;
     private Disassembler disassembler;
     private boolean isCartLoaded = false;
     private boolean isDebugging = false;
+    private long saveFlushInterval = 1000;
 
     public GameBoy() {
         this.memory = new Memory();
@@ -32,17 +36,74 @@ public class GameBoy implements Runnable {
     public void loadROM(int[] rom) {
         this.reset();
         this.memory.loadROM(rom);
-        this.rom = rom;
-        this.isCartLoaded = true;
+        this.onROMLoaded(null);
+    }
 
-        if(this.isDebugging) {
-            int[] cart = new int[rom.length];
+    public void loadROM(byte[] rom) {
+        this.loadROM(ByteBuffer.wrap(rom));
+    }
+
+    public void loadROM(ByteBuffer rom) {
+        this.reset();
+        this.memory.loadROM(rom);
+        this.onROMLoaded(null);
+    }
+
+    /**
+     * Loads a ROM image. GameBoys that load the same image share its memory.
+     * @param rom The image.
+     */
+    public void loadROM(RomImage rom) {
+        this.reset();
+        this.memory.loadROM(rom.getBuffer());
+        this.onROMLoaded(rom);
+    }
+
+    /**
+     * Maps a ROM file and loads it, see {@link RomImage#load(Path)}. Battery backed cartridges keep their RAM in a
+     * .sav file next to the ROM, which is loaded if it exists.
+     * @param path The ROM file.
+     * @throws IOException If the file can't be read.
+     */
+    public void loadROM(Path path) throws IOException {
+        this.loadROM(RomImage.load(path));
 
-            for(int i = 0; i < rom.length; i++) {
-                cart[i] = rom[i];
-            }
+        String name = path.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        String saveName = (extension > 0 ? name.substring(0, extension) : name) + ".sav";
 
-            this.disassembler = new Disassembler(cart);
+        this.memory.openSaveFile(path.resolveSibling(saveName), this.saveFlushInterval);
+    }
+
+    /**
+     * @param saveFlushInterval How often changes to the cartridge RAM are written to the .sav file, in milliseconds.
+     *                          Used for ROMs loaded after this is called.
+     */
+    public void setSaveFlushInterval(long saveFlushInterval) {
+        this.saveFlushInterval = saveFlushInterval;
+    }
+
+    /**
+     * Writes any changes to the cartridge RAM to the .sav file now.
+     */
+    public void flushSave() {
+        this.memory.flushSaveFile();
+    }
+
+    /**
+     * Flushes and closes the .sav file, if the ROM has one.
+     */
+    public void closeSave() {
+        this.memory.closeSaveFile();
+    }
+
+    private void onROMLoaded(RomImage romImage) {
+        // the image is only shared for as long as someone holds on to it.
+        this.romImage = romImage;
+        this.isCartLoaded = true;
+
+        if(this.isDebugging) {
+            this.disassembler = new Disassembler(this.getRom());
             this.disassembler.disassemble();
         }
     }
@@ -59,15 +120,25 @@ public class GameBoy implements Runnable {
 
     public String getCartridgeInfo() {
         this.isCartLoaded = true;
-        return new Cartridge(this.memory.getROM()).toString();
+        return this.memory.getCartridge().toString();
     }
 
     public int getCartridgeSize() {
-        return this.rom.length;
+        return this.memory.getROM().capacity();
     }
 
+    /**
+     * @return A copy of the ROM with one byte in each int.
+     */
     public int[] getRom() {
-        return this.rom;
+        ByteBuffer rom = this.memory.getROM();
+        int[] cart = new int[rom.capacity()];
+
+        for(int i = 0; i < cart.length; i++) {
+            cart[i] = rom.get(i) & 0xFF;
+        }
+
+        return cart;
     }
 
     public GameBoyInfo getInfo() {
@@ -94,6 +165,10 @@ public class GameBoy implements Runnable {
         return this.gpu;
     }
 
+    public Debugger getDebugger() {
+        return this.cpu.getDebugger();
+    }
+
     public Disassembler getDisassembler() {
         return this.disassembler;
     }
@@ -110,6 +185,38 @@ public class GameBoy implements Runnable {
         this.isDebugging = state;
     }
 
+    /**
+     * Enables or disables the recompiler. It's off by default. While it's on, a single tick can run a whole block of
+     * instructions, so it shouldn't be used when stepping through code.
+     * @param state True to enable the recompiler.
+     */
+    public void setRecompilerEnabled(boolean state) {
+        this.cpu.setRecompilerEnabled(state);
+    }
+
+    /**
+     * Sets how fast the emulator runs compared to a real GameBoy.
+     * @param speed The speed multiplier, from {@link Pacer#MIN_SPEED} up to {@link Pacer#UNLIMITED}.
+     */
+    public void setSpeed(double speed) {
+        this.cpu.getPacer().setSpeed(speed);
+    }
+
+    /**
+     * Enables or disables skipping loops that just wait for an I/O register to change. It's on by default.
+     * @param state True to skip idle loops.
+     */
+    public void setIdleLoopSkipping(boolean state) {
+        this.cpu.setIdleLoopSkipping(state);
+    }
+
+    /**
+     * @return The number of cycles skipped in idle loops since the ROM was loaded.
+     */
+    public long getSkippedCycles() {
+        return this.cpu.getSkippedCycles();
+    }
+
     public void tick() {
         if(!this.isCartLoaded) {
             return;
@@ -131,18 +238,36 @@ public class GameBoy implements Runnable {
         this.info.updateDebugInfo();
     }
 
+    /**
+     * Runs until a breakpoint or watchpoint is hit, giving up after {@code timeout} milliseconds.
+     * @param timeout The longest to run for, in milliseconds.
+     * @return True if a breakpoint or watchpoint was hit.
+     */
+    public boolean runToBreakpoint(long timeout) {
+        if(!this.isCartLoaded) {
+            return false;
+        }
+
+        boolean isHit = this.cpu.run(timeout * 1000000L);
+
+        if(this.isDebugging) {
+            this.info.updateDebugInfo();
+        }
+
+        return isHit;
+    }
+
     public void addBreakpoint(int breakpoint) {
         this.cpu.addBreakpoint(breakpoint);
         this.info.updateDebugInfo();
     }
 
-    public void removeBreakpoint(int breakpoint) {
-        this.cpu.removeBreakpoint(breakpoint);
+    public void removeBreakpoint(int index) {
+        this.cpu.removeBreakpoint(index);
         this.info.updateDebugInfo();
     }
 
     public void reset() {
-        this.rom = null;
         this.cpu.reset();
         this.gpu.reset();
 
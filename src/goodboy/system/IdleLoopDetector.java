@@ -0,0 +1,269 @@
+package goodboy.system;
+
+import goodboy.disassembler.Instructions;
+
+/**
+ * Spots loops that just wait for something to change, like
+ *
+ *   wait:
+ *     ldh a, (0x44)
+ *     cp 0x90
+ *     jr nz, wait
+ *
+ * and works out how many cycles can be skipped without changing the result.
+ *
+ * A loop counts as idle when:
+ *   - it's at most MAX_LOOP_LENGTH bytes long and ends with a jump back to its start.
+ *   - it only changes A and F, and only reads WRAM, HRAM, IE or the I/O registers the GPU changes (LY, STAT and IF).
+ *   - the registers are exactly the same as they were at the end of the previous iteration, and no event happened
+ *     during it.
+ *
+ * Nothing it reads can change until the next scheduled event, since the only other thing that writes to memory is
+ * the CPU itself (from an interrupt handler, which also needs an event first). Until then every iteration does
+ * exactly the same thing, so whole iterations can be skipped up to the event.
+ */
+class IdleLoopDetector {
+    static final int MAX_LOOP_LENGTH = 16;
+
+    private final Memory memory;
+    private final Registers registers;
+    private final Scheduler scheduler;
+
+    // The last backward jump and when it happened.
+    private int lastBranch = -1;
+    private int lastTarget = -1;
+    private long lastCycles = 0;
+    private final int[] lastRegisters = new int[8];
+    private final int[] lastFlagState = new int[5];
+
+    // Loops that have already been looked at and aren't idle, so they aren't analysed on every iteration.
+    private int rejectedTarget = -1;
+
+    private long skippedCycles = 0;
+
+    IdleLoopDetector(Memory memory, Registers registers, Scheduler scheduler) {
+        this.memory = memory;
+        this.registers = registers;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @return The number of cycles skipped since the last reset.
+     */
+    long getSkippedCycles() {
+        return this.skippedCycles;
+    }
+
+    void reset() {
+        this.lastBranch = -1;
+        this.lastTarget = -1;
+        this.rejectedTarget = -1;
+        this.skippedCycles = 0;
+    }
+
+    /**
+     * Called when an interrupt is serviced. The time spent in the handler would otherwise be counted as part of the
+     * loop it interrupted.
+     */
+    void interrupt() {
+        this.lastTarget = -1;
+    }
+
+    /**
+     * Called when the CPU jumps backwards to {@code target}.
+     * @param branch The address of the jump instruction, or -1 if it's not known because a compiled block jumped.
+     * @param target The address jumped to.
+     * @return The number of cycles the CPU can skip, always a whole number of iterations of the loop.
+     */
+    int onBackwardJump(int branch, int target) {
+        long now = this.scheduler.getCycles();
+        boolean isSameRegisters = this.compareRegisters();
+        boolean isRepeated = branch == this.lastBranch && target == this.lastTarget && isSameRegisters;
+
+        // an event during the last iteration may have changed something after the loop read it.
+        boolean isUnchanged = this.scheduler.getLastDispatch() <= this.lastCycles;
+        long length = now - this.lastCycles;
+
+        this.lastBranch = branch;
+        this.lastTarget = target;
+        this.lastCycles = now;
+
+        if(!isRepeated || !isUnchanged || length <= 0 || target == this.rejectedTarget) {
+            return 0;
+        }
+
+        if(!this.isIdle(branch, target)) {
+            this.rejectedTarget = target;
+            return 0;
+        }
+
+        // skip every iteration that finishes before the next event.
+        int iterations = (int) (this.scheduler.getCyclesUntilNextEvent() / length);
+
+        if(iterations <= 0) {
+            return 0;
+        }
+
+        int cycles = (int) (iterations * length);
+
+        this.lastCycles += cycles;
+        this.skippedCycles += cycles;
+
+        return cycles;
+    }
+
+    /**
+     * Checks if the registers are the same as the last time this was called and saves them for next time.
+     * @return True if none of the registers changed.
+     */
+    private boolean compareRegisters() {
+        // F isn't worked out, that would undo the lazy flags on every iteration of the loop.
+        boolean isSame = this.registers.compareFlagState(this.lastFlagState);
+
+        // & instead of && so every register is saved.
+        isSame &= this.compareRegister(0, this.registers.A);
+        isSame &= this.compareRegister(1, this.registers.B);
+        isSame &= this.compareRegister(2, this.registers.C);
+        isSame &= this.compareRegister(3, this.registers.D);
+        isSame &= this.compareRegister(4, this.registers.E);
+        isSame &= this.compareRegister(5, this.registers.H);
+        isSame &= this.compareRegister(6, this.registers.L);
+        isSame &= this.compareRegister(7, this.registers.SP);
+
+        return isSame;
+    }
+
+    private boolean compareRegister(int index, int value) {
+        boolean isSame = this.lastRegisters[index] == value;
+
+        this.lastRegisters[index] = value;
+        return isSame;
+    }
+
+    /**
+     * Looks at the instructions from {@code target} to the jump back to it.
+     * @param branch The address of the jump back, or -1 to accept the first one found.
+     * @param target The start of the loop.
+     * @return True if none of them have side effects.
+     */
+    private boolean isIdle(int branch, int target) {
+        int address = target;
+
+        while(address - target < IdleLoopDetector.MAX_LOOP_LENGTH) {
+            int opCode = this.memory.getByteAt(address);
+
+            if(opCode == 0xCB) {
+                if(!this.isIdleCBInstruction(this.memory.getByteAt(address + 1))) {
+                    return false;
+                }
+
+                address += 2;
+                continue;
+            }
+
+            int operandSize = Instructions.GB_8BIT_INSTRUCTIONS.get(opCode).getOpSize();
+            int jumpTarget = this.getJumpTarget(opCode, address);
+
+            if(jumpTarget == target) {
+                return branch == -1 || branch == address;
+            }
+
+            if(jumpTarget != -1) {
+                // a conditional jump out of the loop is fine, anything else isn't a simple loop.
+                boolean isConditional = opCode != 0x18 && opCode != 0xC3;
+                boolean isExit = jumpTarget < target || jumpTarget >= target + IdleLoopDetector.MAX_LOOP_LENGTH;
+
+                if(!isConditional || !isExit) {
+                    return false;
+                }
+            } else if(!this.isIdleInstruction(opCode, address)) {
+                return false;
+            }
+
+            address += 1 + operandSize;
+        }
+
+        return false;
+    }
+
+    /**
+     * @param opCode The op code.
+     * @param address The address of the op code.
+     * @return The address jr or jp jumps to, or -1 if it isn't a jump.
+     */
+    private int getJumpTarget(int opCode, int address) {
+        switch(opCode) {
+            case 0x18: case 0x20: case 0x28: case 0x30: case 0x38:
+                return (address + 2 + (byte) this.memory.getByteAt(address + 1)) & 0xFFFF;
+            case 0xC3: case 0xC2: case 0xCA: case 0xD2: case 0xDA:
+                return (this.memory.getByteAt(address + 2) << 8) | this.memory.getByteAt(address + 1);
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Only instructions that change nothing but A and F are allowed. That way BC, DE and HL are the same all the way
+     * through the loop and the addresses they point to can be checked up front.
+     * @param opCode The op code.
+     * @param address The address of the op code.
+     * @return True if the instruction has no side effects.
+     */
+    private boolean isIdleInstruction(int opCode, int address) {
+        // ld a, r
+        if(opCode >= 0x78 && opCode <= 0x7F) {
+            return opCode != 0x7E || this.isIdleRead(this.registers.getHL());
+        }
+
+        // the 8-bit alu operations, the (hl) ones read memory.
+        if(opCode >= 0x80 && opCode <= 0xBF) {
+            return (opCode & 0x07) != 0x06 || this.isIdleRead(this.registers.getHL());
+        }
+
+        switch(opCode) {
+            case 0x00: // nop
+            case 0x3C: case 0x3D: case 0x3E: // inc a, dec a, ld a, n
+            case 0x07: case 0x0F: case 0x17: case 0x1F: case 0x27: case 0x2F: case 0x37: case 0x3F:
+            case 0xC6: case 0xCE: case 0xD6: case 0xDE: case 0xE6: case 0xEE: case 0xF6: case 0xFE: // alu a, n
+                return true;
+            case 0x0A: // ld a, (bc)
+                return this.isIdleRead(this.registers.getBC());
+            case 0x1A: // ld a, (de)
+                return this.isIdleRead(this.registers.getDE());
+            case 0xF0: // ld a, (0xFF00 + n)
+                return this.isIdleRead(0xFF00 | this.memory.getByteAt(address + 1));
+            case 0xF2: // ld a, (0xFF00 + c)
+                return this.isIdleRead(0xFF00 | this.registers.C);
+            case 0xFA: // ld a, (nn)
+                return this.isIdleRead((this.memory.getByteAt(address + 2) << 8) | this.memory.getByteAt(address + 1));
+            default:
+                return false;
+        }
+    }
+
+    private boolean isIdleCBInstruction(int opCode) {
+        // bit n, r
+        if(opCode >= 0x40 && opCode <= 0x7F) {
+            return (opCode & 0x07) != 0x06 || this.isIdleRead(this.registers.getHL());
+        }
+
+        // the rotates, shifts, res and set are only allowed on a.
+        return (opCode & 0x07) == 0x07;
+    }
+
+    /**
+     * @param address The address read from.
+     * @return True if the value at the address can only change when a scheduled event happens.
+     */
+    private boolean isIdleRead(int address) {
+        switch(address) {
+            case IORegisters.LY_COORDINATE:
+            case IORegisters.LCD_STATUS:
+            case IORegisters.INTERRUPT_FLAGS:
+                return true;
+        }
+
+        // the other I/O registers can be changed by the host, like the joypad, or change on every cycle, like DIV.
+        return (address >= 0xC000 && address <= 0xDFFF) || address >= 0xFF80;
+    }
+}
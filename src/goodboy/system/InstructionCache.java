@@ -0,0 +1,136 @@
+package goodboy.system;
+
+import goodboy.disassembler.Instructions;
+
+import java.util.Arrays;
+
+/**
+ * Keeps decoded instructions around so the interpreter doesn't have to fetch and decode the same instruction
+ * every time it runs.
+ *
+ * Notes:
+ *   - Instructions are keyed by address and, for 0x4000 - 0x7FFF, by ROM bank.
+ *
+ *   - Only ROM, WRAM (0xC000 - 0xDFFF) and HRAM (0xFF80 - 0xFFFE) are cached. Code running anywhere else is rare
+ *     and is always decoded from memory.
+ *
+ *   - ROM never changes, so those entries stay until a new ROM is loaded. An entry in RAM is thrown away as soon as
+ *     any byte of its instruction is written to.
+ */
+class InstructionCache {
+    private final Memory memory;
+    private final Operation[] operations;
+    private final Operation[] cbOperations;
+
+    // 0x0000 - 0x3FFF
+    private final DecodedInstruction[] fixedBank = new DecodedInstruction[0x4000];
+
+    // 0x4000 - 0x7FFF, one array per bank, created when code in the bank is first run.
+    private DecodedInstruction[][] switchableBanks = new DecodedInstruction[0][];
+
+    // 0x8000 - 0xFFFF, only WRAM and HRAM are used.
+    private final DecodedInstruction[] ram = new DecodedInstruction[0x8000];
+
+    /**
+     * @param memory The memory to read instructions from.
+     * @param operations The CPU's op code handlers.
+     * @param cbOperations The CPU's CB-prefixed op code handlers.
+     */
+    InstructionCache(Memory memory, Operation[] operations, Operation[] cbOperations) {
+        this.memory = memory;
+        this.operations = operations;
+        this.cbOperations = cbOperations;
+    }
+
+    /**
+     * Gets the decoded instruction at {@code address}, decoding it first if it isn't cached yet.
+     * @param address The address of the instruction.
+     * @return The decoded instruction or null if the address isn't cacheable.
+     */
+    DecodedInstruction get(int address) {
+        DecodedInstruction[] instructions;
+        int index;
+
+        if(address <= 0x3FFF) {
+            // an MBC1 in mode 1 can map another bank here, which is rare enough not to be worth caching.
+            if(this.memory.getCurrentLowRomBank() != 0) {
+                return null;
+            }
+
+            instructions = this.fixedBank;
+            index = address;
+        } else if(address <= 0x7FFF) {
+            instructions = this.getSwitchableBank(this.memory.getCurrentRomBank());
+            index = address - 0x4000;
+        } else if((address >= 0xC000 && address <= 0xDFFF) || (address >= 0xFF80 && address <= 0xFFFE)) {
+            instructions = this.ram;
+            index = address - 0x8000;
+        } else {
+            return null;
+        }
+
+        DecodedInstruction instruction = instructions[index];
+
+        if(instruction == null) {
+            instruction = this.decode(address);
+            instructions[index] = instruction;
+        }
+
+        return instruction;
+    }
+
+    /**
+     * Throws away every decoded instruction. This must be called when a new ROM is loaded.
+     */
+    void clear() {
+        Arrays.fill(this.fixedBank, null);
+        this.switchableBanks = new DecodedInstruction[0][];
+        Arrays.fill(this.ram, null);
+    }
+
+    /**
+     * Called whenever WRAM or HRAM is written to. Throws away every instruction the byte is part of.
+     * @param address The address that was written to.
+     */
+    void invalidate(int address) {
+        int index = address - 0x8000;
+
+        // instructions are at most 3 bytes long, so only the 2 instructions before this one can overlap it.
+        for(int i = Math.max(index - 2, 0); i <= index; i++) {
+            this.ram[i] = null;
+        }
+    }
+
+    private DecodedInstruction[] getSwitchableBank(int bank) {
+        if(bank >= this.switchableBanks.length) {
+            this.switchableBanks = Arrays.copyOf(this.switchableBanks, bank + 1);
+        }
+
+        if(this.switchableBanks[bank] == null) {
+            this.switchableBanks[bank] = new DecodedInstruction[0x4000];
+        }
+
+        return this.switchableBanks[bank];
+    }
+
+    private DecodedInstruction decode(int address) {
+        int opCode = this.memory.getByteAt(address);
+
+        if(opCode == 0xCB) {
+            int cbOpCode = this.memory.getByteAt(address + 1);
+
+            return new DecodedInstruction(this.cbOperations[cbOpCode], 0, 2);
+        }
+
+        int operandSize = Instructions.GB_8BIT_INSTRUCTIONS.get(opCode).getOpSize();
+        int operand = 0;
+
+        if(operandSize == 1) {
+            operand = this.memory.getByteAt(address + 1);
+        } else if(operandSize == 2) {
+            operand = (this.memory.getByteAt(address + 2) << 8) | this.memory.getByteAt(address + 1);
+        }
+
+        return new DecodedInstruction(this.operations[opCode], operand, 1);
+    }
+}
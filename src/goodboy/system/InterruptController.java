@@ -0,0 +1,96 @@
+package goodboy.system;
+
+/**
+ * Holds the interrupt flag (IF - 0xFF0F) and interrupt enable (IE - 0xFFFF) registers.
+ *
+ * Notes:
+ *   - The CPU checks for interrupts before every instruction, so IE & IF is worked out whenever either register
+ *     changes instead of on every check.
+ *
+ *   - Only the lower 5 bits of IF exist, the upper 3 always read as 1. IE stores all 8 bits but only the lower 5
+ *     can trigger an interrupt.
+ *
+ *   - The interrupts are numbered by their bit, which also orders them by priority. The vector of interrupt n is
+ *     0x40 + n * 8.
+ */
+class InterruptController {
+    private int flags = 0;
+    private int enable = 0;
+
+    // The interrupts that are both requested and enabled.
+    private int pending = 0;
+
+    /**
+     * @return The value of IF.
+     */
+    int getFlags() {
+        return 0xE0 | this.flags;
+    }
+
+    /**
+     * @param value The new value of IF.
+     */
+    void setFlags(int value) {
+        this.flags = value & 0x1F;
+        this.update();
+    }
+
+    /**
+     * @return The value of IE.
+     */
+    int getEnable() {
+        return this.enable;
+    }
+
+    /**
+     * @param value The new value of IE.
+     */
+    void setEnable(int value) {
+        this.enable = value & 0xFF;
+        this.update();
+    }
+
+    /**
+     * Sets an interrupt's flag in IF.
+     * @param interrupt One of {@link Interrupts}.
+     */
+    void request(int interrupt) {
+        this.flags |= interrupt;
+        this.update();
+    }
+
+    /**
+     * Clears an interrupt's flag in IF.
+     * @param interrupt One of {@link Interrupts}.
+     */
+    void clear(int interrupt) {
+        this.flags &= ~interrupt;
+        this.update();
+    }
+
+    /**
+     * @return True if an enabled interrupt has been requested.
+     */
+    boolean hasPending() {
+        return this.pending != 0;
+    }
+
+    /**
+     * @return The highest priority interrupt that has been requested and is enabled, or 0 if there isn't one.
+     */
+    int getNextInterrupt() {
+        return Integer.lowestOneBit(this.pending);
+    }
+
+    /**
+     * @param interrupt One of {@link Interrupts}.
+     * @return The address the CPU jumps to for the interrupt.
+     */
+    static int getVector(int interrupt) {
+        return 0x40 + (Integer.numberOfTrailingZeros(interrupt) << 3);
+    }
+
+    private void update() {
+        this.pending = this.enable & this.flags & 0x1F;
+    }
+}
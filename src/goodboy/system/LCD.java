@@ -1,5 +1,9 @@
 package goodboy.system;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.function.Function;
 
 public class LCD {
@@ -12,7 +16,37 @@ public class LCD {
     public static final int HEIGHT = 144;
     public static final int WIDTH = 160;
 
+    // Writes a whole BGRA pixel into the frame as one little endian int.
+    private static final VarHandle PIXEL = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // The screen's 4 shades of green as ARGB, which is BGRA in little endian order.
+    private static final int[] SHADES = { 0xFF9BBC0F, 0xFF8BAC0F, 0xFF306230, 0xFF0F380F };
+
+    // Where the 40 sprites' 4 byte entries start in OAM, and how many of them can be on one line.
+    private static final int OAM_START = 0xFE00;
+    private static final int SPRITE_COUNT = 40;
+    private static final int SPRITES_PER_LINE = 10;
+
     private byte[] tiles = new byte[HEIGHT * WIDTH * 4];
+
+    // The sprites on the next line to be drawn, found by searchSprites() during mode 2. Each one is
+    //   (x << 16) | (index << 8) | y, so sorting them puts them in the order they take priority in.
+    private final int[] lineSprites = new int[SPRITES_PER_LINE];
+    private int lineSpriteCount = 0;
+
+    // The sprite height they were found with. LCDC can change before the line is rendered.
+    private int lineSpriteHeight = 8;
+
+    // The color of each background pixel on the line before the palette, for sprites that are behind the background.
+    private final byte[] lineColors = new byte[WIDTH];
+
+    // The pixels on the line that a sprite has already been drawn on, or hidden behind the background on.
+    private final boolean[] spritePixels = new boolean[WIDTH];
+
+    // The shade of each of the 4 colors, decoded from BGP, OBP0 and OBP1 whenever they're written.
+    private final int[] backgroundPalette = new int[4];
+    private final int[] objectPalette0 = new int[4];
+    private final int[] objectPalette1 = new int[4];
     private Memory memory;
     private Function<byte[], Void> draw;
 
@@ -21,6 +55,13 @@ public class LCD {
         int END = 153;
     }
 
+    private interface SpriteFlags {
+        int PRIORITY = 0x80;
+        int FLIP_Y = 0x40;
+        int FLIP_X = 0x20;
+        int PALETTE = 0x10;
+    }
+
     public interface PixelColor {
         byte WHITE = 0;
         byte LIGHT_GRAY = 1;
@@ -30,9 +71,57 @@ public class LCD {
 
     public LCD(Memory memory) {
         this.memory = memory;
+        this.loadPalettes();
+    }
+
+    /**
+     * Renders the whole screen from the current registers and draws it straight away. The GPU renders a line at a
+     * time instead, this is for when the whole screen is wanted at once.
+     * @param backgroundMap The background map to render from.
+     */
+    public void render(char[] backgroundMap) {
+        for(int line = 0; line < HEIGHT; line++) {
+            this.searchSprites(line);
+            this.renderLine(line, backgroundMap);
+        }
+
+        this.present();
     }
 
-    public void render(byte[][][] backgroundMap) {
+    /**
+     * Finds the sprites on a line, the first 10 in OAM that it goes through. The GPU calls this in mode 2 of each
+     * line, while the real thing searches OAM, so the line's pixels don't have to look through all 40 sprites.
+     * @param line The line that's about to be rendered (LY).
+     */
+    void searchSprites(int line) {
+        int height = (this.memory.getByteAt(IORegisters.LCDC) & 0x04) == 0x04 ? 16 : 8;
+
+        this.lineSpriteHeight = height;
+        this.lineSpriteCount = 0;
+
+        for(int sprite = 0; sprite < SPRITE_COUNT && this.lineSpriteCount < SPRITES_PER_LINE; sprite++) {
+            int address = OAM_START + (sprite << 2);
+            int y = this.memory.getByteAt(address);
+
+            // the sprite's Y is 16 more than the line its top is on, so it can start above the screen.
+            if(line + 16 >= y && line + 16 < y + height) {
+                int x = this.memory.getByteAt(address + 1);
+
+                this.lineSprites[this.lineSpriteCount++] = (x << 16) | (sprite << 8) | y;
+            }
+        }
+
+        // the sprite furthest to the left is on top, the first one in OAM if there's a tie.
+        Arrays.sort(this.lineSprites, 0, this.lineSpriteCount);
+    }
+
+    /**
+     * Renders a single line into the frame. The GPU calls this at the end of mode 3 of each line, so changes to the
+     * scroll registers part of the way down the screen show up on the lines after them.
+     * @param line The line to render (LY).
+     * @param backgroundMap The background map to render from.
+     */
+    void renderLine(int line, char[] backgroundMap) {
         int lcdc = this.memory.getByteAt(IORegisters.LCDC);
 
         // LCD is disabled, skip render.
@@ -44,11 +133,23 @@ public class LCD {
         boolean isSpritesEnabled = ((lcdc >> 1) & 0x01) == 0x01;
 
         if(isBGEnabled) {
-            this.renderViewport(backgroundMap);
+            this.renderViewport(line, backgroundMap);
+        } else {
+            this.clearLine(line);
         }
 
         if(isSpritesEnabled) {
-            this.renderSprites(lcdc);
+            this.renderSprites(line);
+        }
+    }
+
+    /**
+     * Hands the finished frame to the draw function. The GPU calls this once a frame, when VBLANK starts.
+     */
+    void present() {
+        // LCD is disabled, keep showing the last frame.
+        if((this.memory.getByteAt(IORegisters.LCDC) >> 7) == 0) {
+            return;
         }
 
         this.draw.apply(this.tiles);
@@ -58,105 +159,156 @@ public class LCD {
         this.draw = func;
     }
 
-    private void renderViewport(byte[][][] backgroundMap) {
+    private void renderViewport(int row, char[] backgroundMap) {
         int scrollX = this.memory.getByteAt(IORegisters.SCROLL_X);
         int scrollY = this.memory.getByteAt(IORegisters.SCROLL_Y);
 
-        int index;
+        // the background wraps around in both directions.
+        int line = ((row + scrollY) & (GPU.BG_HEIGHT - 1)) * (GPU.BG_WIDTH / 8);
+        int index = row * WIDTH * 4;
+
+        for(int col = 0; col < WIDTH; col++) {
+            int x = (col + scrollX) & (GPU.BG_WIDTH - 1);
+            int color = (backgroundMap[line + (x >> 3)] >> (14 - ((x & 0x07) << 1))) & 0x03;
+
+            this.lineColors[col] = (byte) color;
+            PIXEL.set(this.tiles, index, this.backgroundPalette[color]);
+            index += 4;
+        }
+    }
+
+    /**
+     * Fills a line with white, which is what the background shows when it's disabled.
+     * @param row The line to clear (LY).
+     */
+    private void clearLine(int row) {
+        int index = row * WIDTH * 4;
+
+        Arrays.fill(this.lineColors, (byte) 0);
+
+        for(int col = 0; col < WIDTH; col++) {
+            PIXEL.set(this.tiles, index, SHADES[PixelColor.WHITE]);
+            index += 4;
+        }
+    }
+
+    /**
+     * Draws the sprites searchSprites() found on the line over the background.
+     *
+     * Byte 0 - Y Position + 16
+     * Byte 1 - X Position + 8
+     * Byte 2 - Tile Number, from 0x8000. The lower bit is ignored for 8x16 sprites.
+     * Byte 3 - Flags
+     *   Bit 7 - OBJ-to-BG Priority (0=OBJ Above BG, 1=OBJ Behind BG color 1-3)
+     *   Bit 6 - Y flip
+     *   Bit 5 - X flip
+     *   Bit 4 - Palette number (0=OBP0, 1=OBP1)
+     * @param row The line to render (LY).
+     */
+    private void renderSprites(int row) {
+        int height = this.lineSpriteHeight;
+        int index = row * WIDTH * 4;
+
+        Arrays.fill(this.spritePixels, false);
+
+        // drawn from the highest priority down, each pixel goes to the first sprite that isn't transparent there.
+        for(int i = 0; i < this.lineSpriteCount; i++) {
+            int sprite = (this.lineSprites[i] >> 8) & 0xFF;
+            int x = (this.lineSprites[i] >> 16) - 8;
+            int spriteRow = row + 16 - (this.lineSprites[i] & 0xFF);
+
+            // the sprites were found for another line.
+            if(spriteRow < 0 || spriteRow >= height) {
+                continue;
+            }
+
+            int address = OAM_START + (sprite << 2);
+            int tile = this.memory.getByteAt(address + 2);
+            int flags = this.memory.getByteAt(address + 3);
 
-        for(int row = 0; row < HEIGHT; row++) {
-            int y = row + scrollY;
+            if(height == 16) {
+                tile &= 0xFE;
+            }
 
-            if(y >= GPU.BG_HEIGHT) {
-                y -= GPU.BG_HEIGHT;
+            if((flags & SpriteFlags.FLIP_Y) == SpriteFlags.FLIP_Y) {
+                spriteRow = height - 1 - spriteRow;
             }
 
-            for(int col = 0; col < WIDTH; col++) {
-                int x = col + scrollX;
+            int tileAddress = 0x8000 + (tile << 4) + (spriteRow << 1);
+            int low = this.memory.getByteAt(tileAddress);
+            int high = this.memory.getByteAt(tileAddress + 1);
+            int[] palette = (flags & SpriteFlags.PALETTE) == 0 ? this.objectPalette0 : this.objectPalette1;
+            boolean isBehindBG = (flags & SpriteFlags.PRIORITY) == SpriteFlags.PRIORITY;
+            boolean isFlippedX = (flags & SpriteFlags.FLIP_X) == SpriteFlags.FLIP_X;
+
+            for(int col = Math.max(0, -x); col < 8 && x + col < WIDTH; col++) {
+                int pixel = x + col;
 
-                if(x >= GPU.BG_WIDTH) {
-                    x -= GPU.BG_WIDTH;
+                if(this.spritePixels[pixel]) {
+                    continue;
                 }
 
-                byte color = backgroundMap[y][x][x % 8];
-                byte[] pixels = this.getColor(color);
+                int bit = isFlippedX ? col : 7 - col;
+                int color = (((high >> bit) & 0x01) << 1) | ((low >> bit) & 0x01);
+
+                // color 0 is transparent.
+                if(color == 0) {
+                    continue;
+                }
 
-                index = ((row * WIDTH) + col) * 4;
+                // a sprite behind the background still hides the sprites under it.
+                this.spritePixels[pixel] = true;
 
-                this.tiles[index] = pixels[0];
-                this.tiles[index + 1] = pixels[1];
-                this.tiles[index + 2] = pixels[2];
-                this.tiles[index + 3] = pixels[3];
+                if(isBehindBG && this.lineColors[pixel] != 0) {
+                    continue;
+                }
+
+                PIXEL.set(this.tiles, index + (pixel << 2), palette[color]);
             }
         }
     }
 
-    private void renderSprites(int lcdc) {
-
+    /**
+     * Decodes the palettes from the registers, for when they may have been written without setPalette() being called.
+     */
+    void loadPalettes() {
+        this.setPalette(IORegisters.BG_PALETTE_DATA, this.memory.getByteAt(IORegisters.BG_PALETTE_DATA));
+        this.setPalette(IORegisters.OBJECT_PALETTE0_DATA, this.memory.getByteAt(IORegisters.OBJECT_PALETTE0_DATA));
+        this.setPalette(IORegisters.OBJECT_PALETTE1_DATA, this.memory.getByteAt(IORegisters.OBJECT_PALETTE1_DATA));
     }
 
-    private byte[] getColor(byte color) {
-        /*
-
-        FF47 - BGP - BG Palette Data
-        Bit 7-6 - Shade for Color BLACK
-        Bit 5-4 - Shade for Color DARK GRAY
-        Bit 3-2 - Shade for Color LIGHT GRAY
-        Bit 1-0 - Shade for Color WHITE
-
-        */
-        byte red = (byte)0xFF;
-        byte green = (byte)0xFF;
-        byte blue = (byte)0xFF;
-
-        int palette = this.memory.getByteAt(IORegisters.BG_PALETTE_DATA);
-        int high = 0;
-        int low = 0;
-
-        switch(color) {
-            case PixelColor.WHITE:
-               high = 1;
-               low = 0;
-               break;
-            case PixelColor.LIGHT_GRAY:
-                high = 3;
-                low = 2;
+    /**
+     * Decodes a palette register. Called whenever BGP, OBP0 or OBP1 is written.
+     *
+     * FF47 - BGP - BG Palette Data
+     * Bit 7-6 - Shade for Color BLACK
+     * Bit 5-4 - Shade for Color DARK GRAY
+     * Bit 3-2 - Shade for Color LIGHT GRAY
+     * Bit 1-0 - Shade for Color WHITE
+     *
+     * OBP0 and OBP1 are the same, except color 0 is transparent for sprites.
+     * @param register The palette register's address.
+     * @param value The value written to it.
+     */
+    void setPalette(int register, int value) {
+        int[] palette;
+
+        switch(register) {
+            case IORegisters.BG_PALETTE_DATA:
+                palette = this.backgroundPalette;
                 break;
-            case PixelColor.DARK_GRAY:
-                high = 5;
-                low = 4;
+            case IORegisters.OBJECT_PALETTE0_DATA:
+                palette = this.objectPalette0;
                 break;
-            case PixelColor.BLACK:
-                high = 7;
-                low = 6;
+            case IORegisters.OBJECT_PALETTE1_DATA:
+                palette = this.objectPalette1;
                 break;
+            default:
+                return;
         }
 
-        int paletteColor = ((palette & (0x01 << high)) >> low) | ((palette & (0x01 << low)) >> low);
-
-        switch(paletteColor) {
-            case PixelColor.WHITE:
-                red = (byte)0x9B;
-                green = (byte)0xBC;
-                blue = (byte)0x0F;
-                break;
-            case PixelColor.LIGHT_GRAY:
-                red = (byte)0x8B;
-                green = (byte)0xAC;
-                blue = (byte)0x0F;
-                break;
-            case PixelColor.DARK_GRAY:
-                red = 0x30;
-                green = 0x62;
-                blue = 0x30;
-                break;
-            case PixelColor.BLACK:
-                red = 0x0F;
-                green = 0x38;
-                blue = 0x0F;
-                break;
+        for(int color = 0; color < 4; color++) {
+            palette[color] = SHADES[(value >> (color * 2)) & 0x03];
         }
-
-        return new byte[] { blue, green, red, (byte)0xFF };
     }
 }
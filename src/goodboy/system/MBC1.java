@@ -0,0 +1,56 @@
+package goodboy.system;
+
+/**
+ * The MBC1 supports up to 2MB of ROM and 32KB of RAM.
+ *
+ * Notes:
+ *   - 0x0000 - 0x1FFF: RAM enable. Writing a value with 0x0A in the lower nibble enables the RAM.
+ *   - 0x2000 - 0x3FFF: The lower 5 bits of the ROM bank. Writing 0 selects 1, so bank 0x20, 0x40 and 0x60 can't be
+ *                      mapped into 0x4000 - 0x7FFF.
+ *   - 0x4000 - 0x5FFF: 2 more bits, used as bits 5 and 6 of the ROM bank.
+ *   - 0x6000 - 0x7FFF: The banking mode. In mode 1 the 2 extra bits also select the RAM bank and the ROM bank
+ *                      mapped into 0x0000 - 0x3FFF.
+ */
+class MBC1 implements Mapper {
+    private int bank1 = 1;
+    private int bank2 = 0;
+    private boolean isAdvancedMode = false;
+    private boolean isRamEnabled = false;
+
+    @Override
+    public void write(int address, int value) {
+        if(address <= 0x1FFF) {
+            this.isRamEnabled = (value & 0x0F) == 0x0A;
+        } else if(address <= 0x3FFF) {
+            this.bank1 = value & 0x1F;
+
+            if(this.bank1 == 0) {
+                this.bank1 = 1;
+            }
+        } else if(address <= 0x5FFF) {
+            this.bank2 = value & 0x03;
+        } else {
+            this.isAdvancedMode = (value & 0x01) == 0x01;
+        }
+    }
+
+    @Override
+    public int getLowRomBank() {
+        return this.isAdvancedMode ? (this.bank2 << 5) : 0;
+    }
+
+    @Override
+    public int getRomBank() {
+        return (this.bank2 << 5) | this.bank1;
+    }
+
+    @Override
+    public int getRamBank() {
+        return this.isAdvancedMode ? this.bank2 : 0;
+    }
+
+    @Override
+    public boolean isRamMapped() {
+        return this.isRamEnabled;
+    }
+}
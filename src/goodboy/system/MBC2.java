@@ -0,0 +1,68 @@
+package goodboy.system;
+
+/**
+ * The MBC2 supports up to 256KB of ROM and has 512 half bytes of RAM built in.
+ *
+ * Notes:
+ *   - 0x0000 - 0x3FFF: Bit 8 of the address decides what the write does. When it's 0 the write enables or disables
+ *                      the RAM like on the MBC1, when it's 1 the lower 4 bits select the ROM bank (0 selects 1).
+ *
+ *   - 0xA000 - 0xA1FF: The built in RAM. Only the lower 4 bits of each byte are stored, the upper 4 bits read as 1s.
+ *                      It's repeated all the way through 0xBFFF.
+ */
+class MBC2 implements Mapper {
+    // The size of the built in RAM.
+    static final int RAM_SIZE = 0x200;
+
+    private int romBank = 1;
+    private boolean isRamEnabled = false;
+
+    @Override
+    public void write(int address, int value) {
+        if(address > 0x3FFF) {
+            return;
+        }
+
+        if((address & 0x100) == 0) {
+            this.isRamEnabled = (value & 0x0F) == 0x0A;
+        } else {
+            this.romBank = value & 0x0F;
+
+            if(this.romBank == 0) {
+                this.romBank = 1;
+            }
+        }
+    }
+
+    @Override
+    public int getRomBank() {
+        return this.romBank;
+    }
+
+    @Override
+    public int getRamBank() {
+        return 0;
+    }
+
+    @Override
+    public boolean isRamMapped() {
+        // half bytes can't be mapped.
+        return false;
+    }
+
+    @Override
+    public int readRam(byte[] ram, int address) {
+        if(!this.isRamEnabled) {
+            return 0xFF;
+        }
+
+        return 0xF0 | (ram[address & (MBC2.RAM_SIZE - 1)] & 0x0F);
+    }
+
+    @Override
+    public void writeRam(byte[] ram, int address, int value) {
+        if(this.isRamEnabled) {
+            ram[address & (MBC2.RAM_SIZE - 1)] = (byte) (value & 0x0F);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package goodboy.system;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The MBC3 supports up to 2MB of ROM, 32KB of RAM and some cartridges have a real time clock (RTC).
+ *
+ * Notes:
+ *   - 0x0000 - 0x1FFF: RAM and RTC enable. Writing a value with 0x0A in the lower nibble enables both.
+ *   - 0x2000 - 0x3FFF: The 7 bit ROM bank. Writing 0 selects 1.
+ *   - 0x4000 - 0x5FFF: 0x00 - 0x07 selects a RAM bank, 0x08 - 0x0C selects one of the RTC registers instead.
+ *   - 0x6000 - 0x7FFF: Writing 0 and then 1 latches the clock into the RTC registers.
+ *
+ *   - RTC registers:
+ *     - 0x08: Seconds (0 - 59)
+ *     - 0x09: Minutes (0 - 59)
+ *     - 0x0A: Hours (0 - 23)
+ *     - 0x0B: Lower 8 bits of the day counter
+ *     - 0x0C: Bit 0 is bit 8 of the day counter, bit 6 halts the clock and bit 7 is set when the day counter
+ *             overflows.
+ */
+class MBC3 implements Mapper {
+    interface RtcRegister {
+        int SECONDS = 0x08;
+        int MINUTES = 0x09;
+        int HOURS = 0x0A;
+        int DAYS_LOW = 0x0B;
+        int DAYS_HIGH = 0x0C;
+    }
+
+    private int romBank = 1;
+    private int ramBank = 0;
+    private boolean isRamEnabled = false;
+    private int latch = 0xFF;
+
+    // null if the cartridge doesn't have a clock.
+    private final RealTimeClock clock;
+
+    /**
+     * @param hasClock True if the cartridge has an RTC.
+     */
+    MBC3(boolean hasClock) {
+        this.clock = hasClock ? new RealTimeClock() : null;
+    }
+
+    @Override
+    public void write(int address, int value) {
+        if(address <= 0x1FFF) {
+            this.isRamEnabled = (value & 0x0F) == 0x0A;
+        } else if(address <= 0x3FFF) {
+            this.romBank = value & 0x7F;
+
+            if(this.romBank == 0) {
+                this.romBank = 1;
+            }
+        } else if(address <= 0x5FFF) {
+            this.ramBank = value & 0x0F;
+        } else {
+            if(this.latch == 0x00 && value == 0x01 && this.clock != null) {
+                this.clock.latch();
+            }
+
+            this.latch = value;
+        }
+    }
+
+    @Override
+    public void setSchedulerRef(Scheduler scheduler) {
+        if(this.clock != null) {
+            this.clock.setSchedulerRef(scheduler);
+        }
+    }
+
+    @Override
+    public int getRomBank() {
+        return this.romBank;
+    }
+
+    @Override
+    public int getRamBank() {
+        return this.ramBank;
+    }
+
+    @Override
+    public boolean isRamMapped() {
+        return this.isRamEnabled && this.ramBank <= 0x07;
+    }
+
+    @Override
+    public int readRam(byte[] ram, int address) {
+        if(!this.isRamEnabled || !this.isRtcSelected()) {
+            return 0xFF;
+        }
+
+        return this.clock.read(this.ramBank);
+    }
+
+    @Override
+    public void writeRam(byte[] ram, int address, int value) {
+        if(this.isRamEnabled && this.isRtcSelected()) {
+            this.clock.write(this.ramBank, value);
+        }
+    }
+
+    @Override
+    public int getExtraSaveSize() {
+        return this.clock != null ? RealTimeClock.SAVE_SIZE : 0;
+    }
+
+    @Override
+    public void saveExtra(ByteBuffer buffer) {
+        if(this.clock != null) {
+            this.clock.save(buffer);
+        }
+    }
+
+    @Override
+    public void loadExtra(ByteBuffer buffer) {
+        if(this.clock != null) {
+            this.clock.load(buffer);
+        }
+    }
+
+    private boolean isRtcSelected() {
+        return this.clock != null && this.ramBank >= RtcRegister.SECONDS && this.ramBank <= RtcRegister.DAYS_HIGH;
+    }
+}
@@ -0,0 +1,45 @@
+package goodboy.system;
+
+/**
+ * The MBC5 supports up to 8MB of ROM and 128KB of RAM.
+ *
+ * Notes:
+ *   - 0x0000 - 0x1FFF: RAM enable. Writing a value with 0x0A in the lower nibble enables the RAM.
+ *   - 0x2000 - 0x2FFF: The lower 8 bits of the ROM bank. Unlike the other MBCs, bank 0 can be mapped into
+ *                      0x4000 - 0x7FFF.
+ *   - 0x3000 - 0x3FFF: Bit 8 of the ROM bank.
+ *   - 0x4000 - 0x5FFF: The 4 bit RAM bank.
+ */
+class MBC5 implements Mapper {
+    private int romBank = 1;
+    private int ramBank = 0;
+    private boolean isRamEnabled = false;
+
+    @Override
+    public void write(int address, int value) {
+        if(address <= 0x1FFF) {
+            this.isRamEnabled = (value & 0x0F) == 0x0A;
+        } else if(address <= 0x2FFF) {
+            this.romBank = (this.romBank & 0x100) | (value & 0xFF);
+        } else if(address <= 0x3FFF) {
+            this.romBank = ((value & 0x01) << 8) | (this.romBank & 0xFF);
+        } else if(address <= 0x5FFF) {
+            this.ramBank = value & 0x0F;
+        }
+    }
+
+    @Override
+    public int getRomBank() {
+        return this.romBank;
+    }
+
+    @Override
+    public int getRamBank() {
+        return this.ramBank;
+    }
+
+    @Override
+    public boolean isRamMapped() {
+        return this.isRamEnabled;
+    }
+}
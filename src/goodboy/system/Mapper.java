@@ -0,0 +1,98 @@
+package goodboy.system;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The memory bank controller (MBC) in a cartridge. It decides which ROM bank is mapped into 0x0000 - 0x3FFF and
+ * 0x4000 - 0x7FFF and what 0xA000 - 0xBFFF is connected to.
+ *
+ * Notes:
+ *   - Games talk to the MBC by writing to the ROM area. Memory passes those writes to write() and then asks for the
+ *     banks again, so a bank switch only changes which part of the ROM or RAM the pages point to.
+ *
+ *   - The banks returned can be bigger than the ROM or RAM on the cartridge. Memory wraps them around, the same as
+ *     the unconnected bank lines on a real cartridge.
+ *
+ *   - Mappers with state that has to be saved with the RAM (MBC3's clock) write it after the RAM in the save data.
+ *
+ *   - When the external RAM isn't plain memory (it's disabled, MBC2's 4 bit RAM, MBC3's clock registers, ...)
+ *     isRamMapped() returns false and every access goes through readRam()/writeRam() instead.
+ */
+interface Mapper {
+    /**
+     * Called when the game writes to 0x0000 - 0x7FFF.
+     * @param address The address that was written to.
+     * @param value The value that was written.
+     */
+    void write(int address, int value);
+
+    /**
+     * @return The ROM bank mapped into 0x0000 - 0x3FFF.
+     */
+    default int getLowRomBank() {
+        return 0;
+    }
+
+    /**
+     * @return The ROM bank mapped into 0x4000 - 0x7FFF.
+     */
+    int getRomBank();
+
+    /**
+     * @return The 8KB RAM bank mapped into 0xA000 - 0xBFFF.
+     */
+    int getRamBank();
+
+    /**
+     * @return True if 0xA000 - 0xBFFF is plain RAM in the bank returned by getRamBank().
+     */
+    boolean isRamMapped();
+
+    /**
+     * Reads 0xA000 - 0xBFFF when isRamMapped() is false.
+     * @param ram The cartridge RAM.
+     * @param address The address to read.
+     * @return The value at the address.
+     */
+    default int readRam(byte[] ram, int address) {
+        // Nothing is driving the bus, so it reads as all 1s.
+        return 0xFF;
+    }
+
+    /**
+     * Writes to 0xA000 - 0xBFFF when isRamMapped() is false.
+     * @param ram The cartridge RAM.
+     * @param address The address to write to.
+     * @param value The value to write.
+     */
+    default void writeRam(byte[] ram, int address, int value) {
+    }
+
+    /**
+     * Gives the mapper the emulator's clock, for mappers with a clock of their own.
+     * @param scheduler The scheduler that keeps the clock.
+     */
+    default void setSchedulerRef(Scheduler scheduler) {
+    }
+
+    /**
+     * @return The number of bytes saveExtra() writes.
+     */
+    default int getExtraSaveSize() {
+        return 0;
+    }
+
+    /**
+     * Writes the state that's saved after the RAM.
+     * @param buffer The buffer to write to.
+     */
+    default void saveExtra(ByteBuffer buffer) {
+    }
+
+    /**
+     * Reads the state written by saveExtra().
+     * @param buffer The buffer to read from.
+     */
+    default void loadExtra(ByteBuffer buffer) {
+    }
+}
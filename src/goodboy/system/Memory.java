@@ -1,5 +1,10 @@
 package goodboy.system;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
 /**
  * The GameBoy has 64KB of Memory.
  *
@@ -49,37 +54,163 @@ package goodboy.system;
  *                        - It's here because of how the CPU works internally.
  */
 public class Memory {
-    private int[] cartridge = new int[0x800000];
-    private int[] vram = new int[0x2000];
-    private int[] sram = new int[0x8000];
-    private int[] wram = new int[0x2000];
-    private int[] eram = new int[0x1E00];
-    private int[] oam = new int[0xA0];
-    private int[] fea0_feff = new int[0x60];
-    private int[] io = new int[0x80];
-    private int[] hram = new int[0x7F];
-    private int[] ie = new int[1];
+    // The smallest cartridge is 32KB, which covers 0x0000 - 0x7FFF without any banking.
+    private static final int MIN_ROM_SIZE = 0x8000;
 
-    private GPU gpu;
+    /**
+     * The first dirty page of each area of memory. The pages are 256 bytes of the array behind the area, so the SRAM
+     * pages cover every bank and not just the one that's mapped.
+     */
+    public interface DirtyPage {
+        int VRAM = 0x00;
+        int WRAM = 0x20;
+        int OAM = 0x40;
+        int IO = 0x41;
+
+        // HRAM and IE.
+        int HRAM = 0x42;
+
+        // Up to 128KB of cartridge RAM.
+        int SRAM = 0x43;
+        int SRAM_PAGES = 0x200;
+    }
+
+    /**
+     * Reads an I/O register that doesn't just return its stored value.
+     */
+    private interface IoReader {
+        /**
+         * @param index The register's index in the I/O array (the address - 0xFF00).
+         * @return The value of the register.
+         */
+        int read(int index);
+    }
 
-    private RomBank romBankType;
-    private int currentRomBank = 1;
-    private int currentRamBank = 0;
-    private boolean isRomEnabled = true;
-    private boolean isRamEnabled = false;
+    /**
+     * Writes to an I/O register where the write does more than store the value.
+     */
+    private interface IoWriter {
+        /**
+         * @param index The register's index in the I/O array (the address - 0xFF00).
+         * @param value The value being written.
+         */
+        void write(int index, int value);
+    }
 
-    enum RomBank {
-        NONE,
-        MBC1,
-        MBC2
+    private ByteBuffer rom;
+    private Cartridge cartridge;
+    private byte[] vram = new byte[0x2000];
+    private byte[] sram;
+    private byte[] wram = new byte[0x2000];
+    private byte[] oam = new byte[0xA0];
+    private byte[] fea0_feff = new byte[0x60];
+    private byte[] io = new byte[0x80];
+    private byte[] hram = new byte[0x7F];
+
+    // IF and IE.
+    private final InterruptController interrupts = new InterruptController();
+
+    // Each 256 byte page of the address space points into one of the arrays above, starting at its offset.
+    // Pages that are null need more than a plain array access and go through getSpecialByteAt/setSpecialByteAt.
+    // 0x0000 - 0x7FFF is always read from the ROM buffer, so only its offsets are used.
+    private final byte[][] readPages = new byte[0x100][];
+    private final int[] readOffsets = new int[0x100];
+    private final byte[][] writePages = new byte[0x100][];
+    private final int[] writeOffsets = new int[0x100];
+
+    // One entry for each address in 0xFF00 - 0xFF7F. Registers without a reader read as their stored value OR'd with
+    // the mask of bits that always read as 1. Registers without a writer just store the value.
+    private final IoReader[] ioReaders = new IoReader[0x80];
+    private final int[] ioReadMasks = new int[0x80];
+    private final IoWriter[] ioWriters = new IoWriter[0x80];
+
+    // The pages written to since the last clearDirtyPages(), numbered as in DirtyPage. Only writes through the bus are
+    // tracked, registers the hardware changes itself (IF, DIV, the GPU's LY and STAT updates) may not be.
+    // One bit per page, kept in longs rather than a BitSet so a write only costs a shift and an or.
+    private final long[] dirtyPages = new long[(Memory.DirtyPage.SRAM + Memory.DirtyPage.SRAM_PAGES + 63) >> 6];
+
+    private GPU gpu;
+    private InstructionCache instructionCache;
+    private Recompiler recompiler;
+    private Timers timers;
+    private Scheduler scheduler;
+
+    private Mapper mapper;
+    private int currentLowRomBank;
+    private int currentRomBank;
+    private boolean isRamMapped;
+    private int ramOffset;
+
+    // Only set for battery backed cartridges that were loaded from a file.
+    private SaveFile saveFile;
+
+    public Memory() {
+        this.mapIoRegisters();
+        this.loadROM(ByteBuffer.allocate(Memory.MIN_ROM_SIZE));
     }
 
+    /**
+     * Loads a ROM where every int holds one byte.
+     * @param rom The ROM.
+     */
     public void loadROM(int[] rom) {
-        this.cartridge = rom;
-        this.romBankType = this.getRomBankType(this.cartridge[0x147]);
+        byte[] bytes = new byte[rom.length];
+
+        for(int i = 0; i < rom.length; i++) {
+            bytes[i] = (byte) rom[i];
+        }
+
+        this.loadROM(bytes);
+    }
+
+    public void loadROM(byte[] rom) {
+        this.loadROM(ByteBuffer.wrap(rom));
+    }
+
+    /**
+     * Loads the ROM between the buffer's position and limit. The buffer is used as it is, without copying it, unless
+     * it's smaller than 32KB. SRAM is sized from the cartridge header.
+     * @param rom The ROM.
+     */
+    public void loadROM(ByteBuffer rom) {
+        rom = rom.slice();
+
+        if(rom.capacity() < Memory.MIN_ROM_SIZE) {
+            rom = ByteBuffer.allocate(Memory.MIN_ROM_SIZE).put(rom);
+        }
+
+        if(this.saveFile != null) {
+            this.saveFile.close();
+            this.saveFile = null;
+        }
+
+        this.rom = rom.asReadOnlyBuffer();
+        this.cartridge = new Cartridge(this.rom);
+        this.mapper = this.cartridge.createMapper();
+
+        if(this.scheduler != null) {
+            this.mapper.setSchedulerRef(this.scheduler);
+        }
+
+        // Cartridges without RAM still get one bank, the emulator has always let games use 0xA000 - 0xBFFF as RAM.
+        this.sram = new byte[Math.max(this.cartridge.getRamSizeInBytes(), 0x2000)];
+        this.mapPages();
+        this.markAllDirty();
+
+        if(this.instructionCache != null) {
+            this.instructionCache.clear();
+        }
+
+        if(this.recompiler != null) {
+            this.recompiler.clear();
+        }
+    }
+
+    ByteBuffer getROM() {
+        return this.rom;
     }
 
-    int[] getROM() {
+    Cartridge getCartridge() {
         return this.cartridge;
     }
 
@@ -87,38 +218,207 @@ public class Memory {
         this.gpu = gpu;
     }
 
+    void setInstructionCacheRef(InstructionCache instructionCache) {
+        this.instructionCache = instructionCache;
+    }
+
+    void setRecompilerRef(Recompiler recompiler) {
+        this.recompiler = recompiler;
+    }
+
+    InterruptController getInterruptController() {
+        return this.interrupts;
+    }
+
+    void setTimersRef(Timers timers) {
+        this.timers = timers;
+    }
+
+    void setSchedulerRef(Scheduler scheduler) {
+        this.scheduler = scheduler;
+        this.mapper.setSchedulerRef(scheduler);
+    }
+
+    /**
+     * Gets everything a battery keeps when the GameBoy is off: the cartridge RAM followed by the mapper's own state,
+     * like the MBC3's clock.
+     * @return The save data. It's empty if the cartridge doesn't have RAM or a clock.
+     */
+    public byte[] getSaveData() {
+        int ramSize = this.cartridge.getRamSizeInBytes();
+        ByteBuffer buffer = ByteBuffer.allocate(ramSize + this.mapper.getExtraSaveSize());
+
+        buffer.put(this.sram, 0, ramSize);
+        this.mapper.saveExtra(buffer);
+
+        return buffer.array();
+    }
+
+    /**
+     * Loads save data from getSaveData(). Data from a different cartridge is loaded as far as it fits, and missing
+     * mapper state (a save from an emulator that doesn't save the clock) is left as it is.
+     * @param data The save data.
+     */
+    public void loadSaveData(byte[] data) {
+        int ramSize = Math.min(this.cartridge.getRamSizeInBytes(), data.length);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+
+        buffer.get(this.sram, 0, ramSize);
+        this.markSramDirty();
+
+        if(buffer.remaining() >= this.mapper.getExtraSaveSize()) {
+            this.mapper.loadExtra(buffer);
+        }
+    }
+
+    /**
+     * Keeps the cartridge RAM in a .sav file from now on, see {@link SaveFile}. If the file exists, the RAM is
+     * loaded from it. Loading another ROM closes the file.
+     * @param path The .sav file.
+     * @param flushInterval How often to write changes to the file, in milliseconds.
+     * @throws IOException If the file can't be opened.
+     */
+    void openSaveFile(Path path, long flushInterval) throws IOException {
+        this.closeSaveFile();
+
+        if(!this.cartridge.hasBattery() || this.cartridge.getRamSizeInBytes() + this.mapper.getExtraSaveSize() == 0) {
+            return;
+        }
+
+        this.saveFile = new SaveFile(path, this.sram, this.cartridge.getRamSizeInBytes(), this.mapper, flushInterval);
+        this.markSramDirty();
+
+        // writes have to go through setSpecialByteAt now so they're marked dirty.
+        this.mapBanks();
+    }
+
+    /**
+     * Writes any changes to the .sav file now.
+     */
+    void flushSaveFile() {
+        if(this.saveFile != null) {
+            this.saveFile.flush();
+        }
+    }
+
+    /**
+     * Flushes and closes the .sav file. The RAM stays as it is.
+     */
+    void closeSaveFile() {
+        if(this.saveFile != null) {
+            this.saveFile.close();
+            this.saveFile = null;
+            this.mapBanks();
+        }
+    }
+
+    /**
+     * Finds the next page written to since the last clearDirtyPages(). Loop from page 0 until it returns -1 to go
+     * through all of them.
+     * @param fromPage The page to start looking from, see {@link DirtyPage}.
+     * @return The next dirty page, or -1 if there aren't any more.
+     */
+    public int nextDirtyPage(int fromPage) {
+        int word = fromPage >> 6;
+
+        if(fromPage < 0 || word >= this.dirtyPages.length) {
+            return -1;
+        }
+
+        long bits = this.dirtyPages[word] & (-1L << fromPage);
+
+        while(bits == 0) {
+            if(++word == this.dirtyPages.length) {
+                return -1;
+            }
+
+            bits = this.dirtyPages[word];
+        }
+
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * @param page The page, see {@link DirtyPage}.
+     * @return True if the page was written to since the last clearDirtyPages().
+     */
+    public boolean isPageDirty(int page) {
+        return (this.dirtyPages[page >> 6] & (1L << page)) != 0;
+    }
+
+    /**
+     * Marks every page as clean.
+     */
+    public void clearDirtyPages() {
+        Arrays.fill(this.dirtyPages, 0);
+    }
+
+    /**
+     * Marks every page as dirty, after something replaced memory wholesale.
+     */
+    private void markAllDirty() {
+        for(int page = Memory.DirtyPage.VRAM; page < Memory.DirtyPage.SRAM; page++) {
+            this.markDirty(page);
+        }
+
+        this.markSramDirty();
+    }
+
+    private void markSramDirty() {
+        for(int page = 0; page < (this.sram.length >> 8); page++) {
+            this.markDirty(Memory.DirtyPage.SRAM + page);
+        }
+    }
+
+    private void markDirty(int page) {
+        this.dirtyPages[page >> 6] |= 1L << page;
+    }
+
+    /**
+     * @return The ROM bank mapped into 0x4000 - 0x7FFF.
+     */
+    int getCurrentRomBank() {
+        return this.currentRomBank;
+    }
+
+    /**
+     * @return The ROM bank mapped into 0x0000 - 0x3FFF. This is only ever not 0 on an MBC1 in mode 1.
+     */
+    int getCurrentLowRomBank() {
+        return this.currentLowRomBank;
+    }
+
     public int getByteAt(int address) {
-        int addr;
+        address &= 0xFFFF;
+
+        int page = address >> 8;
 
-        if(address > 0xFFFF) {
-            address = address - 0x10000;
+        if(page <= 0x7F) {
+            return this.rom.get(this.readOffsets[page] + (address & 0xFF)) & 0xFF;
         }
 
-        if(address < 0) {
-            address = address + 0x10000;
+        byte[] memory = this.readPages[page];
+
+        if(memory != null) {
+            return memory[this.readOffsets[page] + (address & 0xFF)] & 0xFF;
         }
 
-        if(address <= 0x3FFF) {
-            return this.cartridge[address];
-        } else if(address <= 0x7FFF) {
-            addr = (address - 0x4000) + (this.currentRomBank * 0x4000);
-            return this.cartridge[addr];
-        } else if(address <= 0x9FFF) {
-            addr = (0x1FFF - (0x9FFF - address)) & 0xFFFF;
-            return this.vram[addr];
-        } else if(address <= 0xBFFF) {
-            addr = (0x1FFF - (0xBFFF - address)) & 0xFFFF;
-            addr += (this.currentRamBank * 0x2000);
-            return this.sram[addr];
-        } else if(address <= 0xDFFF) {
-            addr = (0x1FFF - (0xDFFF - address)) & 0xFFFF;
-            return this.wram[addr];
-        } else if(address <= 0xFDFF) {
-            addr = (0x1DFF - (0xFDFF - address)) & 0xFFFF;
-            return this.eram[addr];
+        return this.getSpecialByteAt(address);
+    }
+
+    /**
+     * Reads the areas that aren't mapped to a page: unmapped cartridge RAM, OAM, I/O, HRAM and IE.
+     * @param address The address to read.
+     * @return The value at the address.
+     */
+    private int getSpecialByteAt(int address) {
+        int addr;
+
+        if(address >= 0xA000 && address <= 0xBFFF) {
+            return this.mapper.readRam(this.sram, address);
         } else if(address <= 0xFE9F) {
             addr = (0x9F - (0xFE9F - address)) & 0xFFFF;
-            return this.oam[addr];
+            return this.oam[addr] & 0xFF;
         } else if(address <= 0xFEFF) {
             // Reading from this area on DMG always returns 0.
             return 0x00;
@@ -126,251 +426,433 @@ public class Memory {
             /*addr = (0x5F - (0xFEFF - address)) & 0xFFFF;
             return this.fea0_feff[addr];*/
         } else if(address <= 0xFF7F) {
-            addr = (0x4B - (0xFF4B - address)) & 0xFFFF;
+            int index = address & 0x7F;
+            IoReader reader = this.ioReaders[index];
 
-            // the upper 2 bits of the P1 always return 1
-            if(address == IORegisters.JOYPAD) {
-                return (0xC0 | this.io[addr]);
+            if(reader != null) {
+                return reader.read(index);
             }
 
-            // bits 1 through 6 of SIO return 1
-            if(address == IORegisters.SERIAL_TRANSFER_CONTROL) {
-                return (0x7E | this.io[addr]);
-            }
+            return (this.io[index] & 0xFF) | this.ioReadMasks[index];
+        } else if(address <= 0xFFFE) {
+            addr = (0x7E - (0xFFFE - address)) & 0xFFFF;
+            return this.hram[addr] & 0xFF;
+        } else {
+            return this.interrupts.getEnable();
+        }
+    }
 
-            // the upper 5 bits of TAC always return 1
-            if(address == IORegisters.TAC) {
-                return (0xF8 | this.io[addr]);
-            }
+    public void setByteAt(int address, int value) {
+        address &= 0xFFFF;
 
-            // the upper 3 bits of IF always return 1
-            if(address == IORegisters.INTERRUPT_FLAGS) {
-                return (0xE0 | this.io[addr]);
-            }
+        int page = address >> 8;
+        byte[] memory = this.writePages[page];
 
-            // the 7th bit of nr10 always returns 1
-            if(address == IORegisters.SOUND1_SWEEP) {
-                return (0x80 | this.io[addr]);
-            }
+        if(memory != null) {
+            // only the cartridge RAM is ever mapped for writing.
+            int index = this.writeOffsets[page] + (address & 0xFF);
+            memory[index] = (byte) value;
+            this.markDirty(Memory.DirtyPage.SRAM + (index >> 8));
+            return;
+        }
 
-            // bits 0 though 6 of nr30 always return 1
-            if(address == IORegisters.SOUND3_ENABLE) {
-                return (0x7F | this.io[addr]);
-            }
+        this.setSpecialByteAt(address, value);
+    }
 
-            // bits 0 through 4 and bit 7 of nr32 always return 1
-            if(address == IORegisters.SOUND3_OUTPUT_LEVEL) {
-                return (0x9F | this.io[addr]);
+    /**
+     * Reads a little endian 16 bit value. When both bytes are in the same page of plain memory (the stack is nearly
+     * always in WRAM or HRAM) they're read straight from the array.
+     * @param address The address of the low byte.
+     * @return The value.
+     */
+    public int getWordAt(int address) {
+        address &= 0xFFFF;
+        int page = address >> 8;
+        int offset = address & 0xFF;
+
+        if(offset != 0xFF) {
+            if(page <= 0x7F) {
+                int index = this.readOffsets[page] + offset;
+                return (this.rom.get(index) & 0xFF) | ((this.rom.get(index + 1) & 0xFF) << 8);
             }
 
-            // bits 6 and 7 of nr41 always return 1
-            if(address == IORegisters.SOUND4_LENGTH) {
-                return (0xC0 | this.io[addr]);
-            }
+            byte[] memory = this.readPages[page];
 
-            // bits 0 through 5 of nr44 always return 1
-            if(address == IORegisters.SOUND4_INITIAL) {
-                return (0x3F | this.io[addr]);
+            if(memory != null) {
+                int index = this.readOffsets[page] + offset;
+                return (memory[index] & 0xFF) | ((memory[index + 1] & 0xFF) << 8);
             }
 
-            // bits 4 through 6 of nr52 always return 1
-            if(address == IORegisters.SOUND_ENABLE) {
-                return (0x70 | this.io[addr]);
+            if(address >= 0xFF80 && address <= 0xFFFD) {
+                int index = address - 0xFF80;
+                return (this.hram[index] & 0xFF) | ((this.hram[index + 1] & 0xFF) << 8);
             }
+        }
 
-            if(address == IORegisters.LCD_STATUS) {
-                int lcdc = this.getByteAt(IORegisters.LCDC);
+        return this.getByteAt(address) | (this.getByteAt(address + 1) << 8);
+    }
 
-                // When LCD is off bits 0 through 2 return 0
-                if((lcdc & 0x80) != 0x80) {
-                    return (0x80 | this.io[addr]) & 0xF8;
-                } else {
-                    return (0x80 | this.io[addr]);
-                }
-            }
+    /**
+     * Writes a little endian 16 bit value, the low byte first like ld (nn), sp.
+     * @param address The address of the low byte.
+     * @param value The value to write.
+     */
+    public void setWordAt(int address, int value) {
+        this.setWordAt(address, value, false);
+    }
 
-            if(address == IORegisters.LY_COORDINATE) {
-                boolean isLcdOn = (this.getByteAt(IORegisters.LCDC) & 0x80) == 0x80;
+    /**
+     * Writes a little endian 16 bit value the way the stack does, the high byte first.
+     * @param address The address of the low byte.
+     * @param value The value to write.
+     */
+    public void pushWordAt(int address, int value) {
+        this.setWordAt(address, value, true);
+    }
 
-                // this always returns 0 when the LCD is off
-                if(!isLcdOn) {
-                    return 0x00;
-                }
+    /**
+     * When both bytes are in the same page of plain memory, WRAM or HRAM they're written straight to the array.
+     * Otherwise they're written one at a time, in the order the CPU writes them since a write can have side effects.
+     * @param address The address of the low byte.
+     * @param value The value to write.
+     * @param isHighByteFirst True to write the high byte first.
+     */
+    private void setWordAt(int address, int value, boolean isHighByteFirst) {
+        address &= 0xFFFF;
+        int page = address >> 8;
+        int offset = address & 0xFF;
+
+        if(offset != 0xFF) {
+            byte[] memory = this.writePages[page];
+
+            if(memory != null) {
+                int index = this.writeOffsets[page] + offset;
+                memory[index] = (byte) value;
+                memory[index + 1] = (byte) (value >> 8);
+                this.markDirty(Memory.DirtyPage.SRAM + (index >> 8));
+                return;
             }
 
-            // DMG always returns 0xFF for this address
-            if(address == IORegisters.SPEED_SWITCH) {
-                return 0xFF;
-            }
+            if(address >= 0xC000 && address <= 0xDFFE) {
+                int index = address - 0xC000;
+                this.wram[index] = (byte) value;
+                this.wram[index + 1] = (byte) (value >> 8);
+                this.markDirty(Memory.DirtyPage.WRAM + (index >> 8));
 
-            // DMG always returns 0xFF for this address
-            if(address == IORegisters.VRAM_BANK) {
-                return 0xFF;
+                this.invalidateCode(address);
+                this.invalidateCode(address + 1);
+                return;
             }
 
-            // DMG always returns 0xFF for this address
-            if(address == IORegisters.WRAM_BANK) {
-                return 0xFF;
+            if(address >= 0xFF80 && address <= 0xFFFD) {
+                int index = address - 0xFF80;
+                this.hram[index] = (byte) value;
+                this.hram[index + 1] = (byte) (value >> 8);
+                this.markDirty(Memory.DirtyPage.HRAM);
+
+                this.invalidateCode(address);
+                this.invalidateCode(address + 1);
+                return;
             }
+        }
 
-            return this.io[addr];
-        } else if(address <= 0xFFFE) {
-            addr = (0x7E - (0xFFFE - address)) & 0xFFFF;
-            return this.hram[addr];
+        if(isHighByteFirst) {
+            this.setByteAt(address + 1, (value >> 8) & 0xFF);
+            this.setByteAt(address, value & 0xFF);
         } else {
-            return this.ie[0];
+            this.setByteAt(address, value & 0xFF);
+            this.setByteAt(address + 1, (value >> 8) & 0xFF);
         }
     }
 
-    public void setByteAt(int address, int value) {
+    /**
+     * Writes to the areas where a write does more than store the value: the MBC registers, VRAM, unmapped cartridge
+     * RAM, WRAM, OAM, I/O, HRAM and IE.
+     * @param address The address to write to.
+     * @param value The value to write.
+     */
+    private void setSpecialByteAt(int address, int value) {
         int addr;
 
-        if(address > 0xFFFF) {
-            address = address - 0x10000;
-        }
-
-        if(address < 0) {
-            address = address + 0x10000;
-        }
-
-        // check for values greater than 0xFF being written.
-        if(value > 0xFF) {
-            this.setByteAt((address + 1), (value >> 8));
-            this.setByteAt(address, (value & 0xFF));
-            return;
-        }
-
         if(address <= 0x7FFF) {
-            this.switchBank(address, value);
+            this.mapper.write(address, value);
+            this.mapBanks();
+
+            if(this.recompiler != null) {
+                this.recompiler.romWritten();
+            }
         } else if(address <= 0x9FFF) {
             addr = (0x1FFF - (0x9FFF - address)) & 0xFFFF;
-            this.vram[addr] = value;
+            this.vram[addr] = (byte) value;
+            this.markDirty(Memory.DirtyPage.VRAM + (addr >> 8));
             this.gpu.updateTiles(address);
         } else if(address <= 0xBFFF) {
-            addr = (0x1FFF - (0xBFFF - address)) & 0xFFFF;
+            // mapped RAM only gets here when it has to be marked dirty for the save file.
+            if(this.isRamMapped) {
+                addr = this.ramOffset + (address - 0xA000);
+                this.sram[addr] = (byte) value;
+                this.markDirty(Memory.DirtyPage.SRAM + (addr >> 8));
+
+                if(this.saveFile != null) {
+                    this.saveFile.markDirty(addr);
+                }
+            } else {
+                this.mapper.writeRam(this.sram, address, value);
+                this.markSramDirty();
 
-            if(this.isRamEnabled) {
-                addr = (addr - 0x1FFF) + (this.currentRamBank * 0x2000);
+                if(this.saveFile != null) {
+                    this.saveFile.markAllDirty();
+                }
             }
-
-            this.sram[addr] = value;
         } else if(address <= 0xDFFF) {
             addr = (0x1FFF - (0xDFFF - address)) & 0xFFFF;
-            this.wram[addr] = value;
+            this.wram[addr] = (byte) value;
+            this.markDirty(Memory.DirtyPage.WRAM + (addr >> 8));
 
-            // Writes to this area are copied to eram
-            if(addr < 0x1E00) {
-                this.eram[addr] = value;
-            }
+            this.invalidateCode(address);
         } else if(address <= 0xFDFF) {
             addr = (0x1DFF - (0xFDFF - address)) & 0xFFFF;
 
             // Writes to this area are redirected to 0xC000 through 0xDDFF (wram)
-            this.eram[addr] = value;
-            this.wram[addr] = value;
+            this.wram[addr] = (byte) value;
+            this.markDirty(Memory.DirtyPage.WRAM + (addr >> 8));
+
+            this.invalidateCode(0xC000 + addr);
         } else if(address <= 0xFE9F) {
             addr = (0x9F - (0xFE9F - address)) & 0xFFFF;
-            this.oam[addr] = value;
+            this.oam[addr] = (byte) value;
+            this.markDirty(Memory.DirtyPage.OAM);
         } else if(address <= 0xFEFF) {
             // writes are ignored on the GameBoy.
             /*addr = (0x5F - (0xFEFF - address)) & 0xFFFF;
             this.fea0_feff[addr] = value;*/
         } else if(address <= 0xFF7F) {
-            addr = (0x4B - (0xFF4B - address)) & 0xFFFF;
+            int index = address & 0x7F;
+            IoWriter writer = this.ioWriters[index];
 
-            if(address == IORegisters.DIVIDER) {
-                int targetBit = this.getTimerSystemBit();
+            if(writer != null) {
+                writer.write(index, value);
+            } else {
+                this.io[index] = (byte) value;
+            }
 
-                // TIMA can be increased if the system counter has reached half the clocks it needs to increase
-                if(((Timers.systemCounter & targetBit) == targetBit)) {
-                    this.incrementTima();
-                }
+            this.markDirty(Memory.DirtyPage.IO);
+        } else if(address <= 0xFFFE) {
+            addr = (0x7E - (0xFFFE - address)) & 0xFFFF;
+            this.hram[addr] = (byte) value;
+            this.markDirty(Memory.DirtyPage.HRAM);
 
-                Timers.systemCounter = 0;
-                this.io[addr] = 0;
-                return;
-            }
+            this.invalidateCode(address);
+        } else {
+            this.interrupts.setEnable(value);
+            this.markDirty(Memory.DirtyPage.HRAM);
+        }
+    }
 
-            else if(address == IORegisters.TIMA) {
-                if(Timers.state == Timers.TimerState.OVERFLOW) {
-                    // If a value is written to TIMA during the overflow period, the new value will override the TMA load.
-                    Timers.isTimaChanged = true;
-                    Timers.timaGlitch = true;
-                } else if(Timers.state == Timers.TimerState.LOADING_TMA) {
-                    // If a value is written to TIMA during the period when TMA is being loaded, the write will be ignored.
-                    Timers.isTimaChanged = true;
-                }
+    /**
+     * Fills in the I/O register tables. Most registers are plain storage, some have bits that always read as 1 and
+     * only a few need code of their own.
+     */
+    private void mapIoRegisters() {
+        // the upper 2 bits of the P1 always return 1
+        this.ioReadMasks[IORegisters.JOYPAD & 0x7F] = 0xC0;
+
+        // bits 1 through 6 of SIO return 1
+        this.ioReadMasks[IORegisters.SERIAL_TRANSFER_CONTROL & 0x7F] = 0x7E;
+
+        // the upper 5 bits of TAC always return 1
+        this.ioReadMasks[IORegisters.TAC & 0x7F] = 0xF8;
+
+        // the 7th bit of nr10 always returns 1
+        this.ioReadMasks[IORegisters.SOUND1_SWEEP & 0x7F] = 0x80;
+
+        // bits 0 though 6 of nr30 always return 1
+        this.ioReadMasks[IORegisters.SOUND3_ENABLE & 0x7F] = 0x7F;
+
+        // bits 0 through 4 and bit 7 of nr32 always return 1
+        this.ioReadMasks[IORegisters.SOUND3_OUTPUT_LEVEL & 0x7F] = 0x9F;
+
+        // bits 6 and 7 of nr41 always return 1
+        this.ioReadMasks[IORegisters.SOUND4_LENGTH & 0x7F] = 0xC0;
+
+        // bits 0 through 5 of nr44 always return 1
+        this.ioReadMasks[IORegisters.SOUND4_INITIAL & 0x7F] = 0x3F;
+
+        // bits 4 through 6 of nr52 always return 1
+        this.ioReadMasks[IORegisters.SOUND_ENABLE & 0x7F] = 0x70;
+
+        // bit 7 of STAT always returns 1
+        this.ioReadMasks[IORegisters.LCD_STATUS & 0x7F] = 0x80;
+
+        // DMG always returns 0xFF for these addresses
+        this.ioReadMasks[IORegisters.SPEED_SWITCH & 0x7F] = 0xFF;
+        this.ioReadMasks[IORegisters.VRAM_BANK & 0x7F] = 0xFF;
+        this.ioReadMasks[IORegisters.WRAM_BANK & 0x7F] = 0xFF;
+
+        this.ioReaders[IORegisters.DIVIDER & 0x7F] = this::readDivider;
+        this.ioReaders[IORegisters.INTERRUPT_FLAGS & 0x7F] = (index) -> this.interrupts.getFlags();
+        this.ioReaders[IORegisters.LCD_STATUS & 0x7F] = this::readLcdStatus;
+        this.ioReaders[IORegisters.LY_COORDINATE & 0x7F] = this::readLy;
+
+        // TODO: (in bgb) something weird is happening when a value is written to IORegisters.LCDC.
+        // TODO: need to checkout IORegisters.LCD_STATUS as well.
+        this.ioWriters[IORegisters.DIVIDER & 0x7F] = this::writeDivider;
+        this.ioWriters[IORegisters.TIMA & 0x7F] = this::writeTima;
+        this.ioWriters[IORegisters.TAC & 0x7F] = this::writeTac;
+        this.ioWriters[IORegisters.INTERRUPT_FLAGS & 0x7F] = this::writeInterruptFlags;
+        this.ioWriters[IORegisters.LCD_STATUS & 0x7F] = this::writeLcdStatus;
+        this.ioWriters[IORegisters.LY_COORDINATE & 0x7F] = this::writeLy;
+        this.ioWriters[IORegisters.LY_COMPARE & 0x7F] = this::writeLy;
+        this.ioWriters[IORegisters.BG_PALETTE_DATA & 0x7F] = this::writePalette;
+        this.ioWriters[IORegisters.OBJECT_PALETTE0_DATA & 0x7F] = this::writePalette;
+        this.ioWriters[IORegisters.OBJECT_PALETTE1_DATA & 0x7F] = this::writePalette;
+    }
 
-                this.io[addr] = value;
-            }
+    private boolean isLcdOn() {
+        return (this.io[IORegisters.LCDC & 0x7F] & 0x80) == 0x80;
+    }
 
-            else if(address == IORegisters.TAC) {
-                int tac  = this.getByteAt(IORegisters.TAC);
-                int oldEnable = (tac & 0x04);
-                int newEnable = (value & 0x04);
-                int targetBit = this.getTimerSystemBit();
+    private int readDivider(int index) {
+        // DIV is the upper 8 bits of the system counter, which the timers work out when it's needed.
+        if(this.timers != null) {
+            return this.timers.getSystemCounter() >> 8;
+        }
 
-                // When disabling the timer, if the system counter has reached half the clocks it
-                // needs to increase, TIMA will increase
-                if((oldEnable == 0x04) && (newEnable == 0) && ((Timers.systemCounter & targetBit) == targetBit)) {
-                    this.incrementTima();
-                }
+        return this.io[index] & 0xFF;
+    }
 
-                int oldValue = (tac & 0x03);
-                int newValue = (value & 0x03);
+    private int readLcdStatus(int index) {
+        int status = 0x80 | (this.io[index] & 0xFF);
 
-                // When changing TAC value, if the old selected bit was 0, the new one is 1 and the
-                // new enable bit is 1, TIMA will increase
-                if((oldValue == 0) && (newValue == 1) && (newEnable == 0x04)) {
-                    this.incrementTima();
-                }
-            }
+        // When LCD is off bits 0 through 2 return 0
+        return this.isLcdOn() ? status : status & 0xF8;
+    }
 
-            else if(address == IORegisters.INTERRUPT_FLAGS) {
-                // If TIMA has a pending overflow, the written value will overwrite the automatic flag set to 1.
-                // If a 0 is written during this time, the interrupt won't happen.
-                if(Timers.state == Timers.TimerState.OVERFLOW) {
-                    Timers.isFlagsChanged = true;
-                } else if(Timers.state == Timers.TimerState.LOADING_TMA) {
-                    Timers.isFlagsChanged = true;
-                    Timers.flagValue = (value & Interrupts.TIMER) >> 2;
-                }
+    private int readLy(int index) {
+        // this always returns 0 when the LCD is off
+        return this.isLcdOn() ? this.io[index] & 0xFF : 0x00;
+    }
 
-                this.io[addr] = 0xE0 | value;
-            }
+    private void writeDivider(int index, int value) {
+        int targetBit = this.getTimerSystemBit();
 
-            else if(address == IORegisters.LCD_STATUS) {
-                int lcdc = this.getByteAt(IORegisters.LCDC);
+        // TIMA can be increased if the system counter has reached half the clocks it needs to increase
+        boolean isEnabled = (this.getByteAt(IORegisters.TAC) & 0x04) == 0x04;
 
-                // When LCD is off bits 0 through 2 return 0 also bit 7 is always 1
-                if((lcdc & 0x80) != 0x80) {
-                    this.io[addr] = (0x80 | value) & 0xF8;
-                } else {
-                    this.io[addr] = (0x80 | value);
-                }
-            }
+        if(isEnabled && ((this.getSystemCounter() & targetBit) == targetBit)) {
+            this.incrementTima();
+        }
 
-            else {
-                this.io[addr] = value;
-            }
+        if(this.timers != null) {
+            this.timers.resetSystemCounter();
+        }
 
-            // TODO: (in bgb) something weird is happening when a value is written to IORegisters.LCDC.
-            // TODO: need to checkout IORegisters.LCD_STATUS as well.
+        this.io[index] = 0;
+    }
 
-            if(address == IORegisters.LY_COORDINATE || address == IORegisters.LY_COMPARE) {
-                this.compareLY();
-            }
-        } else if(address <= 0xFFFE) {
-            addr = (0x7E - (0xFFFE - address)) & 0xFFFF;
-            this.hram[addr] = value;
+    private void writeTima(int index, int value) {
+        if(Timers.state == Timers.TimerState.OVERFLOW) {
+            // If a value is written to TIMA during the overflow period, the new value will override the TMA load.
+            Timers.isTimaChanged = true;
+            Timers.timaGlitch = true;
+        } else if(Timers.state == Timers.TimerState.LOADING_TMA) {
+            // If a value is written to TIMA during the period when TMA is being loaded, the write will be ignored.
+            Timers.isTimaChanged = true;
+        }
+
+        this.io[index] = (byte) value;
+    }
+
+    private void writeTac(int index, int value) {
+        int tac  = this.getByteAt(IORegisters.TAC);
+        int oldEnable = (tac & 0x04);
+        int newEnable = (value & 0x04);
+        int targetBit = this.getTimerSystemBit();
+
+        // When disabling the timer, if the system counter has reached half the clocks it
+        // needs to increase, TIMA will increase
+        if((oldEnable == 0x04) && (newEnable == 0) && ((this.getSystemCounter() & targetBit) == targetBit)) {
+            this.incrementTima();
+        }
+
+        int oldValue = (tac & 0x03);
+        int newValue = (value & 0x03);
+
+        // When changing TAC value, if the old selected bit was 0, the new one is 1 and the
+        // new enable bit is 1, TIMA will increase
+        if((oldValue == 0) && (newValue == 1) && (newEnable == 0x04)) {
+            this.incrementTima();
+        }
+
+        if(this.timers != null) {
+            // the cycles up to now count with the old value of TAC.
+            this.timers.syncTimaCounter();
+        }
+
+        this.io[index] = (byte) (value & 0x07);
+
+        if(this.timers != null) {
+            this.timers.updateTimaEvent();
+        }
+    }
+
+    private void writeInterruptFlags(int index, int value) {
+        // If TIMA has a pending overflow, the written value will overwrite the automatic flag set to 1.
+        // If a 0 is written during this time, the interrupt won't happen.
+        if(Timers.state == Timers.TimerState.OVERFLOW) {
+            Timers.isFlagsChanged = true;
+        } else if(Timers.state == Timers.TimerState.LOADING_TMA) {
+            Timers.isFlagsChanged = true;
+            Timers.flagValue = (value & Interrupts.TIMER) >> 2;
+        }
+
+        this.interrupts.setFlags(value);
+    }
+
+    private void writeLcdStatus(int index, int value) {
+        // When LCD is off bits 0 through 2 return 0 also bit 7 is always 1
+        if(!this.isLcdOn()) {
+            this.io[index] = (byte) ((0x80 | value) & 0xF8);
         } else {
-            this.ie[0] = value;
+            this.io[index] = (byte) (0x80 | value);
         }
     }
 
-    void updateDiv(int value) {
-        int divAddr = (0x4B - (0xFF4B - IORegisters.DIVIDER)) & 0xFFFF;
-        this.io[divAddr] = value;
+    /**
+     * Writes BGP, OBP0 or OBP1, which the LCD keeps decoded.
+     */
+    private void writePalette(int index, int value) {
+        this.io[index] = (byte) value;
+
+        if(this.gpu != null) {
+            this.gpu.updatePalette(0xFF00 | index, value);
+        }
+    }
+
+    /**
+     * Writes LY or LYC, either of which can change the result of the LY=LYC comparison.
+     */
+    private void writeLy(int index, int value) {
+        this.io[index] = (byte) value;
+        this.compareLY();
+    }
+
+    /**
+     * Lets the instruction cache and the recompiler know that a byte of WRAM or HRAM they may have decoded has changed.
+     * @param address The address that was written to, in 0xC000 - 0xDFFF or 0xFF80 - 0xFFFE.
+     */
+    private void invalidateCode(int address) {
+        if(this.instructionCache != null) {
+            this.instructionCache.invalidate(address);
+        }
+
+        if(this.recompiler != null) {
+            this.recompiler.invalidate(address);
+        }
+    }
+
+    private int getSystemCounter() {
+        return this.timers == null ? 0 : this.timers.getSystemCounter();
     }
 
     private int getTimerSystemBit() {
@@ -383,9 +865,7 @@ public class Memory {
 
         if(tima > 0xFF) {
             tima = this.getByteAt(IORegisters.TMA);
-            int flags = this.getByteAt(IORegisters.INTERRUPT_FLAGS);
-            flags |= Interrupts.TIMER;
-            this.setByteAt(IORegisters.INTERRUPT_FLAGS, flags);
+            this.interrupts.request(Interrupts.TIMER);
         }
 
 //        Timers.timaCounter = tima;
@@ -426,101 +906,83 @@ public class Memory {
         }
 
         if(lyc == ly) {
-            int interruptFlags = this.getByteAt(IORegisters.INTERRUPT_FLAGS);
-
             this.setByteAt(IORegisters.LCD_STATUS, status | (1 << 2));
-            this.setByteAt(IORegisters.INTERRUPT_FLAGS, interruptFlags | Interrupts.LCD_STAT);
+            this.interrupts.request(Interrupts.LCD_STAT);
         } else {
             this.setByteAt(IORegisters.LCD_STATUS, status & ~(0x01 << 2));
         }
     }
 
-    private RomBank getRomBankType(int value) {
-        switch(value) {
-            default:
-            case 0x00:
-                return RomBank.NONE;
-            case 0x01:
-            case 0x02:
-            case 0x03:
-                return RomBank.MBC1;
-            case 0x05:
-            case 0x06:
-                return RomBank.MBC2;
+    /**
+     * Points every page at the array that backs it. The ROM and cartridge RAM pages are mapped by mapBanks().
+     */
+    private void mapPages() {
+        for(int page = 0x80; page <= 0x9F; page++) {
+            this.mapPage(this.readPages, this.readOffsets, page, this.vram, (page - 0x80) << 8);
         }
-    }
 
-    private void switchBank(int address, int value) {
-        if(address <= 0x1FFF) {
-            if(this.romBankType == RomBank.MBC1 || this.romBankType == RomBank.MBC2) {
-                this.enableRamBanking(address, value);
-            }
-        } else if(address <= 0x3FFF) {
-            if(this.romBankType == RomBank.MBC1 || this.romBankType == RomBank.MBC2) {
-                this.changeLowRomBank(value);
-            }
-        } else if(address <= 0x5FFF) {
-            if(this.romBankType == RomBank.MBC1) {
-                if(this.isRomEnabled) {
-                    this.changeHighRomBank(value);
-                } else {
-                    this.changeRamBank(value);
-                }
-            }
-        } else if(address <= 0x7FFF) {
-            if(this.romBankType == RomBank.MBC1) {
-                this.changeBankMode(value);
-            }
+        for(int page = 0xC0; page <= 0xDF; page++) {
+            this.mapPage(this.readPages, this.readOffsets, page, this.wram, (page - 0xC0) << 8);
         }
-    }
 
-    private void enableRamBanking(int address, int value) {
-        // When a game wants to enable RAM banking bit 4 must be 0 for MBC2 cartridges
-        if(this.romBankType == RomBank.MBC2 && (address >> 4) == 1) {
-            return;
+        // Echo RAM reads straight from WRAM.
+        for(int page = 0xE0; page <= 0xFD; page++) {
+            this.mapPage(this.readPages, this.readOffsets, page, this.wram, (page - 0xE0) << 8);
         }
 
-        // When a game wants to write to RAM banks, the lower nibble must be 0x0A.
-        this.isRamEnabled = (value & 0x0F) == 0x0A;
+        this.currentLowRomBank = -1;
+        this.currentRomBank = -1;
+        this.mapBanks();
     }
 
-    private void changeLowRomBank(int value) {
-        if(this.romBankType == RomBank.MBC2) {
-            this.currentRomBank = value & 0x0F;
-
-            // rom bank can't be zero
-            if(this.currentRomBank == 0) {
-                this.currentRomBank = 1;
-            }
-
-            return;
+    /**
+     * Points the ROM and cartridge RAM pages at the banks the mapper selected. Called whenever the mapper is written
+     * to, only the areas whose bank actually changed are remapped.
+     * Banks past the end of the ROM or RAM wrap around, like the unused bank lines on a real cartridge.
+     */
+    private void mapBanks() {
+        int romBanks = Math.max(this.rom.capacity() / 0x4000, 1);
+        int lowRomBank = this.mapper.getLowRomBank() % romBanks;
+        int romBank = this.mapper.getRomBank() % romBanks;
+
+        if(lowRomBank != this.currentLowRomBank) {
+            this.currentLowRomBank = lowRomBank;
+            this.mapRomBank(0x00, lowRomBank);
         }
 
-        this.currentRomBank = (this.currentRomBank & 0xE0) | (value & 0x1F);
-
-        if(this.currentRomBank == 0) {
-            this.currentRomBank = 1;
+        if(romBank != this.currentRomBank) {
+            this.currentRomBank = romBank;
+            this.mapRomBank(0x40, romBank);
         }
-    }
 
-    private void changeHighRomBank(int value) {
-        this.currentRomBank = (this.currentRomBank & 0x1F) | (value & 0xE0);
+        // When the RAM can't be mapped the pages are left empty and the mapper handles every access.
+        // Writes to a save file's RAM aren't mapped either, so they can be marked dirty.
+        this.isRamMapped = this.mapper.isRamMapped();
+        this.ramOffset = (this.mapper.getRamBank() * 0x2000) % this.sram.length;
+        byte[] ram = this.isRamMapped ? this.sram : null;
+        byte[] writableRam = this.saveFile == null ? ram : null;
+
+        if(ram != this.readPages[0xA0] || writableRam != this.writePages[0xA0] || this.ramOffset != this.readOffsets[0xA0]) {
+            for(int page = 0xA0; page <= 0xBF; page++) {
+                int offset = this.ramOffset + ((page - 0xA0) << 8);
 
-        if(this.currentRomBank == 0) {
-            this.currentRomBank = 1;
+                this.mapPage(this.readPages, this.readOffsets, page, ram, offset);
+                this.mapPage(this.writePages, this.writeOffsets, page, writableRam, offset);
+            }
         }
     }
 
-    private void changeRamBank(int value) {
-        this.currentRamBank = value & 0x03;
+    /**
+     * Points the 64 pages starting at {@code firstPage} at a 16KB bank of the ROM.
+     */
+    private void mapRomBank(int firstPage, int bank) {
+        for(int page = 0; page < 0x40; page++) {
+            this.readOffsets[firstPage + page] = (bank * 0x4000) + (page << 8);
+        }
     }
 
-    private void changeBankMode(int value) {
-        if((value & 0x01) == 0) {
-            this.isRomEnabled = true;
-            this.currentRamBank = 0;
-        } else {
-            this.isRomEnabled = false;
-        }
+    private void mapPage(byte[][] pages, int[] offsets, int page, byte[] memory, int offset) {
+        pages[page] = memory;
+        offsets[page] = offset;
     }
 }
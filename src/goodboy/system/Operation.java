@@ -0,0 +1,9 @@
+package goodboy.system;
+
+/**
+ * Handles a single op code. The CPU keeps one of these for each of the 256 op codes and each of the
+ * 256 CB-prefixed op codes.
+ */
+interface Operation {
+    void execute();
+}
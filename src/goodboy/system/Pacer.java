@@ -0,0 +1,93 @@
+package goodboy.system;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps the emulator running at the speed of a real GameBoy, or a multiple of it.
+ *
+ * The CPU calls sync() once per emulated frame with the number of cycles the frame took. The pacer works out when
+ * that many cycles would have finished on real hardware and waits until then. Most of the wait is spent parked, the
+ * last bit is spent spinning since parkNanos usually oversleeps by a little.
+ *
+ * Deadlines are measured from when pacing started rather than from the previous frame, so rounding errors don't add
+ * up over time.
+ */
+public class Pacer {
+    public static final double MIN_SPEED = 0.25;
+
+    // Never waits. Meant for tests and other headless runs.
+    public static final double UNLIMITED = Double.POSITIVE_INFINITY;
+
+    // How close to the deadline to stop parking and start spinning, in nanoseconds.
+    private static final long SPIN_THRESHOLD = 1_000_000L;
+
+    // If the emulator falls this far behind (about 6 frames) it gives up catching up and starts over from now.
+    private static final long MAX_LAG = 100_000_000L;
+
+    private double speed = 1;
+    private boolean isStarted = false;
+    private long startTime = 0;
+    private long elapsedCycles = 0;
+
+    public double getSpeed() {
+        return this.speed;
+    }
+
+    /**
+     * Sets how fast the emulator runs compared to a real GameBoy.
+     * @param speed The speed multiplier, e.g. 2 for double speed. Anything below {@link #MIN_SPEED} is treated as
+     *              MIN_SPEED and {@link #UNLIMITED} turns pacing off.
+     */
+    public void setSpeed(double speed) {
+        this.speed = Math.max(speed, Pacer.MIN_SPEED);
+        this.reset();
+    }
+
+    /**
+     * Starts pacing over from the next frame.
+     */
+    void reset() {
+        this.isStarted = false;
+    }
+
+    /**
+     * Waits until {@code cycles} more cycles would have run on real hardware.
+     * @param cycles The number of cycles emulated since the last sync.
+     */
+    void sync(long cycles) {
+        if(this.speed == Pacer.UNLIMITED) {
+            return;
+        }
+
+        long now = System.nanoTime();
+
+        if(!this.isStarted) {
+            this.start(now);
+            return;
+        }
+
+        this.elapsedCycles += cycles;
+
+        long target = this.startTime + (long) (this.elapsedCycles * 1e9 / (CPU.FREQUENCY * this.speed));
+        long wait = target - now;
+
+        if(wait < -Pacer.MAX_LAG) {
+            this.start(now);
+            return;
+        }
+
+        if(wait > Pacer.SPIN_THRESHOLD) {
+            LockSupport.parkNanos(wait - Pacer.SPIN_THRESHOLD);
+        }
+
+        while(System.nanoTime() - target < 0) {
+            Thread.yield();
+        }
+    }
+
+    private void start(long now) {
+        this.startTime = now;
+        this.elapsedCycles = 0;
+        this.isStarted = true;
+    }
+}
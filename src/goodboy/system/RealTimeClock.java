@@ -0,0 +1,195 @@
+package goodboy.system;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The real time clock (RTC) in an MBC3 cartridge.
+ *
+ * Notes:
+ *   - The clock isn't ticked. It only stores what the time was on a certain cycle of the emulator's clock and works
+ *     out the registers from the cycles since then when the game latches or writes to them. That keeps it in step
+ *     with the emulated time, no matter how fast or slow the emulator is running.
+ *
+ *   - The day counter is 9 bits. When it overflows it goes back to 0 and the carry bit is set until the game
+ *     clears it.
+ *
+ *   - The game only ever reads the latched registers, so writes also go to the latched copy to be read back.
+ *
+ *   - The save file's background thread saves the clock while the game is running, so everything that touches the
+ *     clock is synchronized.
+ *
+ *   - The saved clock uses the same 48 byte layout as other emulators: the 5 registers and the 5 latched registers
+ *     as 4 byte little endian values, followed by an 8 byte UNIX timestamp.
+ */
+class RealTimeClock {
+    // The number of bytes save() writes.
+    static final int SAVE_SIZE = 48;
+
+    private static final long CYCLES_PER_SECOND = CPU.FREQUENCY;
+    private static final long CYCLES_PER_DAY = 24 * 60 * 60 * RealTimeClock.CYCLES_PER_SECOND;
+    private static final int DAY_COUNTER_SIZE = 512;
+
+    private Scheduler scheduler;
+
+    // The time on the clock in cycles since day 0 at 00:00:00, as of baseCycle.
+    private long baseTime = 0;
+    private long baseCycle = 0;
+    private boolean isHalted = false;
+    private boolean isCarry = false;
+
+    // The registers the game can read, from MBC3.RtcRegister.SECONDS through MBC3.RtcRegister.DAYS_HIGH.
+    private final int[] latched = new int[5];
+
+    synchronized void setSchedulerRef(Scheduler scheduler) {
+        this.update();
+        this.scheduler = scheduler;
+        this.baseCycle = this.getCycles();
+    }
+
+    /**
+     * Copies the clock into the latched registers.
+     */
+    synchronized void latch() {
+        this.update();
+
+        for(int register = MBC3.RtcRegister.SECONDS; register <= MBC3.RtcRegister.DAYS_HIGH; register++) {
+            this.latched[register - MBC3.RtcRegister.SECONDS] = this.getRegister(register);
+        }
+    }
+
+    /**
+     * @param register One of {@link MBC3.RtcRegister}.
+     * @return The latched value of the register.
+     */
+    synchronized int read(int register) {
+        return this.latched[register - MBC3.RtcRegister.SECONDS];
+    }
+
+    /**
+     * Sets one of the clock's registers. Writing the seconds also restarts the current second.
+     * @param register One of {@link MBC3.RtcRegister}.
+     * @param value The value to write.
+     */
+    synchronized void write(int register, int value) {
+        this.update();
+
+        long seconds = this.baseTime / RealTimeClock.CYCLES_PER_SECOND;
+        long cycles = this.baseTime % RealTimeClock.CYCLES_PER_SECOND;
+        long second = seconds % 60;
+        long minute = (seconds / 60) % 60;
+        long hour = (seconds / (60 * 60)) % 24;
+        long day = seconds / (24 * 60 * 60);
+
+        switch(register) {
+            case MBC3.RtcRegister.SECONDS:
+                second = value & 0x3F;
+                cycles = 0;
+                break;
+            case MBC3.RtcRegister.MINUTES:
+                minute = value & 0x3F;
+                break;
+            case MBC3.RtcRegister.HOURS:
+                hour = value & 0x1F;
+                break;
+            case MBC3.RtcRegister.DAYS_LOW:
+                day = (day & 0x100) | (value & 0xFF);
+                break;
+            case MBC3.RtcRegister.DAYS_HIGH:
+                day = ((value & 0x01) << 8) | (day & 0xFF);
+                this.isHalted = (value & 0x40) == 0x40;
+                this.isCarry = (value & 0x80) == 0x80;
+                break;
+        }
+
+        this.baseTime = ((((day * 24) + hour) * 60 + minute) * 60 + second) * RealTimeClock.CYCLES_PER_SECOND + cycles;
+        this.latched[register - MBC3.RtcRegister.SECONDS] = this.getRegister(register);
+    }
+
+    /**
+     * Writes the clock in the format described above.
+     * @param buffer The buffer to write to, with at least {@link #SAVE_SIZE} bytes left.
+     */
+    synchronized void save(ByteBuffer buffer) {
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.update();
+
+        for(int register = MBC3.RtcRegister.SECONDS; register <= MBC3.RtcRegister.DAYS_HIGH; register++) {
+            buffer.putInt(this.getRegister(register));
+        }
+
+        for(int value : this.latched) {
+            buffer.putInt(value);
+        }
+
+        buffer.putLong(System.currentTimeMillis() / 1000);
+        buffer.order(order);
+    }
+
+    /**
+     * Reads a clock written by save(). The clock carries on from the saved time, the time the emulator wasn't running
+     * for isn't added so the clock only ever follows emulated time.
+     * @param buffer The buffer to read from, with at least {@link #SAVE_SIZE} bytes left.
+     */
+    synchronized void load(ByteBuffer buffer) {
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        for(int register = MBC3.RtcRegister.SECONDS; register <= MBC3.RtcRegister.DAYS_HIGH; register++) {
+            this.write(register, buffer.getInt());
+        }
+
+        for(int i = 0; i < this.latched.length; i++) {
+            this.latched[i] = buffer.getInt();
+        }
+
+        // the timestamp
+        buffer.getLong();
+        buffer.order(order);
+    }
+
+    private long getCycles() {
+        return this.scheduler == null ? 0 : this.scheduler.getCycles();
+    }
+
+    /**
+     * Adds the cycles since baseCycle to the clock.
+     */
+    private void update() {
+        // the save file's thread can see a slightly older clock than the emulation thread, which mustn't turn it back.
+        long cycles = Math.max(this.getCycles(), this.baseCycle);
+
+        if(!this.isHalted) {
+            this.baseTime += cycles - this.baseCycle;
+        }
+
+        this.baseCycle = cycles;
+
+        if(this.baseTime >= RealTimeClock.DAY_COUNTER_SIZE * RealTimeClock.CYCLES_PER_DAY) {
+            this.baseTime %= RealTimeClock.DAY_COUNTER_SIZE * RealTimeClock.CYCLES_PER_DAY;
+            this.isCarry = true;
+        }
+    }
+
+    /**
+     * Works out a register from the clock. update() has to be called first.
+     */
+    private int getRegister(int register) {
+        long seconds = this.baseTime / RealTimeClock.CYCLES_PER_SECOND;
+        long day = seconds / (24 * 60 * 60);
+
+        switch(register) {
+            case MBC3.RtcRegister.SECONDS:
+                return (int) (seconds % 60);
+            case MBC3.RtcRegister.MINUTES:
+                return (int) ((seconds / 60) % 60);
+            case MBC3.RtcRegister.HOURS:
+                return (int) ((seconds / (60 * 60)) % 24);
+            case MBC3.RtcRegister.DAYS_LOW:
+                return (int) (day & 0xFF);
+            default:
+                return (int) ((day >> 8) & 0x01) | (this.isHalted ? 0x40 : 0) | (this.isCarry ? 0x80 : 0);
+        }
+    }
+}
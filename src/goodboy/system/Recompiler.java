@@ -0,0 +1,501 @@
+package goodboy.system;
+
+import goodboy.disassembler.Instructions;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+
+/**
+ * Translates basic blocks of LR35902 code into JVM bytecode so that hot code can run without going through the
+ * fetch/decode loop for every instruction.
+ *
+ * Notes:
+ *   - A block starts at the address the CPU is about to execute and ends after the first instruction that changes
+ *     the flow of control (jumps, calls, returns, rst) or the interrupt master enable (ei, di, reti).
+ *
+ *   - Anything the interpreter needs to see happen on its own is never compiled. A block ends before halt, stop
+ *     and the instructions that access the I/O registers (ldh, ld (c), and ld (nn) above 0xFF00), so interrupts,
+ *     halting and timing sensitive I/O are always handled by {@link CPU#tick()}.
+ *
+ *   - Blocks are keyed by address and ROM bank. Code in the fixed bank, the switchable bank, WRAM and HRAM can be
+ *     compiled. Blocks in RAM are thrown away as soon as any byte they were built from is written to.
+ *
+ *   - Each compiled instruction still ticks the timers and the GPU, and a block stops as soon as an interrupt
+ *     is ready to be serviced, so the emulation is cycle for cycle the same as the interpreter.
+ *
+ *   - Simple loads are inlined. Everything else calls into the same handlers the interpreter uses, which still
+ *     saves the fetch, the decode and the trip through tick() for each instruction.
+ */
+class Recompiler {
+    // A block is only compiled once it has been entered this many times. Most code only ever runs a handful of
+    // times and isn't worth defining a class for.
+    private static final int COMPILE_THRESHOLD = 8;
+
+    private static final int MAX_BLOCK_LENGTH = 64;
+
+    private static final String BLOCK_NAME = "goodboy/system/Block";
+    private static final String CPU_NAME = "goodboy/system/CPU";
+    private static final String REGISTERS_NAME = "goodboy/system/Registers";
+    private static final String REGISTERS_DESCRIPTOR = "Lgoodboy/system/Registers;";
+    private static final String OPERATION_NAME = "goodboy/system/Operation";
+    private static final String OPERATIONS_DESCRIPTOR = "[Lgoodboy/system/Operation;";
+
+    // The order the registers are encoded in an op code.
+    private static final String[] REGISTERS = {"B", "C", "D", "E", "H", "L", null, "A"};
+
+    // Marks an address that has been looked at but can't start a block.
+    private static final CompiledBlock UNCOMPILABLE = cpu -> {};
+
+    /**
+     * The compiled blocks of a region of memory, indexed by the offset of the first instruction in the region.
+     */
+    private static class Region {
+        private final CompiledBlock[] blocks;
+        private final int[] entries;
+
+        // The number of bytes each compiled block was built from.
+        private final int[] lengths;
+
+        private Region(int size) {
+            this.blocks = new CompiledBlock[size];
+            this.entries = new int[size];
+            this.lengths = new int[size];
+        }
+
+        private void clear() {
+            Arrays.fill(this.blocks, null);
+            Arrays.fill(this.entries, 0);
+        }
+    }
+
+    private final Memory memory;
+    private final Debugger debugger;
+    private final MethodHandles.Lookup lookup;
+
+    // 0x0000 - 0x3FFF
+    private final Region fixedBank = new Region(0x4000);
+
+    // 0x4000 - 0x7FFF, one region per bank, created when code in the bank is first run.
+    private Region[] switchableBanks = new Region[0];
+
+    // 0x8000 - 0xFFFF, only WRAM and HRAM are used.
+    private final Region ram = new Region(0x8000);
+
+    // Marks every byte of RAM that a compiled block was built from.
+    private final boolean[] ramCode = new boolean[0x8000];
+    private boolean hasRamCode = false;
+
+    // Where the instruction the interpreter is about to run falls through to, or -1 if whatever runs after it starts a
+    //   new block. Only the first instruction of a block counts towards compiling it.
+    private int fallThrough = -1;
+
+    // The number of bytes the last block compile() built was made from.
+    private int compiledLength = 0;
+
+    // Set when the running block can't be trusted anymore, i.e. the ROM bank was switched or its code was
+    // overwritten.
+    private boolean isBlockInvalid = false;
+
+    /**
+     * @param memory The memory to read code from.
+     * @param debugger The debugger, blocks with a breakpoint in them are left to the interpreter.
+     * @param lookup A lookup with private access to {@link CPU}. Compiled blocks are defined as nestmates of the
+     *               CPU so that they can call the op code handlers directly.
+     */
+    Recompiler(Memory memory, Debugger debugger, MethodHandles.Lookup lookup) {
+        this.memory = memory;
+        this.debugger = debugger;
+        this.lookup = lookup;
+    }
+
+    /**
+     * Gets the compiled block that starts at {@code address}, compiling it first if it's hot enough.
+     * @param address The address of the first instruction of the block.
+     * @return The compiled block or null if the interpreter should run the instruction instead.
+     */
+    CompiledBlock getBlock(int address) {
+        boolean isEntry = address != this.fallThrough;
+        Region region;
+        int index;
+
+        this.fallThrough = -1;
+
+        if(address <= 0x3FFF) {
+            // an MBC1 in mode 1 can map another bank here, which is rare enough not to be worth caching.
+            if(this.memory.getCurrentLowRomBank() != 0) {
+                return null;
+            }
+
+            region = this.fixedBank;
+            index = address;
+        } else if(address <= 0x7FFF) {
+            region = this.getSwitchableBank(this.memory.getCurrentRomBank());
+            index = address - 0x4000;
+        } else if((address >= 0xC000 && address <= 0xDFFF) || (address >= 0xFF80 && address <= 0xFFFE)) {
+            region = this.ram;
+            index = address - 0x8000;
+        } else {
+            return null;
+        }
+
+        CompiledBlock block = region.blocks[index];
+
+        if(block == null) {
+            if(!isEntry || ++region.entries[index] < COMPILE_THRESHOLD) {
+                this.fallThrough = this.getFallThrough(address);
+                return null;
+            }
+
+            block = this.compile(address);
+            region.blocks[index] = block;
+            region.lengths[index] = this.compiledLength;
+        }
+
+        // a block doesn't stop between its instructions, so the CPU couldn't stop at a breakpoint in it.
+        if(block == UNCOMPILABLE
+                || (this.debugger.isArmed() && this.debugger.hasBreakpointIn(address, address + region.lengths[index] - 1))) {
+            this.fallThrough = this.getFallThrough(address);
+            return null;
+        }
+
+        this.isBlockInvalid = false;
+        return block;
+    }
+
+    /**
+     * Checks if the running block has to stop because its code is no longer valid.
+     * @return True if the block has to stop.
+     */
+    boolean isBlockInvalid() {
+        return this.isBlockInvalid;
+    }
+
+    /**
+     * Throws away every compiled block. This must be called when a new ROM is loaded.
+     */
+    void clear() {
+        this.fixedBank.clear();
+        this.switchableBanks = new Region[0];
+        this.clearRam();
+        this.isBlockInvalid = true;
+        this.fallThrough = -1;
+    }
+
+    /**
+     * Called whenever WRAM or HRAM is written to. Throws away the compiled RAM blocks if the byte was part of one.
+     * @param address The address that was written to.
+     */
+    void invalidate(int address) {
+        if(this.hasRamCode && this.ramCode[address - 0x8000]) {
+            this.clearRam();
+            this.isBlockInvalid = true;
+        }
+    }
+
+    /**
+     * Called whenever the ROM area is written to. This is how the ROM bank is switched, so the running block has to
+     * stop in case it's running from the switchable bank.
+     */
+    void romWritten() {
+        this.isBlockInvalid = true;
+    }
+
+    private void clearRam() {
+        this.ram.clear();
+        Arrays.fill(this.ramCode, false);
+        this.hasRamCode = false;
+    }
+
+    private Region getSwitchableBank(int bank) {
+        if(bank >= this.switchableBanks.length) {
+            this.switchableBanks = Arrays.copyOf(this.switchableBanks, bank + 1);
+        }
+
+        if(this.switchableBanks[bank] == null) {
+            this.switchableBanks[bank] = new Region(0x4000);
+        }
+
+        return this.switchableBanks[bank];
+    }
+
+    /**
+     * Translates the block starting at {@code start} into a class.
+     * @param start The address of the first instruction of the block.
+     * @return The compiled block or {@link #UNCOMPILABLE} if not even the first instruction could be compiled.
+     */
+    private CompiledBlock compile(int start) {
+        ClassFileWriter writer = new ClassFileWriter();
+        int regionEnd = this.getRegionEnd(start);
+        int address = start;
+        int count = 0;
+
+        while(count < MAX_BLOCK_LENGTH) {
+            int opCode = this.memory.getByteAt(address);
+            int length = this.getLength(opCode);
+
+            if(address + length - 1 > regionEnd || !this.isCompilable(opCode, address)) {
+                break;
+            }
+
+            // Stop before this instruction if the last one made the block invalid or an interrupt is ready.
+            if(count > 0) {
+                writer.returnIfNotZero();
+            }
+
+            this.emit(writer, opCode, address, length);
+            count++;
+            address += length;
+
+            if(this.isEndOfBlock(opCode)) {
+                break;
+            }
+        }
+
+        if(count == 0) {
+            return UNCOMPILABLE;
+        }
+
+        this.compiledLength = address - start;
+
+        writer.op(ClassFileWriter.OpCode.POP);
+        writer.op(ClassFileWriter.OpCode.RETURN);
+
+        try {
+            byte[] bytes = writer.toByteArray(BLOCK_NAME, "goodboy/system/CompiledBlock", "execute", "(Lgoodboy/system/CPU;)V");
+            Class<?> blockClass = this.lookup.defineHiddenClass(bytes, true, MethodHandles.Lookup.ClassOption.NESTMATE).lookupClass();
+            CompiledBlock block = (CompiledBlock) blockClass.getDeclaredConstructor().newInstance();
+
+            if(start >= 0x8000) {
+                Arrays.fill(this.ramCode, start - 0x8000, address - 0x8000, true);
+                this.hasRamCode = true;
+            }
+
+            return block;
+        } catch(ReflectiveOperationException | LinkageError e) {
+            e.printStackTrace();
+            return UNCOMPILABLE;
+        }
+    }
+
+    /**
+     * Writes the bytecode for a single instruction. Afterwards the result of
+     * {@code cpu.endBlockInstruction()} is left on the operand stack.
+     */
+    private void emit(ClassFileWriter writer, int opCode, int address, int length) {
+        int x = (opCode >> 6) & 0x03;
+        int y = (opCode >> 3) & 0x07;
+        int z = opCode & 0x07;
+
+        if(opCode == 0x00) {
+            // nop
+            this.setPC(writer, address + length);
+            this.incrementCycles(writer, 4);
+        } else if(x == 1 && y != 6 && z != 6) {
+            // ld r, r'
+            this.setPC(writer, address + length);
+
+            if(y != z) {
+                this.setRegister(writer, REGISTERS[y], () -> this.getRegister(writer, REGISTERS[z]));
+            }
+
+            this.incrementCycles(writer, 4);
+        } else if(x == 0 && z == 6 && y != 6) {
+            // ld r, n
+            int value = this.memory.getByteAt(address + 1);
+
+            this.setPC(writer, address + length);
+            this.setRegister(writer, REGISTERS[y], () -> writer.pushInt(value));
+            this.incrementCycles(writer, 8);
+        } else if(x == 0 && z == 1 && (y & 0x01) == 0) {
+            // ld rr, nn
+            int low = this.memory.getByteAt(address + 1);
+            int high = this.memory.getByteAt(address + 2);
+
+            this.setPC(writer, address + length);
+
+            switch(y >> 1) {
+                case 0:
+                    this.setRegister(writer, "B", () -> writer.pushInt(high));
+                    this.setRegister(writer, "C", () -> writer.pushInt(low));
+                    break;
+                case 1:
+                    this.setRegister(writer, "D", () -> writer.pushInt(high));
+                    this.setRegister(writer, "E", () -> writer.pushInt(low));
+                    break;
+                case 2:
+                    this.setRegister(writer, "H", () -> writer.pushInt(high));
+                    this.setRegister(writer, "L", () -> writer.pushInt(low));
+                    break;
+                case 3:
+                    this.setRegister(writer, "SP", () -> writer.pushInt((high << 8) | low));
+                    break;
+            }
+
+            this.incrementCycles(writer, 12);
+        } else if(opCode == 0xCB) {
+            // cpu.cbOperations[cb].execute()
+            this.setPC(writer, address + 2);
+            writer.aload(1);
+            writer.getField(CPU_NAME, "cbOperations", OPERATIONS_DESCRIPTOR);
+            writer.pushInt(this.memory.getByteAt(address + 1));
+            writer.op(ClassFileWriter.OpCode.AALOAD);
+            writer.invokeInterface(OPERATION_NAME, "execute", "()V");
+        } else {
+            // cpu.operations[opCode].execute()
+            this.setPC(writer, address + 1);
+            writer.aload(1);
+            writer.getField(CPU_NAME, "operations", OPERATIONS_DESCRIPTOR);
+            writer.pushInt(opCode);
+            writer.op(ClassFileWriter.OpCode.AALOAD);
+            writer.invokeInterface(OPERATION_NAME, "execute", "()V");
+        }
+
+        writer.aload(1);
+        writer.invokeVirtual(CPU_NAME, "endBlockInstruction", "()Z");
+    }
+
+    private void setPC(ClassFileWriter writer, int value) {
+        this.setRegister(writer, "PC", () -> writer.pushInt(value));
+    }
+
+    private void getRegister(ClassFileWriter writer, String name) {
+        writer.aload(1);
+        writer.getField(CPU_NAME, "registers", REGISTERS_DESCRIPTOR);
+        writer.getField(REGISTERS_NAME, name, "I");
+    }
+
+    private void setRegister(ClassFileWriter writer, String name, Runnable value) {
+        writer.aload(1);
+        writer.getField(CPU_NAME, "registers", REGISTERS_DESCRIPTOR);
+        value.run();
+        writer.putField(REGISTERS_NAME, name, "I");
+    }
+
+    private void incrementCycles(ClassFileWriter writer, int cycles) {
+        writer.aload(1);
+        writer.pushInt(cycles);
+        writer.invokeVirtual(CPU_NAME, "incrementCycles", "(I)V");
+    }
+
+    /**
+     * Gets the last address of the region {@code address} is in. Blocks never cross regions since the bank or
+     * the kind of memory could be different on the other side.
+     */
+    private int getRegionEnd(int address) {
+        if(address <= 0x3FFF) {
+            return 0x3FFF;
+        } else if(address <= 0x7FFF) {
+            return 0x7FFF;
+        } else if(address <= 0xDFFF) {
+            return 0xDFFF;
+        } else {
+            return 0xFFFE;
+        }
+    }
+
+    /**
+     * @param address The address of an instruction the interpreter is about to run.
+     * @return The address of the next instruction if it would be in the same block, otherwise -1.
+     */
+    private int getFallThrough(int address) {
+        int opCode = this.memory.getByteAt(address);
+
+        if(this.isEndOfBlock(opCode) || !this.isCompilable(opCode, address)) {
+            return -1;
+        }
+
+        return address + this.getLength(opCode);
+    }
+
+    private int getLength(int opCode) {
+        // 0xCB is a prefix, the real op code follows it.
+        if(opCode == 0xCB) {
+            return 2;
+        }
+
+        return 1 + Instructions.GB_8BIT_INSTRUCTIONS.get(opCode).getOpSize();
+    }
+
+    /**
+     * Checks if an instruction can be part of a block.
+     * @param opCode The op code of the instruction.
+     * @param address The address of the instruction.
+     * @return False for instructions that have to be run by the interpreter.
+     */
+    private boolean isCompilable(int opCode, int address) {
+        switch(opCode) {
+            // halt, stop
+            case 0x76:
+            case 0x10:
+            // ldh (n), a / ldh a, (n) / ld (c), a / ld a, (c)
+            case 0xE0:
+            case 0xF0:
+            case 0xE2:
+            case 0xF2:
+                return false;
+            // ld (nn), a / ld a, (nn)
+            case 0xEA:
+            case 0xFA:
+                int target = (this.memory.getByteAt(address + 2) << 8) | this.memory.getByteAt(address + 1);
+                return target < 0xFF00;
+            // the unused op codes
+            case 0xD3:
+            case 0xDB:
+            case 0xDD:
+            case 0xE3:
+            case 0xE4:
+            case 0xEB:
+            case 0xEC:
+            case 0xED:
+            case 0xF4:
+            case 0xFC:
+            case 0xFD:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Checks if an instruction ends a block.
+     * @param opCode The op code of the instruction.
+     * @return True for instructions that change the flow of control or the interrupt master enable.
+     */
+    private boolean isEndOfBlock(int opCode) {
+        switch(opCode) {
+            // jr
+            case 0x18:
+            case 0x20:
+            case 0x28:
+            case 0x30:
+            case 0x38:
+            // jp
+            case 0xC2:
+            case 0xC3:
+            case 0xCA:
+            case 0xD2:
+            case 0xDA:
+            case 0xE9:
+            // call
+            case 0xC4:
+            case 0xCC:
+            case 0xCD:
+            case 0xD4:
+            case 0xDC:
+            // ret, reti
+            case 0xC0:
+            case 0xC8:
+            case 0xC9:
+            case 0xD0:
+            case 0xD8:
+            case 0xD9:
+            // di, ei
+            case 0xF3:
+            case 0xFB:
+                return true;
+            default:
+                // rst
+                return (opCode & 0xC7) == 0xC7;
+        }
+    }
+}
@@ -1,19 +1,202 @@
 package goodboy.system;
 
 public class Registers {
+    /**
+     * The ALU operations that set their flags lazily. CP sets its flags exactly like SUB, and XOR sets its flags
+     * exactly like OR.
+     */
+    interface FlagOperation {
+        int NONE = 0;
+        int ADD = 1;
+        int ADC = 2;
+        int SUB = 3;
+        int SBC = 4;
+        int INC = 5;
+        int DEC = 6;
+        int AND = 7;
+        int OR = 8;
+    }
+
     public int A;
     public int B;
     public int C;
     public int D;
     public int E;
-    public int F;
     public int H;
     public int L;
     public int SP;
     public int PC;
 
+    // Only up to date when flagOperation is NONE. Use getF() to read it.
+    private int F;
+
+    // Most flags are overwritten before anything reads them, so the ALU only records what it did and F is worked
+    // out the next time it's read.
+    private int flagOperation = FlagOperation.NONE;
+    private int flagLeft;
+    private int flagRight;
+    private int flagCarry;
+
+    public int getF() {
+        if(this.flagOperation != FlagOperation.NONE) {
+            this.F = this.computeFlags();
+            this.flagOperation = FlagOperation.NONE;
+        }
+
+        return this.F;
+    }
+
+    public void setF(int value) {
+        this.F = value;
+        this.flagOperation = FlagOperation.NONE;
+    }
+
+    /**
+     * Records an ALU operation so its flags can be worked out when F is read.
+     * @param operation One of the {@link FlagOperation} values.
+     * @param left The first operand, or the result for AND and OR.
+     * @param right The second operand.
+     * @param carry The carry that went into the operation for ADC and SBC. The carry flag to keep for INC and DEC.
+     */
+    void setLazyFlags(int operation, int left, int right, int carry) {
+        this.flagOperation = operation;
+        this.flagLeft = left;
+        this.flagRight = right;
+        this.flagCarry = carry;
+    }
+
+    /**
+     * Compares F with a state saved by an earlier call, without working it out. The saved state is everything F is
+     * worked out from, so F can be the same even when this says it isn't.
+     * @param state 5 ints to compare against, which are replaced with the current state.
+     * @return True if F is definitely the same as when the state was saved.
+     */
+    boolean compareFlagState(int[] state) {
+        boolean isSame = state[0] == this.F && state[1] == this.flagOperation && state[2] == this.flagLeft
+                && state[3] == this.flagRight && state[4] == this.flagCarry;
+
+        state[0] = this.F;
+        state[1] = this.flagOperation;
+        state[2] = this.flagLeft;
+        state[3] = this.flagRight;
+        state[4] = this.flagCarry;
+
+        return isSame;
+    }
+
+    /**
+     * Gets the carry flag without working out the rest of F.
+     * @return 1 if the carry flag is set, otherwise 0.
+     */
+    int getCarry() {
+        int left = this.flagLeft;
+        int right = this.flagRight;
+
+        switch(this.flagOperation) {
+            case FlagOperation.ADD:
+                return ((left + right) & 0xFF00) != 0 ? 1 : 0;
+            case FlagOperation.ADC:
+                return ((left + right + this.flagCarry) & 0xFF00) != 0 ? 1 : 0;
+            case FlagOperation.SUB:
+                return right > left ? 1 : 0;
+            case FlagOperation.SBC:
+                return (left - right - this.flagCarry) < 0 ? 1 : 0;
+            case FlagOperation.INC:
+            case FlagOperation.DEC:
+                return this.flagCarry;
+            case FlagOperation.AND:
+            case FlagOperation.OR:
+                return 0;
+            default:
+                return (this.F & CPU.Flags.CARRY) >> 4;
+        }
+    }
+
+    private int computeFlags() {
+        int left = this.flagLeft;
+        int right = this.flagRight;
+        int carry = this.flagCarry;
+        int result;
+        int flags;
+
+        switch(this.flagOperation) {
+            case FlagOperation.ADD:
+                result = left + right;
+                flags = this.getCarry() << 4;
+
+                // HALF - set if there was a carry from the 3rd bit to the 4th bit.
+                if(((left & 0x0F) + (right & 0x0F)) > 0x0F) {
+                    flags |= CPU.Flags.HALF;
+                }
+
+                break;
+            case FlagOperation.ADC:
+                result = left + right + carry;
+                flags = this.getCarry() << 4;
+
+                if(((left & 0x0F) + (right & 0x0F) + carry) > 0x0F) {
+                    flags |= CPU.Flags.HALF;
+                }
+
+                break;
+            case FlagOperation.SUB:
+                result = left - right;
+                flags = CPU.Flags.SUB | (this.getCarry() << 4);
+
+                // HALF - set if there was a borrow from the 4th bit.
+                if((right & 0x0F) > (left & 0x0F)) {
+                    flags |= CPU.Flags.HALF;
+                }
+
+                break;
+            case FlagOperation.SBC:
+                result = left - right - carry;
+                flags = CPU.Flags.SUB | (this.getCarry() << 4);
+
+                if((((result & 0xFF) ^ right ^ left) & 0x10) == 0x10) {
+                    flags |= CPU.Flags.HALF;
+                }
+
+                break;
+            case FlagOperation.INC:
+                result = left + 1;
+                flags = carry << 4;
+
+                if((left & 0x0F) == 0x0F) {
+                    flags |= CPU.Flags.HALF;
+                }
+
+                break;
+            case FlagOperation.DEC:
+                result = left - 1;
+                flags = CPU.Flags.SUB | (carry << 4);
+
+                // invert value's bits, xor with (value - 1) then find out what the 4th bit is with (& 0x10).
+                // If it equals zero, then there was a borrow.
+                if((((~left) ^ (result & 0xFF)) & 0x10) == 0) {
+                    flags |= CPU.Flags.HALF;
+                }
+
+                break;
+            case FlagOperation.AND:
+                result = left;
+                flags = CPU.Flags.HALF;
+                break;
+            default:
+                result = left;
+                flags = 0;
+                break;
+        }
+
+        if((result & 0xFF) == 0) {
+            flags |= CPU.Flags.ZERO;
+        }
+
+        return flags;
+    }
+
     public int getAF() {
-        return (this.A << 8) + (this.F & 0xF0);
+        return (this.A << 8) + (this.getF() & 0xF0);
     }
 
     public int getBC() {
@@ -30,7 +213,7 @@ public class Registers {
 
     public void setAF(int n) {
         this.A = (n & 0xFF00) >> 8;
-        this.F = n & 0x00F0;
+        this.setF(n & 0x00F0);
     }
 
     public void setBC(int n) {
@@ -131,7 +314,7 @@ public class Registers {
             case 0b11:
                 if(useAF) {
                     this.A = value >> 8;
-                    this.F = value & 0xFF;
+                    this.setF(value & 0xFF);
                 } else {
                     this.SP = value;
                 }
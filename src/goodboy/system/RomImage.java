@@ -0,0 +1,130 @@
+package goodboy.system;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A read-only ROM file that is memory mapped instead of read into the heap.
+ *
+ * Notes:
+ *   - ROMs with the same contents share one image, no matter which file they were loaded from, so running the same
+ *     cartridge in many GameBoys only maps it once.
+ *
+ *   - Images are only kept while something is using them. Once every GameBoy has loaded a different ROM (or is gone)
+ *     the image can be garbage collected and the file unmapped.
+ *
+ *   - Loading a file that was already loaded and hasn't changed since skips hashing it again.
+ */
+public final class RomImage {
+    // The images that are in use, by the hash of their contents.
+    private static final ConcurrentHashMap<String, WeakReference<RomImage>> images = new ConcurrentHashMap<>();
+
+    // The hash of each file that has been loaded, by its path, size and last modified time.
+    private static final ConcurrentHashMap<String, String> fileHashes = new ConcurrentHashMap<>();
+
+    private final ByteBuffer rom;
+    private final String hash;
+
+    private RomImage(ByteBuffer rom, String hash) {
+        this.rom = rom;
+        this.hash = hash;
+    }
+
+    /**
+     * Maps a ROM file, or finds the image of a ROM with the same contents that's already mapped.
+     * @param path The ROM file.
+     * @return The image.
+     * @throws IOException If the file can't be read.
+     */
+    public static RomImage load(Path path) throws IOException {
+        String fileKey = path.toRealPath() + ":" + Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis();
+        String hash = RomImage.fileHashes.get(fileKey);
+
+        if(hash != null) {
+            RomImage image = RomImage.get(hash);
+
+            if(image != null) {
+                return image;
+            }
+        }
+
+        MappedByteBuffer rom;
+
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            rom = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        hash = RomImage.hash(rom);
+        RomImage.fileHashes.put(fileKey, hash);
+
+        RomImage image = new RomImage(rom.asReadOnlyBuffer(), hash);
+
+        // another thread may have mapped the same ROM in the meantime, in which case its image is used.
+        WeakReference<RomImage> reference = RomImage.images.merge(hash, new WeakReference<>(image),
+                (existing, added) -> existing.get() != null ? existing : added);
+
+        RomImage shared = reference.get();
+        return shared != null ? shared : image;
+    }
+
+    private static RomImage get(String hash) {
+        WeakReference<RomImage> reference = RomImage.images.get(hash);
+
+        if(reference == null) {
+            return null;
+        }
+
+        RomImage image = reference.get();
+
+        if(image == null) {
+            RomImage.images.remove(hash, reference);
+        }
+
+        return image;
+    }
+
+    private static String hash(ByteBuffer rom) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(rom.duplicate());
+
+            StringBuilder hash = new StringBuilder();
+
+            for(byte b : digest.digest()) {
+                hash.append(String.format("%02x", b & 0xFF));
+            }
+
+            return hash.toString();
+        } catch(NoSuchAlgorithmException e) {
+            // every JVM has to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return A read-only view of the ROM. Each call returns a new view, so its position can be changed freely.
+     */
+    public ByteBuffer getBuffer() {
+        return this.rom.duplicate();
+    }
+
+    /**
+     * @return The SHA-256 hash of the ROM as a hex string.
+     */
+    public String getHash() {
+        return this.hash;
+    }
+
+    public int getSize() {
+        return this.rom.capacity();
+    }
+}
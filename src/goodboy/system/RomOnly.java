@@ -0,0 +1,26 @@
+package goodboy.system;
+
+/**
+ * A cartridge without an MBC. The 32KB ROM is always mapped in and 0xA000 - 0xBFFF is always RAM.
+ */
+class RomOnly implements Mapper {
+    @Override
+    public void write(int address, int value) {
+        // there's nothing to write to.
+    }
+
+    @Override
+    public int getRomBank() {
+        return 1;
+    }
+
+    @Override
+    public int getRamBank() {
+        return 0;
+    }
+
+    @Override
+    public boolean isRamMapped() {
+        return true;
+    }
+}
@@ -0,0 +1,179 @@
+package goodboy.system;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Keeps a battery backed cartridge's RAM in a .sav file.
+ *
+ * Notes:
+ *   - The RAM isn't mapped onto the file itself, the game keeps using Memory's RAM array so its page tables can
+ *     point straight at it. Writes to it only mark the 256 byte page they're in as dirty, a background thread copies
+ *     the dirty pages into the memory mapped file every so often. Nothing is written to the file on the emulation
+ *     thread.
+ *
+ *   - Every open save file shares the one background thread and the one shutdown hook, so running lots of GameBoys
+ *     at once doesn't start a thread for each of them.
+ *
+ *   - The file holds the RAM followed by the mapper's own state (see Mapper.saveExtra()), which is written on every
+ *     flush since the MBC3's clock changes without being written to.
+ *
+ *   - The file is flushed one last time when it's closed or the JVM shuts down.
+ */
+class SaveFile {
+    private static final int PAGE_SIZE = 0x100;
+
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Save flusher");
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    // The save files that haven't been closed yet, for the shutdown hook to flush.
+    private static final Set<SaveFile> OPEN_FILES = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for(SaveFile saveFile : OPEN_FILES) {
+                saveFile.flush();
+            }
+        }, "Save flusher shutdown"));
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer file;
+    private final byte[] ram;
+    private final int ramSize;
+    private final Mapper mapper;
+
+    // 1 for each page of the RAM that has changed since the last flush.
+    private final AtomicIntegerArray dirtyPages;
+
+    private final ScheduledFuture<?> flushTask;
+    private boolean isClosed = false;
+
+    /**
+     * Opens a save file, creating it if it doesn't exist. If it does exist its contents are loaded into the RAM.
+     * @param path The .sav file.
+     * @param ram The cartridge RAM.
+     * @param ramSize How much of the RAM array the cartridge actually has.
+     * @param mapper The cartridge's mapper.
+     * @param flushInterval How often to write the changes to the file, in milliseconds.
+     * @throws IOException If the file can't be opened.
+     */
+    SaveFile(Path path, byte[] ram, int ramSize, Mapper mapper, long flushInterval) throws IOException {
+        this.ram = ram;
+        this.ramSize = ramSize;
+        this.mapper = mapper;
+        this.dirtyPages = new AtomicIntegerArray((ramSize + SaveFile.PAGE_SIZE - 1) / SaveFile.PAGE_SIZE);
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long savedSize = this.channel.size();
+        this.file = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, ramSize + mapper.getExtraSaveSize());
+
+        this.load(savedSize);
+
+        OPEN_FILES.add(this);
+        this.flushTask = FLUSHER.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Called after the game writes to the RAM.
+     * @param index The index in the RAM array that was written to.
+     */
+    void markDirty(int index) {
+        if(index < this.ramSize) {
+            this.dirtyPages.lazySet(index / SaveFile.PAGE_SIZE, 1);
+        }
+    }
+
+    /**
+     * Called after the mapper changed the RAM in a way Memory can't see, like the MBC2's 4 bit RAM.
+     */
+    void markAllDirty() {
+        for(int page = 0; page < this.dirtyPages.length(); page++) {
+            this.dirtyPages.lazySet(page, 1);
+        }
+    }
+
+    /**
+     * Copies the dirty pages and the mapper's state into the file and makes sure it's written to disk.
+     */
+    synchronized void flush() {
+        if(this.isClosed) {
+            return;
+        }
+
+        for(int page = 0; page < this.dirtyPages.length(); page++) {
+            // the page is marked clean before it's copied, so a write during the copy is picked up by the next flush.
+            if(this.dirtyPages.getAndSet(page, 0) == 1) {
+                int offset = page * SaveFile.PAGE_SIZE;
+                int length = Math.min(SaveFile.PAGE_SIZE, this.ramSize - offset);
+                ByteBuffer buffer = this.file.duplicate();
+
+                buffer.position(offset);
+                buffer.put(this.ram, offset, length);
+            }
+        }
+
+        if(this.mapper.getExtraSaveSize() > 0) {
+            ByteBuffer buffer = this.file.duplicate();
+
+            buffer.position(this.ramSize);
+            this.mapper.saveExtra(buffer);
+        }
+
+        this.file.force();
+    }
+
+    /**
+     * Stops flushing in the background, flushes the file one last time and closes it.
+     */
+    synchronized void close() {
+        if(this.isClosed) {
+            return;
+        }
+
+        this.flushTask.cancel(false);
+        OPEN_FILES.remove(this);
+
+        this.flush();
+        this.isClosed = true;
+
+        try {
+            this.channel.close();
+        } catch(IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Loads the RAM and the mapper's state from the file. A new file gets everything written to it on the first flush.
+     * @param savedSize The size of the file before it was mapped.
+     */
+    private void load(long savedSize) {
+        if(savedSize == 0) {
+            this.markAllDirty();
+            return;
+        }
+
+        ByteBuffer buffer = this.file.duplicate();
+        buffer.get(this.ram, 0, (int) Math.min(savedSize, this.ramSize));
+
+        if(savedSize >= this.ramSize + this.mapper.getExtraSaveSize()) {
+            this.mapper.loadExtra(buffer);
+        }
+    }
+}
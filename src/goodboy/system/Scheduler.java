@@ -0,0 +1,141 @@
+package goodboy.system;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the master clock and tells the other components when something they're waiting for is due.
+ *
+ * Instead of ticking every component after every instruction, each component schedules the cycle of its next
+ * event (the end of a PPU mode, TIMA incrementing, ...). The CPU advances the clock as it runs and the scheduler
+ * only calls a component when the clock reaches its deadline.
+ *
+ * Each kind of event has a single slot, so scheduling an event replaces the previous deadline for that kind.
+ */
+public class Scheduler {
+    /**
+     * The kinds of events that can be scheduled.
+     */
+    interface Event {
+        int PPU = 0;
+        int TIMER = 1;
+
+        // Reserved for when serial transfers and sound are emulated.
+        int SERIAL = 2;
+        int APU = 3;
+
+        int COUNT = 4;
+    }
+
+    /**
+     * Handles an event when the clock reaches its deadline.
+     */
+    interface Handler {
+        /**
+         * @param deadline The cycle the event was scheduled for. The clock may have gone past it by a few cycles
+         *                 since it only advances in whole instructions.
+         */
+        void handle(long deadline);
+    }
+
+    private static final long NEVER = Long.MAX_VALUE;
+
+    // The number of cycles since power on. This never goes backwards.
+    private long cycles = 0;
+
+    private final long[] deadlines = new long[Event.COUNT];
+    private final Handler[] handlers = new Handler[Event.COUNT];
+    private long nextDeadline = NEVER;
+
+    // The cycle events were last handled on.
+    private long lastDispatch = 0;
+
+    public Scheduler() {
+        Arrays.fill(this.deadlines, NEVER);
+    }
+
+    public long getCycles() {
+        return this.cycles;
+    }
+
+    /**
+     * Gets how many cycles are left until the next event. Nothing can change until then, so a halted CPU can skip
+     * straight to it.
+     * @return The number of cycles until the next event, or 0 if it's already due. Integer.MAX_VALUE if it's further
+     *         away than that or nothing is scheduled.
+     */
+    public int getCyclesUntilNextEvent() {
+        return (int) Math.min(Math.max(this.nextDeadline - this.cycles, 0), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return The cycle events were last handled on.
+     */
+    long getLastDispatch() {
+        return this.lastDispatch;
+    }
+
+    void setHandler(int event, Handler handler) {
+        this.handlers[event] = handler;
+    }
+
+    /**
+     * Schedules an event, replacing any deadline it already had.
+     * @param event One of the {@link Event} values.
+     * @param deadline The cycle the event should happen on.
+     */
+    void schedule(int event, long deadline) {
+        this.deadlines[event] = deadline;
+
+        if(deadline < this.nextDeadline) {
+            this.nextDeadline = deadline;
+        } else {
+            this.updateNextDeadline();
+        }
+    }
+
+    /**
+     * @param event One of the {@link Event} values.
+     */
+    void cancel(int event) {
+        this.deadlines[event] = NEVER;
+        this.updateNextDeadline();
+    }
+
+    /**
+     * Advances the clock and handles every event that has become due.
+     * @param n The number of cycles to advance by.
+     */
+    public void advance(int n) {
+        this.cycles += n;
+
+        if(this.cycles >= this.nextDeadline) {
+            this.dispatch();
+        }
+    }
+
+    private void dispatch() {
+        this.lastDispatch = this.cycles;
+
+        for(int event = 0; event < Event.COUNT; event++) {
+            long deadline = this.deadlines[event];
+
+            if(deadline <= this.cycles) {
+                // the handler usually schedules the next event itself.
+                this.deadlines[event] = NEVER;
+                this.handlers[event].handle(deadline);
+            }
+        }
+
+        this.updateNextDeadline();
+    }
+
+    private void updateNextDeadline() {
+        long next = NEVER;
+
+        for(long deadline : this.deadlines) {
+            next = Math.min(next, deadline);
+        }
+
+        this.nextDeadline = next;
+    }
+}
@@ -12,11 +12,13 @@ package goodboy.system;
  */
 public class Timers {
     // The DIV counter is part of a 16 bit system counter, with DIV being the upper 8 bits. The default for the
-    // system clock is 0xABCC.
-    public static int systemCounter = 0xABCC;
+    // system clock is 0xABCC. It isn't stored directly, it's worked out from the master clock when it's read.
+    private int systemCounterBase = 0xABCC;
+    private long systemCounterCycle = 0;
 
-    // This is to keep track of
-    public static int timaCounter = 0;
+    // This is to keep track of how many cycles TIMA has counted towards its next increment.
+    private int timaCounter = 0;
+    private long timaCounterCycle = 0;
 
     // Variables to keep track of TIMA overflow
     public static TimerState state = TimerState.COUNTING;
@@ -41,11 +43,40 @@ public class Timers {
     }
 
     private Memory memory;
+    private Scheduler scheduler;
 
     public Timers(Memory memory) {
         this.memory = memory;
     }
 
+    void setSchedulerRef(Scheduler scheduler) {
+        this.scheduler = scheduler;
+        this.scheduler.setHandler(Scheduler.Event.TIMER, this::handleEvent);
+        this.memory.setTimersRef(this);
+    }
+
+    public int getSystemCounter() {
+        return (int) (this.systemCounterBase + this.getCycles() - this.systemCounterCycle) & 0xFFFF;
+    }
+
+    /**
+     * Called when DIV is written to.
+     */
+    void resetSystemCounter() {
+        this.systemCounterBase = 0;
+        this.systemCounterCycle = this.getCycles();
+
+        // TIMA counts off the system counter, so it starts a whole period again too.
+        this.timaCounter = 0;
+        this.timaCounterCycle = this.systemCounterCycle;
+        this.updateTimaEvent();
+    }
+
+    public int getTimaCounter() {
+        this.syncTimaCounter();
+        return this.timaCounter;
+    }
+
     public static int getFrequency(int frequency) {
         if(frequency == 0b00) {
             return TAC.CLOCK0;
@@ -59,64 +90,98 @@ public class Timers {
     }
 
     void reset() {
-        Timers.timaCounter = 0;
-        Timers.systemCounter = 0xABCC;
+        this.timaCounter = 0;
+        this.timaCounterCycle = this.getCycles();
+        this.systemCounterBase = 0xABCC;
+        this.systemCounterCycle = this.getCycles();
         Timers.state = TimerState.COUNTING;
         Timers.isTimaChanged = false;
         Timers.isFlagsChanged = false;
         Timers.flagValue = 1;
         Timers.timaGlitch = false;
 //        this.overflowCycles = 0;
+
+        this.updateTimaEvent();
     }
 
-    void tick(int cycles) {
-        this.incrementSystemCounter(cycles);
+    /**
+     * Schedules the next time TIMA needs to do something. This must be called whenever TAC could have changed.
+     */
+    void updateTimaEvent() {
+        if(this.scheduler == null || Timers.state != TimerState.COUNTING) {
+            return;
+        }
+
+        this.syncTimaCounter();
+
+        int tac = this.memory.getByteAt(IORegisters.TAC);
 
+        if((tac & 0x04) == 0x04) {
+            int tacClocks = CPU.FREQUENCY / Timers.getFrequency(tac & 0x03);
+            this.scheduler.schedule(Scheduler.Event.TIMER, this.getCycles() + Math.max(tacClocks - this.timaCounter, 0));
+        } else {
+            this.scheduler.cancel(Scheduler.Event.TIMER);
+        }
+    }
+
+    /**
+     * Adds the cycles since the last sync to the TIMA counter, if the timer is counting.
+     */
+    void syncTimaCounter() {
+        long now = this.getCycles();
+
+        if(Timers.state == TimerState.COUNTING && (this.memory.getByteAt(IORegisters.TAC) & 0x04) == 0x04) {
+            this.timaCounter += (int) (now - this.timaCounterCycle);
+        }
+
+        this.timaCounterCycle = now;
+    }
+
+    private long getCycles() {
+        return this.scheduler == null ? 0 : this.scheduler.getCycles();
+    }
+
+    /**
+     * Called by the scheduler when TIMA is due to increment, or one instruction after an overflow to go through
+     * the TMA reload.
+     * @param deadline The cycle the event was scheduled for.
+     */
+    private void handleEvent(long deadline) {
         switch(Timers.state) {
             case COUNTING:
                 // Get the timer frequency.
                 int tac = this.memory.getByteAt(IORegisters.TAC);
-                boolean isEnabled = (tac & 0x04) == 0x04;
-
-                if(isEnabled) {
-                    Timers.timaCounter += cycles;
-                    int tacFreq = Timers.getFrequency(tac & 0x03);
-                    int tacClocks = CPU.FREQUENCY / tacFreq;
-
-                    // Check if TIMA has passed the max amount of clocks.
-                    if(Timers.timaCounter >= tacClocks) {
-                        int tima = this.memory.getByteAt(IORegisters.TIMA) + 1;
-
-                        if(tima > 0xFF) {
-                            // When TIMA overflows, it's value is 0 for 4 cycles and the interrupt is also delayed during this time.
-                            tima = 0x00;
-                            this.memory.setByteAt(IORegisters.TIMA, tima);
-
-                            // Keep track of the delay
-                            Timers.state = TimerState.OVERFLOW;
-//                            this.overflowCycles = Timers.timaCounter - (CPU.FREQUENCY / tacFreq);
-                        } else {
-                            this.memory.setByteAt(IORegisters.TIMA, tima);
-                        }
-
-                        Timers.timaCounter = (Timers.timaCounter - tacClocks);
+                this.syncTimaCounter();
+
+                int tacFreq = Timers.getFrequency(tac & 0x03);
+                int tacClocks = CPU.FREQUENCY / tacFreq;
+
+                // Check if TIMA has passed the max amount of clocks.
+                if(this.timaCounter >= tacClocks) {
+                    int tima = this.memory.getByteAt(IORegisters.TIMA) + 1;
+
+                    if(tima > 0xFF) {
+                        // When TIMA overflows, it's value is 0 for 4 cycles and the interrupt is also delayed during this time.
+                        tima = 0x00;
+                        this.memory.setByteAt(IORegisters.TIMA, tima);
+
+                        // Keep track of the delay
+                        Timers.state = TimerState.OVERFLOW;
+                    } else {
+                        this.memory.setByteAt(IORegisters.TIMA, tima);
                     }
+
+                    this.timaCounter = (this.timaCounter - tacClocks);
                 }
                 break;
             case OVERFLOW:
-                // Check if TIMA overflowed last cycle.
-//                this.overflowCycles += cycles;
-
-                // The TMA load takes 4 clock cycles.
-                /*if(this.overflowCycles < 4) {
-                    return;
-                }*/
-
                 // If a value is written to TIMA during the overflow period, the new value will override the TMA load.
+                // The interrupt is requested along with the TMA load. Writing to IF in the next cycle overwrites it.
                 if(!Timers.isTimaChanged) {
                     // Set TIMA to the value of TMA
                     int tma = this.memory.getByteAt(IORegisters.TMA);
                     this.memory.setByteAt(IORegisters.TIMA, tma);
+                    this.memory.getInterruptController().request(Interrupts.TIMER);
                 }
 
                 Timers.state = TimerState.LOADING_TMA;
@@ -139,26 +204,24 @@ public class Timers {
                 // The TIMA glitch prevents this from happening regardless of other conditions.
                 if(Timers.isFlagsChanged && Timers.flagValue == 1 && !Timers.timaGlitch) {
                     // Request interrupt.
-                    int flags = this.memory.getByteAt(IORegisters.INTERRUPT_FLAGS);
-                    flags |= Interrupts.TIMER;
-                    this.memory.setByteAt(IORegisters.INTERRUPT_FLAGS, flags);
+                    this.memory.getInterruptController().request(Interrupts.TIMER);
                 }
 
                 Timers.isTimaChanged = false;
                 Timers.isFlagsChanged = false;
                 Timers.timaGlitch = false;
                 Timers.state = TimerState.COUNTING;
+
+                // The cycles spent overflowing don't count towards the next increment.
+                this.timaCounterCycle = this.getCycles();
                 break;
         }
-    }
-
-    private void incrementSystemCounter(int cycles) {
-        Timers.systemCounter += cycles;
 
-        if(Timers.systemCounter > 0xFFFF) {
-            Timers.systemCounter = 0;
+        if(Timers.state == TimerState.COUNTING) {
+            this.updateTimaEvent();
+        } else {
+            // The overflow and the TMA load each take up the next instruction.
+            this.scheduler.schedule(Scheduler.Event.TIMER, this.getCycles() + 1);
         }
-
-        this.memory.updateDiv(Timers.systemCounter >> 8);
     }
 }
@@ -0,0 +1,88 @@
+package goodboy.system;
+
+/**
+ * Stops the CPU after it reads from or writes to a range of addresses.
+ */
+public class Watchpoint {
+    /**
+     * The kinds of access a watchpoint stops on. They can be or'd together.
+     */
+    public interface Access {
+        int READ = 0x01;
+        int WRITE = 0x02;
+    }
+
+    private final int start;
+    private final int end;
+    private final int access;
+    private final Debugger.Condition condition;
+    private final int hitsBeforeBreak;
+    private int hitCount = 0;
+
+    /**
+     * @param start The first address to watch.
+     * @param end The last address to watch.
+     * @param access Which kinds of access to stop on, see {@link Access}.
+     * @param condition Only stops when this is true. Can be null.
+     * @param hitsBeforeBreak How many matching accesses there have to be before it stops the CPU. 1 stops it the
+     *                        first time.
+     */
+    public Watchpoint(int start, int end, int access, Debugger.Condition condition, int hitsBeforeBreak) {
+        this.start = start;
+        this.end = end;
+        this.access = access;
+        this.condition = condition;
+        this.hitsBeforeBreak = Math.max(hitsBeforeBreak, 1);
+    }
+
+    public Watchpoint(int start, int end, int access) {
+        this(start, end, access, null, 1);
+    }
+
+    public int getStart() {
+        return this.start;
+    }
+
+    public int getEnd() {
+        return this.end;
+    }
+
+    public int getAccess() {
+        return this.access;
+    }
+
+    /**
+     * @return How many matching accesses there have been with the condition true.
+     */
+    public int getHitCount() {
+        return this.hitCount;
+    }
+
+    public void resetHitCount() {
+        this.hitCount = 0;
+    }
+
+    boolean contains(int address) {
+        return address >= this.start && address <= this.end;
+    }
+
+    /**
+     * Called when the CPU accesses an address in the watched range.
+     * @param access {@link Access#READ} or {@link Access#WRITE}.
+     * @param registers The CPU's registers.
+     * @param memory The memory.
+     * @return True if the CPU should stop.
+     */
+    boolean hit(int access, Registers registers, Memory memory) {
+        if((this.access & access) == 0) {
+            return false;
+        }
+
+        if(this.condition != null && !this.condition.test(registers, memory)) {
+            return false;
+        }
+
+        this.hitCount++;
+        return this.hitCount >= this.hitsBeforeBreak;
+    }
+}
@@ -34,6 +34,7 @@ class DebugWindow {
     private Label interruptFlags;
     private Label interruptEnable;
     private Label ime;
+    private Label skippedCycles;
     private Label lcdc;
     private Label ly;
     private Label lcdStat;
@@ -87,6 +88,7 @@ class DebugWindow {
         this.interruptFlags = new Label("IF: 0x00");
         this.interruptEnable = new Label("IE: 0x00");
         this.ime = new Label("IME: off");
+        this.skippedCycles = new Label("Idle: 0");
         this.lcdc = new Label("LCDC: 0x00");
         this.ly = new Label("LY: 0x00");
         this.lcdStat = new Label("STAT: 0x00");
@@ -105,6 +107,7 @@ class DebugWindow {
         this.interruptFlags.setFont(Font.font("monospace"));
         this.interruptEnable.setFont(Font.font("monospace"));
         this.ime.setFont(Font.font("monospace"));
+        this.skippedCycles.setFont(Font.font("monospace"));
 
         VBox vboxCpuRegisters = new VBox(
                 this.af,
@@ -121,7 +124,8 @@ class DebugWindow {
                 this.ly,
                 this.interruptEnable,
                 this.interruptFlags,
-                this.ime
+                this.ime,
+                this.skippedCycles
         );
 
         this.cpuInfo.getChildren().addAll(vboxCpuRegisters, vboxIoRegisters);
@@ -292,6 +296,7 @@ class DebugWindow {
         this.interruptFlags.setText(cpuInfo.getInterruptFlags());
         this.interruptEnable.setText(cpuInfo.getInterruptEnable());
         this.ime.setText(cpuInfo.getIME());
+        this.skippedCycles.setText(cpuInfo.getSkippedCycles());
         this.lcdc.setText(info.getMemoryInfo().getLCDC());
         this.ly.setText(info.getMemoryInfo().getLY());
         this.lcdStat.setText(info.getMemoryInfo().getLCDStatus());
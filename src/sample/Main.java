@@ -89,6 +89,7 @@ public class Main extends Application {
     @Override
     public void stop() throws Exception {
         this.dispose();
+        this.gameBoy.closeSave();
 
         super.stop();
     }
@@ -157,14 +158,7 @@ public class Main extends Application {
 
     private void loadRom(File file) {
         try {
-            byte[] bytes = Files.readAllBytes(Paths.get(file.getPath()));
-            int[] rom = new int[bytes.length];
-
-            for(int i = 0; i < bytes.length; i++) {
-                rom[i] = bytes[i] & 0xFF;
-            }
-
-            this.gameBoy.loadROM(rom);
+            this.gameBoy.loadROM(file.toPath());
 
             this.gameThread = new Thread(this.gameBoy);
             this.gameThread.start();
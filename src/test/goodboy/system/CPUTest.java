@@ -34,49 +34,49 @@ class CPUTest {
     @Test
     void setFlagsTest() {
         cpu.setFlags(CPU.Flags.ZERO);
-        assertEquals(0b10000000, cpu.registers.F, "Only ZERO flag should be set.");
+        assertEquals(0b10000000, cpu.registers.getF(), "Only ZERO flag should be set.");
 
         cpu.setFlags(CPU.Flags.SUB);
-        assertEquals(0b11000000, cpu.registers.F, "ZERO and SUB flag should be set");
+        assertEquals(0b11000000, cpu.registers.getF(), "ZERO and SUB flag should be set");
 
         cpu.setFlags(CPU.Flags.HALF);
-        assertEquals(0b11100000, cpu.registers.F, "ZERO, SUB and HALF_CARRY flags should be set.");
+        assertEquals(0b11100000, cpu.registers.getF(), "ZERO, SUB and HALF_CARRY flags should be set.");
 
         cpu.setFlags(CPU.Flags.CARRY);
-        assertEquals(0b11110000, cpu.registers.F, "All flags should be set.");
+        assertEquals(0b11110000, cpu.registers.getF(), "All flags should be set.");
     }
 
     @Test
     void resetFlagsTest() {
         cpu.setFlags(0b11110000);
-        assertEquals(0b11110000, cpu.registers.F, "All flags should be set.");
+        assertEquals(0b11110000, cpu.registers.getF(), "All flags should be set.");
 
         cpu.resetFlags(CPU.Flags.ZERO);
-        assertEquals(0b01110000, cpu.registers.F, "SUB, HALF_CARRY and CARRY flags should be set.");
+        assertEquals(0b01110000, cpu.registers.getF(), "SUB, HALF_CARRY and CARRY flags should be set.");
 
         cpu.resetFlags(CPU.Flags.SUB);
-        assertEquals(0b00110000, cpu.registers.F, "HALF_CARRY and CARRY flags should be set.");
+        assertEquals(0b00110000, cpu.registers.getF(), "HALF_CARRY and CARRY flags should be set.");
 
         cpu.resetFlags(CPU.Flags.HALF);
-        assertEquals(0b00010000, cpu.registers.F, "Only HALF_CARRY flag should be set.");
+        assertEquals(0b00010000, cpu.registers.getF(), "Only HALF_CARRY flag should be set.");
 
         cpu.resetFlags(CPU.Flags.CARRY);
-        assertEquals(0b00000000, cpu.registers.F, "No flags should be set.");
+        assertEquals(0b00000000, cpu.registers.getF(), "No flags should be set.");
     }
 
     @Test
     void complexFlagLogicTest() {
         cpu.setFlags(CPU.Flags.ZERO | CPU.Flags.CARRY);
-        assertEquals(0b10010000, cpu.registers.F, "ZERO and CARRY flags should be set.");
+        assertEquals(0b10010000, cpu.registers.getF(), "ZERO and CARRY flags should be set.");
 
         cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.CARRY);
-        assertEquals(0b00000000, cpu.registers.F, "No flags should be set.");
+        assertEquals(0b00000000, cpu.registers.getF(), "No flags should be set.");
 
         cpu.setFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.CARRY);
-        assertEquals(0b11010000, cpu.registers.F, "ZERO, SUB and CARRY flags should be set.");
+        assertEquals(0b11010000, cpu.registers.getF(), "ZERO, SUB and CARRY flags should be set.");
 
         cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.CARRY);
-        assertEquals(0b01000000, cpu.registers.F, "Only SUB should be set.");
+        assertEquals(0b01000000, cpu.registers.getF(), "Only SUB should be set.");
     }
 
     @Test
@@ -86,7 +86,7 @@ class CPUTest {
         cpu.registers.C = 0xCC;
         cpu.registers.D = 0xDD;
         cpu.registers.E = 0xEE;
-        cpu.registers.F = 0xFF & 0xF0;
+        cpu.registers.setF(0xFF & 0xF0);
         cpu.registers.H = 0x11;
         cpu.registers.L = 0x22;
         assertEquals(0xAA, cpu.registers.A, "The A register should equal 0xAA");
@@ -94,7 +94,7 @@ class CPUTest {
         assertEquals(0xCC, cpu.registers.C, "The C register should equal 0xCC");
         assertEquals(0xDD, cpu.registers.D, "The D register should equal 0xDD");
         assertEquals(0xEE, cpu.registers.E, "The E register should equal 0xEE");
-        assertEquals(0xF0, cpu.registers.F, "The F register should equal 0xF0");
+        assertEquals(0xF0, cpu.registers.getF(), "The F register should equal 0xF0");
         assertEquals(0x11, cpu.registers.H, "The H register should equal 0x11");
         assertEquals(0x22, cpu.registers.L, "The L register should equal 0x22");
         assertEquals(0xAAF0, cpu.registers.getAF(), "THE AF register should equal 0xAAF0");
@@ -111,7 +111,7 @@ class CPUTest {
         assertEquals(0x00, cpu.registers.C, "The C register should equal 0x00");
         assertEquals(0x00, cpu.registers.D, "The D register should equal 0x00");
         assertEquals(0x00, cpu.registers.E, "The E register should equal 0x00");
-        assertEquals(0x00, cpu.registers.F, "The F register should equal 0x00");
+        assertEquals(0x00, cpu.registers.getF(), "The F register should equal 0x00");
         assertEquals(0x00, cpu.registers.H, "The H register should equal 0x00");
         assertEquals(0x00, cpu.registers.L, "The L register should equal 0x00");
         assertEquals(0x0000, cpu.registers.getAF(), "THE AF register should equal 0x0000");
@@ -120,6 +120,44 @@ class CPUTest {
         assertEquals(0x0000, cpu.registers.getHL(), "THE HL register should equal 0x0000");
     }
 
+    @Test
+    void timerHaltTest() {
+        byte[] rom = new byte[0x8000];
+        int[] program = {
+                0x3E, 0xF0, // ld a, 0xF0
+                0xE0, 0x05, // ldh (0x05), a
+                0x3E, 0x04, // ld a, 0x04
+                0xE0, 0xFF, // ldh (0xFF), a
+                0x3E, 0x05, // ld a, 0x05
+                0xE0, 0x07, // ldh (0x07), a
+                0x76,       // halt
+                0x18, 0xFE  // jr 0x10D
+        };
+
+        for(int i = 0; i < program.length; i++) {
+            rom[0x100 + i] = (byte) program[i];
+        }
+
+        GameBoy gameBoy = new GameBoy();
+        gameBoy.getLCD().setDrawFunction((tiles) -> null);
+        gameBoy.setSpeed(Pacer.UNLIMITED);
+        gameBoy.loadROM(rom);
+        gameBoy.getMemory().setByteAt(IORegisters.INTERRUPT_FLAGS, 0x00);
+
+        boolean hasHalted = false;
+
+        for(int ticks = 0; ticks < 1000 && !(hasHalted && !gameBoy.getCpu().isHalted); ticks++) {
+            gameBoy.tick();
+            hasHalted |= gameBoy.getCpu().isHalted;
+        }
+
+        assertTrue(hasHalted, "The CPU should halt.");
+
+        assertEquals(0x05, gameBoy.getMemory().getByteAt(IORegisters.TAC) & 0x07, "TAC should keep the value written to it.");
+        assertEquals(0x10D, gameBoy.getCpu().registers.PC, "The CPU should wake up at the jr after the halt.");
+        assertEquals(Interrupts.TIMER, gameBoy.getCpu().getIF() & Interrupts.TIMER, "The timer interrupt should be requested.");
+    }
+
     @Test
     void nestedInterruptTest() {
         int[] rom = new int[0x800000];
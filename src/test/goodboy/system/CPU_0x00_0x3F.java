@@ -112,7 +112,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x01, cpu.registers.B, "The B register should equal 0x01.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -122,10 +122,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0x0F;
             rom[0x102] = 0x04; // inc b
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.B, "The B register should equal 0x10.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -135,10 +137,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0xFF;
             rom[0x102] = 0x04; // inc b
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.B, "The B register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -154,7 +158,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.B, "The B register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a decrement that results in zero.
@@ -169,7 +173,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.B, "The B register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "ZERO and SUB flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a half carry.
@@ -184,7 +188,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.B, "The B register should equal 0x0F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test decrementing zero.
@@ -199,7 +203,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFF, cpu.registers.B, "The B register should equal 0xFF.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -228,7 +232,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0B, cpu.registers.A, "The A register should equal 0x0B.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -268,7 +272,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x9028, cpu.registers.getHL(), "The HL register should equal 0x9028.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x107, cpu.registers.PC, "PC should equal 0x107");
         }
 
@@ -318,7 +322,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x01, cpu.registers.C, "The C register should equal 0x01.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -328,10 +332,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0x0F;
             rom[0x102] = 0x0C; // inc c
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.C, "The C register should equal 0x10.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -341,10 +347,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0xFF;
             rom[0x102] = 0x0C; // inc c
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.C, "The C register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -360,7 +368,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.C, "The C register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a decrement that results in zero.
@@ -375,7 +383,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.C, "The C register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "ZERO and SUB flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a half carry.
@@ -390,7 +398,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.C, "The C register should equal 0x0F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test decrementing zero.
@@ -405,7 +413,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFF, cpu.registers.C, "The C register should equal 0xFF.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -434,7 +442,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x9D, cpu.registers.A, "The A register should equal 0x9D.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -443,10 +451,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0xAA;
             rom[0x102] = 0x0F; // rrca
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x55, cpu.registers.A, "The A register should equal 0x55.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
     }
@@ -546,7 +556,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x01, cpu.registers.D, "The D register should equal 0x01.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -556,10 +566,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0x0F;
             rom[0x102] = 0x14; // inc d
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.D, "The D register should equal 0x10.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -569,10 +581,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0xFF;
             rom[0x102] = 0x14; // inc d
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.D, "The D register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -588,7 +602,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.D, "The D register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a decrement that results in zero.
@@ -603,7 +617,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.D, "The D register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "ZERO and SUB flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a half carry.
@@ -618,7 +632,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.D, "The D register should equal 0x0F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test decrementing zero.
@@ -633,7 +647,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFF, cpu.registers.D, "The D register should equal 0xFF.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -694,7 +708,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x9028, cpu.registers.getHL(), "The HL register should equal 0x0605.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x107, cpu.registers.PC, "PC should equal 0x107.");
         }
 
@@ -744,7 +758,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x01, cpu.registers.E, "The E register should equal 0x01.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -754,10 +768,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0x0F;
             rom[0x102] = 0x1C; // inc e
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.E, "The E register should equal 0x10.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -767,10 +783,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0xFF;
             rom[0x102] = 0x1C; // inc e
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.E, "The E register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -786,7 +804,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.E, "The E register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a decrement that results in zero.
@@ -801,7 +819,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.E, "The E register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "ZERO and SUB flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a half carry.
@@ -816,7 +834,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.E, "The E register should equal 0x0F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test decrementing zero.
@@ -831,7 +849,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFF, cpu.registers.E, "The E register should equal 0xFF.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -982,7 +1000,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x01, cpu.registers.H, "The H register should equal 0x01.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -992,10 +1010,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0x0F;
             rom[0x102] = 0x24; // inc h
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.H, "The H register should equal 0x10.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -1005,10 +1025,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0xFF;
             rom[0x102] = 0x24; // inc h
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.H, "The H register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -1024,7 +1046,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.H, "The H register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a decrement that results in zero.
@@ -1039,7 +1061,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.H, "The H register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "ZERO and SUB flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a half carry.
@@ -1054,7 +1076,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.H, "The H register should equal 0x0F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test decrementing zero.
@@ -1069,7 +1091,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFF, cpu.registers.H, "The H register should equal 0xFF.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -1113,6 +1135,8 @@ public class CPU_0x00_0x3F {
             rom[0x104] = 0x90; // sub b
             rom[0x105] = 0x27; // daa
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
@@ -1154,7 +1178,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x1446, cpu.registers.getHL(), "The HL register should equal 0x0605.");
-            assertEquals(CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The HALF_CARRY and CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The HALF_CARRY and CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1205,7 +1229,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x01, cpu.registers.L, "The L register should equal 0x01.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -1215,10 +1239,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0x0F;
             rom[0x102] = 0x2C; // inc l
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.L, "The L register should equal 0x10.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -1228,10 +1254,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0xFF;
             rom[0x102] = 0x2C; // inc l
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.L, "The L register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -1247,7 +1275,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.L, "The L register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a decrement that results in zero.
@@ -1262,7 +1290,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.L, "The L register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "ZERO and SUB flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a half carry.
@@ -1277,7 +1305,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.L, "The L register should equal 0x0F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test decrementing zero.
@@ -1292,7 +1320,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFF, cpu.registers.L, "The L register should equal 0xFF.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -1321,7 +1349,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xCA, cpu.registers.A, "The A register should equal 0xCA.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "The PC should equal 0x103.");
         }
     }
@@ -1485,7 +1513,7 @@ public class CPU_0x00_0x3F {
             memory.loadROM(rom);
 
             cpu.tick();
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
         }
 
         // op code 0x38
@@ -1524,7 +1552,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x9028, cpu.registers.getHL(), "The HL register should equal 0x9028.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x107, cpu.registers.PC, "PC should equal 0x107.");
 
             cpu.registers.PC = 0x100;
@@ -1536,11 +1564,13 @@ public class CPU_0x00_0x3F {
             rom[0x105] = 0xFF;
             rom[0x106] = 0x39; // add hl,sp
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xFFFE, cpu.registers.getHL(), "The HL register should equal 0x0C0A.");
-            assertEquals(CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The HALF_CARRY and CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The HALF_CARRY and CARRY flag should be set.");
             assertEquals(0x107, cpu.registers.PC, "PC should equal 0x107.");
         }
 
@@ -1591,7 +1621,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x01, cpu.registers.A, "The A register should equal 0x01.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -1601,10 +1631,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0x0F;
             rom[0x102] = 0x3C; // inc a
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.A, "The A register should equal 0x10.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.registers.PC = 0x100;
@@ -1614,10 +1646,12 @@ public class CPU_0x00_0x3F {
             rom[0x101] = 0xFF;
             rom[0x102] = 0x3C; // inc a
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -1633,7 +1667,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.A, "The A register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a decrement that results in zero.
@@ -1648,7 +1682,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "ZERO and SUB flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test a half carry.
@@ -1663,7 +1697,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.A, "The A register should equal 0x0F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             // Test decrementing zero.
@@ -1678,7 +1712,7 @@ public class CPU_0x00_0x3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFF, cpu.registers.A, "The A register should equal 0xFF.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -1704,13 +1738,13 @@ public class CPU_0x00_0x3F {
 
             cpu.resetFlags(CPU.Flags.CARRY);
             cpu.tick();
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x101, cpu.registers.PC, "The PC should equal 0x101.");
 
             cpu.setFlags(CPU.Flags.CARRY);
             cpu.registers.PC = 0x100;
             cpu.tick();
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x101, cpu.registers.PC, "The PC should equal 0x101.");
         }
     }
@@ -1073,6 +1073,33 @@ public class CPU_0x40_0x7F {
             assertEquals(28, cpu.cycles, "should have taken 28 clock cycles");
         }
 
+        @Test
+        void halt_fast_forward_test() {
+            rom[0x100] = 0xFB; // ei
+            rom[0x101] = 0x76; // halt
+
+            memory.loadROM(rom);
+
+            memory.setByteAt(IORegisters.INTERRUPT_ENABLE, Interrupts.VBLANK);
+            memory.setByteAt(IORegisters.INTERRUPT_FLAGS, 0x00);
+
+            cpu.tick(); // ei
+            cpu.tick(); // halt
+            assertTrue(cpu.isHalted, "should halt CPU");
+
+            int ticks = 0;
+
+            while(cpu.isHalted && ticks < 1000) {
+                assertEquals(0x102, cpu.registers.PC, "should not execute anything while halted");
+                cpu.tick();
+                ticks++;
+            }
+
+            // stepping 4 cycles at a time would take thousands of ticks to reach vblank.
+            assertTrue(ticks < 1000, "should skip to the next PPU event on every tick");
+            assertEquals(0x40, cpu.registers.PC, "should jump to the vblank interrupt vector");
+        }
+
         @Test
         void halt_bug_freeze_test() {
             rom[0x100] = 0x76; // halt
@@ -55,7 +55,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -74,7 +74,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -93,7 +93,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -112,7 +112,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -131,7 +131,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -150,7 +150,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -172,7 +172,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x106, cpu.registers.PC, "PC should equal 0x106.");
         }
 
@@ -188,7 +188,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -208,7 +208,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -228,7 +228,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -248,7 +248,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -268,7 +268,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -288,7 +288,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -308,7 +308,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -330,7 +330,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x106, cpu.registers.PC, "PC should equal 0x106.");
         }
 
@@ -347,7 +347,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x01, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
     }
@@ -394,7 +394,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -405,11 +405,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0x90; // sub b
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x2F, cpu.registers.A, "The A register should equal 0x2F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -420,11 +422,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x40;
             rom[0x104] = 0x90; // sub b
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.A, "The A register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -443,7 +447,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -454,11 +458,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0x91; // sub c
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x2F, cpu.registers.A, "The A register should equal 0x2F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -469,11 +475,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x40;
             rom[0x104] = 0x91; // sub c
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.A, "The A register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -492,7 +500,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -503,11 +511,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0x92; // sub d
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x2F, cpu.registers.A, "The A register should equal 0x2F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -518,11 +528,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x40;
             rom[0x104] = 0x92; // sub d
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.A, "The A register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -541,7 +553,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -552,11 +564,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0x93; // sub e
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x2F, cpu.registers.A, "The A register should equal 0x2F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -567,11 +581,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x40;
             rom[0x104] = 0x93; // sub e
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.A, "The A register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -590,7 +606,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -601,11 +617,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0x94; // sub h
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x2F, cpu.registers.A, "The A register should equal 0x2F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -616,11 +634,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x40;
             rom[0x104] = 0x94; // sub h
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.A, "The A register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -639,7 +659,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -650,11 +670,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0x95; // sub l
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x2F, cpu.registers.A, "The A register should equal 0x2F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -665,11 +687,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x40;
             rom[0x104] = 0x95; // sub l
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.A, "The A register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -691,7 +715,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x106, cpu.registers.PC, "PC should equal 0x106.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -702,7 +726,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x2F, cpu.registers.A, "The A register should equal 0x2F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x106, cpu.registers.PC, "PC should equal 0x106.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -713,7 +737,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.A, "The A register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x106, cpu.registers.PC, "PC should equal 0x106.");
         }
 
@@ -729,7 +753,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -749,7 +773,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.A, "The A register should equal 0x10.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -761,11 +785,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x3A;
             rom[0x104] = 0x98; // sbc a,b
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -777,11 +803,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x4F;
             rom[0x104] = 0x98; // sbc a,b
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xEB, cpu.registers.A, "The A register should equal 0xEB.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The SUB, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -801,7 +829,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.A, "The A register should equal 0x10.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -813,11 +841,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x3A;
             rom[0x104] = 0x99; // sbc a,c
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -829,11 +859,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x4F;
             rom[0x104] = 0x99; // sbc a,c
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xEB, cpu.registers.A, "The A register should equal 0xEB.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The SUB, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -853,7 +885,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.A, "The A register should equal 0x10.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -865,11 +897,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x3A;
             rom[0x104] = 0x9A; // sbc a,d
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -881,11 +915,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x4F;
             rom[0x104] = 0x9A; // sbc a,d
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xEB, cpu.registers.A, "The A register should equal 0xEB.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The SUB, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -905,7 +941,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.A, "The A register should equal 0x10.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -917,11 +953,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x3A;
             rom[0x104] = 0x9B; // sbc a,e
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -933,11 +971,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x4F;
             rom[0x104] = 0x9B; // sbc a,e
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xEB, cpu.registers.A, "The A register should equal 0xEB.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The SUB, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -957,7 +997,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.A, "The A register should equal 0x10.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -969,11 +1009,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x3A;
             rom[0x104] = 0x9C; // sbc a,h
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -985,11 +1027,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x4F;
             rom[0x104] = 0x9C; // sbc a,h
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xEB, cpu.registers.A, "The A register should equal 0xEB.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The SUB, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1009,7 +1053,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.A, "The A register should equal 0x10.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1021,11 +1065,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x3A;
             rom[0x104] = 0x9D; // sbc a,l
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1037,11 +1083,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x4F;
             rom[0x104] = 0x9D; // sbc a,l
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xEB, cpu.registers.A, "The A register should equal 0xEB.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The SUB, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1064,7 +1112,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.A, "The A register should equal 0x10.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x106, cpu.registers.PC, "PC should equal 0x106.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1076,7 +1124,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x106, cpu.registers.PC, "PC should equal 0x106.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1088,7 +1136,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0xEB, cpu.registers.A, "The A register should equal 0xEB.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The SUB, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x106, cpu.registers.PC, "PC should equal 0x106.");
         }
 
@@ -1105,7 +1153,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFF, cpu.registers.A, "The A register should equal 0xFF.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1119,7 +1167,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
     }
@@ -1166,7 +1214,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x1A, cpu.registers.A, "The A register should equal 0x1A.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1177,11 +1225,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x00;
             rom[0x104] = 0xA0; // and b
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -1200,7 +1250,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x1A, cpu.registers.A, "The A register should equal 0x1A.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1211,11 +1261,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x00;
             rom[0x104] = 0xA1; // and c
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -1234,7 +1286,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x1A, cpu.registers.A, "The A register should equal 0x1A.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1245,11 +1297,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x00;
             rom[0x104] = 0xA2; // and d
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -1268,7 +1322,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x1A, cpu.registers.A, "The A register should equal 0x1A.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1279,11 +1333,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x00;
             rom[0x104] = 0xA3; // and e
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -1302,7 +1358,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x1A, cpu.registers.A, "The A register should equal 0x1A.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1313,11 +1369,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x00;
             rom[0x104] = 0xA4; // and h
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -1336,7 +1394,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x1A, cpu.registers.A, "The A register should equal 0x1A.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1347,11 +1405,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x00;
             rom[0x104] = 0xA5; // and l
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -1372,7 +1432,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x1A, cpu.registers.A, "The A register should equal 0x1A.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x106, cpu.registers.PC, "The PC should equal 0x106.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1383,7 +1443,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x106, cpu.registers.PC, "The PC should equal 0x106.");
         }
 
@@ -1399,7 +1459,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x5A, cpu.registers.A, "The A register should equal 0x5A.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "The PC should equal 0x103.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1408,10 +1468,12 @@ public class CPU_0x80_0xBF {
             rom[0x101] = 0x00;
             rom[0x102] = 0xA7; // and a
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x103, cpu.registers.PC, "The PC should equal 0x103.");
         }
 
@@ -1430,7 +1492,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1442,11 +1504,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0xA8; // xor b
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xF0, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -1465,7 +1529,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1477,11 +1541,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0xA9; // xor c
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xF0, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -1500,7 +1566,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1512,11 +1578,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0xAA; // xor d
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xF0, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -1535,7 +1603,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1547,11 +1615,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0xAB; // xor e
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xF0, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -1570,7 +1640,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1582,11 +1652,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0xAC; // xor h
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xF0, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -1605,7 +1677,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1617,11 +1689,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0xAD; // xor l
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0xF0, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -1642,7 +1716,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x106, cpu.registers.PC, "The PC should equal 0x106.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1653,7 +1727,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0xF0, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x106, cpu.registers.PC, "The PC should equal 0x106.");
         }
 
@@ -1669,7 +1743,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "The PC should equal 0x103.");
         }
     }
@@ -1716,7 +1790,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1727,11 +1801,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0xB0; // or b
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x5F, cpu.registers.A, "The A register should equal 0x5F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1750,7 +1826,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1761,11 +1837,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0xB1; // or c
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x5F, cpu.registers.A, "The A register should equal 0x5F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1784,7 +1862,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1795,11 +1873,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0xB2; // or d
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x5F, cpu.registers.A, "The A register should equal 0x5F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1818,7 +1898,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1829,11 +1909,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0xB3; // or e
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x5F, cpu.registers.A, "The A register should equal 0x5F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1852,7 +1934,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1863,11 +1945,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0xB4; // or h
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x5F, cpu.registers.A, "The A register should equal 0x5F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1886,7 +1970,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1897,11 +1981,13 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x0F;
             rom[0x104] = 0xB5; // or l
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
             assertEquals(0x5F, cpu.registers.A, "The A register should equal 0x5F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1923,7 +2009,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x5A, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(0x00, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x106, cpu.registers.PC, "PC should equal 0x106.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1934,7 +2020,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x5F, cpu.registers.A, "The A register should equal 0x5F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x106, cpu.registers.PC, "PC should equal 0x106.");
         }
 
@@ -1950,7 +2036,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x5A, cpu.registers.A, "The A register should equal 0x5A.");
-            assertEquals(0x00, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x103, cpu.registers.PC, "PC should equal 0x103.");
         }
 
@@ -1968,7 +2054,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1979,10 +2065,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x3C;
             rom[0x104] = 0xB8; // cp b
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1993,10 +2081,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x40;
             rom[0x104] = 0xB8; // cp b
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The SUB and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -2014,7 +2104,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2025,10 +2115,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x3C;
             rom[0x104] = 0xB9; // cp c
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2039,10 +2131,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x40;
             rom[0x104] = 0xB9; // cp c
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The SUB and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -2060,7 +2154,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2071,10 +2165,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x3C;
             rom[0x104] = 0xBA; // cp d
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2085,10 +2181,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x40;
             rom[0x104] = 0xBA; // cp d
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The SUB and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -2106,7 +2204,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2117,10 +2215,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x3C;
             rom[0x104] = 0xBB; // cp e
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2131,10 +2231,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x40;
             rom[0x104] = 0xBB; // cp e
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The SUB and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -2152,7 +2254,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2163,10 +2265,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x3C;
             rom[0x104] = 0xBC; // cp h
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2177,10 +2281,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x40;
             rom[0x104] = 0xBC; // cp h
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The SUB and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -2198,7 +2304,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2209,10 +2315,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x3C;
             rom[0x104] = 0xBD; // cp l
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2223,10 +2331,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x40;
             rom[0x104] = 0xBD; // cp l
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The SUB and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
 
@@ -2247,7 +2357,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x106, cpu.registers.PC, "The PC should equal 0x106.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2257,7 +2367,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x106, cpu.registers.PC, "The PC should equal 0x106.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2267,7 +2377,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The SUB and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB and CARRY flags should be set.");
             assertEquals(0x106, cpu.registers.PC, "The PC should equal 0x106.");
         }
 
@@ -2285,7 +2395,7 @@ public class CPU_0x80_0xBF {
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2296,10 +2406,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x3C;
             rom[0x104] = 0xB8; // cp b
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -2310,10 +2422,12 @@ public class CPU_0x80_0xBF {
             rom[0x103] = 0x40;
             rom[0x104] = 0xB8; // cp b
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The SUB and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "The PC should equal 0x105.");
         }
     }
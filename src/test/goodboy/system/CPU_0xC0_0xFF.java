@@ -124,13 +124,17 @@ public class CPU_0xC0_0xFF {
 
             memory.loadROM(rom);
 
+            cpu.cycles = 0;
             cpu.tick();
+            assertEquals(12, cpu.cycles, "A call that isn't taken should take 12 clock cycles.");
             assertEquals(0xFFFE, cpu.registers.SP, "The SP should equal 0xFFFE");
             assertEquals(0x103, cpu.registers.PC, "The PC should equal 0x103");
 
             cpu.registers.PC = 0x100;
             cpu.resetFlags(CPU.Flags.ZERO);
+            cpu.cycles = 0;
             cpu.tick();
+            assertEquals(24, cpu.cycles, "A taken call should take 24 clock cycles.");
             assertEquals(0xFFFC, cpu.registers.SP, "The SP should equal 0xFFFC");
             assertEquals(0x01, memory.getByteAt(0xFFFD), "The value at address 0xFFFD should equal 0x01");
             assertEquals(0x03, memory.getByteAt(0xFFFC), "The value at address 0xFFFD should equal 0x03");
@@ -168,7 +172,7 @@ public class CPU_0xC0_0xFF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -259,13 +263,17 @@ public class CPU_0xC0_0xFF {
 
             memory.loadROM(rom);
 
+            cpu.cycles = 0;
             cpu.tick();
+            assertEquals(12, cpu.cycles, "A call that isn't taken should take 12 clock cycles.");
             assertEquals(0xFFFE, cpu.registers.SP, "The SP should equal 0xFFFE");
             assertEquals(0x103, cpu.registers.PC, "The PC should equal 0x103");
 
             cpu.registers.PC = 0x100;
             cpu.setFlags(CPU.Flags.ZERO);
+            cpu.cycles = 0;
             cpu.tick();
+            assertEquals(24, cpu.cycles, "A taken call should take 24 clock cycles.");
             assertEquals(0xFFFC, cpu.registers.SP, "The SP should equal 0xFFFC");
             assertEquals(0x01, memory.getByteAt(0xFFFD), "The value at address 0xFFFD should equal 0x01");
             assertEquals(0x03, memory.getByteAt(0xFFFC), "The value at address 0xFFFD should equal 0x03");
@@ -281,7 +289,9 @@ public class CPU_0xC0_0xFF {
 
             memory.loadROM(rom);
 
+            cpu.cycles = 0;
             cpu.tick();
+            assertEquals(24, cpu.cycles, "A taken call should take 24 clock cycles.");
             assertEquals(0xFFFC, cpu.registers.SP, "The SP should equal 0xFFFC");
             assertEquals(0x01, memory.getByteAt(0xFFFD), "The value at address 0xFFFD should equal 0x01");
             assertEquals(0x03, memory.getByteAt(0xFFFC), "The value at address 0xFFFD should equal 0x03");
@@ -302,7 +312,7 @@ public class CPU_0xC0_0xFF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -419,13 +429,17 @@ public class CPU_0xC0_0xFF {
 
             memory.loadROM(rom);
 
+            cpu.cycles = 0;
             cpu.tick();
+            assertEquals(12, cpu.cycles, "A call that isn't taken should take 12 clock cycles.");
             assertEquals(0xFFFE, cpu.registers.SP, "The SP should equal 0xFFFE");
             assertEquals(0x103, cpu.registers.PC, "The PC should equal 0x103");
 
             cpu.registers.PC = 0x100;
             cpu.resetFlags(CPU.Flags.CARRY);
+            cpu.cycles = 0;
             cpu.tick();
+            assertEquals(24, cpu.cycles, "A taken call should take 24 clock cycles.");
             assertEquals(0xFFFC, cpu.registers.SP, "The SP should equal 0xFFFC");
             assertEquals(0x01, memory.getByteAt(0xFFFD), "The value at address 0xFFFD should equal 0x01");
             assertEquals(0x03, memory.getByteAt(0xFFFC), "The value at address 0xFFFD should equal 0x03");
@@ -463,7 +477,7 @@ public class CPU_0xC0_0xFF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -473,10 +487,12 @@ public class CPU_0xC0_0xFF {
             rom[0x102] = 0xD6; // sub 0x0F
             rom[0x103] = 0x0F;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x2F, cpu.registers.A, "The A register should equal 0x2F.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -486,10 +502,12 @@ public class CPU_0xC0_0xFF {
             rom[0x102] = 0xD6; // sub 0x40
             rom[0x103] = 0x40;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.A, "The A register should equal 0xFE.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The ZERO, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -568,13 +586,17 @@ public class CPU_0xC0_0xFF {
 
             memory.loadROM(rom);
 
+            cpu.cycles = 0;
             cpu.tick();
+            assertEquals(12, cpu.cycles, "A call that isn't taken should take 12 clock cycles.");
             assertEquals(0xFFFE, cpu.registers.SP, "The SP should equal 0xFFFE");
             assertEquals(0x103, cpu.registers.PC, "The PC should equal 0x103");
 
             cpu.registers.PC = 0x100;
             cpu.setFlags(CPU.Flags.CARRY);
+            cpu.cycles = 0;
             cpu.tick();
+            assertEquals(24, cpu.cycles, "A taken call should take 24 clock cycles.");
             assertEquals(0xFFFC, cpu.registers.SP, "The SP should equal 0xFFFC");
             assertEquals(0x01, memory.getByteAt(0xFFFD), "The value at address 0xFFFD should equal 0x01");
             assertEquals(0x03, memory.getByteAt(0xFFFC), "The value at address 0xFFFD should equal 0x03");
@@ -595,7 +617,7 @@ public class CPU_0xC0_0xFF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x10, cpu.registers.A, "The A register should equal 0x10.");
-            assertEquals(CPU.Flags.SUB, cpu.registers.F, "The SUB flag should be set.");
+            assertEquals(CPU.Flags.SUB, cpu.registers.getF(), "The SUB flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -606,10 +628,12 @@ public class CPU_0xC0_0xFF {
             rom[0x102] = 0xDE; // sbc a,0x3A
             rom[0x103] = 0x3A;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -620,10 +644,12 @@ public class CPU_0xC0_0xFF {
             rom[0x102] = 0xDE; // sbc a,0x4F
             rom[0x103] = 0x4F;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0xEB, cpu.registers.A, "The A register should equal 0xEB.");
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.F, "The SUB, HALF_CARRY and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB, HALF_CARRY and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -753,7 +779,7 @@ public class CPU_0xC0_0xFF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x1A, cpu.registers.A, "The A register should equal 0x1A.");
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "The PC should equal 0x104.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -763,10 +789,12 @@ public class CPU_0xC0_0xFF {
             rom[0x102] = 0xE6; // and 0x00
             rom[0x103] = 0x00;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "The PC should equal 0x104.");
         }
 
@@ -844,7 +872,7 @@ public class CPU_0xC0_0xFF {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "The PC should equal 0x104.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -855,10 +883,12 @@ public class CPU_0xC0_0xFF {
             rom[0x102] = 0xEE; // xor 0x0F
             rom[0x103] = 0x0F;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0xF0, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "The PC should equal 0x104.");
         }
 
@@ -990,7 +1020,7 @@ public class CPU_0xC0_0xFF {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFF, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "The PC should equal 0x104.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1001,10 +1031,12 @@ public class CPU_0xC0_0xFF {
             rom[0x102] = 0xF6; // or 0x0F
             rom[0x103] = 0x0F;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0xFF, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "The PC should equal 0x104.");
         }
 
@@ -1087,7 +1119,7 @@ public class CPU_0xC0_0xFF {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.F, "The SUB and HALF_CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.HALF, cpu.registers.getF(), "The SUB and HALF_CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "The PC should equal 0x104.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1097,9 +1129,11 @@ public class CPU_0xC0_0xFF {
             rom[0x102] = 0xFE; // cp 0x3C
             rom[0x103] = 0x3C;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.F, "The ZERO and SUB flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "The ZERO and SUB flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "The PC should equal 0x104.");
 
             cpu.resetFlags(CPU.Flags.ZERO | CPU.Flags.SUB | CPU.Flags.HALF | CPU.Flags.CARRY);
@@ -1109,9 +1143,11 @@ public class CPU_0xC0_0xFF {
             rom[0x102] = 0xFE; // cp 0x40
             rom[0x103] = 0x40;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.F, "The SUB and CARRY flags should be set.");
+            assertEquals(CPU.Flags.SUB | CPU.Flags.CARRY, cpu.registers.getF(), "The SUB and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "The PC should equal 0x104.");
         }
 
@@ -53,7 +53,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0B, cpu.registers.B, "The B register should equal 0x0B.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -69,7 +69,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.B, "The B register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -86,7 +86,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0B, cpu.registers.C, "The C register should equal 0x0B.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -102,7 +102,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.C, "The C register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -119,7 +119,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0B, cpu.registers.D, "The D register should equal 0x0B.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -135,7 +135,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.D, "The D register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -152,7 +152,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0B, cpu.registers.E, "The E register should equal 0x0B.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -168,7 +168,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.E, "The E register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -185,7 +185,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0B, cpu.registers.H, "The H register should equal 0x0B.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -201,7 +201,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.H, "The H register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -218,7 +218,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0B, cpu.registers.L, "The L register should equal 0x0B.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -234,7 +234,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.L, "The L register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -254,7 +254,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0B, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should be 0x0B.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -267,7 +267,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should be 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -284,7 +284,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0B, cpu.registers.A, "The A register should equal 0x0B.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -300,7 +300,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -317,7 +317,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x80, cpu.registers.B, "The B register should equal 0x80.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -333,7 +333,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.B, "The B register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -350,7 +350,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x80, cpu.registers.C, "The C register should equal 0x80.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -366,7 +366,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.C, "The C register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -383,7 +383,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x80, cpu.registers.D, "The D register should equal 0x80.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -399,7 +399,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.D, "The D register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -416,7 +416,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x80, cpu.registers.E, "The E register should equal 0x80.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -432,7 +432,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.E, "The E register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -449,7 +449,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x80, cpu.registers.H, "The H register should equal 0x80.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -465,7 +465,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.H, "The H register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -482,7 +482,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x80, cpu.registers.L, "The L register should equal 0x80.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -498,7 +498,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.L, "The L register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -518,7 +518,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x80, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should be 0x80.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -531,7 +531,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should be 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -548,7 +548,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x80, cpu.registers.A, "The A register should equal 0x80.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -564,7 +564,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
     }
@@ -609,7 +609,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.B, "The B register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -620,10 +620,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rl b
             rom[0x103] = 0x10;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x22, cpu.registers.B, "The B register should equal 0x22.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -640,7 +642,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.C, "The C register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -651,10 +653,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rl c
             rom[0x103] = 0x11;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x22, cpu.registers.C, "The C register should equal 0x22.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -671,7 +675,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.D, "The D register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -682,10 +686,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rl d
             rom[0x103] = 0x12;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x22, cpu.registers.D, "The D register should equal 0x22.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -702,7 +708,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.E, "The E register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -713,10 +719,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rl e
             rom[0x103] = 0x13;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x22, cpu.registers.E, "The E register should equal 0x22.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -733,7 +741,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.H, "The H register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -744,10 +752,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rl h
             rom[0x103] = 0x14;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x22, cpu.registers.H, "The H register should equal 0x22.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -764,7 +774,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.L, "The L register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -775,10 +785,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rl l
             rom[0x103] = 0x15;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x22, cpu.registers.L, "The L register should equal 0x22.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -798,7 +810,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -809,7 +821,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x22, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should equal 0x22.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -826,7 +838,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -837,10 +849,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rl a
             rom[0x103] = 0x17;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x22, cpu.registers.A, "The A register should equal 0x22.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -857,7 +871,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.B, "The B register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -868,10 +882,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rr b
             rom[0x103] = 0x18;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x45, cpu.registers.B, "The B register should equal 0x45.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -888,7 +904,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.C, "The C register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -899,10 +915,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rr c
             rom[0x103] = 0x19;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x45, cpu.registers.C, "The C register should equal 0x45.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -919,7 +937,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.D, "The D register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -930,10 +948,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rr d
             rom[0x103] = 0x1A;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x45, cpu.registers.D, "The D register should equal 0x45.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -950,7 +970,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.E, "The E register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -961,10 +981,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rr e
             rom[0x103] = 0x1B;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x45, cpu.registers.E, "The E register should equal 0x45.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -981,7 +1003,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.H, "The H register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -992,10 +1014,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rr h
             rom[0x103] = 0x1C;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x45, cpu.registers.H, "The H register should equal 0x45.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1012,7 +1036,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.L, "The L register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1023,10 +1047,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rr l
             rom[0x103] = 0x1D;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x45, cpu.registers.L, "The L register should equal 0x45.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1046,7 +1072,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -1057,7 +1083,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x45, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should equal 0x45.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1074,7 +1100,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1085,10 +1111,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rr a
             rom[0x103] = 0x1F;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x45, cpu.registers.A, "The A register should equal 0x45.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
     }
@@ -1133,7 +1161,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.B, "The B register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1144,10 +1172,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // rl b
             rom[0x103] = 0x20;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.B, "The B register should equal 0xFE.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "No flags should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1164,7 +1194,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.C, "The C register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1175,10 +1205,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // sla c
             rom[0x103] = 0x21;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.C, "The C register should equal 0xFE.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "No flags should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1195,7 +1227,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.D, "The D register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1206,10 +1238,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // sla d
             rom[0x103] = 0x22;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.D, "The D register should equal 0xFE.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "No flags should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1226,7 +1260,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.E, "The E register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1237,10 +1271,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // sla e
             rom[0x103] = 0x23;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.E, "The E register should equal 0xFE.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "No flags should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1257,7 +1293,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.H, "The H register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1268,10 +1304,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // sla h
             rom[0x103] = 0x24;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.H, "The H register should equal 0xFE.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "No flags should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1288,7 +1326,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.L, "The L register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1299,10 +1337,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // sla l
             rom[0x103] = 0x25;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.L, "The L register should equal 0xFE.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "No flags should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1322,7 +1362,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -1333,7 +1373,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should equal 0xFE.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "No flags should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1350,7 +1390,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1361,10 +1401,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // sla a
             rom[0x103] = 0x27;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0xFE, cpu.registers.A, "The A register should equal 0xFE.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "No flags should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1381,7 +1423,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xC5, cpu.registers.B, "The B register should equal 0xC5.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1392,10 +1434,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // sra b
             rom[0x103] = 0x28;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.B, "The B register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1412,7 +1456,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xC5, cpu.registers.C, "The C register should equal 0xC5.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1423,10 +1467,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // sra c
             rom[0x103] = 0x29;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.C, "The C register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1443,7 +1489,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xC5, cpu.registers.D, "The D register should equal 0xC5.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1454,10 +1500,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // sra d
             rom[0x103] = 0x2A;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.D, "The D register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1474,7 +1522,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xC5, cpu.registers.E, "The E register should equal 0xC5.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1485,10 +1533,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // sra e
             rom[0x103] = 0x2B;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.E, "The E register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1505,7 +1555,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xC5, cpu.registers.H, "The H register should equal 0xC5.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1516,10 +1566,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // sra h
             rom[0x103] = 0x2C;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.H, "The H register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1536,7 +1588,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xC5, cpu.registers.L, "The L register should equal 0xC5.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1547,10 +1599,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // sra l
             rom[0x103] = 0x2D;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.L, "The L register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1570,7 +1624,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xC5, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should equal 0xC5.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -1581,7 +1635,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1598,7 +1652,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0xC5, cpu.registers.A, "The A register should equal 0xC5.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1609,10 +1663,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // sra a
             rom[0x103] = 0x2F;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
     }
@@ -1657,7 +1713,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.B, "The B register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1668,10 +1724,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // swap b
             rom[0x103] = 0x30;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.B, "The B register should equal 0x0F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1688,7 +1746,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.C, "The C register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1699,10 +1757,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // swap c
             rom[0x103] = 0x31;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.C, "The C register should equal 0x0F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1719,7 +1779,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.D, "The D register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1730,10 +1790,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // swap d
             rom[0x103] = 0x32;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.D, "The D register should equal 0x0F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1750,7 +1812,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.E, "The E register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1761,10 +1823,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // swap e
             rom[0x103] = 0x33;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.E, "The E register should equal 0x0F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1781,7 +1845,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.H, "The H register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1792,10 +1856,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // swap h
             rom[0x103] = 0x34;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.H, "The H register should equal 0x0F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1812,7 +1878,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.L, "The L register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1823,10 +1889,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // swap l
             rom[0x103] = 0x35;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.L, "The L register should equal 0x0F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1846,7 +1914,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -1857,7 +1925,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should equal 0x0F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1874,7 +1942,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO, cpu.registers.F, "The ZERO flag should be set.");
+            assertEquals(CPU.Flags.ZERO, cpu.registers.getF(), "The ZERO flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1885,10 +1953,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // swap a
             rom[0x103] = 0x37;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x0F, cpu.registers.A, "The A register should equal 0x0F.");
-            assertEquals(0x00, cpu.registers.F, "No flags should be set.");
+            assertEquals(0x00, cpu.registers.getF(), "No flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1905,7 +1975,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.B, "The B register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1916,10 +1986,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // srl b
             rom[0x103] = 0x38;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x7F, cpu.registers.B, "The B register should equal 0x00.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1936,7 +2008,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.C, "The C register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1947,10 +2019,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // srl c
             rom[0x103] = 0x39;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x7F, cpu.registers.C, "The C register should equal 0x00.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1967,7 +2041,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.D, "The D register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1978,10 +2052,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // srl d
             rom[0x103] = 0x3A;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x7F, cpu.registers.D, "The D register should equal 0x00.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1998,7 +2074,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.E, "The E register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -2009,10 +2085,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // srl e
             rom[0x103] = 0x3B;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x7F, cpu.registers.E, "The E register should equal 0x00.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -2029,7 +2107,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.H, "The H register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -2040,10 +2118,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // srl h
             rom[0x103] = 0x3C;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x7F, cpu.registers.H, "The H register should equal 0x00.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -2060,7 +2140,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.L, "The L register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -2071,10 +2151,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // srl l
             rom[0x103] = 0x3D;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x7F, cpu.registers.L, "The L register should equal 0x00.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -2094,7 +2176,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -2105,7 +2187,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x7F, memory.getByteAt(cpu.registers.getHL()), "The value pointed to by HL should equal 0xFE.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -2122,7 +2204,7 @@ public class CPU_0xCB00_0xCB3F {
             cpu.tick();
             cpu.tick();
             assertEquals(0x00, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.F, "The ZERO and CARRY flags should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.CARRY, cpu.registers.getF(), "The ZERO and CARRY flags should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -2133,10 +2215,12 @@ public class CPU_0xCB00_0xCB3F {
             rom[0x102] = 0xCB; // srl a
             rom[0x103] = 0x3F;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
             assertEquals(0x7F, cpu.registers.A, "The A register should equal 0x00.");
-            assertEquals(CPU.Flags.CARRY, cpu.registers.F, "The CARRY flag should be set.");
+            assertEquals(CPU.Flags.CARRY, cpu.registers.getF(), "The CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
     }
@@ -52,7 +52,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -63,9 +63,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 0,b
             rom[0x103] = 0x40;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -81,7 +83,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -92,9 +94,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 0,c
             rom[0x103] = 0x41;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -110,7 +114,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -121,9 +125,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 0,d
             rom[0x103] = 0x42;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -139,7 +145,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -150,9 +156,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 0,e
             rom[0x103] = 0x43;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -168,7 +176,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -179,9 +187,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 0,h
             rom[0x103] = 0x44;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -197,7 +207,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -208,9 +218,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 0,l
             rom[0x103] = 0x45;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -229,7 +241,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -239,7 +251,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -255,7 +267,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -266,9 +278,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 0,a
             rom[0x103] = 0x47;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -284,7 +298,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -295,9 +309,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 1,b
             rom[0x103] = 0x48;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -313,7 +329,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -324,9 +340,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 1,c
             rom[0x103] = 0x49;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -342,7 +360,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -353,9 +371,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 1,d
             rom[0x103] = 0x4A;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -371,7 +391,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -382,9 +402,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 1,e
             rom[0x103] = 0x4B;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -400,7 +422,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -411,9 +433,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 1,h
             rom[0x103] = 0x4C;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -429,7 +453,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -440,9 +464,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 1,l
             rom[0x103] = 0x4D;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -461,7 +487,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -471,7 +497,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -487,7 +513,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -498,9 +524,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 1,a
             rom[0x103] = 0x4F;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
     }
@@ -544,7 +572,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -555,9 +583,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 2,b
             rom[0x103] = 0x50;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -573,7 +603,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -584,9 +614,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 2,c
             rom[0x103] = 0x51;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -602,7 +634,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -613,9 +645,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 2,d
             rom[0x103] = 0x52;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -631,7 +665,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -642,9 +676,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 2,e
             rom[0x103] = 0x53;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -660,7 +696,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -671,9 +707,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 2,h
             rom[0x103] = 0x54;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -689,7 +727,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -700,9 +738,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 2,l
             rom[0x103] = 0x55;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -721,7 +761,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -731,7 +771,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -747,7 +787,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -758,9 +798,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 2,a
             rom[0x103] = 0x57;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -776,7 +818,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -787,9 +829,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 3,b
             rom[0x103] = 0x58;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -805,7 +849,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -816,9 +860,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 3,c
             rom[0x103] = 0x59;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -834,7 +880,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -845,9 +891,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 3,d
             rom[0x103] = 0x5A;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -863,7 +911,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -874,9 +922,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 3,e
             rom[0x103] = 0x5B;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -892,7 +942,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -903,9 +953,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 3,h
             rom[0x103] = 0x5C;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -921,7 +973,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -932,9 +984,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 3,l
             rom[0x103] = 0x5D;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -953,7 +1007,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -963,7 +1017,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -979,7 +1033,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -990,9 +1044,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 3,a
             rom[0x103] = 0x5F;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
     }
@@ -1036,7 +1092,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1047,9 +1103,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 4,b
             rom[0x103] = 0x60;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1065,7 +1123,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1076,9 +1134,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 4,c
             rom[0x103] = 0x61;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1094,7 +1154,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1105,9 +1165,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 4,d
             rom[0x103] = 0x62;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1123,7 +1185,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1134,9 +1196,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 4,e
             rom[0x103] = 0x63;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1152,7 +1216,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1163,9 +1227,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 4,h
             rom[0x103] = 0x64;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1181,7 +1247,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1192,9 +1258,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 4,l
             rom[0x103] = 0x65;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1213,7 +1281,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -1223,7 +1291,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1239,7 +1307,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1250,9 +1318,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 4,a
             rom[0x103] = 0x67;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1268,7 +1338,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1279,9 +1349,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 5,b
             rom[0x103] = 0x68;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1297,7 +1369,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1308,9 +1380,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 5,c
             rom[0x103] = 0x69;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1326,7 +1400,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1337,9 +1411,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 5,d
             rom[0x103] = 0x6A;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1355,7 +1431,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1366,9 +1442,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 5,e
             rom[0x103] = 0x6B;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1384,7 +1462,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1395,9 +1473,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 5,h
             rom[0x103] = 0x6C;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1413,7 +1493,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1424,9 +1504,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 5,l
             rom[0x103] = 0x6D;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1445,7 +1527,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -1455,7 +1537,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1471,7 +1553,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1482,9 +1564,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 5,a
             rom[0x103] = 0x6F;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
     }
@@ -1528,7 +1612,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1539,9 +1623,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 6,b
             rom[0x103] = 0x70;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1557,7 +1643,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1568,9 +1654,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 6,c
             rom[0x103] = 0x71;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1586,7 +1674,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1597,9 +1685,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 6,d
             rom[0x103] = 0x72;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1615,7 +1705,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1626,9 +1716,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 6,e
             rom[0x103] = 0x73;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1644,7 +1736,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1655,9 +1747,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 6,h
             rom[0x103] = 0x74;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1673,7 +1767,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1684,9 +1778,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 6,l
             rom[0x103] = 0x75;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1705,7 +1801,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -1715,7 +1811,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1731,7 +1827,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1742,9 +1838,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 6,a
             rom[0x103] = 0x77;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1760,7 +1858,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1771,9 +1869,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 7,b
             rom[0x103] = 0x78;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1789,7 +1889,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1800,9 +1900,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 7,c
             rom[0x103] = 0x79;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1818,7 +1920,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1829,9 +1931,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 7,d
             rom[0x103] = 0x7A;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1847,7 +1951,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1858,9 +1962,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 7,e
             rom[0x103] = 0x7B;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1876,7 +1982,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1887,9 +1993,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 7,h
             rom[0x103] = 0x7C;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1905,7 +2013,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1916,9 +2024,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 7,l
             rom[0x103] = 0x7D;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
 
@@ -1937,7 +2047,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
 
             cpu.registers.PC = 0x100;
@@ -1947,7 +2057,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x105, cpu.registers.PC, "PC should equal 0x105.");
         }
 
@@ -1963,7 +2073,7 @@ public class CPU_0xCB40_0xCB7F {
 
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.HALF, cpu.registers.F, "The HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.HALF, cpu.registers.getF(), "The HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
 
             cpu.registers.PC = 0x100;
@@ -1974,9 +2084,11 @@ public class CPU_0xCB40_0xCB7F {
             rom[0x102] = 0xCB; // bit 7,a
             rom[0x103] = 0x7F;
 
+            memory.loadROM(rom);
+
             cpu.tick();
             cpu.tick();
-            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.F, "The ZERO and HALF_CARRY flag should be set.");
+            assertEquals(CPU.Flags.ZERO | CPU.Flags.HALF, cpu.registers.getF(), "The ZERO and HALF_CARRY flag should be set.");
             assertEquals(0x104, cpu.registers.PC, "PC should equal 0x104.");
         }
     }
@@ -0,0 +1,101 @@
+package test.goodboy.system;
+
+import goodboy.system.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DebuggerTest {
+    static private GameBoy gameBoy;
+    static private int[] rom;
+
+    @BeforeEach
+    void setUp() {
+        gameBoy = new GameBoy();
+        gameBoy.getLCD().setDrawFunction((tiles) -> null);
+        gameBoy.setSpeed(Pacer.UNLIMITED);
+
+        rom = new int[0x8000];
+        rom[0x100] = 0x06; // ld b, 0x00
+        rom[0x101] = 0x00;
+        rom[0x102] = 0x04; // inc b
+        rom[0x103] = 0x78; // ld a, b
+        rom[0x104] = 0xEA; // ld (0xC000), a
+        rom[0x105] = 0x00;
+        rom[0x106] = 0xC0;
+        rom[0x107] = 0x18; // jr 0x102
+        rom[0x108] = 0xF9;
+    }
+
+    @Test
+    void breakpointTest() {
+        gameBoy.loadROM(rom);
+        gameBoy.getDebugger().addBreakpoint(new Breakpoint(0x103));
+
+        assertTrue(gameBoy.runToBreakpoint(1000), "should stop at the breakpoint.");
+        assertEquals(0x103, gameBoy.getCpu().registers.PC, "PC should be 0x103.");
+        assertEquals(0x01, gameBoy.getCpu().registers.B, "inc b should have run once.");
+    }
+
+    @Test
+    void resumeTest() {
+        gameBoy.loadROM(rom);
+
+        Breakpoint breakpoint = new Breakpoint(0x103);
+        gameBoy.getDebugger().addBreakpoint(breakpoint);
+
+        assertTrue(gameBoy.runToBreakpoint(1000), "should stop at the breakpoint.");
+        assertTrue(gameBoy.runToBreakpoint(1000), "should stop at the breakpoint again.");
+        assertEquals(0x02, gameBoy.getCpu().registers.B, "should carry on past the breakpoint it stopped at.");
+        assertEquals(2, breakpoint.getHitCount(), "should count each time the breakpoint is reached once.");
+    }
+
+    @Test
+    void recompiledBreakpointTest() {
+        gameBoy.setRecompilerEnabled(true);
+        gameBoy.loadROM(rom);
+
+        // the loop runs often enough to be compiled, but not over the breakpoint.
+        gameBoy.getDebugger().addBreakpoint(new Breakpoint(0x103, Breakpoint.ANY_BANK, null, 20));
+
+        assertTrue(gameBoy.runToBreakpoint(1000), "should stop at the breakpoint.");
+        assertEquals(0x103, gameBoy.getCpu().registers.PC, "PC should be 0x103.");
+        assertEquals(20, gameBoy.getCpu().registers.B, "should stop the 20th time it's reached.");
+    }
+
+    @Test
+    void conditionalBreakpointTest() {
+        gameBoy.loadROM(rom);
+
+        Breakpoint breakpoint = new Breakpoint(0x103, Breakpoint.ANY_BANK, (registers, memory) -> registers.B >= 0x10, 2);
+        gameBoy.getDebugger().addBreakpoint(breakpoint);
+
+        assertTrue(gameBoy.runToBreakpoint(1000), "should stop at the breakpoint.");
+        assertEquals(0x11, gameBoy.getCpu().registers.B, "should stop the second time B >= 0x10.");
+        assertEquals(2, breakpoint.getHitCount(), "should only count hits where the condition is true.");
+    }
+
+    @Test
+    void watchpointTest() {
+        gameBoy.loadROM(rom);
+
+        Watchpoint readWatchpoint = new Watchpoint(0xC000, 0xC0FF, Watchpoint.Access.READ);
+        Watchpoint writeWatchpoint = new Watchpoint(0xC000, 0xC0FF, Watchpoint.Access.WRITE, null, 3);
+        gameBoy.getDebugger().addWatchpoint(readWatchpoint);
+        gameBoy.getDebugger().addWatchpoint(writeWatchpoint);
+
+        assertTrue(gameBoy.runToBreakpoint(1000), "should stop at the watchpoint.");
+        assertEquals(0x107, gameBoy.getCpu().registers.PC, "should stop after the write.");
+        assertEquals(0x03, gameBoy.getMemory().getByteAt(0xC000), "should stop on the third write.");
+        assertEquals(0, readWatchpoint.getHitCount(), "nothing reads 0xC000.");
+    }
+
+    @Test
+    void timeoutTest() {
+        gameBoy.loadROM(rom);
+        gameBoy.getDebugger().addBreakpoint(new Breakpoint(0x200));
+
+        assertFalse(gameBoy.runToBreakpoint(100), "should give up when the breakpoint is never reached.");
+    }
+}
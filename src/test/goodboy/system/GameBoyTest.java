@@ -9,7 +9,6 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.time.Instant;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,18 +16,9 @@ import static org.junit.jupiter.api.Assertions.*;
 public class GameBoyTest {
     static GameBoy gameBoy;
 
-    static int[] getRom(String filename) {
+    static RomImage getRom(String filename) {
         try {
-            File file = new File(filename);
-
-            byte[] bytes = Files.readAllBytes(Paths.get(file.getPath()));
-            int[] rom = new int[bytes.length];
-
-            for(int i = 0; i < bytes.length; i++) {
-                rom[i] = bytes[i] & 0xFF;
-            }
-
-            return rom;
+            return RomImage.load(Paths.get(filename));
         } catch(IOException e) {
             e.printStackTrace();
         }
@@ -60,28 +50,17 @@ public class GameBoyTest {
         System.out.print("Running " + filename + " -> ");
 
         filename = filename.substring(0, filename.lastIndexOf('.'));
+        gameBoy.setSpeed(Pacer.UNLIMITED);
         gameBoy.loadROM(getRom(filename + ".gb"));
         int success = getBreakpoint("quit@success", filename + ".sym");
         int failure = getBreakpoint("quit@failure", filename + ".sym");
-        long start = Instant.now().getEpochSecond();
-        long now;
-        boolean timeout = false;
-
-        do {
-            gameBoy.tick();
-
-            if(gameBoy.getCpu().registers.PC == failure) {
-                break;
-            }
+        Debugger debugger = gameBoy.getDebugger();
+        debugger.clear();
+        debugger.addBreakpoint(new Breakpoint(success));
+        debugger.addBreakpoint(new Breakpoint(failure));
 
-            now = Instant.now().getEpochSecond();
-
-            // wait 5 seconds. this probably means the test is in an infinite loop
-            if((now - start) > 5) {
-                timeout = true;
-                break;
-            }
-        } while(gameBoy.getCpu().registers.PC != success);
+        // wait 5 seconds. this probably means the test is in an infinite loop
+        boolean timeout = !gameBoy.runToBreakpoint(5000);
 
         if(gameBoy.getCpu().registers.PC == failure) {
             System.out.println("Test failed.\n");
@@ -331,6 +310,31 @@ public class GameBoyTest {
         }
     }
 
+    // **********************
+    // RECOMPILER
+    // **********************
+    static class MooneyeRecompilerTest {
+        @BeforeAll
+        static void testBeforeAll() {
+            gameBoy = new GameBoy();
+            gameBoy.getLCD().setDrawFunction((x) -> null);
+            gameBoy.setRecompilerEnabled(true);
+        }
+
+        @BeforeEach
+        void setUp() {
+            gameBoy.reset();
+        }
+
+        @Test
+        void mooneye_acceptance_Tests() {
+            boolean passed = runFolder("resources/roms/tests/mooneye/acceptance/instr");
+            passed &= runFolder("resources/roms/tests/mooneye/emulator-only/mbc2");
+            passed &= runFolder("resources/roms/tests/mooneye/emulator-only/mbc5");
+            assertTrue(passed);
+        }
+    }
+
     // **********************
     // MANUAL ONLY
     // **********************
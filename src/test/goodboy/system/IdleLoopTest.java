@@ -0,0 +1,112 @@
+package test.goodboy.system;
+
+import goodboy.system.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdleLoopTest {
+    private static GameBoy createGameBoy(int[] rom, boolean isSkipping) {
+        GameBoy gameBoy = new GameBoy();
+
+        gameBoy.getLCD().setDrawFunction((tiles) -> null);
+        gameBoy.setSpeed(Pacer.UNLIMITED);
+        gameBoy.setIdleLoopSkipping(isSkipping);
+        gameBoy.loadROM(rom);
+
+        return gameBoy;
+    }
+
+    /**
+     * Ticks the GameBoy until PC reaches {@code address}.
+     * @return The number of ticks it took.
+     */
+    private static int runTo(GameBoy gameBoy, int address) {
+        int ticks = 0;
+
+        while(gameBoy.getCpu().registers.PC != address && ticks < 1000000) {
+            gameBoy.tick();
+            ticks++;
+        }
+
+        assertEquals(address, gameBoy.getCpu().registers.PC, "PC should reach 0x" + Integer.toHexString(address) + ".");
+        return ticks;
+    }
+
+    @Test
+    void pollLYTest() {
+        int[] rom = new int[0x8000];
+
+        rom[0x100] = 0xF0; // ldh a, (0x44)
+        rom[0x101] = 0x44;
+        rom[0x102] = 0xFE; // cp 0x90
+        rom[0x103] = 0x90;
+        rom[0x104] = 0x20; // jr nz, 0x100
+        rom[0x105] = 0xFA;
+        rom[0x106] = 0x18; // jr 0x106
+        rom[0x107] = 0xFE;
+
+        GameBoy stepped = createGameBoy(rom, false);
+        GameBoy skipped = createGameBoy(rom, true);
+
+        int steppedTicks = runTo(stepped, 0x106);
+        int skippedTicks = runTo(skipped, 0x106);
+
+        assertEquals(0, stepped.getSkippedCycles(), "Nothing should be skipped when skipping is disabled.");
+        assertTrue(skipped.getSkippedCycles() > 0, "Cycles should be skipped.");
+        assertTrue(skippedTicks < steppedTicks / 2, "Skipping should take far fewer ticks.");
+
+        assertEquals(stepped.getTimers().getSystemCounter(), skipped.getTimers().getSystemCounter(), "Both should finish on the same cycle.");
+        assertEquals(stepped.getCpu().registers.getAF(), skipped.getCpu().registers.getAF(), "AF should be the same.");
+        assertEquals(stepped.getCpu().getIF(), skipped.getCpu().getIF(), "IF should be the same.");
+    }
+
+    @Test
+    void counterLoopTest() {
+        int[] rom = new int[0x8000];
+
+        rom[0x100] = 0x06; // ld b, 0x00
+        rom[0x101] = 0x00;
+        rom[0x102] = 0x05; // dec b
+        rom[0x103] = 0x20; // jr nz, 0x102
+        rom[0x104] = 0xFD;
+        rom[0x105] = 0x18; // jr 0x105
+        rom[0x106] = 0xFE;
+
+        GameBoy gameBoy = createGameBoy(rom, true);
+        runTo(gameBoy, 0x105);
+
+        assertEquals(0, gameBoy.getSkippedCycles(), "A loop that changes registers isn't idle.");
+    }
+
+    @Test
+    void pollJoypadTest() {
+        int[] rom = new int[0x8000];
+
+        rom[0x100] = 0xF0; // ldh a, (0x00)
+        rom[0x101] = 0x00;
+        rom[0x102] = 0xCB; // bit 0, a
+        rom[0x103] = 0x47;
+        rom[0x104] = 0x20; // jr nz, 0x100
+        rom[0x105] = 0xFA;
+        rom[0x106] = 0x18; // jr 0x106
+        rom[0x107] = 0xFE;
+
+        GameBoy gameBoy = createGameBoy(rom, true);
+        gameBoy.getMemory().setByteAt(IORegisters.JOYPAD, 0x01);
+
+        for(int ticks = 0; ticks < 10000; ticks++) {
+            gameBoy.tick();
+        }
+
+        assertEquals(0, gameBoy.getSkippedCycles(), "A loop waiting for the joypad isn't idle.");
+
+        // the button is pressed, which the loop has to see straight away.
+        int pressed = gameBoy.getTimers().getSystemCounter();
+        gameBoy.getMemory().setByteAt(IORegisters.JOYPAD, 0x00);
+        runTo(gameBoy, 0x106);
+
+        // the counter is 16 bits and can wrap around in between.
+        assertTrue(((gameBoy.getTimers().getSystemCounter() - pressed) & 0xFFFF) < 64, "The loop should exit within an iteration of the press.");
+    }
+}
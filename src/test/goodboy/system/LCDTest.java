@@ -86,6 +86,15 @@ public class LCDTest {
         assertEquals(expectedColor, rgb, message);
     }
 
+    private void loadSprite(int sprite, int y, int x, int tileNum, int flags) {
+        int address = 0xFE00 + (sprite * 4);
+
+        memory.setByteAt(address, y + 16);
+        memory.setByteAt(address + 1, x + 8);
+        memory.setByteAt(address + 2, tileNum);
+        memory.setByteAt(address + 3, flags);
+    }
+
     @BeforeAll
     static void testBeforeAll() {
         memory = new Memory();
@@ -203,4 +212,179 @@ public class LCDTest {
 
         lcd.render(gpu.getBackgroundMap());
     }
+
+    @Test
+    void tileUpdateTest() {
+        memory.setByteAt(IORegisters.LCDC, 0b10010001);
+
+        // the map entry is written before the tile it points to.
+        loadTile(0x02, 0x03, 0x05);
+        createTile(0x05, new int[] {
+                0b11111111, 0b11111111, 0b11111111, 0b11111111,
+                0b11111111, 0b11111111, 0b11111111, 0b11111111,
+                0b11111111, 0b11111111, 0b11111111, 0b11111111,
+                0b11111111, 0b11111111, 0b11111111, 0b11111111
+        });
+
+        assertEquals(LCD.PixelColor.BLACK, gpu.getBackgroundColor(0x18, 0x10), "The background should show the new tile.");
+
+        memory.setByteAt(0x8050 + 0x0F, 0x00);
+        assertEquals(LCD.PixelColor.LIGHT_GRAY, gpu.getBackgroundColor(0x1F, 0x17), "The background should show the changed row.");
+    }
+
+    @Test
+    void frameTest() {
+        byte[] rom = new byte[0x8000];
+        rom[0x100] = (byte) 0x76; // halt
+        rom[0x101] = (byte) 0x18; // jr 0x100
+        rom[0x102] = (byte) 0xFD;
+
+        GameBoy gameBoy = new GameBoy();
+        gameBoy.setSpeed(Pacer.UNLIMITED);
+        gameBoy.loadROM(rom);
+
+        int[] frames = new int[1];
+
+        gameBoy.getLCD().setDrawFunction((tiles) -> {
+            assertEquals(LCD.VBlankArea.START, gameBoy.getMemory().getByteAt(IORegisters.LY_COORDINATE), "The frame should be drawn when VBLANK starts.");
+            frames[0]++;
+
+            return null;
+        });
+
+        for(int ticks = 0; ticks < 100000 && frames[0] < 3; ticks++) {
+            gameBoy.tick();
+        }
+
+        assertEquals(3, frames[0], "The frame should be drawn once per VBLANK.");
+    }
+
+    @Test
+    void backgroundDisabledTest() {
+        loadTile(0x08, 0x0A, 0x00);
+
+        // color 0 is black.
+        lcd.setDrawFunction((tiles) -> {
+            checkPixel(tiles, 64, 80, Color.BLACK);
+
+            return null;
+        });
+
+        memory.setByteAt(IORegisters.LCDC, 0b10010001);
+        lcd.render(gpu.getBackgroundMap());
+
+        // the last frame's background shouldn't be left on the screen.
+        lcd.setDrawFunction((tiles) -> {
+            checkPixel(tiles, 64, 80, Color.WHITE);
+            checkPixel(tiles, 143, 159, Color.WHITE);
+
+            return null;
+        });
+
+        memory.setByteAt(IORegisters.LCDC, 0b10010000);
+        lcd.render(gpu.getBackgroundMap());
+    }
+
+    @Test
+    void spriteTest() {
+        // color 0 is black and color 3 is white for the background, color 3 is dark gray for OBP0 and light gray for OBP1.
+        memory.setByteAt(IORegisters.OBJECT_PALETTE0_DATA, 0b10_00_00_00);
+        memory.setByteAt(IORegisters.OBJECT_PALETTE1_DATA, 0b01_00_00_00);
+
+        // only the top left pixel of the sprite is set.
+        createTile(0x06, new int[] {
+                0b10000000, 0b10000000, 0, 0, 0, 0, 0, 0,
+                0, 0, 0, 0, 0, 0, 0, 0
+        });
+
+        // a row of color 3 at the top of the sprite.
+        createTile(0x08, new int[] {
+                0b11111111, 0b11111111, 0, 0, 0, 0, 0, 0,
+                0, 0, 0, 0, 0, 0, 0, 0
+        });
+
+        createTile(0x07, new int[] {
+                0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF,
+                0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF
+        });
+
+        for(int col = 0; col < 0x20; col++) {
+            for(int row = 0x0C; row < 0x10; row++) {
+                loadTile(row, col, 0x00);
+            }
+        }
+
+        // a white background tile under the sprite at 72, 96.
+        loadTile(0x0C, 0x09, 0x07);
+
+        loadSprite(0, 96, 8, 0x06, 0x00);
+        loadSprite(1, 96, 24, 0x06, 0x20);
+        loadSprite(2, 96, 40, 0x06, 0x40);
+        loadSprite(3, 96, 56, 0x06, 0x70);
+        loadSprite(4, 96, 72, 0x06, 0x80);
+        loadSprite(5, 96, 80, 0x06, 0x80);
+
+        // 11 sprites on line 112, the last one in OAM isn't drawn.
+        for(int sprite = 0; sprite < 11; sprite++) {
+            loadSprite(10 + sprite, 112, sprite * 8, 0x06, 0x00);
+        }
+
+        // the sprite further to the left is on top, even though it's later in OAM.
+        loadSprite(21, 120, 100, 0x08, 0x10);
+        loadSprite(22, 120, 99, 0x08, 0x00);
+
+        lcd.setDrawFunction((tiles) -> {
+            checkPixel(tiles, 96, 8, Color.DARK_GRAY);
+            checkPixel(tiles, 96, 9, Color.BLACK);
+            checkPixel(tiles, 97, 8, Color.BLACK);
+
+            // flipped on X.
+            checkPixel(tiles, 96, 24, Color.BLACK);
+            checkPixel(tiles, 96, 31, Color.DARK_GRAY);
+
+            // flipped on Y.
+            checkPixel(tiles, 96, 40, Color.BLACK);
+            checkPixel(tiles, 103, 40, Color.DARK_GRAY);
+
+            // flipped on both with OBP1.
+            checkPixel(tiles, 103, 63, Color.LIGHT_GRAY);
+
+            // behind the background, which only hides it where the background isn't color 0.
+            checkPixel(tiles, 96, 72, Color.WHITE);
+            checkPixel(tiles, 96, 80, Color.DARK_GRAY);
+
+            checkPixel(tiles, 112, 72, Color.DARK_GRAY);
+            checkPixel(tiles, 112, 80, Color.BLACK);
+
+            checkPixel(tiles, 120, 99, Color.DARK_GRAY);
+            checkPixel(tiles, 120, 106, Color.DARK_GRAY);
+            checkPixel(tiles, 120, 107, Color.LIGHT_GRAY);
+
+            return null;
+        });
+
+        // enable lcd, sprites and background
+        memory.setByteAt(IORegisters.LCDC, 0b10010011);
+        lcd.render(gpu.getBackgroundMap());
+
+        // an 8x16 sprite uses tiles 0x06 and 0x07, flipped on Y the solid tile is on top.
+        loadSprite(0, 128, 8, 0x07, 0x40);
+
+        lcd.setDrawFunction((tiles) -> {
+            checkPixel(tiles, 128, 15, Color.DARK_GRAY);
+            checkPixel(tiles, 135, 15, Color.DARK_GRAY);
+            checkPixel(tiles, 142, 8, Color.BLACK);
+            checkPixel(tiles, 143, 8, Color.DARK_GRAY);
+            checkPixel(tiles, 143, 9, Color.BLACK);
+
+            return null;
+        });
+
+        memory.setByteAt(IORegisters.LCDC, 0b10010111);
+        lcd.render(gpu.getBackgroundMap());
+
+        for(int address = 0xFE00; address < 0xFEA0; address++) {
+            memory.setByteAt(address, 0);
+        }
+    }
 }
@@ -0,0 +1,255 @@
+package test.goodboy.system;
+
+import goodboy.system.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapperTest {
+    static private Memory memory;
+
+    /**
+     * Creates a ROM where the first 2 bytes of every bank hold the bank number.
+     * @param type The cartridge type at 0x147.
+     * @param banks The number of 16KB banks.
+     * @param ramSize The RAM size at 0x149.
+     */
+    private static byte[] createRom(int type, int banks, int ramSize) {
+        byte[] rom = new byte[banks * 0x4000];
+
+        for(int bank = 0; bank < banks; bank++) {
+            rom[bank * 0x4000] = (byte) bank;
+            rom[bank * 0x4000 + 1] = (byte) (bank >> 8);
+        }
+
+        rom[0x147] = (byte) type;
+        rom[0x149] = (byte) ramSize;
+
+        return rom;
+    }
+
+    private static void loadROM(int type, int banks, int ramSize) {
+        memory = new Memory();
+        LCD lcd = new LCD(memory);
+        GPU gpu = new GPU(memory, lcd);
+
+        lcd.setDrawFunction((tiles) -> null);
+        memory.setGpuRef(gpu);
+        memory.loadROM(createRom(type, banks, ramSize));
+    }
+
+    private static int getBank(int address) {
+        return memory.getByteAt(address) | (memory.getByteAt(address + 1) << 8);
+    }
+
+    static class RomOnlyTest {
+        @BeforeEach
+        void setUp() {
+            loadROM(0x00, 2, 0x00);
+        }
+
+        @Test
+        void romTest() {
+            memory.setByteAt(0x2000, 0x05);
+
+            assertEquals(0, getBank(0x0000), "Bank 0 should be at 0x0000.");
+            assertEquals(1, getBank(0x4000), "Writes to the ROM shouldn't switch bank.");
+        }
+
+        @Test
+        void ramTest() {
+            memory.setByteAt(0xA000, 0xBE);
+
+            assertEquals(0xBE, memory.getByteAt(0xA000), "The RAM should always be usable.");
+        }
+    }
+
+    static class MBC1Test {
+        @BeforeEach
+        void setUp() {
+            // 2MB ROM, 32KB RAM
+            loadROM(0x03, 128, 0x03);
+        }
+
+        @Test
+        void romBankTest() {
+            memory.setByteAt(0x2000, 0x05);
+            assertEquals(0x05, getBank(0x4000), "Bank 5 should be at 0x4000.");
+
+            memory.setByteAt(0x2000, 0x00);
+            assertEquals(0x01, getBank(0x4000), "Selecting bank 0 should select bank 1.");
+
+            memory.setByteAt(0x2000, 0xE3);
+            assertEquals(0x03, getBank(0x4000), "Only the lower 5 bits should be used.");
+
+            memory.setByteAt(0x4000, 0x02);
+            assertEquals(0x43, getBank(0x4000), "The upper 2 bits should be bits 5 and 6.");
+            assertEquals(0x00, getBank(0x0000), "Bank 0 should stay at 0x0000 in mode 0.");
+        }
+
+        @Test
+        void mode1Test() {
+            memory.setByteAt(0x4000, 0x01);
+            memory.setByteAt(0x6000, 0x01);
+
+            assertEquals(0x20, getBank(0x0000), "Bank 0x20 should be at 0x0000 in mode 1.");
+            assertEquals(0x21, getBank(0x4000), "Bank 0x21 should be at 0x4000.");
+
+            memory.setByteAt(0x6000, 0x00);
+            assertEquals(0x00, getBank(0x0000), "Bank 0 should be back at 0x0000 in mode 0.");
+        }
+
+        @Test
+        void ramTest() {
+            memory.setByteAt(0xA000, 0xBE);
+            assertEquals(0xFF, memory.getByteAt(0xA000), "Disabled RAM should read 0xFF.");
+
+            memory.setByteAt(0x0000, 0x0A);
+            memory.setByteAt(0xA000, 0xBE);
+            assertEquals(0xBE, memory.getByteAt(0xA000), "Enabled RAM should be writable.");
+
+            // the RAM bank is only used in mode 1
+            memory.setByteAt(0x4000, 0x02);
+            assertEquals(0xBE, memory.getByteAt(0xA000), "Bank 0 should be used in mode 0.");
+
+            memory.setByteAt(0x6000, 0x01);
+            memory.setByteAt(0xA000, 0xEF);
+            assertEquals(0xEF, memory.getByteAt(0xA000), "Bank 2 should be writable.");
+
+            memory.setByteAt(0x4000, 0x00);
+            assertEquals(0xBE, memory.getByteAt(0xA000), "Bank 0 should keep its value.");
+
+            memory.setByteAt(0x0000, 0x00);
+            assertEquals(0xFF, memory.getByteAt(0xA000), "Disabled RAM should read 0xFF.");
+        }
+
+        @Test
+        void wrapTest() {
+            // 512KB ROM
+            loadROM(0x01, 32, 0x00);
+
+            memory.setByteAt(0x2000, 0x05);
+            memory.setByteAt(0x4000, 0x03);
+            assertEquals(0x05, getBank(0x4000), "Banks past the end of the ROM should wrap around.");
+        }
+    }
+
+    static class MBC2Test {
+        @BeforeEach
+        void setUp() {
+            // 256KB ROM
+            loadROM(0x06, 16, 0x00);
+        }
+
+        @Test
+        void romBankTest() {
+            memory.setByteAt(0x2100, 0x0A);
+            assertEquals(0x0A, getBank(0x4000), "Bank 10 should be at 0x4000.");
+
+            memory.setByteAt(0x0100, 0x00);
+            assertEquals(0x01, getBank(0x4000), "Selecting bank 0 should select bank 1.");
+
+            memory.setByteAt(0x2000, 0x03);
+            assertEquals(0x01, getBank(0x4000), "Writes with bit 8 clear shouldn't select a bank.");
+        }
+
+        @Test
+        void ramTest() {
+            memory.setByteAt(0xA000, 0x05);
+            assertEquals(0xFF, memory.getByteAt(0xA000), "Disabled RAM should read 0xFF.");
+
+            memory.setByteAt(0x0100, 0x0A);
+            memory.setByteAt(0xA000, 0x05);
+            assertEquals(0xFF, memory.getByteAt(0xA000), "Writes with bit 8 set shouldn't enable the RAM.");
+
+            memory.setByteAt(0x0000, 0x0A);
+            memory.setByteAt(0xA000, 0xBE);
+            assertEquals(0xFE, memory.getByteAt(0xA000), "Only the lower 4 bits should be stored.");
+            assertEquals(0xFE, memory.getByteAt(0xA200), "The RAM should repeat every 512 bytes.");
+            assertEquals(0xFE, memory.getByteAt(0xBE00), "The RAM should repeat every 512 bytes.");
+        }
+    }
+
+    static class MBC3Test {
+        @BeforeEach
+        void setUp() {
+            // 2MB ROM, 32KB RAM, RTC
+            loadROM(0x10, 128, 0x03);
+        }
+
+        @Test
+        void romBankTest() {
+            memory.setByteAt(0x2000, 0x45);
+            assertEquals(0x45, getBank(0x4000), "Bank 0x45 should be at 0x4000.");
+
+            memory.setByteAt(0x2000, 0x80);
+            assertEquals(0x01, getBank(0x4000), "Selecting bank 0 should select bank 1.");
+        }
+
+        @Test
+        void ramBankTest() {
+            memory.setByteAt(0x0000, 0x0A);
+
+            for(int bank = 0; bank < 4; bank++) {
+                memory.setByteAt(0x4000, bank);
+                memory.setByteAt(0xA000, bank + 0x10);
+            }
+
+            for(int bank = 0; bank < 4; bank++) {
+                memory.setByteAt(0x4000, bank);
+                assertEquals(bank + 0x10, memory.getByteAt(0xA000), "Each bank should keep its own value.");
+            }
+        }
+
+        @Test
+        void rtcRegisterTest() {
+            memory.setByteAt(0x0000, 0x0A);
+            memory.setByteAt(0x4000, 0x00);
+            memory.setByteAt(0xA000, 0xBE);
+
+            memory.setByteAt(0x4000, 0x09);
+            memory.setByteAt(0xA000, 0x2A);
+            assertEquals(0x2A, memory.getByteAt(0xA000), "The minutes register should be selected.");
+
+            memory.setByteAt(0x4000, 0x00);
+            assertEquals(0xBE, memory.getByteAt(0xA000), "The RTC register shouldn't write to RAM.");
+        }
+    }
+
+    static class MBC5Test {
+        @BeforeEach
+        void setUp() {
+            // 8MB ROM, 128KB RAM
+            loadROM(0x1B, 512, 0x04);
+        }
+
+        @Test
+        void romBankTest() {
+            memory.setByteAt(0x2000, 0xAB);
+            assertEquals(0xAB, getBank(0x4000), "Bank 0xAB should be at 0x4000.");
+
+            memory.setByteAt(0x3000, 0x01);
+            assertEquals(0x1AB, getBank(0x4000), "Bit 8 should be set.");
+
+            memory.setByteAt(0x2000, 0x00);
+            memory.setByteAt(0x3000, 0x00);
+            assertEquals(0x00, getBank(0x4000), "Bank 0 should be allowed at 0x4000.");
+        }
+
+        @Test
+        void ramBankTest() {
+            memory.setByteAt(0x0000, 0x0A);
+
+            memory.setByteAt(0x4000, 0x0F);
+            memory.setByteAt(0xBFFF, 0xEF);
+            memory.setByteAt(0x4000, 0x00);
+            memory.setByteAt(0xBFFF, 0xBE);
+
+            assertEquals(0xBE, memory.getByteAt(0xBFFF), "The value at 0xBFFF should equal 0xBE.");
+
+            memory.setByteAt(0x4000, 0x0F);
+            assertEquals(0xEF, memory.getByteAt(0xBFFF), "Bank 15 should keep its value.");
+        }
+    }
+}
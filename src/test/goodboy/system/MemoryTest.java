@@ -4,6 +4,8 @@ import goodboy.system.*;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class MemoryTest {
@@ -32,6 +34,18 @@ public class MemoryTest {
         assertEquals(0xEF, memory.getByteAt(0x7FFF), "The value at 0x7FFF should equal 0xEF.");
     }
 
+    @Test
+    void byteBufferRomTest() {
+        byte[] bytes = new byte[0x8010];
+        bytes[0x10] = (byte) 0xBE;
+        bytes[0x800F] = (byte) 0xEF;
+
+        memory.loadROM(ByteBuffer.wrap(bytes).position(0x10));
+
+        assertEquals(0xBE, memory.getByteAt(0x0000), "The ROM should start at the buffer's position.");
+        assertEquals(0xEF, memory.getByteAt(0x7FFF), "The value at 0x7FFF should equal 0xEF.");
+    }
+
     @Test
     void vramRangeTest() {
         memory.setByteAt(0x8000, 0xBE);
@@ -120,4 +134,60 @@ public class MemoryTest {
 
         assertEquals(0xBE, memory.getByteAt(0xFFFF), "The value at 0xFFFF should equal 0xBE.");
     }
+
+    @Test
+    void wordTest() {
+        memory.setWordAt(0xC100, 0xBEEF);
+        assertEquals(0xEF, memory.getByteAt(0xC100), "The low byte should be at 0xC100.");
+        assertEquals(0xBE, memory.getByteAt(0xC101), "The high byte should be at 0xC101.");
+        assertEquals(0xBEEF, memory.getWordAt(0xC100), "The word at 0xC100 should equal 0xBEEF.");
+
+        memory.setWordAt(0xFFFD, 0xC0DE);
+        assertEquals(0xC0DE, memory.getWordAt(0xFFFD), "The word at 0xFFFD should equal 0xC0DE.");
+
+        // the bytes are in different pages
+        memory.setWordAt(0xC1FF, 0x1234);
+        assertEquals(0x34, memory.getByteAt(0xC1FF), "The low byte should be at 0xC1FF.");
+        assertEquals(0x1234, memory.getWordAt(0xC1FF), "The word at 0xC1FF should equal 0x1234.");
+    }
+
+    @Test
+    void wordOrderTest() {
+        int[] rom = new int[0x10000];
+        rom[0x147] = 0x01; // MBC1
+        rom[0x148] = 0x01; // 4 banks
+
+        for(int bank = 0; bank < 4; bank++) {
+            rom[bank * 0x4000] = bank;
+        }
+
+        memory.loadROM(rom);
+
+        // both bytes go to the ROM bank register, so the one written last picks the bank.
+        memory.setWordAt(0x20FF, 0x0201);
+        assertEquals(0x02, memory.getByteAt(0x4000), "The low byte should be written first.");
+
+        memory.pushWordAt(0x20FF, 0x0201);
+        assertEquals(0x01, memory.getByteAt(0x4000), "The high byte should be pushed first.");
+    }
+
+    @Test
+    void dirtyPageTest() {
+        memory.clearDirtyPages();
+        assertEquals(-1, memory.nextDirtyPage(0), "No pages should be dirty after clearing them.");
+
+        memory.setByteAt(0xC345, 0xBE);
+        memory.setByteAt(0xE345, 0xEF);
+        memory.setByteAt(0xFF80, 0xBE);
+
+        int page = memory.nextDirtyPage(0);
+        assertEquals(Memory.DirtyPage.WRAM + 0x03, page, "The WRAM page at 0xC300 should be dirty.");
+
+        page = memory.nextDirtyPage(page + 1);
+        assertEquals(Memory.DirtyPage.HRAM, page, "The HRAM page should be dirty.");
+        assertEquals(-1, memory.nextDirtyPage(page + 1), "Only 2 pages should be dirty.");
+
+        memory.getByteAt(0x8000);
+        assertFalse(memory.isPageDirty(Memory.DirtyPage.VRAM), "Reads shouldn't make a page dirty.");
+    }
 }
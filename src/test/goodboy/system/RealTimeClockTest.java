@@ -0,0 +1,132 @@
+package test.goodboy.system;
+
+import goodboy.system.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RealTimeClockTest {
+    static private GameBoy gameBoy;
+    static private Memory memory;
+
+    private static GameBoy createGameBoy() {
+        byte[] rom = new byte[0x8000];
+        rom[0x100] = (byte) 0xAF; // xor a
+        rom[0x101] = (byte) 0xE0; // ldh (0x40), a
+        rom[0x102] = (byte) 0x40;
+        rom[0x103] = (byte) 0x76; // halt
+        rom[0x104] = (byte) 0x18; // jr 0x103
+        rom[0x105] = (byte) 0xFD;
+
+        rom[0x147] = (byte) 0x10; // MBC3 + TIMER + RAM + BATTERY
+        rom[0x149] = (byte) 0x02; // 8KB RAM
+
+        GameBoy gameBoy = new GameBoy();
+        gameBoy.getLCD().setDrawFunction((tiles) -> null);
+        gameBoy.setSpeed(Pacer.UNLIMITED);
+        gameBoy.loadROM(rom);
+
+        // enable RAM and the clock
+        gameBoy.getMemory().setByteAt(0x0000, 0x0A);
+
+        return gameBoy;
+    }
+
+    private static void write(int register, int value) {
+        memory.setByteAt(0x4000, register);
+        memory.setByteAt(0xA000, value);
+    }
+
+    private static int read(int register) {
+        memory.setByteAt(0x4000, register);
+        return memory.getByteAt(0xA000);
+    }
+
+    private static void latch() {
+        memory.setByteAt(0x6000, 0x00);
+        memory.setByteAt(0x6000, 0x01);
+    }
+
+    /**
+     * Runs the GameBoy until the seconds register reaches {@code seconds}.
+     */
+    private static void runUntil(int seconds) {
+        for(int ticks = 0; ticks < 1000000; ticks++) {
+            gameBoy.tick();
+            latch();
+
+            if(read(0x08) == seconds) {
+                return;
+            }
+        }
+
+        fail("The clock should reach " + seconds + " seconds.");
+    }
+
+    @BeforeEach
+    void setUp() {
+        gameBoy = createGameBoy();
+        memory = gameBoy.getMemory();
+    }
+
+    @Test
+    void tickTest() {
+        latch();
+        assertEquals(0, read(0x08), "The clock should start at 0.");
+
+        runUntil(2);
+        assertEquals(0, read(0x09), "No minutes should have passed.");
+    }
+
+    @Test
+    void overflowTest() {
+        write(0x08, 59);
+        write(0x09, 59);
+        write(0x0A, 23);
+        write(0x0B, 0xFF);
+        write(0x0C, 0x01);
+
+        runUntil(0);
+
+        assertEquals(0, read(0x09), "The minutes should wrap around.");
+        assertEquals(0, read(0x0A), "The hours should wrap around.");
+        assertEquals(0, read(0x0B), "The days should wrap around.");
+        assertEquals(0x80, read(0x0C), "Only the carry should be set after 511 days.");
+    }
+
+    @Test
+    void haltTest() {
+        write(0x08, 10);
+        write(0x0C, 0x40);
+
+        for(int ticks = 0; ticks < 100000; ticks++) {
+            gameBoy.tick();
+        }
+
+        latch();
+        assertEquals(10, read(0x08), "A halted clock shouldn't move.");
+        assertEquals(0x40, read(0x0C), "The halt bit should be set.");
+    }
+
+    @Test
+    void saveTest() {
+        memory.setByteAt(0x4000, 0x00);
+        memory.setByteAt(0xA000, 0xBE);
+        write(0x09, 42);
+        write(0x0B, 0x12);
+
+        byte[] save = memory.getSaveData();
+        assertEquals(0x2000 + 48, save.length, "The save should hold the RAM and the clock.");
+
+        setUp();
+        memory.loadSaveData(save);
+        latch();
+
+        assertEquals(42, read(0x09), "The minutes should be loaded.");
+        assertEquals(0x12, read(0x0B), "The days should be loaded.");
+
+        memory.setByteAt(0x4000, 0x00);
+        assertEquals(0xBE, memory.getByteAt(0xA000), "The RAM should be loaded.");
+    }
+}
@@ -0,0 +1,91 @@
+package test.goodboy.system;
+
+import goodboy.system.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecompilerTest {
+    static private Memory memory;
+    static private CPU cpu;
+
+    @BeforeEach
+    void setUp() {
+        memory = new Memory();
+        LCD lcd = new LCD(memory);
+        GPU gpu = new GPU(memory, lcd);
+        Timers timers = new Timers(memory);
+
+        lcd.setDrawFunction((tiles) -> null);
+        memory.setGpuRef(gpu);
+
+        cpu = new CPU(memory, gpu, timers);
+        cpu.setRecompilerEnabled(true);
+    }
+
+    /**
+     * Ticks the CPU until PC reaches {@code address}.
+     */
+    private void runTo(int address) {
+        for(int i = 0; i < 100000 && cpu.registers.PC != address; i++) {
+            cpu.tick();
+        }
+
+        assertEquals(address, cpu.registers.PC, "PC should reach 0x" + Integer.toHexString(address) + ".");
+    }
+
+    @Test
+    void loopTest() {
+        int[] rom = new int[0x8000];
+
+        rom[0x100] = 0x06; // ld b, 0x00
+        rom[0x101] = 0x00;
+        rom[0x102] = 0x0E; // ld c, 0x00
+        rom[0x103] = 0x00;
+        rom[0x104] = 0x04; // inc b
+        rom[0x105] = 0x78; // ld a, b
+        rom[0x106] = 0x81; // add a, c
+        rom[0x107] = 0x4F; // ld c, a
+        rom[0x108] = 0x78; // ld a, b
+        rom[0x109] = 0xFE; // cp 0x40
+        rom[0x10A] = 0x40;
+        rom[0x10B] = 0x20; // jr nz, 0x104
+        rom[0x10C] = 0xF7;
+        rom[0x10D] = 0x18; // jr 0x10D
+        rom[0x10E] = 0xFE;
+
+        memory.loadROM(rom);
+        cpu.registers.PC = 0x100;
+
+        this.runTo(0x10D);
+        assertEquals(0x40, cpu.registers.B, "B should be 0x40.");
+        assertEquals(0x20, cpu.registers.C, "C should be the sum of 1 through 0x40 (0x820) & 0xFF.");
+        assertEquals(0x40, cpu.registers.A, "A should be 0x40.");
+        assertEquals(CPU.Flags.ZERO | CPU.Flags.SUB, cpu.registers.getF(), "ZERO and SUB flags should be set.");
+    }
+
+    @Test
+    void selfModifyingCodeTest() {
+        memory.loadROM(new int[0x8000]);
+
+        memory.setByteAt(0xC000, 0x3E); // ld a, 0x01
+        memory.setByteAt(0xC001, 0x01);
+        memory.setByteAt(0xC002, 0x18); // jr 0xC002
+        memory.setByteAt(0xC003, 0xFE);
+
+        // run it enough times for the block to be compiled.
+        for(int i = 0; i < 16; i++) {
+            cpu.registers.A = 0x00;
+            cpu.registers.PC = 0xC000;
+            this.runTo(0xC002);
+            assertEquals(0x01, cpu.registers.A, "A should be 0x01.");
+        }
+
+        memory.setByteAt(0xC001, 0x05);
+
+        cpu.registers.PC = 0xC000;
+        this.runTo(0xC002);
+        assertEquals(0x05, cpu.registers.A, "A should be 0x05 after the code was changed.");
+    }
+}
@@ -0,0 +1,50 @@
+package test.goodboy.system;
+
+import goodboy.system.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RomImageTest {
+    private static Path writeRom(int value) throws IOException {
+        byte[] rom = new byte[0x8000];
+        rom[0x100] = (byte) value;
+
+        Path path = Files.createTempFile("rom", ".gb");
+        path.toFile().deleteOnExit();
+
+        return Files.write(path, rom);
+    }
+
+    @Test
+    void sharedImageTest() throws IOException {
+        RomImage first = RomImage.load(writeRom(0xBE));
+        RomImage copy = RomImage.load(writeRom(0xBE));
+        RomImage other = RomImage.load(writeRom(0xEF));
+
+        assertSame(first, copy, "ROMs with the same contents should share one image.");
+        assertNotSame(first, other, "ROMs with different contents shouldn't share an image.");
+        assertEquals(first.getHash(), copy.getHash(), "The hashes should match.");
+        assertEquals(0x8000, first.getSize(), "The image should be the size of the file.");
+    }
+
+    @Test
+    void loadTest() throws IOException {
+        RomImage image = RomImage.load(writeRom(0xBE));
+        ByteBuffer buffer = image.getBuffer();
+
+        assertTrue(buffer.isReadOnly(), "The image should be read-only.");
+        assertEquals((byte) 0xBE, buffer.get(0x100), "The buffer should hold the file's contents.");
+
+        GameBoy gameBoy = new GameBoy();
+        gameBoy.getLCD().setDrawFunction((tiles) -> null);
+        gameBoy.loadROM(image);
+
+        assertEquals(0xBE, gameBoy.getMemory().getByteAt(0x100), "The value at 0x100 should equal 0xBE.");
+    }
+}
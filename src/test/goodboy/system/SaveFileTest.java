@@ -0,0 +1,71 @@
+package test.goodboy.system;
+
+import goodboy.system.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveFileTest {
+    static private Path romPath;
+    static private Path savePath;
+
+    private static GameBoy loadGameBoy() throws IOException {
+        GameBoy gameBoy = new GameBoy();
+        gameBoy.getLCD().setDrawFunction((tiles) -> null);
+        gameBoy.loadROM(romPath);
+
+        // enable the RAM
+        gameBoy.getMemory().setByteAt(0x0000, 0x0A);
+
+        return gameBoy;
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        byte[] rom = new byte[0x8000];
+        rom[0x147] = (byte) 0x1B; // MBC5 + RAM + BATTERY
+        rom[0x149] = (byte) 0x02; // 8KB RAM
+
+        Path directory = Files.createTempDirectory("goodboy");
+        romPath = directory.resolve("game.gb");
+        savePath = directory.resolve("game.sav");
+        Files.write(romPath, rom);
+
+        directory.toFile().deleteOnExit();
+        romPath.toFile().deleteOnExit();
+        savePath.toFile().deleteOnExit();
+    }
+
+    @Test
+    void saveTest() throws IOException {
+        GameBoy gameBoy = loadGameBoy();
+        assertTrue(Files.exists(savePath), "The .sav file should be created next to the ROM.");
+
+        gameBoy.getMemory().setByteAt(0xA000, 0xBE);
+        gameBoy.getMemory().setByteAt(0xBFFF, 0xEF);
+        gameBoy.closeSave();
+
+        byte[] save = Files.readAllBytes(savePath);
+        assertEquals(0x2000, save.length, "The .sav file should hold the RAM.");
+        assertEquals((byte) 0xBE, save[0x0000], "The first byte should be saved.");
+        assertEquals((byte) 0xEF, save[0x1FFF], "The last byte should be saved.");
+    }
+
+    @Test
+    void loadTest() throws IOException {
+        GameBoy gameBoy = loadGameBoy();
+        gameBoy.getMemory().setByteAt(0xA123, 0x42);
+        gameBoy.flushSave();
+        assertEquals((byte) 0x42, Files.readAllBytes(savePath)[0x0123], "The RAM should be saved by a flush.");
+        gameBoy.closeSave();
+
+        gameBoy = loadGameBoy();
+        assertEquals(0x42, gameBoy.getMemory().getByteAt(0xA123), "The RAM should be loaded from the .sav file.");
+        gameBoy.closeSave();
+    }
+}
@@ -0,0 +1,20 @@
+package test.goodboy.system;
+
+import goodboy.system.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulerTest {
+    @Test
+    void emptyQueueTest() {
+        Scheduler scheduler = new Scheduler();
+
+        assertEquals(Integer.MAX_VALUE, scheduler.getCyclesUntilNextEvent(), "Nothing scheduled should be as far away as possible.");
+
+        scheduler.advance(1000);
+
+        assertEquals(1000, scheduler.getCycles(), "The clock should still advance.");
+        assertEquals(Integer.MAX_VALUE, scheduler.getCyclesUntilNextEvent(), "Nothing scheduled should still be as far away as possible.");
+    }
+}